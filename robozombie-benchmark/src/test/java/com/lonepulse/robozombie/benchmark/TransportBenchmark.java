@@ -0,0 +1,253 @@
+package com.lonepulse.robozombie.benchmark;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.transport.UrlConnectionTransport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Compares the default {@link org.apache.http.client.HttpClient} transport, which uses a 
+ * {@link org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager}, with the 
+ * {@link UrlConnectionTransport}. Both endpoints are served by a local {@link HttpServer} which 
+ * responds with a fixed body, so that the measurements reflect the overhead of each transport.</p>
+ * 
+ * <p>For each transport the benchmark reports the throughput and latency of sequential requests, 
+ * the bytes which were allocated per request on the invoking thread (on JVMs which support it) and 
+ * the throughput of concurrent requests. Run it with:</p>
+ * 
+ * <pre>mvn -Pbenchmark test -pl robozombie-benchmark -am -Dtest=TransportBenchmark -Dsurefire.failIfNoSpecifiedTests=false</pre>
+ * 
+ * <p>The number of measured requests can be changed with the system property 
+ * <b>robozombie.benchmark.requests</b>.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class TransportBenchmark {
+	
+	
+	private static final int REQUESTS = Integer.getInteger("robozombie.benchmark.requests", 2000);
+	
+	private static final int WARMUP = REQUESTS / 5;
+	
+	private static final int THREADS = 8;
+	
+	private static final byte[] BODY = new byte[1024];
+	
+	static
+	{
+		Arrays.fill(BODY, (byte)'z');
+	}
+	
+	
+	/**
+	 * <p>A request which is measured by the benchmark.</p>
+	 */
+	private static interface Call {
+		
+		String invoke();
+	}
+	
+	
+	private HttpServer httpServer;
+	
+	private ExecutorService serverExecutor;
+	
+	@Bite
+	private HttpClientEndpoint httpClientEndpoint;
+	
+	@Bite
+	private UrlConnectionEndpoint urlConnectionEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		
+		serverExecutor = Executors.newFixedThreadPool(THREADS);
+		
+		httpServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 8095), 1024);
+		httpServer.setExecutor(serverExecutor);
+		httpServer.createContext("/benchmark", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				exchange.getRequestBody().close();
+				exchange.getResponseHeaders().add("Content-Type", "text/plain");
+				exchange.sendResponseHeaders(200, BODY.length);
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				outputStream.write(BODY);
+				outputStream.close();
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+		serverExecutor.shutdownNow();
+	}
+	
+	/**
+	 * <p>Benchmarks both transports and prints a report of the measurements.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void benchmark() throws Exception {
+		
+		Call httpClient = new Call() {
+			
+			@Override
+			public String invoke() {
+				
+				return httpClientEndpoint.benchmark();
+			}
+		};
+		
+		Call urlConnection = new Call() {
+			
+			@Override
+			public String invoke() {
+				
+				return urlConnectionEndpoint.benchmark();
+			}
+		};
+		
+		StringBuilder report = new StringBuilder()
+			.append(String.format("%n%-42s%14s%14s%16s%14s%n", 
+				"Transport", "seq req/s", "seq us/req", "bytes/req", "conc req/s"));
+		
+		report.append(measure("HttpClient (ThreadSafeClientConnManager)", httpClient));
+		report.append(measure("UrlConnectionTransport", urlConnection));
+		
+		System.out.println(report);
+	}
+	
+	private static String measure(String name, final Call call) throws Exception {
+		
+		for (int i = 0; i < WARMUP; i++) {
+			
+			assertEquals(BODY.length, call.invoke().length());
+		}
+		
+		ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+		long threadId = Thread.currentThread().getId();
+		
+		long allocatedBefore = allocated(threadMXBean, threadId);
+		long start = System.nanoTime();
+		
+		for (int i = 0; i < REQUESTS; i++) {
+			
+			call.invoke();
+		}
+		
+		long sequential = System.nanoTime() - start;
+		long allocatedAfter = allocated(threadMXBean, threadId);
+		
+		ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+		final CountDownLatch latch = new CountDownLatch(REQUESTS);
+		final AtomicInteger failures = new AtomicInteger();
+		
+		start = System.nanoTime();
+		
+		for (int i = 0; i < REQUESTS; i++) {
+			
+			executorService.execute(new Runnable() {
+				
+				@Override
+				public void run() {
+					
+					try {
+						
+						call.invoke();
+					}
+					catch(Exception e) {
+						
+						failures.incrementAndGet();
+					}
+					finally {
+						
+						latch.countDown();
+					}
+				}
+			});
+		}
+		
+		latch.await(5, TimeUnit.MINUTES);
+		long concurrent = System.nanoTime() - start;
+		
+		executorService.shutdown();
+		assertEquals(0, failures.get());
+		
+		return String.format("%-42s%14.0f%14.1f%16s%14.0f%n", name, 
+			REQUESTS / (sequential / 1e9), (sequential / 1e3) / REQUESTS, 
+			allocatedBefore < 0? "n/a" :String.valueOf((allocatedAfter - allocatedBefore) / REQUESTS), 
+			REQUESTS / (concurrent / 1e9));
+	}
+	
+	private static long allocated(ThreadMXBean threadMXBean, long threadId) {
+		
+		if(threadMXBean instanceof com.sun.management.ThreadMXBean) {
+			
+			return ((com.sun.management.ThreadMXBean)threadMXBean).getThreadAllocatedBytes(threadId);
+		}
+		
+		return -1L;
+	}
+}
@@ -0,0 +1,60 @@
+package com.lonepulse.robozombie.benchmark;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+
+import com.lonepulse.robozombie.annotation.Config;
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.GET;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.transport.Transport;
+import com.lonepulse.robozombie.transport.UrlConnectionTransport;
+
+/**
+ * <p>An endpoint whose requests are executed with an {@link UrlConnectionTransport}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br> 
+ * @since 1.3.4
+ * <br><br> 
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Config(UrlConnectionEndpoint.UrlConnectionConfig.class)
+@Endpoint("http://127.0.0.1:8095")
+public interface UrlConnectionEndpoint {
+	
+	
+	public static class UrlConnectionConfig extends Zombie.Configuration {
+		
+		@Override
+		public Transport transport() {
+			
+			return new UrlConnectionTransport();
+		}
+	}
+	
+	
+	@GET("/benchmark")
+	public String benchmark();
+}
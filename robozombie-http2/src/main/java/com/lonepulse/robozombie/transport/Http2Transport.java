@@ -0,0 +1,469 @@
+package com.lonepulse.robozombie.transport;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.ProtocolVersion;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * <p>An {@link AsyncTransport} which executes requests using the {@link HttpClient} of <b>Java 11</b>. 
+ * Requests to the same origin are <b>multiplexed</b> as concurrent streams over a single HTTP/2 
+ * connection, which is negotiated via ALPN for <i>https</i> and via an upgrade (h2c) for <i>http</i>. 
+ * Origins which only speak HTTP/1.1 are served over a pool of persistent connections.</p>
+ * 
+ * <p>Requests are dispatched with the non-blocking API of the {@link HttpClient}, so the requests of 
+ * @{@link com.lonepulse.robozombie.annotation.Async} endpoints do not hold a thread while they wait for 
+ * their responses.</p>
+ * 
+ * <p>The socket timeout of a request is read from its parameters (see {@link HttpConnectionParams}) and 
+ * bounds the wait for the response headers; it falls back to the timeout of this transport. Aborting a 
+ * request via {@link HttpRequestBase#abort()} cancels its exchange and closes its response stream. 
+ * Redirects are followed, except from <i>https</i> to <i>http</i> (see {@link Redirect#NORMAL}). 
+ * Cookies are managed by the {@link java.net.CookieHandler} of the {@link HttpClient}, if any, and the 
+ * {@link HttpContext} is ignored.</p>
+ * 
+ * <p><b>Note</b> that this transport requires <b>Java 11</b> or above and is therefore unavailable on 
+ * Android.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class Http2Transport implements AsyncTransport {
+	
+	
+	private static final int DEFAULT_TIMEOUT = 30 * 1000;
+	
+	private static final ProtocolVersion HTTP_2 = new ProtocolVersion("HTTP", 2, 0);
+	
+	private static final Set<String> RESTRICTED_HEADERS = new HashSet<String>(Arrays.asList(
+		"connection", "content-length", "expect", "host", "keep-alive", "te", "transfer-encoding", "upgrade"));
+	
+	
+	/**
+	 * <p>Cancels the exchange of a request when it is aborted and closes its response stream if the 
+	 * response has already been received.</p>
+	 */
+	private static final class Cancellation implements ConnectionReleaseTrigger {
+		
+		
+		private final CompletableFuture<java.net.http.HttpResponse<InputStream>> exchange;
+		
+		private final AtomicReference<InputStream> content = new AtomicReference<InputStream>();
+		
+		
+		private Cancellation(CompletableFuture<java.net.http.HttpResponse<InputStream>> exchange) {
+			
+			this.exchange = exchange;
+		}
+		
+		@Override
+		public void releaseConnection() {}
+		
+		@Override
+		public void abortConnection() throws IOException {
+			
+			exchange.cancel(true);
+			
+			InputStream inputStream = content.getAndSet(null);
+			
+			if(inputStream != null) {
+				
+				inputStream.close();
+			}
+		}
+	}
+	
+	
+	private final HttpClient httpClient;
+	
+	private final int readTimeout;
+	
+	private volatile boolean running = true;
+	
+	
+	/**
+	 * <p>Creates a new {@link Http2Transport} which prefers <b>HTTP/2</b> and uses connection and socket 
+	 * timeouts of <b>30 seconds</b>.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public Http2Transport() {
+		
+		this(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT);
+	}
+	
+	/**
+	 * <p>Creates a new {@link Http2Transport} which prefers <b>HTTP/2</b> and uses the given timeouts for 
+	 * requests that do not specify their own.</p>
+	 *
+	 * @param connectTimeout
+	 * 			the number of <b>milliseconds</b> to wait for a connection to be established
+	 * <br><br>
+	 * @param readTimeout
+	 * 			the maximum number of <b>milliseconds</b> to wait for the headers of a response
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public Http2Transport(int connectTimeout, int readTimeout) {
+		
+		this(HttpClient.newBuilder()
+			.version(Version.HTTP_2)
+			.followRedirects(Redirect.NORMAL)
+			.connectTimeout(Duration.ofMillis(connectTimeout))
+			.build(), readTimeout);
+	}
+	
+	/**
+	 * <p>Creates a new {@link Http2Transport} which executes requests using the given {@link HttpClient}. 
+	 * Use this to supply an {@link javax.net.ssl.SSLContext}, an authenticator, a proxy or the executor 
+	 * on which responses are completed.</p>
+	 *
+	 * @param httpClient
+	 * 			the {@link HttpClient} which executes all requests
+	 * <br><br>
+	 * @param readTimeout
+	 * 			the maximum number of <b>milliseconds</b> to wait for the headers of a response
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public Http2Transport(HttpClient httpClient, int readTimeout) {
+		
+		if(httpClient == null) {
+			
+			throw new IllegalArgumentException("An HttpClient must be supplied. ");
+		}
+		
+		this.httpClient = httpClient;
+		this.readTimeout = readTimeout;
+	}
+	
+	/**
+	 * <p>Returns the {@link HttpClient} which executes the requests of this transport.</p>
+	 *
+	 * @return the {@link HttpClient} used by this transport
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public HttpClient getHttpClient() {
+		
+		return httpClient;
+	}
+	
+	/**
+	 * <p>Executes the given {@link HttpRequestBase} and blocks until the headers of its response have been 
+	 * received. The entity of the returned {@link HttpResponse} streams the response body.</p>
+	 * 
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is to be executed
+	 * <br><br>
+	 * @param context
+	 * 			<b>ignored</b> by this transport
+	 * <br><br>
+	 * @return the {@link HttpResponse} which resulted from the execution
+	 * <br><br>
+	 * @throws Exception
+	 * 			if the request could not be executed or if it was aborted
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public HttpResponse execute(HttpRequestBase request, HttpContext context) throws Exception {
+		
+		Cancellation cancellation = exchange(request);
+		
+		try {
+			
+			return respond(cancellation, cancellation.exchange.get());
+		}
+		catch(ExecutionException ee) {
+			
+			throw error(request, ee.getCause());
+		}
+		catch(CancellationException ce) {
+			
+			throw error(request, ce);
+		}
+		catch(InterruptedException ie) {
+			
+			cancellation.exchange.cancel(true);
+			throw ie;
+		}
+	}
+	
+	/**
+	 * <p>Dispatches the given {@link HttpRequestBase} and returns immediately. The {@link Callback} is 
+	 * invoked on a thread of the {@link HttpClient}'s executor once the headers of the response have 
+	 * been received.</p>
+	 * 
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is to be executed
+	 * <br><br>
+	 * @param context
+	 * 			<b>ignored</b> by this transport
+	 * <br><br>
+	 * @param callback
+	 * 			the {@link Callback} which receives the outcome of the execution
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public void execute(final HttpRequestBase request, HttpContext context, final Callback callback) {
+		
+		final Cancellation cancellation;
+		
+		try {
+			
+			cancellation = exchange(request);
+		}
+		catch(Exception e) {
+			
+			callback.onError(e);
+			return;
+		}
+		
+		cancellation.exchange.whenComplete(
+			new BiConsumer<java.net.http.HttpResponse<InputStream>, Throwable>() {
+			
+			@Override
+			public void accept(java.net.http.HttpResponse<InputStream> response, Throwable failure) {
+				
+				if(failure != null) {
+					
+					callback.onError(error(request, failure instanceof CompletionException? 
+						failure.getCause() :failure));
+					
+					return;
+				}
+				
+				HttpResponse adapted;
+				
+				try {
+					
+					adapted = respond(cancellation, response);
+				}
+				catch(IOException ioe) {
+					
+					callback.onError(ioe);
+					return;
+				}
+				
+				callback.onResponse(adapted);
+			}
+		});
+	}
+	
+	private Cancellation exchange(HttpRequestBase request) 
+	throws IOException {
+		
+		if(!running) {
+			
+			throw new IOException(getClass().getSimpleName() + " has been shut down");
+		}
+		
+		int timeout = HttpConnectionParams.getSoTimeout(request.getParams());
+		
+		HttpRequest.Builder builder = HttpRequest.newBuilder(request.getURI())
+			.timeout(Duration.ofMillis(timeout > 0? timeout :readTimeout));
+		
+		for (Header header : request.getAllHeaders()) {
+			
+			if(!RESTRICTED_HEADERS.contains(header.getName().toLowerCase(Locale.ENGLISH))) {
+				
+				builder.header(header.getName(), header.getValue());
+			}
+		}
+		
+		BodyPublisher body = BodyPublishers.noBody();
+		
+		if(request instanceof HttpEntityEnclosingRequest) {
+			
+			body = publish(builder, request, ((HttpEntityEnclosingRequest)request).getEntity());
+		}
+		
+		CompletableFuture<java.net.http.HttpResponse<InputStream>> exchange 
+			= httpClient.sendAsync(builder.method(request.getMethod(), body).build(), BodyHandlers.ofInputStream());
+		
+		Cancellation cancellation = new Cancellation(exchange);
+		
+		try {
+			
+			request.setReleaseTrigger(cancellation);
+		}
+		catch(IOException ioe) {
+			
+			exchange.cancel(true);
+			throw ioe;
+		}
+		
+		return cancellation;
+	}
+	
+	private static BodyPublisher publish(HttpRequest.Builder builder, HttpRequestBase request, final HttpEntity entity) {
+		
+		if(entity == null) {
+			
+			return BodyPublishers.noBody();
+		}
+		
+		if(entity.getContentType() != null && !request.containsHeader(HTTP.CONTENT_TYPE)) {
+			
+			builder.header(HTTP.CONTENT_TYPE, entity.getContentType().getValue());
+		}
+		
+		if(entity.getContentEncoding() != null && !request.containsHeader(HTTP.CONTENT_ENCODING)) {
+			
+			builder.header(HTTP.CONTENT_ENCODING, entity.getContentEncoding().getValue());
+		}
+		
+		long length = entity.getContentLength();
+		
+		if(length == 0) {
+			
+			return BodyPublishers.noBody();
+		}
+		
+		BodyPublisher stream = BodyPublishers.ofInputStream(new Supplier<InputStream>() {
+			
+			@Override
+			public InputStream get() {
+				
+				try {
+					
+					return entity.getContent();
+				}
+				catch(IOException ioe) {
+					
+					throw new UncheckedIOException(ioe);
+				}
+			}
+		});
+		
+		return length > 0? BodyPublishers.fromPublisher(stream, length) :stream;
+	}
+	
+	private static HttpResponse respond(Cancellation cancellation, java.net.http.HttpResponse<InputStream> exchanged) 
+	throws IOException {
+		
+		int status = exchanged.statusCode();
+		ProtocolVersion version = exchanged.version() == Version.HTTP_2? HTTP_2 :HttpVersion.HTTP_1_1;
+		String reason = EnglishReasonPhraseCatalog.INSTANCE.getReason(status, Locale.ENGLISH);
+		
+		BasicHttpResponse response = new BasicHttpResponse(version, status, reason == null? "" :reason);
+		
+		for (Map.Entry<String, List<String>> header : exchanged.headers().map().entrySet()) {
+			
+			if(header.getKey().startsWith(":")) {
+				
+				continue; //skip the pseudo-headers of HTTP/2
+			}
+			
+			for (String value : header.getValue()) {
+				
+				response.addHeader(header.getKey(), value);
+			}
+		}
+		
+		InputStream content = exchanged.body();
+		
+		if("HEAD".equals(exchanged.request().method())) {
+			
+			content.close();
+			return response;
+		}
+		
+		cancellation.content.set(content);
+		
+		BasicHttpEntity entity = new BasicHttpEntity();
+		entity.setContent(content);
+		entity.setContentLength(exchanged.headers().firstValueAsLong(HTTP.CONTENT_LEN).orElse(-1L));
+		entity.setContentType(response.getFirstHeader(HTTP.CONTENT_TYPE));
+		entity.setContentEncoding(response.getFirstHeader(HTTP.CONTENT_ENCODING));
+		
+		response.setEntity(entity);
+		
+		return response;
+	}
+	
+	private static Exception error(HttpRequestBase request, Throwable failure) {
+		
+		if(request.isAborted() || failure instanceof CancellationException) {
+			
+			IOException aborted = new IOException("The request was aborted");
+			aborted.initCause(failure);
+			
+			return aborted;
+		}
+		
+		return failure instanceof Exception? (Exception)failure :new IOException(failure);
+	}
+	
+	/**
+	 * <p>Rejects any subsequent requests. Connections which are open are closed by the {@link HttpClient} 
+	 * once they become idle.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public void shutdown() {
+		
+		running = false;
+	}
+}
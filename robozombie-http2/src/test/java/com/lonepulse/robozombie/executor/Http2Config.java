@@ -0,0 +1,47 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.transport.Http2Transport;
+import com.lonepulse.robozombie.transport.Transport;
+
+/**
+ * <p>An implementation of {@link Zombie.Configuration} which configures an {@link Http2Transport} to be 
+ * used for executing requests with {@link Http2Endpoint}.</p> 
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class Http2Config extends Zombie.Configuration {
+	
+	
+	@Override
+	public Transport transport() {
+		
+		return new Http2Transport();
+	}
+}
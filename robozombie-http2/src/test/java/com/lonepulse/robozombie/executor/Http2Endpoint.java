@@ -0,0 +1,62 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Config;
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.Entity;
+import com.lonepulse.robozombie.annotation.GET;
+import com.lonepulse.robozombie.annotation.POST;
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>An endpoint whose requests are executed using the transport of <b>Java 11</b>.</p>
+ * 
+ * @version 1.1.0
+ * <br><br> 
+ * @since 1.3.4
+ * <br><br> 
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Config(Http2Config.class)
+@Endpoint("http://0.0.0.0:8096")
+public interface Http2Endpoint {
+	
+	
+	@GET("/greeting")
+	public String greeting();
+	
+	@POST("/echo")
+	public String echo(@Entity String content);
+	
+	@GET("/missing")
+	public String missing();
+	
+	@GET("/moved")
+	public String moved();
+	
+	@Async
+	@GET("/slow")
+	public void slow(AsyncHandler<String> asyncHandler);
+}
@@ -0,0 +1,271 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.AsyncHandler;
+import com.lonepulse.robozombie.transport.Http2Transport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on the {@link Http2Transport} using the endpoint {@link Http2Endpoint}. The 
+ * stub server speaks HTTP/1.1, so these tests cover the exchange of requests and responses rather than 
+ * the multiplexing of streams, which is the responsibility of the JDK's client.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class Http2EndpointTest {
+	
+	
+	private static final int CONCURRENCY = 200;
+	
+	private static final long SLOW_RESPONSE_DELAY = 500;
+	
+	
+	private HttpServer httpServer;
+	
+	private ExecutorService serverExecutor;
+	
+	@Bite
+	private Http2Endpoint http2Endpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		serverExecutor = Executors.newCachedThreadPool();
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8096), CONCURRENCY);
+		httpServer.setExecutor(serverExecutor);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				String path = exchange.getRequestURI().getPath();
+				byte[] body = read(exchange.getRequestBody());
+				
+				if(path.equals("/greeting")) {
+					
+					respond(exchange, 200, "hello".getBytes("UTF-8"));
+				}
+				else if(path.equals("/moved")) {
+					
+					exchange.getResponseHeaders().add("Location", "/greeting");
+					respond(exchange, 302, new byte[0]);
+				}
+				else if(path.equals("/echo")) {
+					
+					respond(exchange, 200, body);
+				}
+				else if(path.equals("/slow")) {
+					
+					try {
+						
+						Thread.sleep(SLOW_RESPONSE_DELAY);
+					}
+					catch(InterruptedException ie) {
+						
+						Thread.currentThread().interrupt();
+					}
+					
+					respond(exchange, 200, "slow".getBytes("UTF-8"));
+				}
+				else {
+					
+					respond(exchange, 404, new byte[0]);
+				}
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+		serverExecutor.shutdownNow();
+	}
+	
+	private static byte[] read(InputStream inputStream) throws IOException {
+		
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		
+		for (int count; (count = inputStream.read(buffer)) != -1; ) {
+			
+			content.write(buffer, 0, count);
+		}
+		
+		inputStream.close();
+		
+		return content.toByteArray();
+	}
+	
+	private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+		
+		exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+		exchange.sendResponseHeaders(status, body.length == 0? -1 :body.length);
+		
+		OutputStream outputStream = exchange.getResponseBody();
+		outputStream.write(body);
+		outputStream.close();
+	}
+	
+	/**
+	 * <p>Tests that the {@link Http2Transport} is configured for the endpoint and that it executes a 
+	 * simple request.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testGreeting() {
+		
+		assertTrue(TransportDirectory.INSTANCE.lookup(Http2Endpoint.class) instanceof Http2Transport);
+		
+		assertEquals("hello", http2Endpoint.greeting());
+		assertEquals("hello", http2Endpoint.greeting());
+	}
+	
+	/**
+	 * <p>Tests that a redirect is followed, as it is by the other transports.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testRedirect() {
+		
+		assertEquals("hello", http2Endpoint.moved());
+	}
+	
+	/**
+	 * <p>Tests that a request entity is sent to the server.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testEcho() {
+		
+		String content = "echoed";
+		
+		assertEquals(content, http2Endpoint.echo(content));
+	}
+	
+	/**
+	 * <p>Tests that a failed status code is surfaced along with its response.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testMissing() {
+		
+		try {
+			
+			http2Endpoint.missing();
+			fail("Expected the request to fail with a 404.");
+		}
+		catch(InvocationException ie) {
+			
+			assertEquals(404, ie.getResponse().getStatusLine().getStatusCode());
+		}
+	}
+	
+	/**
+	 * <p>Tests that concurrent asynchronous requests with slow responses are in flight at once, rather 
+	 * than being limited by the threads of the asynchronous executor.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testConcurrentSlowResponses() throws InterruptedException {
+		
+		final CountDownLatch latch = new CountDownLatch(CONCURRENCY);
+		final AtomicInteger successes = new AtomicInteger();
+		final AtomicInteger errors = new AtomicInteger();
+		
+		long start = System.currentTimeMillis();
+		
+		for (int i = 0; i < CONCURRENCY; i++) {
+			
+			http2Endpoint.slow(new AsyncHandler<String>() {
+				
+				@Override
+				public void onSuccess(HttpResponse httpResponse, String content) {
+					
+					if("slow".equals(content)) {
+						
+						successes.incrementAndGet();
+					}
+					
+					latch.countDown();
+				}
+				
+				@Override
+				public void onError(InvocationException invocationException) {
+					
+					errors.incrementAndGet();
+					latch.countDown();
+				}
+			});
+		}
+		
+		assertTrue(latch.await(60, TimeUnit.SECONDS));
+		
+		long elapsed = System.currentTimeMillis() - start;
+		
+		assertEquals(0, errors.get());
+		assertEquals(CONCURRENCY, successes.get());
+		assertTrue(CONCURRENCY + " slow responses took " + elapsed + "ms", elapsed < 10 * SLOW_RESPONSE_DELAY);
+	}
+}
@@ -0,0 +1,171 @@
+package com.lonepulse.robozombie.reactive;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.lonepulse.robozombie.proxy.InvocationAdapter;
+import com.lonepulse.robozombie.proxy.InvocationContext;
+
+/**
+ * <p>An {@link InvocationAdapter} for requests which return a {@link Flow.Publisher} of records. The 
+ * response content is expected to be a <b>JSON array</b> or <b>newline-delimited JSON</b> (identified 
+ * by a content-type such as <i>application/x-ndjson</i>), and each element is deserialized to the type 
+ * argument of the publisher using GSON.</p>
+ * 
+ * <p>The request is executed when a subscriber subscribes, and each subscription executes it anew. 
+ * Records are pulled from the open response only as they are requested, which bounds the memory used 
+ * to consume a large feed.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <code>
+ * <pre>@Endpoint("https://api.example.com")
+ *public interface FeedEndpoint {<br>
+ *&nbsp;&nbsp;&nbsp;&nbsp;@GET("/events")
+ *&nbsp;&nbsp;&nbsp;&nbsp;<b>Flow.Publisher&lt;Event&gt;</b> events();<br>}</pre>
+ * </code>
+ * <br>
+ * <p>This adapter is registered as a service and is discovered once the module is on the classpath. 
+ * Reactive Streams libraries may interoperate with it via <i>org.reactivestreams.FlowAdapters</i>.</p>
+ * 
+ * <p><b>Note</b> that requests which return a publisher must not be @{@link com.lonepulse.robozombie.annotation.Async}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public final class PublisherAdapter implements InvocationAdapter {
+	
+	
+	private static final ExecutorService PUBLISHER_EXECUTOR_SERVICE = Executors.newCachedThreadPool(new ThreadFactory() {
+		
+		private final AtomicInteger count = new AtomicInteger();
+		
+		@Override
+		public Thread newThread(Runnable runnable) {
+			
+			Thread thread = new Thread(runnable, "RoboZombie-Publisher-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			
+			return thread;
+		}
+	});
+	
+	
+	private final Executor executor;
+	
+	
+	/**
+	 * <p>Creates a new {@link PublisherAdapter} which reads responses on a shared pool of daemon threads.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public PublisherAdapter() {
+		
+		this(PUBLISHER_EXECUTOR_SERVICE);
+	}
+	
+	/**
+	 * <p>Creates a new {@link PublisherAdapter} which reads responses on the given {@link Executor}. Each 
+	 * active subscription occupies a thread of the executor while it waits for the response.</p>
+	 *
+	 * @param executor
+	 * 			the {@link Executor} on which requests are executed and responses are read
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public PublisherAdapter(Executor executor) {
+		
+		if(executor == null) {
+			
+			throw new IllegalArgumentException("An Executor must be supplied. ");
+		}
+		
+		this.executor = executor;
+	}
+	
+	/**
+	 * <p>Adapts requests whose return type is a {@link Flow.Publisher}.</p>
+	 * 
+	 * @param request
+	 * 			the {@link Method} on an endpoint which defines the request
+	 * <br><br>
+	 * @return {@code true} if the request returns a {@link Flow.Publisher}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public boolean adapts(Method request) {
+		
+		return Flow.Publisher.class.equals(request.getReturnType());
+	}
+	
+	/**
+	 * <p>Returns a {@link Flow.Publisher} which executes the request upon subscription.</p>
+	 * 
+	 * @param context
+	 * 			the {@link InvocationContext} of the proxy invocation
+	 * <br><br>
+	 * @param execution
+	 * 			the deferred {@link Execution} of the request
+	 * <br><br>
+	 * @return a cold {@link Flow.Publisher} of the records in the response
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public Object adapt(InvocationContext context, Execution execution) {
+		
+		return new ResponsePublisher<Object>(execution, recordType(context.getRequest()), executor);
+	}
+	
+	private static Type recordType(Method request) {
+		
+		Type returnType = request.getGenericReturnType();
+		
+		if(returnType instanceof ParameterizedType) {
+			
+			Type recordType = ((ParameterizedType)returnType).getActualTypeArguments()[0];
+			
+			if(recordType instanceof WildcardType) {
+				
+				recordType = ((WildcardType)recordType).getUpperBounds()[0];
+			}
+			
+			return recordType;
+		}
+		
+		return Object.class;
+	}
+}
@@ -0,0 +1,162 @@
+package com.lonepulse.robozombie.reactive;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * <p>Reads the records of a JSON response <b>incrementally</b>. The content may either be a single JSON 
+ * array whose elements are the records, or a sequence of JSON values such as <i>newline-delimited JSON</i>. 
+ * Only as much of the content is read as is required to parse the next record. Content which is empty 
+ * has no records.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+final class RecordReader<T> implements Closeable {
+	
+	
+	private static final Gson GSON = new Gson();
+	
+	
+	private final JsonReader jsonReader;
+	
+	private final Type recordType;
+	
+	private final boolean delimited;
+	
+	private boolean started;
+	
+	private boolean array;
+	
+	private boolean empty;
+	
+	
+	/**
+	 * <p>Creates a new {@link RecordReader} over the given content.</p>
+	 *
+	 * @param content
+	 * 			the {@link InputStream} of the response content
+	 * <br><br>
+	 * @param charset
+	 * 			the {@link Charset} of the response content
+	 * <br><br>
+	 * @param recordType
+	 * 			the {@link Type} to which each record is deserialized
+	 * <br><br>
+	 * @param delimited
+	 * 			{@code true} if the content is a sequence of records, in which case a top-level array is 
+	 * 			read as a single record
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	RecordReader(InputStream content, Charset charset, Type recordType, boolean delimited) {
+		
+		this.jsonReader = new JsonReader(new InputStreamReader(content, charset));
+		this.jsonReader.setLenient(true);
+		this.recordType = recordType;
+		this.delimited = delimited;
+	}
+	
+	/**
+	 * <p>Determines whether another record is available, blocking until it begins to arrive or until 
+	 * the content ends.</p>
+	 *
+	 * @return {@code true} if another record can be read
+	 * <br><br>
+	 * @throws IOException
+	 * 			if the content could not be read
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	boolean hasNext() throws IOException {
+		
+		if(!started) {
+			
+			started = true;
+			
+			JsonToken token = null;
+			
+			try {
+				
+				token = jsonReader.peek();
+			}
+			catch(EOFException eofe) { //the content ended before its first token
+				
+				empty = true;
+			}
+			
+			if(!delimited && token == JsonToken.BEGIN_ARRAY) {
+				
+				jsonReader.beginArray();
+				array = true;
+			}
+		}
+		
+		if(empty) {
+			
+			return false;
+		}
+		
+		return array? jsonReader.hasNext() :jsonReader.peek() != JsonToken.END_DOCUMENT;
+	}
+	
+	/**
+	 * <p>Reads and deserializes the next record.</p>
+	 *
+	 * @return the next record
+	 * <br><br>
+	 * @throws IOException
+	 * 			if the content could not be read or if the record could not be deserialized
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	T next() throws IOException {
+		
+		try {
+			
+			return GSON.fromJson(jsonReader, recordType);
+		}
+		catch(RuntimeException re) {
+			
+			throw new IOException("Failed to deserialize a record of type " + recordType, re);
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		
+		jsonReader.close();
+	}
+}
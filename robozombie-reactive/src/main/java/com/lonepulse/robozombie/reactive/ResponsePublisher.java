@@ -0,0 +1,361 @@
+package com.lonepulse.robozombie.reactive;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Type;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.util.EntityUtils;
+
+import com.lonepulse.robozombie.proxy.InvocationAdapter.Execution;
+
+/**
+ * <p>A <b>cold</b> {@link Flow.Publisher} of the records in a response. Each subscription executes the 
+ * request anew and reads records from the open response only as they are demanded via 
+ * {@link Flow.Subscription#request(long)}, so that the consumption of a large feed is bounded in memory.</p>
+ * 
+ * <p>The response is read on a thread of the given {@link Executor} and signals to a subscriber are 
+ * serialized. Cancelling a subscription aborts the connection of its response, even if its content 
+ * is being decoded by a wrapping entity (such as a {@link com.lonepulse.robozombie.response.DecodedEntity}).</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+final class ResponsePublisher<T> implements Flow.Publisher<T> {
+	
+	
+	private static final Charset UTF_8 = Charset.forName("UTF-8");
+	
+	
+	/**
+	 * <p>The {@link Flow.Subscription} of a single subscriber. All work is performed in a drain loop which 
+	 * is run by at most one thread at a time.</p>
+	 */
+	private final class ResponseSubscription implements Flow.Subscription, Runnable {
+		
+		
+		private final Flow.Subscriber<? super T> subscriber;
+		
+		private final AtomicLong demand = new AtomicLong();
+		
+		private final AtomicInteger pending = new AtomicInteger();
+		
+		private volatile boolean cancelled;
+		
+		private volatile Throwable violation;
+		
+		private boolean terminated;
+		
+		private HttpResponse response;
+		
+		private RecordReader<T> reader;
+		
+		
+		private ResponseSubscription(Flow.Subscriber<? super T> subscriber) {
+			
+			this.subscriber = subscriber;
+		}
+		
+		@Override
+		public void request(long n) {
+			
+			if(n <= 0) {
+				
+				violation = new IllegalArgumentException("A non-positive demand of " + n + " was requested.");
+			}
+			else {
+				
+				long current, updated;
+				
+				do {
+					
+					current = demand.get();
+					updated = (current + n < 0)? Long.MAX_VALUE :current + n;
+				}
+				while(!demand.compareAndSet(current, updated));
+			}
+			
+			schedule();
+		}
+		
+		@Override
+		public void cancel() {
+			
+			cancelled = true;
+			schedule();
+		}
+		
+		private void schedule() {
+			
+			if(pending.getAndIncrement() == 0) {
+				
+				executor.execute(this);
+			}
+		}
+		
+		@Override
+		public void run() {
+			
+			int missed = 1;
+			
+			do {
+				
+				drain();
+				missed = pending.addAndGet(-missed);
+			}
+			while(missed != 0);
+		}
+		
+		private void drain() {
+			
+			if(terminated) {
+				
+				return;
+			}
+			
+			try {
+				
+				if(reader == null && !cancelled) {
+					
+					open();
+				}
+				
+				while(!cancelled && violation == null && demand.get() > 0) {
+					
+					if(!reader.hasNext()) {
+						
+						terminate(null, false);
+						return;
+					}
+					
+					T record = reader.next();
+					
+					if(demand.get() != Long.MAX_VALUE) {
+						
+						demand.decrementAndGet();
+					}
+					
+					subscriber.onNext(record);
+				}
+				
+				if(cancelled) {
+					
+					terminated = true;
+					release(true);
+				}
+				else if(violation != null) {
+					
+					terminate(violation, true);
+				}
+			}
+			catch(Throwable t) {
+				
+				terminate(t, true);
+			}
+		}
+		
+		private void open() throws IOException {
+			
+			response = execution.execute();
+			
+			if(response == null) {
+				
+				throw new IllegalStateException("Requests which return a publisher cannot be asynchronous.");
+			}
+			
+			HttpEntity entity = response.getEntity();
+			
+			InputStream content = entity == null? null :entity.getContent();
+			
+			if(content == null) {
+				
+				content = new ByteArrayInputStream(new byte[0]);
+			}
+			
+			String charset = entity == null? null :EntityUtils.getContentCharSet(entity);
+			
+			reader = new RecordReader<T>(content, charset == null? UTF_8 :Charset.forName(charset), 
+				recordType, delimited(entity));
+		}
+		
+		private void terminate(Throwable error, boolean abort) {
+			
+			terminated = true;
+			release(abort);
+			
+			if(cancelled) {
+				
+				return;
+			}
+			
+			if(error == null) {
+				
+				subscriber.onComplete();
+			}
+			else {
+				
+				subscriber.onError(error);
+			}
+		}
+		
+		private void release(boolean abort) {
+			
+			if(response == null || response.getEntity() == null) {
+				
+				return;
+			}
+			
+			try {
+				
+				HttpEntity entity = response.getEntity();
+				HttpEntity managed = managed(entity);
+				
+				if(abort && managed instanceof ConnectionReleaseTrigger) {
+					
+					((ConnectionReleaseTrigger)managed).abortConnection();
+					
+					if(reader != null) {
+						
+						reader.close(); //releases any decoder once the connection is gone
+					}
+				}
+				else if(reader != null) {
+					
+					reader.close();
+				}
+				else {
+					
+					entity.consumeContent();
+				}
+			}
+			catch(IOException ioe) {
+				
+				//the connection is discarded regardless
+			}
+		}
+	}
+	
+	
+	private final Execution execution;
+	
+	private final Type recordType;
+	
+	private final Executor executor;
+	
+	
+	/**
+	 * <p>Creates a new {@link ResponsePublisher} for the given deferred {@link Execution}.</p>
+	 *
+	 * @param execution
+	 * 			the {@link Execution} which is performed for each subscription
+	 * <br><br>
+	 * @param recordType
+	 * 			the {@link Type} to which each record of the response is deserialized
+	 * <br><br>
+	 * @param executor
+	 * 			the {@link Executor} on which responses are read and subscribers are signalled
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	ResponsePublisher(Execution execution, Type recordType, Executor executor) {
+		
+		this.execution = execution;
+		this.recordType = recordType;
+		this.executor = executor;
+	}
+	
+	/**
+	 * <p>Subscribes the given {@link Flow.Subscriber} and executes the request. Records are only read 
+	 * once they have been requested.</p>
+	 * 
+	 * @param subscriber
+	 * 			the {@link Flow.Subscriber} which receives the records of the response
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		
+		if(subscriber == null) {
+			
+			throw new NullPointerException("A subscriber must be supplied. ");
+		}
+		
+		ResponseSubscription subscription = new ResponseSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+		subscription.schedule();
+	}
+	
+	/**
+	 * <p>Finds the entity which manages the connection of a response by unwrapping any entities which 
+	 * decode its content, since closing the content of a wrapper would read the rest of the response.</p>
+	 */
+	private static HttpEntity managed(HttpEntity entity) {
+		
+		while(entity instanceof HttpEntityWrapper && !(entity instanceof ConnectionReleaseTrigger)) {
+			
+			try {
+				
+				Field wrappedEntity = HttpEntityWrapper.class.getDeclaredField("wrappedEntity");
+				wrappedEntity.setAccessible(true);
+				
+				entity = (HttpEntity)wrappedEntity.get(entity);
+			}
+			catch(Exception e) { //the wrapped entity is inaccessible on this runtime
+				
+				break;
+			}
+		}
+		
+		return entity;
+	}
+	
+	private static boolean delimited(HttpEntity entity) {
+		
+		Header contentType = entity == null? null :entity.getContentType();
+		
+		if(contentType == null) {
+			
+			return false;
+		}
+		
+		String mimeType = contentType.getValue().toLowerCase(Locale.ENGLISH);
+		
+		return mimeType.contains("ndjson") || mimeType.contains("jsonl");
+	}
+}
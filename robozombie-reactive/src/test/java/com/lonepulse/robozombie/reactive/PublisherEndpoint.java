@@ -0,0 +1,80 @@
+package com.lonepulse.robozombie.reactive;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.concurrent.Flow;
+
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.GET;
+
+/**
+ * <p>An endpoint whose requests return publishers of the records in their responses.</p>
+ * 
+ * @version 1.1.0
+ * <br><br> 
+ * @since 1.3.4
+ * <br><br> 
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Endpoint("http://0.0.0.0:8097")
+public interface PublisherEndpoint {
+	
+	
+	/**
+	 * <p>A record in the responses of {@link PublisherEndpoint}.</p>
+	 */
+	public static final class Record {
+		
+		
+		private int id;
+		
+		private String name;
+		
+		
+		public int getId() {
+			
+			return id;
+		}
+		
+		public String getName() {
+			
+			return name;
+		}
+	}
+	
+	
+	@GET("/array")
+	public Flow.Publisher<Record> array();
+	
+	@GET("/ndjson")
+	public Flow.Publisher<Record> ndjson();
+	
+	@GET("/missing")
+	public Flow.Publisher<Record> missing();
+	
+	@GET("/empty")
+	public Flow.Publisher<Record> empty();
+	
+	@GET("/gzip")
+	public Flow.Publisher<Record> gzip();
+}
@@ -0,0 +1,388 @@
+package com.lonepulse.robozombie.reactive;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.reactive.PublisherEndpoint.Record;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on the {@link PublisherAdapter} using the endpoint {@link PublisherEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class PublisherEndpointTest {
+	
+	
+	private static final int ARRAY_SIZE = 100;
+	
+	private static final int FEED_SIZE = 1000000;
+	
+	
+	/**
+	 * <p>A {@link Flow.Subscriber} which requests records in batches and collects them.</p>
+	 */
+	private static final class CollectingSubscriber implements Flow.Subscriber<Record> {
+		
+		
+		private final long batch;
+		
+		private final List<Record> records = Collections.synchronizedList(new ArrayList<Record>());
+		
+		private final AtomicReference<Throwable> error = new AtomicReference<Throwable>();
+		
+		private final CountDownLatch terminated = new CountDownLatch(1);
+		
+		private volatile Flow.Subscription subscription;
+		
+		
+		private CollectingSubscriber(long batch) {
+			
+			this.batch = batch;
+		}
+		
+		@Override
+		public void onSubscribe(Flow.Subscription subscription) {
+			
+			this.subscription = subscription;
+			subscription.request(batch);
+		}
+		
+		@Override
+		public void onNext(Record record) {
+			
+			records.add(record);
+			
+			if(records.size() % batch == 0) {
+				
+				subscription.request(batch);
+			}
+		}
+		
+		@Override
+		public void onError(Throwable throwable) {
+			
+			error.set(throwable);
+			terminated.countDown();
+		}
+		
+		@Override
+		public void onComplete() {
+			
+			terminated.countDown();
+		}
+	}
+	
+	
+	private HttpServer httpServer;
+	
+	private final AtomicInteger executions = new AtomicInteger();
+	
+	private final AtomicInteger written = new AtomicInteger();
+	
+	private final CountDownLatch feedClosed = new CountDownLatch(1);
+	
+	@Bite
+	private PublisherEndpoint publisherEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8097), 0);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				executions.incrementAndGet();
+				
+				String path = exchange.getRequestURI().getPath();
+				
+				InputStream requestBody = exchange.getRequestBody();
+				requestBody.close();
+				
+				if(path.equals("/array")) {
+					
+					StringBuilder content = new StringBuilder("[");
+					
+					for (int i = 0; i < ARRAY_SIZE; i++) {
+						
+						content.append(i == 0? "" :",").append(record(i));
+					}
+					
+					byte[] body = content.append("]").toString().getBytes("UTF-8");
+					
+					exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+					exchange.sendResponseHeaders(200, body.length);
+					
+					OutputStream outputStream = exchange.getResponseBody();
+					outputStream.write(body);
+					outputStream.close();
+				}
+				else if(path.equals("/empty")) {
+					
+					exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+					exchange.sendResponseHeaders(200, -1);
+					exchange.close();
+				}
+				else if(path.equals("/ndjson") || path.equals("/gzip")) {
+					
+					exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+					
+					boolean gzip = path.equals("/gzip");
+					
+					if(gzip) {
+						
+						exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+					}
+					
+					exchange.sendResponseHeaders(200, 0);
+					
+					OutputStream outputStream = gzip? 
+						new GZIPOutputStream(exchange.getResponseBody(), true) :exchange.getResponseBody();
+					
+					try {
+						
+						for (int i = 0; i < FEED_SIZE; i++) {
+							
+							outputStream.write((record(i) + "\n").getBytes("UTF-8"));
+							written.incrementAndGet();
+						}
+						
+						outputStream.close();
+					}
+					catch(IOException ioe) {
+						
+						exchange.close();
+					}
+					finally {
+						
+						feedClosed.countDown();
+					}
+				}
+				else {
+					
+					exchange.sendResponseHeaders(404, -1);
+					exchange.close();
+				}
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+	}
+	
+	private static String record(int id) {
+		
+		return "{\"id\":" + id + ",\"name\":\"record-" + id + "\"}";
+	}
+	
+	/**
+	 * <p>Tests that the request is executed on subscription and that the elements of a JSON array are 
+	 * published in order.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testArray() throws InterruptedException {
+		
+		Flow.Publisher<Record> publisher = publisherEndpoint.array();
+		
+		assertEquals(0, executions.get());
+		
+		CollectingSubscriber subscriber = new CollectingSubscriber(7);
+		publisher.subscribe(subscriber);
+		
+		assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+		assertNull(subscriber.error.get());
+		
+		assertEquals(1, executions.get());
+		assertEquals(ARRAY_SIZE, subscriber.records.size());
+		
+		for (int i = 0; i < ARRAY_SIZE; i++) {
+			
+			assertEquals(i, subscriber.records.get(i).getId());
+			assertEquals("record-" + i, subscriber.records.get(i).getName());
+		}
+	}
+	
+	/**
+	 * <p>Tests that records of newline-delimited JSON are only read as they are demanded and that 
+	 * cancelling the subscription closes the connection before the feed has been transferred.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testBackpressure() throws InterruptedException {
+		
+		final AtomicReference<Flow.Subscription> subscription = new AtomicReference<Flow.Subscription>();
+		final List<Record> records = Collections.synchronizedList(new ArrayList<Record>());
+		final CountDownLatch received = new CountDownLatch(5);
+		
+		publisherEndpoint.ndjson().subscribe(new Flow.Subscriber<Record>() {
+			
+			@Override
+			public void onSubscribe(Flow.Subscription s) {
+				
+				subscription.set(s);
+				s.request(5);
+			}
+			
+			@Override
+			public void onNext(Record record) {
+				
+				records.add(record);
+				received.countDown();
+			}
+			
+			@Override
+			public void onError(Throwable throwable) {}
+			
+			@Override
+			public void onComplete() {}
+		});
+		
+		assertTrue(received.await(10, TimeUnit.SECONDS));
+		
+		Thread.sleep(200);
+		assertEquals(5, records.size());
+		
+		subscription.get().cancel();
+		
+		assertTrue(feedClosed.await(10, TimeUnit.SECONDS));
+		assertTrue(written.get() + " records were written", written.get() < FEED_SIZE);
+		assertEquals(5, records.size());
+	}
+	
+	/**
+	 * <p>Tests that cancelling the subscription to a compressed feed aborts its connection, rather than 
+	 * reading the rest of the feed when the decoded content is closed.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testCompressedCancel() throws InterruptedException {
+		
+		final AtomicReference<Flow.Subscription> subscription = new AtomicReference<Flow.Subscription>();
+		final CountDownLatch received = new CountDownLatch(5);
+		
+		publisherEndpoint.gzip().subscribe(new Flow.Subscriber<Record>() {
+			
+			@Override
+			public void onSubscribe(Flow.Subscription s) {
+				
+				subscription.set(s);
+				s.request(5);
+			}
+			
+			@Override
+			public void onNext(Record record) {
+				
+				received.countDown();
+			}
+			
+			@Override
+			public void onError(Throwable throwable) {}
+			
+			@Override
+			public void onComplete() {}
+		});
+		
+		assertTrue(received.await(10, TimeUnit.SECONDS));
+		
+		subscription.get().cancel();
+		
+		assertTrue(feedClosed.await(10, TimeUnit.SECONDS));
+		assertTrue(written.get() + " records were written", written.get() < FEED_SIZE);
+	}
+	
+	/**
+	 * <p>Tests that a feed without any content completes without publishing any records.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testEmpty() throws InterruptedException {
+		
+		CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+		publisherEndpoint.empty().subscribe(subscriber);
+		
+		assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+		assertNull(subscriber.error.get());
+		assertTrue(subscriber.records.isEmpty());
+	}
+	
+	/**
+	 * <p>Tests that a failed status code is signalled as an error.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testMissing() throws InterruptedException {
+		
+		CollectingSubscriber subscriber = new CollectingSubscriber(Long.MAX_VALUE);
+		publisherEndpoint.missing().subscribe(subscriber);
+		
+		assertTrue(subscriber.terminated.await(10, TimeUnit.SECONDS));
+		assertTrue(subscriber.error.get() instanceof InvocationException);
+		assertEquals(404, ((InvocationException)subscriber.error.get()).getResponse().getStatusLine().getStatusCode());
+	}
+}
@@ -0,0 +1,112 @@
+package com.lonepulse.robozombie.annotation;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>Identifies requests whose invocations may be <b>batched</b> into a single <i>bulk</i> request. 
+ * The batchable request accepts a single argument (the <i>key</i>) and names a companion bulk request 
+ * on the same endpoint which accepts a {@link java.util.List} (or an array) of keys.</p>
+ * 
+ * <p>Invocations which arrive within the batching {@link #window()} are collected (duplicate keys are 
+ * merged) and the bulk request is invoked once for the batch, or as soon as it reaches its maximum 
+ * {@link #size()}. The bulk response is then split among the waiting invocations; a {@link java.util.Map} 
+ * result is split by key, whereas a {@link java.util.List} or an array is split by the position of each 
+ * key. If the bulk request fails, all invocations in the batch fail with the same error.</p>
+ * 
+ * <p>Batches are flushed on a background thread. A blocking invocation waits until its batch completes, 
+ * so batching blocking requests is beneficial when they are invoked concurrently, for example on several 
+ * worker threads. An @{@link Async} batched request accepts an {@link AsyncHandler} after its key and 
+ * returns immediately; its share of the bulk result is submitted to 
+ * {@link AsyncHandler#onSuccess(org.apache.http.HttpResponse, Object)} with a {@code null} response, 
+ * and any failure to {@link AsyncHandler#onError(com.lonepulse.robozombie.proxy.InvocationException)}. 
+ * These callbacks are invoked on the callback executor of the endpoint (see 
+ * {@link com.lonepulse.robozombie.proxy.Zombie.Configuration#callbackExecutor()}).</p>
+ * 
+ * <p>The bulk request itself is always invoked synchronously. If the endpoint is @{@link Async}, 
+ * the bulk request must be detached from it using @{@link Detach}, or else the endpoint fails 
+ * validation.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <code>
+ * <pre><b>@Batch(value = "getUsers", window = 20)</b>&nbsp;&nbsp;@GET("/users/{id}")
+ *User getUser(@PathParam("id") String id);
+ *
+ *<b>@Async @Batch("getUsers")</b>&nbsp;&nbsp;@GET("/users/{id}")
+ *void getUser(@PathParam("id") String id, AsyncHandler&lt;User&gt; handler);
+ *
+ *&#064;POST("/users/lookup")
+ *List&lt;User&gt; getUsers(@Entity List&lt;String&gt; ids);</pre>
+ * </code>
+ * </p>
+ * <br>
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Batch {
+	
+	
+	/**
+	 * <p>The name of the <b>bulk</b> request on the same endpoint which is invoked with the keys of 
+	 * a batch. It should accept a single {@link java.util.List} or array of keys.</p>
+	 * 
+	 * @return the name of the bulk request method
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	String value();
+	
+	/**
+	 * <p>The time in <b>milliseconds</b> for which invocations are collected after a batch is opened. 
+	 * Defaults to <b>10</b> milliseconds.</p>
+	 * 
+	 * @return the batching window in milliseconds
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	long window() default 10;
+	
+	/**
+	 * <p>The maximum number of distinct keys in a batch. A batch which reaches this size is sent 
+	 * immediately. Defaults to <b>50</b>.</p>
+	 * 
+	 * @return the maximum size of a batch
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	int size() default 50;
+}
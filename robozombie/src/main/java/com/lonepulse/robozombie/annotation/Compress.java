@@ -0,0 +1,151 @@
+package com.lonepulse.robozombie.annotation;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Identifies requests whose entity should be <b>compressed</b> before it is sent. The content is 
+ * compressed as a stream while it is written to the connection and the request is sent with the matching 
+ * <b>Content-Encoding</b> header. Entities which are smaller than the {@link #threshold()} are sent as is, 
+ * since compressing them yields little or nothing.</p>
+ * 
+ * <p><b>Note</b> that the server must accept compressed request bodies. A type-level annotation may be 
+ * muted for a request using &#064;{@link Detach}.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <ol>
+ * <li>
+ * <p>At <b>type-level</b> on an endpoint; compresses the entities of all requests.</p>
+ * <code>
+ * <pre><b>@Compress</b>
+ *&#064;Endpoint("https://api.example.com")
+ *public interface EventEndpoint {<br>&nbsp;&nbsp;...<br>}</b>
+ * </pre>
+ * </code>
+ * </li>
+ * <li>
+ * <p>At <b>method-level</b> on a request.</p>
+ * <code>
+ * <pre><b>@Compress(value = Encoding.DEFLATE, level = 9)</b>&nbsp;&nbsp;@POST("/events")
+ *void postEvents(@Entity List&lt;Event&gt; events);</pre>
+ * </code>
+ * </li>
+ * </ol>
+ * </p>
+ * <br>
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Compress {
+	
+	
+	/**
+	 * <p>Identifies the <b>Content-Encoding</b> which is used to compress a request entity.</p>
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @since 1.3.4
+	 * <br><br>
+	 * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static enum Encoding {
+		
+		/**
+		 * <p>Compresses the entity in the <a href="http://tools.ietf.org/html/rfc1952">gzip</a> format 
+		 * <i>("Content-Encoding: gzip")</i>.</p>
+		 * 
+		 * @since 1.3.4
+		 */
+		GZIP("gzip"),
+		
+		/**
+		 * <p>Compresses the entity as a <a href="http://tools.ietf.org/html/rfc1950">zlib</a> stream 
+		 * <i>("Content-Encoding: deflate")</i>.</p>
+		 * 
+		 * @since 1.3.4
+		 */
+		DEFLATE("deflate");
+		
+		
+		private final String name;
+		
+		
+		private Encoding(String name) {
+			
+			this.name = name;
+		}
+		
+		/**
+		 * <p>Returns the value of the <b>Content-Encoding</b> header for this encoding.</p>
+		 * 
+		 * @return the name of the content-encoding
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public String getName() {
+			
+			return name;
+		}
+	}
+	
+	
+	/**
+	 * <p>The {@link Encoding} which is used to compress the entity. Defaults to {@link Encoding#GZIP}.</p>
+	 * 
+	 * @return the {@link Encoding} of compressed entities
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	Encoding value() default Encoding.GZIP;
+	
+	/**
+	 * <p>The minimum size in <b>bytes</b> of an entity which is compressed. Entities whose length is 
+	 * unknown are always compressed. Defaults to <b>1024</b>.</p>
+	 * 
+	 * @return the size below which entities are sent uncompressed
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	long threshold() default 1024;
+	
+	/**
+	 * <p>The compression level in the range <b>1 (fastest) - 9 (smallest)</b>, else <b>-1</b> for the 
+	 * default level of the compressor, which favours a balance of speed and size.</p>
+	 * 
+	 * @return the compression level
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	int level() default -1;
+}
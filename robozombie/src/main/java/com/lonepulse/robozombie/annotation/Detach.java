@@ -28,8 +28,8 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * <p>Detaches any inherited &#064;{@link Serialize}, &#064;{@link Deserialize}, &#064;{@link Async} and 
- * &#064;{@link Intercept} annotations.</p>
+ * <p>Detaches any inherited &#064;{@link Serialize}, &#064;{@link Deserialize}, &#064;{@link Async}, 
+ * &#064;{@link Intercept}, &#064;{@link RateLimit}, &#064;{@link Compress} and &#064;{@link Hedge} annotations.</p>
  * <br>
  * <b>Usage</b> (assuming the endpoint is asynchronous and a type-level interceptor is attached):
  * <br>
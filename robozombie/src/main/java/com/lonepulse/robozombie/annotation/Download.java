@@ -0,0 +1,97 @@
+package com.lonepulse.robozombie.annotation;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.File;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Identifies a {@link File} to which the content of a successful response is <b>downloaded</b>. The 
+ * content is transferred from the connection to the file without being buffered on the heap and the 
+ * file is returned as the deserialized content of the response.</p>
+ * 
+ * <p>If a previous download to the same file was interrupted, the download is <b>resumed</b> with a 
+ * <b>Range</b> request for the remaining bytes. The request is validated with an <b>If-Range</b> header 
+ * which carries the <i>ETag</i> (or <i>Last-Modified</i> date) of the interrupted response, so that the 
+ * server sends the complete content instead if it has changed in the meantime. The validator of an 
+ * incomplete download is kept in a file beside the destination, named <b>&lt;file&gt;.resume</b>, which 
+ * is removed once the download completes.</p>
+ * 
+ * <p>Very large files may be downloaded in several <b>parts</b>, which are requested concurrently as 
+ * byte ranges over separate connections and written at their offsets into the file. See {@link #parts()}.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <p>
+ * <code>
+ * <pre>@GET("/releases/{version}/app.apk")
+ *File download(@PathParam("version") String version, <b>@Download</b> File destination);</pre>
+ * </code>
+ * </p>
+ * <br>
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Download {
+	
+	
+	/**
+	 * <p>Determines whether an interrupted download to the same file should be resumed. If disabled, the 
+	 * content is always downloaded in full and any existing file is overwritten.</p>
+	 *
+	 * @return {@code true} if interrupted downloads should be resumed with a <b>Range</b> request
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	boolean resume() default true;
+	
+	/**
+	 * <p>The number of parts in which the content may be downloaded concurrently. If more than one part 
+	 * is allowed, a single byte is requested first to discover the length of the content and whether the 
+	 * server accepts ranges (<b>Accept-Ranges: bytes</b>). The content is then split into byte ranges of 
+	 * at least 1 MiB each, which are requested with the same <b>If-Range</b> validator over separate pooled 
+	 * connections and written at their offsets into a pre-allocated file. The download completes once 
+	 * each part has been verified against its range.</p>
+	 * 
+	 * <p>If the server does not support ranges, the content is downloaded in a single response. An 
+	 * interrupted download whose validator was recorded is always resumed with a single request.</p>
+	 * 
+	 * <p><b>Note</b> that the number of parts which are actually transferred in parallel is bounded by the 
+	 * per-route limit of the endpoint's connection manager.</p>
+	 *
+	 * @return the maximum number of parts which are downloaded concurrently, else {@code 1} to download 
+	 * 		   the content with a single request
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	int parts() default 1;
+}
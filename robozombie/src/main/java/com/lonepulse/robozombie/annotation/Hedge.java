@@ -0,0 +1,106 @@
+package com.lonepulse.robozombie.annotation;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Identifies <b>idempotent</b> requests which may be <i>hedged</i>. If a response is not received
+ * within the hedging delay, a duplicate of the request is sent on another pooled connection and the
+ * first successful response is accepted, while the slower execution is aborted.</p>
+ *
+ * <p>The hedging delay is either a fixed value or the <i>n</i>th percentile of the latencies which were
+ * recently observed for the request. The number of hedged executions is capped to a fraction of all
+ * executions, so that a slow backend is not overloaded with duplicates.</p>
+ *
+ * <p><b>Note</b> that only requests of type <b>GET</b>, <b>HEAD</b> and <b>OPTIONS</b> are hedged.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <ol>
+ * <li>
+ * <p>At <b>type-level</b> on an endpoint; hedges all idempotent requests.</p>
+ * <code>
+ * <pre><b>@Hedge</b>
+ *&#064;Endpoint("https://api.github.com")
+ *public interface GitHubEndpoint {<br>&nbsp;&nbsp;...<br>}</b>
+ * </pre>
+ * </code>
+ * </li>
+ * <li>
+ * <p>At <b>method-level</b> on a request.</p>
+ * <code>
+ * <pre><b>@Hedge(delay = 150)</b>&nbsp;&nbsp;@GET("/users/{user}/gists")
+ *List&lt;Gist&gt; getGists(@PathParam("user") String user);</pre>
+ * </code>
+ * </li>
+ * </ol>
+ * </p>
+ * <br>
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Hedge {
+	
+	
+	/**
+	 * <p>A fixed delay in <b>milliseconds</b> after which the duplicate request is sent. If this is
+	 * not specified, the delay is determined by the latencies which are tracked for the request.
+	 * See {@link #percentile()}.</p>
+	 *
+	 * @return the fixed hedging delay in milliseconds, else {@code 0} to use the tracked latency
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	long delay() default 0;
+	
+	/**
+	 * <p>The percentile of the recently tracked latencies which is used as the hedging delay when a
+	 * fixed {@link #delay()} is not specified. Requests are not hedged until a sufficient number of
+	 * latencies have been recorded.</p>
+	 *
+	 * @return the latency percentile to be used as the hedging delay, in the range <b>1 - 99</b>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	int percentile() default 95;
+	
+	/**
+	 * <p>The maximum fraction of executions which may be hedged. Once this cap is reached, requests
+	 * wait for their original execution.</p>
+	 *
+	 * @return the cap on the hedge rate, in the range <b>0.0 - 1.0</b>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	double cap() default 0.1;
+}
@@ -0,0 +1,109 @@
+package com.lonepulse.robozombie.annotation;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Identifies a request which returns a single <b>page</b> of a paged collection and describes how 
+ * the request for the next page is derived. When such a request is invoked with a 
+ * {@link com.lonepulse.robozombie.executor.Pages} argument, the invocation returns immediately and the 
+ * pages are delivered lazily by iterating the {@code Pages}, while the next pages are <i>prefetched</i> 
+ * in the background.</p>
+ * 
+ * <p>The next page is discovered in one of three ways:</p>
+ * <ol>
+ * 	<li><b>Link:</b> (default) the URI in the <b>Link</b> header whose relation is <i>"next"</i>.</li>
+ * 	<li><b>Cursor:</b> if a {@link #cursor()} header is given, its value is sent in the query 
+ * 	parameter {@link #param()} of the next request.</li>
+ * 	<li><b>Page Number:</b> if only a {@link #param()} is given, the page number starting at 
+ * 	{@link #start()} is incremented in the query parameter.</li>
+ * </ol>
+ * 
+ * <p>Iteration ends when there is no next link or cursor, or for page numbers, when an empty page 
+ * is received. Empty pages are not delivered.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <p>
+ * <code>
+ * <pre><b>@Paginate(param = "page", prefetch = 2)</b>&nbsp;&nbsp;@GET("/users/{user}/repos")
+ *List&lt;Repo&gt; getRepos(@PathParam("user") String user, Pages&lt;List&lt;Repo&gt;&gt; pages);</pre>
+ * </code>
+ * </p>
+ * <br>
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Paginate {
+	
+	
+	/**
+	 * <p>The name of the query parameter which carries the page number or the cursor of the next 
+	 * request. If this is not specified, the next page is discovered using the <b>Link</b> header.</p>
+	 * 
+	 * @return the name of the query parameter for the page number or cursor
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	String param() default "";
+	
+	/**
+	 * <p>The name of the response header which carries the cursor of the next page. If this is not 
+	 * specified, the {@link #param()} is treated as a page number.</p>
+	 * 
+	 * @return the name of the response header which carries the next cursor
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	String cursor() default "";
+	
+	/**
+	 * <p>The number of the first page when paging using page numbers. Defaults to <b>1</b>.</p>
+	 * 
+	 * @return the number of the first page
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	int start() default 1;
+	
+	/**
+	 * <p>The maximum number of pages which are fetched ahead of the page which is being consumed. 
+	 * This bounds the number of pages held in memory. Defaults to <b>1</b>.</p>
+	 * 
+	 * @return the number of pages to prefetch, which is at least <b>1</b>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	int prefetch() default 1;
+}
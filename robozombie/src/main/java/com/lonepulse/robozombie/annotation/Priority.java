@@ -0,0 +1,107 @@
+package com.lonepulse.robozombie.annotation;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>Assigns a <b>scheduling priority</b> to asynchronous requests. When all threads for asynchronous 
+ * execution are busy, queued requests with a higher priority are executed first. Requests which have 
+ * been waiting for long are gradually promoted, so that low priority work is never starved.</p>
+ * 
+ * <p>A priority may also be assigned to a single invocation by creating its {@link AsyncHandler} with 
+ * {@link AsyncHandler#AsyncHandler(int)}, which takes precedence over this annotation. Requests without 
+ * a priority are scheduled with {@link #NORMAL}.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <ol>
+ * <li>
+ * <p>At <b>type-level</b> on an endpoint; applies to all asynchronous requests.</p>
+ * <code>
+ * <pre><b>@Priority(Priority.LOW)</b>&nbsp;@Async
+ *&#064;Endpoint("https://api.github.com")
+ *public interface PrefetchEndpoint {<br>&nbsp;&nbsp;...<br>}</b>
+ * </pre>
+ * </code>
+ * </li>
+ * <li>
+ * <p>At <b>method-level</b> on a request.</p>
+ * <code>
+ * <pre><b>@Priority(Priority.HIGH)</b>&nbsp;&nbsp;@Async&nbsp;@GET("/users/{user}")
+ *void getUser(@PathParam("user") String user, AsyncHandler&lt;User&gt; handler);</pre>
+ * </code>
+ * </li>
+ * </ol>
+ * </p>
+ * <br>
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Priority {
+	
+	
+	/**
+	 * <p>The priority for background work, such as prefetching, which is not awaited by the user.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public static final int LOW = 0;
+	
+	/**
+	 * <p>The priority which is assumed for requests that do not specify a priority.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public static final int NORMAL = 5;
+	
+	/**
+	 * <p>The priority for interactive work whose latency is perceived by the user.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public static final int HIGH = 10;
+	
+	
+	/**
+	 * <p>The scheduling priority of the request, where a greater value signifies a higher priority. 
+	 * See {@link #LOW}, {@link #NORMAL} and {@link #HIGH}.</p>
+	 * 
+	 * @return the scheduling priority of the request
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	int value();
+}
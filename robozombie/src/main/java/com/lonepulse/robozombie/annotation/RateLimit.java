@@ -0,0 +1,162 @@
+package com.lonepulse.robozombie.annotation;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+import com.lonepulse.robozombie.executor.RateLimitExceededException;
+
+/**
+ * <p>Imposes a client-side <b>rate limit</b> on requests using a token bucket which admits a number of 
+ * {@link #permits()} per {@link #period()}. The limiter's state is shared by all proxies of an endpoint, 
+ * so that requests stay within the quota of the remote service.</p>
+ * 
+ * <p>A type-level rate limit applies to all requests of the endpoint, whereas a method-level rate limit 
+ * applies only to the annotated request. If both are present, a request must satisfy both limits. An 
+ * inherited rate limit may be muted using &#064;{@link Detach}.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <ol>
+ * <li>
+ * <p>At <b>type-level</b> on an endpoint; limits all requests to the given quota.</p>
+ * <code>
+ * <pre><b>@RateLimit(permits = 5000, period = 1, unit = TimeUnit.HOURS)</b>
+ *&#064;Endpoint("https://api.github.com")
+ *public interface GitHubEndpoint {<br>&nbsp;&nbsp;...<br>}</b>
+ * </pre>
+ * </code>
+ * </li>
+ * <li>
+ * <p>At <b>method-level</b> on a request.</p>
+ * <code>
+ * <pre><b>@RateLimit(permits = 30, mode = Mode.REJECT)</b>&nbsp;&nbsp;@GET("/search/repositories")
+ *Repos searchRepos(@QueryParam("q") String query);</pre>
+ * </code>
+ * </li>
+ * </ol>
+ * </p>
+ * <br>
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface RateLimit {
+	
+	
+	/**
+	 * <p>Identifies the behaviour of a request which exceeds the rate limit.</p>
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @since 1.3.4
+	 * <br><br>
+	 * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static enum Mode {
+		
+		/**
+		 * <p>The invoking thread <b>waits</b> until a permit is available. For asynchronous requests 
+		 * the thread which executes the request waits.</p>
+		 * 
+		 * @since 1.3.4
+		 */
+		BLOCK,
+		
+		/**
+		 * <p>The request <b>fails</b> without being sent if a permit is not immediately available. The 
+		 * failure is reported with a {@link RateLimitExceededException}.</p>
+		 * 
+		 * @since 1.3.4
+		 */
+		REJECT,
+		
+		/**
+		 * <p>Asynchronous requests are <b>deferred</b> until a permit is due without occupying a thread 
+		 * while they wait. Synchronous requests wait as they would with {@link #BLOCK}.</p>
+		 * 
+		 * @since 1.3.4
+		 */
+		QUEUE;
+	}
+	
+	
+	/**
+	 * <p>The number of requests which are admitted per {@link #period()}.</p>
+	 * 
+	 * @return the number of permits which are issued for each period
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	int permits();
+	
+	/**
+	 * <p>The length of the period over which the {@link #permits()} are issued, in the given 
+	 * {@link #unit()}. Defaults to <b>1</b>.</p>
+	 * 
+	 * @return the length of the period over which the permits are issued
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	long period() default 1;
+	
+	/**
+	 * <p>The {@link TimeUnit} of the {@link #period()}. Defaults to {@link TimeUnit#SECONDS}.</p>
+	 * 
+	 * @return the {@link TimeUnit} of the period
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	TimeUnit unit() default TimeUnit.SECONDS;
+	
+	/**
+	 * <p>The maximum number of permits which may be accumulated while idle and consumed in a burst. 
+	 * Defaults to the number of {@link #permits()}. Use a smaller burst to space out requests when the 
+	 * remote service measures its quota over a sliding window.</p>
+	 * 
+	 * @return the capacity of the token bucket, else {@code 0} to use the number of permits
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	int burst() default 0;
+	
+	/**
+	 * <p>The {@link Mode} which determines how requests that exceed the rate limit are treated. 
+	 * Defaults to {@link Mode#BLOCK}.</p>
+	 * 
+	 * @return the {@link Mode} which applies to requests that exceed the rate limit
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	Mode mode() default Mode.BLOCK;
+}
@@ -0,0 +1,108 @@
+package com.lonepulse.robozombie.annotation;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.lonepulse.robozombie.executor.Deadline;
+import com.lonepulse.robozombie.executor.DeadlineExceededException;
+
+/**
+ * <p>Overrides the timeouts of the endpoint's configuration for a request and imposes an optional 
+ * <b>total deadline</b> on its execution. All timeouts are specified in <b>milliseconds</b> and a 
+ * value of {@code 0} retains the configured timeout.</p>
+ * 
+ * <p>The total deadline spans all attempts of a request, including redirects, retries and hedges. Each 
+ * attempt is limited to the remaining budget and the request is aborted once the deadline expires, in 
+ * which case the failure is reported with a {@link DeadlineExceededException}. The deadline starts once 
+ * the request is dispatched for execution; time spent waiting on a @{@link RateLimit} or in the queue 
+ * of an asynchronous request is not counted. A deadline may also be 
+ * supplied at runtime by passing a {@link Deadline} as an argument to the request, which takes 
+ * precedence over this annotation.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <ol>
+ * <li>
+ * <p>At <b>type-level</b> on an endpoint; applies to all requests.</p>
+ * <code>
+ * <pre><b>@Timeout(connect = 2000, read = 5000)</b>
+ *&#064;Endpoint("https://api.github.com")
+ *public interface GitHubEndpoint {<br>&nbsp;&nbsp;...<br>}</b>
+ * </pre>
+ * </code>
+ * </li>
+ * <li>
+ * <p>At <b>method-level</b> on a request.</p>
+ * <code>
+ * <pre><b>@Timeout(total = 300)</b>&nbsp;&nbsp;@GET("/users/{user}")
+ *User getUser(@PathParam("user") String user);</pre>
+ * </code>
+ * </li>
+ * </ol>
+ * </p>
+ * <br>
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Timeout {
+	
+	
+	/**
+	 * <p>The maximum time in <b>milliseconds</b> to wait for a connection to be established.</p>
+	 * 
+	 * @return the connection timeout, else {@code 0} to use the configured timeout
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	long connect() default 0;
+	
+	/**
+	 * <p>The maximum time in <b>milliseconds</b> to wait for data between two consecutive packets.</p>
+	 * 
+	 * @return the socket (read) timeout, else {@code 0} to use the configured timeout
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	long read() default 0;
+	
+	/**
+	 * <p>The maximum time in <b>milliseconds</b> for the complete execution of the request, after which 
+	 * the request is aborted. It is measured from the time the request is dispatched for execution.</p>
+	 * 
+	 * @return the total deadline, else {@code 0} if the request's execution is not bounded
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	long total() default 0;
+}
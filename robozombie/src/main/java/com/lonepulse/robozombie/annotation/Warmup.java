@@ -0,0 +1,71 @@
+package com.lonepulse.robozombie.annotation;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Identifies endpoints whose connections should be <b>pre-warmed</b>. When the endpoint is registered, 
+ * the given number of keep-alive connections are opened to the host of its @{@link Endpoint} in background, 
+ * so that the first requests reuse connections which have already performed their DNS lookup, TCP and 
+ * TLS handshakes.</p>
+ * 
+ * <p>The connections are opened using the pooled connection manager of the endpoint's {@link Config}; 
+ * the number of connections is limited by its maximum number of connections per route. See 
+ * {@link com.lonepulse.robozombie.proxy.Zombie#warmup(Class, Class...)} for warming up endpoints 
+ * explicitly.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <code>
+ * <pre><b>@Warmup(2)</b>
+ *&#064;Endpoint("https://api.github.com")
+ *public interface GitHubEndpoint {<br>&nbsp;&nbsp;...<br>}</b>
+ * </pre>
+ * </code>
+ * </p>
+ * <br>
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Warmup {
+	
+	
+	/**
+	 * <p>The number of keep-alive connections which are opened to the endpoint's host.</p>
+	 *
+	 * @return the number of connections to be pre-warmed
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	int value() default 2;
+}
@@ -20,6 +20,9 @@ package com.lonepulse.robozombie.executor;
  * #L%
  */
 
+
+import static com.lonepulse.robozombie.util.Metadata.findArgument;
+
 import java.util.List;
 
 import org.apache.http.HttpResponse;
@@ -30,13 +33,19 @@ import com.lonepulse.robozombie.annotation.Async;
 import com.lonepulse.robozombie.processor.Processors;
 import com.lonepulse.robozombie.proxy.InvocationContext;
 import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
 import com.lonepulse.robozombie.response.AsyncHandler;
+import com.lonepulse.robozombie.response.StreamHandler;
 
 /**
  * <p>This is an implementation of {@link ExecutionHandler} which manages {@link AsyncHandler}s that 
  * may be used in <b>asynchronous requests</b>. It should be used with {@link RequestExecutor}s that 
  * support asynchronous request execution (i.e. those requests annotated with @{@link Async}).</p> 
  * 
+ * <p>Response processing and the callbacks of the {@link AsyncHandler} are run on the executors which 
+ * are configured for the endpoint. See {@link Zombie.Configuration#processingExecutor()} and 
+ * {@link Zombie.Configuration#callbackExecutor()}.</p>
+ * 
  * @version 1.1.0
  * <br><br>
  * @since 1.3.0
@@ -68,6 +77,40 @@ public final class AsyncExecutionHandler implements ExecutionHandler {
 		return asyncHandler;
 	}
 	
+	/**
+	 * <p>Invokes one of the callbacks on an {@link AsyncHandler}.</p>
+	 */
+	private static interface Callback {
+		
+		void invoke(AsyncHandler<Object> asyncHandler);
+	}
+	
+	private static void callback(CallbackDispatcher dispatcher, InvocationContext context, 
+		final String name, final Callback callback) {
+		
+		final AsyncHandler<Object> asyncHandler = getAsyncHandler(context);
+		
+		if(asyncHandler != null) {
+			
+			dispatcher.callback(new Runnable() {
+				
+				@Override
+				public void run() {
+					
+					try {
+						
+						callback.invoke(asyncHandler);
+					}
+					catch(Exception e) {
+						
+						Log.e(AsyncExecutionHandler.class.getSimpleName(), 
+							"Callback \"" + name + "\" aborted with an exception.", e);
+					}
+				}
+			});
+		}
+	}
+	
 	
 	/**
 	 * <p>The given {@link HttpResponse} with a successful status code is processed using the response 
@@ -87,33 +130,56 @@ public final class AsyncExecutionHandler implements ExecutionHandler {
 	 * @since 1.3.0
 	 */
 	@Override
-	public void onSuccess(InvocationContext context, HttpResponse response) {
-		
-		Object reponseEntity = null;
+	public void onSuccess(final InvocationContext context, final HttpResponse response) {
 		
-		try {
+		final CallbackDispatcher dispatcher = CallbackDispatcherDirectory.INSTANCE.lookup(context.getEndpoint());
 		
-			reponseEntity = Processors.RESPONSE.run(context, response); //process, regardless of an AsyncHandler definition
-		}
-		catch(Exception e) {
+		dispatcher.process(new Runnable() {
 			
-			onError(context, InvocationException.newInstance(context, response, e));
-			return;
-		}
-		
-		AsyncHandler<Object> asyncHandler = getAsyncHandler(context);
-		
-		if(asyncHandler != null) {
-			
-			try {
+			@Override
+			public void run() {
 				
-				asyncHandler.onSuccess(response, reponseEntity);
-			}
-			catch (Exception e) {
+				final Object reponseEntity;
+				
+				boolean compensated = findArgument(StreamHandler.class, context) != null 
+						&& AsyncRequestExecutor.compensate(); //streams may remain open indefinitely
+				
+				try {
+				
+					reponseEntity = Processors.RESPONSE.run(context, response); //process, regardless of an AsyncHandler definition
+				}
+				catch(Exception e) {
+					
+					if(!Cancellation.observe(context, AsyncExecutionHandler.this)) {
+						
+						onError(context, InvocationException.newInstance(context, response, e));
+					}
+					
+					return;
+				}
+				finally {
+					
+					if(compensated) {
+						
+						AsyncRequestExecutor.restore();
+					}
+				}
+				
+				if(Cancellation.observe(context, AsyncExecutionHandler.this)) {
+					
+					return;
+				}
 				
-				Log.e(getClass().getSimpleName(), "Callback \"onSuccess\" aborted with an exception.", e);
+				callback(dispatcher, context, "onSuccess", new Callback() {
+					
+					@Override
+					public void invoke(AsyncHandler<Object> asyncHandler) {
+						
+						asyncHandler.onSuccess(response, reponseEntity);
+					}
+				});
 			}
-		}
+		});
 	}
 
 	/**
@@ -134,31 +200,35 @@ public final class AsyncExecutionHandler implements ExecutionHandler {
 	 * @since 1.3.0
 	 */
 	@Override
-	public void onFailure(InvocationContext context, HttpResponse response) {
+	public void onFailure(final InvocationContext context, final HttpResponse response) {
 
-		try {
-			
-			Processors.RESPONSE.run(context, response); //process, regardless of a failed response
-		}
-		catch(Exception e) {
-			
-			onError(context, InvocationException.newInstance(context, response, e));
-			return;
-		}
-		
-		AsyncHandler<Object> asyncHandler = getAsyncHandler(context);
-		
-		if(asyncHandler != null) {
+		final CallbackDispatcher dispatcher = CallbackDispatcherDirectory.INSTANCE.lookup(context.getEndpoint());
 		
-			try {
+		dispatcher.process(new Runnable() {
+			
+			@Override
+			public void run() {
 				
-				asyncHandler.onFailure(response);
-			}
-			catch (Exception e) {
+				try {
+					
+					Processors.RESPONSE.run(context, response); //process, regardless of a failed response
+				}
+				catch(Exception e) {
+					
+					onError(context, InvocationException.newInstance(context, response, e));
+					return;
+				}
 				
-				Log.e(getClass().getSimpleName(), "Callback \"onFailure\" aborted with an exception.", e);
+				callback(dispatcher, context, "onFailure", new Callback() {
+					
+					@Override
+					public void invoke(AsyncHandler<Object> asyncHandler) {
+						
+						asyncHandler.onFailure(response);
+					}
+				});
 			}
-		}
+		});
 	}
 
 	/**
@@ -176,21 +246,41 @@ public final class AsyncExecutionHandler implements ExecutionHandler {
 	 * @since 1.3.0
 	 */
 	@Override
-	public void onError(InvocationContext context, Exception error) {
-		
-		AsyncHandler<Object> asyncHandler = getAsyncHandler(context);
+	public void onError(final InvocationContext context, final Exception error) {
 		
-		if(asyncHandler != null) {
-			
-			try {
+		callback(CallbackDispatcherDirectory.INSTANCE.lookup(context.getEndpoint()), context, "onError", new Callback() {
 			
+			@Override
+			public void invoke(AsyncHandler<Object> asyncHandler) {
+				
 				asyncHandler.onError(error instanceof InvocationException? 
 						(InvocationException)error :InvocationException.newInstance(context, error));
-				}
-			catch(Exception e) {
+			}
+		});
+	}
+	
+	/**
+	 * <p>If an {@link AsyncHandler} is defined, the cancellation of the request is reported to its 
+	 * <i>onCancel</i> callback. The response processor chain ({@link Processors#RESPONSE}) is not run 
+	 * for cancelled requests.</p>
+	 * 
+	 * <p>See {@link ExecutionHandler#onCancel(InvocationContext)}</p>
+	 * 
+	 * @param context
+	 * 			the {@link InvocationContext} with information on the proxy invocation 
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public void onCancel(InvocationContext context) {
+		
+		callback(CallbackDispatcherDirectory.INSTANCE.lookup(context.getEndpoint()), context, "onCancel", new Callback() {
+			
+			@Override
+			public void invoke(AsyncHandler<Object> asyncHandler) {
 				
-				Log.e(getClass().getSimpleName(), "Callback \"onError\" aborted with an exception.", e);
+				asyncHandler.onCancel();
 			}
-		}
+		});
 	}
 }
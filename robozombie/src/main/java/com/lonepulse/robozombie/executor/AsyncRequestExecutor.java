@@ -20,24 +20,51 @@ package com.lonepulse.robozombie.executor;
  * #L%
  */
 
+import static com.lonepulse.robozombie.util.Is.hedged;
+import static com.lonepulse.robozombie.util.Metadata.findArgument;
+
 import java.util.List;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.HttpContext;
 
 import android.util.Log;
 
 import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Priority;
+import com.lonepulse.robozombie.annotation.RateLimit;
+import com.lonepulse.robozombie.annotation.RateLimit.Mode;
+import com.lonepulse.robozombie.annotation.Stateful;
+import com.lonepulse.robozombie.annotation.Timeout;
 import com.lonepulse.robozombie.proxy.InvocationContext;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.AsyncHandler;
+import com.lonepulse.robozombie.transport.AsyncTransport;
+import com.lonepulse.robozombie.transport.Transport;
 
 /**
  * <p>An extension of {@link BasicRequestExecutor} which is responsible for executing <b>asynchronous 
  * requests</b> identified by the @{@link Async} annotation placed on the endpoint or request method.</p>
  * 
+ * <p>Requests are admitted to a pool of {@code max(8, 4 x processors)} threads in the order of their 
+ * priority. A thread of the pool which blocks on <i>long-lived</i> work, i.e. reading a stream for a 
+ * {@link com.lonepulse.robozombie.response.StreamHandler}, waiting for a @{@link RateLimit} in the mode 
+ * {@link Mode#BLOCK} or gathering a fan-out with {@link Gather#await(int, long, TimeUnit)}, lends its 
+ * place to an additional thread for as long as it is blocked. The pool grows in this manner up to a 
+ * limit of <b>256 threads</b>, beyond which further requests are queued until a thread is released. 
+ * See {@link #compensate()}.</p>
+ * 
  * @version 1.1.0
  * <br><br>
  * @since 1.3.0
@@ -47,17 +74,61 @@ import com.lonepulse.robozombie.proxy.InvocationContext;
 class AsyncRequestExecutor extends BasicRequestExecutor {
 
 	
-	private static final ExecutorService ASYNC_EXECUTOR_SERVICE;
+	private static final int POOL_SIZE = Math.max(8, Runtime.getRuntime().availableProcessors() * 4);
+	
+	private static final int MAX_POOL_SIZE = Math.max(POOL_SIZE, 256);
+	
+	private static final ThreadLocal<Boolean> POOLED = new ThreadLocal<Boolean>();
+	
+	private static final ThreadPoolExecutor ASYNC_EXECUTOR_SERVICE;
+	
+	private static final ScheduledExecutorService QUEUED_EXECUTOR_SERVICE;
+	
+	private static int blocked;
 	
 	static
 	{
-		ASYNC_EXECUTOR_SERVICE = Executors.newCachedThreadPool();
+		ASYNC_EXECUTOR_SERVICE = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 60L, TimeUnit.SECONDS, 
+			new PriorityBlockingQueue<Runnable>(), new ThreadFactory() {
+			
+			private final AtomicInteger count = new AtomicInteger();
+			
+			
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				
+				return new Thread(new Runnable() {
+					
+					@Override
+					public void run() {
+						
+						POOLED.set(Boolean.TRUE);
+						runnable.run();
+					}
+				}, "RoboZombie-Async-" + count.incrementAndGet());
+			}
+		});
+		
+		ASYNC_EXECUTOR_SERVICE.allowCoreThreadTimeOut(true);
+		
+		QUEUED_EXECUTOR_SERVICE = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable runnable) {
+				
+				Thread thread = new Thread(runnable, "RoboZombie-RateLimit");
+				thread.setDaemon(true);
+				
+				return thread;
+			}
+		});
 		
 		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
 			
 			@Override
 			public void run() {
 			
+				QUEUED_EXECUTOR_SERVICE.shutdownNow(); //discard requests which are queued for a permit
 				ASYNC_EXECUTOR_SERVICE.shutdown(); //finish executing all pending asynchronous requests 
 				
 				try {
@@ -70,7 +141,7 @@ class AsyncRequestExecutor extends BasicRequestExecutor {
 				}
 				catch (InterruptedException ie) {
 
-					Log.i(getClass().getSimpleName(), "Failed to shutdown the cached thread pool for asynchronous requests.");
+					Log.i(getClass().getSimpleName(), "Failed to shutdown the thread pool for asynchronous requests.");
 					Thread.currentThread().interrupt();
 				}
 			}
@@ -93,11 +164,110 @@ class AsyncRequestExecutor extends BasicRequestExecutor {
 		super(executionHandler);
 	}
 	
+	/**
+	 * <p>Signals that the calling thread is about to block on long-lived work. If it is a thread of the 
+	 * pool for asynchronous requests, the pool is allowed an additional thread (up to a limit of 256) 
+	 * so that queued requests are not starved while this thread is blocked. Every invocation which 
+	 * returns {@code true} must be followed by {@link #restore()} once the thread is unblocked.</p>
+	 * 
+	 * <p>Requests which are submitted to a request executor configured for the endpoint are unaffected. 
+	 * See {@link Zombie.Configuration#requestExecutor()}.</p>
+	 *
+	 * @return {@code true} if the pool was compensated for the blocked thread
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	static boolean compensate() {
+		
+		if(POOLED.get() == null) {
+			
+			return false;
+		}
+		
+		resize(1);
+		
+		return true;
+	}
+	
+	/**
+	 * <p>Withdraws the additional thread which the pool was allowed by {@link #compensate()}, once the 
+	 * calling thread is no longer blocked.</p>
+	 *
+	 * @since 1.3.4
+	 */
+	static void restore() {
+		
+		resize(-1);
+	}
+	
+	private static synchronized void resize(int delta) {
+		
+		blocked += delta;
+		
+		int size = Math.min(POOL_SIZE + blocked, MAX_POOL_SIZE);
+		
+		if(size > ASYNC_EXECUTOR_SERVICE.getMaximumPoolSize()) {
+			
+			ASYNC_EXECUTOR_SERVICE.setMaximumPoolSize(size);
+			ASYNC_EXECUTOR_SERVICE.setCorePoolSize(size); //starts a thread for any queued request
+		}
+		else {
+			
+			ASYNC_EXECUTOR_SERVICE.setCorePoolSize(size);
+			ASYNC_EXECUTOR_SERVICE.setMaximumPoolSize(size);
+		}
+	}
+	
+	/**
+	 * <p>Determines the scheduling priority of an asynchronous request. A priority assigned to the 
+	 * {@link AsyncHandler} takes precedence over an @{@link Priority} on the request, which in turn 
+	 * takes precedence over an @{@link Priority} on the endpoint.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover the priority of the request
+	 * <br><br>
+	 * @return the scheduling priority, else {@link Priority#NORMAL} if none was assigned
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	private static int priority(InvocationContext context) {
+		
+		AsyncHandler<?> asyncHandler = findArgument(AsyncHandler.class, context);
+		
+		if(asyncHandler != null && asyncHandler.getPriority() != null) {
+			
+			return asyncHandler.getPriority();
+		}
+		
+		Priority priority = context.getRequest().isAnnotationPresent(Priority.class)? 
+				context.getRequest().getAnnotation(Priority.class) 
+				:context.getEndpoint().getAnnotation(Priority.class);
+		
+		return priority == null? Priority.NORMAL :priority.value();
+	}
+	
 	/**
 	 * <p>Executes an {@link HttpRequestBase} <b>asynchronously</b> with the endpoint's {@link HttpClient}, 
 	 * which causes it to return immediately with {@code null}. Directing the request execution is delegated 
 	 * to the super class' implementation.</p> 
 	 * 
+	 * <p>Requests which are limited by a @{@link RateLimit} in the mode {@link Mode#QUEUE} are deferred 
+	 * until their permit is due, without occupying a thread of the pool while they wait. The permit is 
+	 * returned if the request is cancelled or rejected by another rate limit before it is sent.</p>
+	 * 
+	 * <p>Executions are queued by their priority when all threads of the pool are busy. See 
+	 * {@link PrioritizedExecution}. If a request executor was configured for the endpoint, executions 
+	 * are submitted to it instead. See {@link Zombie.Configuration#requestExecutor()}.</p>
+	 * 
+	 * <p>If a {@link Cancellation} was passed as an argument, cancelling it removes the execution from 
+	 * the queue if it has not started yet, or else aborts the request and skips processing of the 
+	 * response.</p>
+	 * 
+	 * <p>If the endpoint's {@link Transport} is an {@link AsyncTransport}, the thread of the pool is 
+	 * released as soon as the request has been handed over to the transport. See 
+	 * {@link #relay(InvocationContext, HttpRequestBase, AsyncTransport)}. Hedged requests and downloads 
+	 * which are split into parts are directed on the thread of the pool instead.</p>
+	 * 
 	 * <p>See {@link BasicRequestExecutor#execute(InvocationContext, HttpRequestBase)}</p>
 	 * 
 	 * @param context
@@ -113,15 +283,179 @@ class AsyncRequestExecutor extends BasicRequestExecutor {
 	@Override
 	public HttpResponse execute(final InvocationContext context, final HttpRequestBase request) {
 		
-		ASYNC_EXECUTOR_SERVICE.execute(new Runnable() {
+		final AtomicBoolean reserved = new AtomicBoolean(true);
+		
+		final PrioritizedExecution execution = new PrioritizedExecution(new Runnable() {
 
 			@Override
 			public void run() {
 				
-				AsyncRequestExecutor.super.execute(context, request);
+				if(cancelled(context) || !throttle(context, Mode.BLOCK, Mode.REJECT)) {
+					
+					if(reserved.compareAndSet(true, false)) {
+						
+						release(context, Mode.QUEUE);
+					}
+				}
+				else {
+					
+					reserved.set(false);
+					
+					Transport transport = TransportDirectory.INSTANCE.lookup(context.getEndpoint());
+					
+					if(transport instanceof AsyncTransport && !hedged(context) 
+					   && !RangedDownloader.INSTANCE.splits(context)) {
+						
+						relay(context, request, (AsyncTransport)transport);
+					}
+					else {
+						
+						dispatch(context, request);
+					}
+				}
+			}
+		}, priority(context)) {
+			
+			@Override
+			protected void done() {
+				
+				if(isCancelled()) {
+					
+					if(reserved.compareAndSet(true, false)) {
+						
+						release(context, Mode.QUEUE);
+					}
+					
+					cancelled(context);
+				}
 			}
-		});
+		};
+		
+		long delay = reserve(context, Mode.QUEUE);
+		
+		Cancellation cancellation = findArgument(Cancellation.class, context);
+		
+		if(cancellation != null) {
+			
+			cancellation.onCancel(new Runnable() {
+				
+				@Override
+				public void run() {
+					
+					if(execution.cancel(true)) {
+						
+						ASYNC_EXECUTOR_SERVICE.remove(execution);
+					}
+				}
+			});
+		}
+		
+		if(delay > 0L) {
+			
+			QUEUED_EXECUTOR_SERVICE.schedule(new Runnable() {
+				
+				@Override
+				public void run() {
+					
+					submit(context, execution);
+				}
+			}, delay, TimeUnit.NANOSECONDS);
+		}
+		else {
+			
+			submit(context, execution);
+		}
 		
 		return null;
 	}
+	
+	private static void submit(InvocationContext context, PrioritizedExecution execution) {
+		
+		Executor requestExecutor = CallbackDispatcherDirectory.INSTANCE.lookup(context.getEndpoint()).requests();
+		
+		if(requestExecutor == null) {
+			
+			ASYNC_EXECUTOR_SERVICE.execute(execution);
+		}
+		else {
+			
+			requestExecutor.execute(execution);
+		}
+	}
+	
+	/**
+	 * <p>Executes an {@link HttpRequestBase} using an {@link AsyncTransport}, <b>without blocking</b> 
+	 * the invoking thread. The response is handled once the transport completes the execution.</p>
+	 * 
+	 * <p>Any @{@link Timeout}, {@link Deadline} or {@link Cancellation} which applies to the request 
+	 * is enforced as it is for a blocking execution, and compressed responses are decoded alike. See 
+	 * {@link #prepare(InvocationContext, HttpRequestBase)} and {@link #receive(InvocationContext, HttpResponse)}.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover information about the proxy invocation
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} to be executed using the endpoint's {@link AsyncTransport}
+	 * <br><br>
+	 * @param transport
+	 * 			the {@link AsyncTransport} which was configured for the endpoint
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	private void relay(final InvocationContext context, final HttpRequestBase request, AsyncTransport transport) {
+		
+		try {
+			
+			RequestTimer.INSTANCE.arm(context, request);
+			prepare(context, request);
+			
+			Class<?> endpoint = context.getEndpoint();
+			HttpContext httpContext = endpoint.isAnnotationPresent(Stateful.class)? 
+					HttpContextDirectory.INSTANCE.lookup(endpoint) :null;
+			
+			transport.execute(request, httpContext, new AsyncTransport.Callback() {
+				
+				@Override
+				public void onResponse(HttpResponse response) {
+					
+					try {
+						
+						respond(context, receive(context, response));
+					}
+					finally {
+						
+						RequestTimer.INSTANCE.disarm(request);
+					}
+				}
+				
+				@Override
+				public void onError(Exception error) {
+					
+					fail(context, request, error);
+				}
+			});
+		}
+		catch(Exception e) {
+			
+			fail(context, request, e);
+		}
+	}
+	
+	private void fail(InvocationContext context, HttpRequestBase request, Exception error) {
+		
+		RequestTimer.INSTANCE.disarm(request);
+		
+		if(error instanceof DeadlineExceededException) {
+			
+			fail(context, error);
+		}
+		else if(RequestTimer.INSTANCE.expired(request)) {
+			
+			fail(context, new DeadlineExceededException(context.getRequest(), context.getEndpoint(), error));
+		}
+		else {
+			
+			fail(context, RequestExecutionException.wrap(context.getRequest(), context.getEndpoint(), error));
+		}
+	}
 }
@@ -20,6 +20,8 @@ package com.lonepulse.robozombie.executor;
  * #L%
  */
 
+import java.util.concurrent.CancellationException;
+
 import org.apache.http.HttpResponse;
 
 import com.lonepulse.robozombie.proxy.InvocationContext;
@@ -84,4 +86,22 @@ public final class BasicExecutionHandler implements ExecutionHandler {
 		
 		throw InvocationException.newInstance(context, error);
 	}
+	
+	/**
+	 * <p>Throws a {@link InvocationException} whose root cause is a {@link CancellationException}.</p>
+	 * 
+	 * <p>See {@link ExecutionHandler#onCancel(InvocationContext)}</p>
+	 * 
+	 * @param context
+	 * 			the {@link InvocationContext} with information on the proxy invocation 
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public void onCancel(InvocationContext context) {
+		
+		throw InvocationException.newInstance(context, new CancellationException(new StringBuilder("Request <")
+			.append(context.getRequest().getName()).append("> on <")
+			.append(context.getEndpoint().getSimpleName()).append("> was cancelled").toString()));
+	}
 }
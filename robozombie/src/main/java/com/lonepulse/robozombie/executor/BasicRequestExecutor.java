@@ -20,17 +20,32 @@ package com.lonepulse.robozombie.executor;
  * #L%
  */
 
+import static com.lonepulse.robozombie.util.Components.isDetached;
+import static com.lonepulse.robozombie.util.Is.hedged;
 import static com.lonepulse.robozombie.util.Is.successful;
+import static com.lonepulse.robozombie.util.Metadata.findArgument;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpRequestBase;
-import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.protocol.HttpContext;
 
+import com.lonepulse.robozombie.annotation.Detach;
+import com.lonepulse.robozombie.annotation.Download;
+import com.lonepulse.robozombie.annotation.Hedge;
+import com.lonepulse.robozombie.annotation.RateLimit;
+import com.lonepulse.robozombie.annotation.RateLimit.Mode;
 import com.lonepulse.robozombie.annotation.Stateful;
+import com.lonepulse.robozombie.annotation.Timeout;
 import com.lonepulse.robozombie.proxy.InvocationContext;
 import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.transport.Transport;
 
 /**
  * <p>An implementation of {@link RequestExecutor} which isolates responsibilities that are common to 
@@ -62,17 +77,25 @@ class BasicRequestExecutor implements RequestExecutor {
 	}
 	
 	/**
-	 * <p>Performs the actual request execution with the {@link HttpClient} to be used for the endpoint 
-	 * (fetched using the {@link HttpClientDirectory}). See {@link HttpClient#execute(HttpUriRequest)}.</p>
+	 * <p>Performs the actual request execution with the {@link Transport} to be used for the endpoint 
+	 * (fetched using the {@link TransportDirectory}), which executes requests using the endpoint's 
+	 * {@link HttpClient} unless another transport was configured.</p>
 	 * 
 	 * <p>If the endpoint is annotated with @{@link Stateful}, the relevant {@link HttpContext} from the 
-	 * {@link HttpContextDirectory} is used. See {@link HttpClient#execute(HttpUriRequest, HttpContext)}</p>
+	 * {@link HttpContextDirectory} is used. See {@link Transport#execute(HttpRequestBase, HttpContext)}</p>
+	 * 
+	 * <p>If the request is identified as @{@link Hedge}, its execution is directed by the 
+	 * {@link RequestHedger}. If it is a @{@link Download} which may be split into parts, its execution 
+	 * is directed by the {@link RangedDownloader}.</p>
+	 * 
+	 * <p>Any @{@link Timeout} or {@link Deadline} which applies to the request is attached to it before 
+	 * execution. See {@link RequestTimer#arm(InvocationContext, HttpRequestBase)}.</p>
 	 *
 	 * @param context
 	 * 			the {@link InvocationContext} used to discover information about the proxy invocation
 	 * <br><br>
 	 * @param request
-	 * 			the {@link HttpRequestBase} to be executed using the endpoint's {@link HttpClient}
+	 * 			the {@link HttpRequestBase} to be executed using the endpoint's {@link Transport}
 	 * <br><br>
 	 * @return the {@link HttpResponse} which resulted from the execution
 	 * <br><br>
@@ -81,14 +104,27 @@ class BasicRequestExecutor implements RequestExecutor {
 	protected HttpResponse fetchResponse(InvocationContext context, HttpRequestBase request) {
 
 		try {
-		
+			
+			RequestTimer.INSTANCE.arm(context, request);
+			
+			if(hedged(context)) {
+				
+				return RequestHedger.INSTANCE.hedge(this, context, request);
+			}
+			
+			if(RangedDownloader.INSTANCE.splits(context)) {
+				
+				return RangedDownloader.INSTANCE.download(this, context, request);
+			}
+			
 			Class<?> endpoint = context.getEndpoint();
 			
-			HttpClient httpClient = HttpClientDirectory.INSTANCE.lookup(endpoint);
+			return transmit(context, request, endpoint.isAnnotationPresent(Stateful.class)? 
+					HttpContextDirectory.INSTANCE.lookup(endpoint) :null);
+		}
+		catch(DeadlineExceededException dee) {
 			
-			return endpoint.isAnnotationPresent(Stateful.class)? 
-					httpClient.execute(request, HttpContextDirectory.INSTANCE.lookup(endpoint)) 
-					:httpClient.execute(request);
+			throw dee;
 		}
 		catch(Exception e) {
 			
@@ -97,9 +133,120 @@ class BasicRequestExecutor implements RequestExecutor {
 	}
 	
 	/**
-	 * <p>Executes an {@link HttpRequestBase} using the endpoint's {@link HttpClient} and handles the 
+	 * <p>Transmits the given {@link HttpRequestBase} using the {@link Transport} of the endpoint 
+	 * (fetched using the {@link TransportDirectory}) within the given {@link HttpContext}, if any.</p>
+	 * 
+	 * <p>See {@link #prepare(InvocationContext, HttpRequestBase)} and 
+	 * {@link #receive(InvocationContext, HttpResponse)}</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover information about the proxy invocation
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} to be executed using the endpoint's {@link Transport}
+	 * <br><br>
+	 * @param httpContext
+	 * 			the {@link HttpContext} of a @{@link Stateful} endpoint, else {@code null}
+	 * <br><br>
+	 * @return the {@link HttpResponse} which resulted from the execution
+	 * <br><br>
+	 * @throws DeadlineExceededException
+	 * 			if the deadline of the request expired before or during its execution
+	 * <br><br>
+	 * @throws Exception
+	 * 			if the request execution failed
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	HttpResponse transmit(InvocationContext context, HttpRequestBase request, HttpContext httpContext) 
+	throws Exception {
+		
+		Transport transport = TransportDirectory.INSTANCE.lookup(context.getEndpoint());
+		
+		prepare(context, request);
+		
+		try {
+			
+			return receive(context, transport.execute(request, httpContext));
+		}
+		catch(Exception e) {
+			
+			if(RequestTimer.INSTANCE.expired(request)) {
+				
+				throw new DeadlineExceededException(context.getRequest(), context.getEndpoint(), e);
+			}
+			
+			throw e;
+		}
+	}
+	
+	/**
+	 * <p>Prepares the given {@link HttpRequestBase} for transmission. If the request is bounded by a 
+	 * deadline, the transmission is limited to the remaining budget (see 
+	 * {@link RequestTimer#schedule(InvocationContext, HttpRequestBase)}). If a {@link Cancellation} was 
+	 * passed as an argument, cancelling it aborts the transmission. The content encodings which are 
+	 * accepted are negotiated using the {@link ContentNegotiator}.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover information about the proxy invocation
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is about to be transmitted
+	 * <br><br>
+	 * @throws DeadlineExceededException
+	 * 			if the deadline of the request has already expired
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void prepare(InvocationContext context, final HttpRequestBase request) {
+		
+		RequestTimer.INSTANCE.schedule(context, request);
+		ContentNegotiator.INSTANCE.negotiate(context, request);
+		
+		Cancellation cancellation = findArgument(Cancellation.class, context);
+		
+		if(cancellation != null) {
+			
+			cancellation.onCancel(new Runnable() {
+				
+				@Override
+				public void run() {
+					
+					request.abort();
+				}
+			});
+		}
+	}
+	
+	/**
+	 * <p>Receives the {@link HttpResponse} of a request which was prepared using 
+	 * {@link #prepare(InvocationContext, HttpRequestBase)}, decoding its content if it was compressed 
+	 * with an encoding which was negotiated by the {@link ContentNegotiator}.</p>
+	 * 
+	 * <p>Responses of blocking and non-blocking transports are received alike.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover information about the proxy invocation
+	 * <br><br>
+	 * @param response
+	 * 			the {@link HttpResponse} which was returned by the endpoint's {@link Transport}
+	 * <br><br>
+	 * @return the {@link HttpResponse} whose content is decoded
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	HttpResponse receive(InvocationContext context, HttpResponse response) {
+		
+		return ContentNegotiator.INSTANCE.decode(context, response);
+	}
+	
+	/**
+	 * <p>Executes an {@link HttpRequestBase} using the endpoint's {@link Transport} and handles the 
 	 * resulting {@link HttpResponse} using this executor's {@link ExecutionHandler}.</p>
 	 * 
+	 * <p>Requests are throttled according to any @{@link RateLimit}s which apply to them. See 
+	 * {@link #throttle(InvocationContext, Mode...)}.</p>
+	 * 
 	 * <p>See {@link #fetchResponse(InvocationContext, HttpRequestBase)}</p>
 	 * 
 	 * <p>See {@link Is#successful(HttpResponse)}</p>
@@ -108,7 +255,7 @@ class BasicRequestExecutor implements RequestExecutor {
 	 * 			the {@link InvocationContext} used to discover information about the proxy invocation
 	 * <br><br>
 	 * @param request
-	 * 			the {@link HttpRequestBase} to be executed using the endpoint's {@link HttpClient}
+	 * 			the {@link HttpRequestBase} to be executed using the endpoint's {@link Transport}
 	 * <br><br>
 	 * @throws InvocationException
 	 * 			if the HTTP request responded with a failure status code or if request execution failed
@@ -118,18 +265,264 @@ class BasicRequestExecutor implements RequestExecutor {
 	@Override
 	public HttpResponse execute(InvocationContext context, HttpRequestBase request) {
 		
+		return throttle(context, Mode.values())? dispatch(context, request) :null;
+	}
+	
+	/**
+	 * <p>Reserves a permit from each {@link RateLimiter} which applies to the request and whose 
+	 * @{@link RateLimit} uses one of the given {@link Mode}s. Rate limits in the mode {@link Mode#REJECT} 
+	 * are satisfied only if a permit is immediately available.</p>
+	 * 
+	 * <p>The rate limit of the request is consulted before that of the endpoint. If any rate limit 
+	 * rejects the request, the permits which were already taken from the others are returned.</p>
+	 * 
+	 * <p>A type-level rate limit on the endpoint is ignored if the request has detached it using 
+	 * @{@link Detach}.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover the applicable @{@link RateLimit}s
+	 * <br><br>
+	 * @param modes
+	 * 			the {@link Mode}s of the rate limits which are to be consulted
+	 * <br><br>
+	 * @return the number of <b>nanoseconds</b> to wait until all reserved permits are due
+	 * <br><br>
+	 * @throws RateLimitExceededException
+	 * 			if a rate limit in the mode {@link Mode#REJECT} has no permits available
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	protected long reserve(InvocationContext context, Mode... modes) {
+		
+		List<Mode> consulted = Arrays.asList(modes);
+		
+		AnnotatedElement[] definitions = limited(context);
+		
+		List<RateLimiter> taken = new ArrayList<RateLimiter>(definitions.length);
+		long delay = 0L;
+		
+		for (AnnotatedElement definition : definitions) {
+			
+			RateLimit rateLimit = definition.getAnnotation(RateLimit.class);
+			
+			if(rateLimit == null || !consulted.contains(rateLimit.mode())) {
+				
+				continue;
+			}
+			
+			RateLimiter rateLimiter = RateLimiterDirectory.INSTANCE.lookup(definition);
+			
+			if(rateLimit.mode() == Mode.REJECT) {
+				
+				if(!rateLimiter.tryAcquire()) {
+					
+					for (RateLimiter acquired : taken) {
+						
+						acquired.release();
+					}
+					
+					throw new RateLimitExceededException(definition);
+				}
+			}
+			else {
+				
+				delay = Math.max(delay, rateLimiter.reserve());
+			}
+			
+			taken.add(rateLimiter);
+		}
+		
+		return delay;
+	}
+	
+	/**
+	 * <p>Returns a permit to each {@link RateLimiter} which applies to the request and whose 
+	 * @{@link RateLimit} uses one of the given {@link Mode}s. This is used to return permits which were 
+	 * reserved using {@link #reserve(InvocationContext, Mode...)} for a request which was never sent, 
+	 * i.e. one which was later rejected or cancelled.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover the applicable @{@link RateLimit}s
+	 * <br><br>
+	 * @param modes
+	 * 			the {@link Mode}s of the rate limits whose permits are to be returned
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	protected void release(InvocationContext context, Mode... modes) {
+		
+		List<Mode> consulted = Arrays.asList(modes);
+		
+		for (AnnotatedElement definition : limited(context)) {
+			
+			RateLimit rateLimit = definition.getAnnotation(RateLimit.class);
+			
+			if(rateLimit != null && consulted.contains(rateLimit.mode())) {
+				
+				RateLimiterDirectory.INSTANCE.lookup(definition).release();
+			}
+		}
+	}
+	
+	private static AnnotatedElement[] limited(InvocationContext context) {
+		
+		return isDetached(context, RateLimit.class)? 
+				new AnnotatedElement[] {context.getRequest()} 
+				:new AnnotatedElement[] {context.getRequest(), context.getEndpoint()};
+	}
+	
+	/**
+	 * <p>Throttles the request according to the @{@link RateLimit}s with the given {@link Mode}s and 
+	 * waits on the invoking thread until all reserved permits are due. If the request was rejected or 
+	 * if the thread was interrupted while waiting, the failure is submitted to this executor's 
+	 * {@link ExecutionHandler}.</p>
+	 * 
+	 * <p>See {@link #reserve(InvocationContext, Mode...)}</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover the applicable @{@link RateLimit}s
+	 * <br><br>
+	 * @param modes
+	 * 			the {@link Mode}s of the rate limits which are to be consulted
+	 * <br><br>
+	 * @return {@code true} if the request may proceed, else {@code false} if it was not admitted
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	protected boolean throttle(InvocationContext context, Mode... modes) {
+		
+		try {
+			
+			long delay = reserve(context, modes);
+			
+			if(delay > 0L) {
+				
+				boolean compensated = AsyncRequestExecutor.compensate();
+				
+				try {
+					
+					TimeUnit.NANOSECONDS.sleep(delay);
+				}
+				finally {
+					
+					if(compensated) {
+						
+						AsyncRequestExecutor.restore();
+					}
+				}
+			}
+			
+			return true;
+		}
+		catch(InterruptedException ie) {
+			
+			Thread.currentThread().interrupt();
+			
+			if(!cancelled(context)) {
+				
+				executionHandler.onError(context, RequestExecutionException.wrap(
+					context.getRequest(), context.getEndpoint(), ie));
+			}
+		}
+		catch(RateLimitExceededException rlee) {
+			
+			executionHandler.onError(context, rlee);
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * <p>Determines whether the invocation was cancelled using a {@link Cancellation} which was passed 
+	 * as an argument. The cancellation is reported to this executor's {@link ExecutionHandler} by the 
+	 * first thread which observes it. See {@link Cancellation#observe(InvocationContext, ExecutionHandler)}.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover the {@link Cancellation}, if any
+	 * <br><br>
+	 * @return {@code true} if the invocation was cancelled and should not proceed any further
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	protected boolean cancelled(InvocationContext context) {
+		
+		return Cancellation.observe(context, executionHandler);
+	}
+	
+	/**
+	 * <p>Executes an {@link HttpRequestBase} which has been admitted by all rate limits and handles the 
+	 * resulting {@link HttpResponse} using this executor's {@link ExecutionHandler}.</p>
+	 * 
+	 * <p>If the invocation is cancelled, the {@link ExecutionHandler} is notified of the cancellation 
+	 * instead and the response is not handled. See {@link #cancelled(InvocationContext)}.</p>
+	 * 
+	 * <p>Any deadline timers of the request are cancelled once the response has been handled. See 
+	 * {@link RequestTimer#disarm(HttpRequestBase)}.</p>
+	 * 
+	 * <p>See {@link #execute(InvocationContext, HttpRequestBase)}</p>
+	 * 
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover information about the proxy invocation
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} to be executed using the endpoint's {@link Transport}
+	 * <br><br>
+	 * @return the {@link HttpResponse} which resulted from the execution
+	 * <br><br>
+	 * @throws InvocationException
+	 * 			if the HTTP request responded with a failure status code or if request execution failed
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	protected HttpResponse dispatch(InvocationContext context, HttpRequestBase request) {
+		
+		if(cancelled(context)) {
+			
+			return null;
+		}
+		
 		HttpResponse response = null;
 		
 		try {
 			
-			 response = fetchResponse(context, request);
+			try {
+				
+				response = fetchResponse(context, request);
+			}
+			catch(RequestExecutionException ree) {
+				
+				fail(context, ree);
+			}
+			catch(DeadlineExceededException dee) {
+				
+				fail(context, dee);
+			}
+			
+			respond(context, response);
+			
+			return response;
 		}
-		catch(RequestExecutionException ree) {
+		finally {
 			
-			executionHandler.onError(context, ree);
+			RequestTimer.INSTANCE.disarm(request);
 		}
+	}
+	
+	/**
+	 * <p>Handles the given {@link HttpResponse} using this executor's {@link ExecutionHandler}, unless 
+	 * the invocation was cancelled. See {@link Is#successful(HttpResponse)}.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover information about the proxy invocation
+	 * <br><br>
+	 * @param response
+	 * 			the {@link HttpResponse} which resulted from the execution, else {@code null} if none
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	protected void respond(InvocationContext context, HttpResponse response) {
 		
-		if(response != null) {
+		if(response != null && !cancelled(context)) {
 			
 			if(successful(response)) {
 				
@@ -140,7 +533,25 @@ class BasicRequestExecutor implements RequestExecutor {
 				executionHandler.onFailure(context, response);
 			}
 		}
+	}
+	
+	/**
+	 * <p>Submits the given error to this executor's {@link ExecutionHandler}, unless the invocation 
+	 * was cancelled.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover information about the proxy invocation
+	 * <br><br>
+	 * @param error
+	 * 			the {@link Exception} which caused the request execution to fail
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	protected void fail(InvocationContext context, Exception error) {
 		
-		return response;
+		if(!cancelled(context)) {
+			
+			executionHandler.onError(context, error);
+		}
 	}
 }
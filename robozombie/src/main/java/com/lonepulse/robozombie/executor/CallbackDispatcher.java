@@ -0,0 +1,127 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.concurrent.Executor;
+
+import com.lonepulse.robozombie.processor.Processors;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>Dispatches the work which follows the execution of an asynchronous request onto the executors 
+ * which are configured for an endpoint. The response processor chain ({@link Processors#RESPONSE}) is 
+ * run on the <i>processing executor</i>, whereas the callbacks of an {@link AsyncHandler} are run on 
+ * the <i>callback executor</i>. The execution of the request itself may be run on a <i>request executor</i>, 
+ * if one was configured.</p>
+ * 
+ * <p>See {@link Zombie.Configuration#processingExecutor()}, {@link Zombie.Configuration#callbackExecutor()} 
+ * and {@link Zombie.Configuration#requestExecutor()}</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+final class CallbackDispatcher {
+	
+	
+	/**
+	 * <p>The {@link CallbackDispatcher} which processes responses and invokes callbacks directly on the 
+	 * thread which executed the request.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	static final CallbackDispatcher DIRECT 
+		= new CallbackDispatcher(null, CallbackExecutors.direct(), CallbackExecutors.direct());
+	
+	
+	private final Executor requestExecutor;
+	
+	private final Executor processingExecutor;
+	
+	private final Executor callbackExecutor;
+	
+	
+	/**
+	 * <p>Creates a new {@link CallbackDispatcher} with the given executors. A processing or callback 
+	 * executor which is {@code null} is substituted with {@link CallbackExecutors#direct()}.</p>
+	 *
+	 * @param requestExecutor
+	 * 			the {@link Executor} on which asynchronous requests are executed, else {@code null} to 
+	 * 			use the shared pool of asynchronous requests
+	 * <br><br>
+	 * @param processingExecutor
+	 * 			the {@link Executor} on which responses are processed
+	 * <br><br>
+	 * @param callbackExecutor
+	 * 			the {@link Executor} on which {@link AsyncHandler} callbacks are invoked
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	CallbackDispatcher(Executor requestExecutor, Executor processingExecutor, Executor callbackExecutor) {
+		
+		this.requestExecutor = requestExecutor;
+		this.processingExecutor = processingExecutor == null? CallbackExecutors.direct() :processingExecutor;
+		this.callbackExecutor = callbackExecutor == null? CallbackExecutors.direct() :callbackExecutor;
+	}
+	
+	/**
+	 * <p>Returns the {@link Executor} which was configured to execute requests, if any.</p>
+	 *
+	 * @return the configured request {@link Executor}, else {@code null} if requests are to be executed 
+	 * 		   on the shared pool
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	Executor requests() {
+		
+		return requestExecutor;
+	}
+	
+	/**
+	 * <p>Submits the processing of a response to the processing executor.</p>
+	 *
+	 * @param processing
+	 * 			the {@link Runnable} which processes the response
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void process(Runnable processing) {
+		
+		processingExecutor.execute(processing);
+	}
+	
+	/**
+	 * <p>Submits the invocation of a callback to the callback executor.</p>
+	 *
+	 * @param callback
+	 * 			the {@link Runnable} which invokes a callback on an {@link AsyncHandler}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void callback(Runnable callback) {
+		
+		callbackExecutor.execute(callback);
+	}
+}
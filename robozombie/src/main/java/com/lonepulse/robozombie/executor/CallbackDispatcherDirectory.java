@@ -0,0 +1,124 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.lonepulse.robozombie.Directory;
+import com.lonepulse.robozombie.annotation.Config;
+import com.lonepulse.robozombie.proxy.Zombie;
+
+/**
+ * <p>A registry of {@link CallbackDispatcher}s which are configured to be used for a specific endpoint. 
+ * Endpoints which share a {@link Zombie.Configuration} share the same {@link CallbackDispatcher}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum CallbackDispatcherDirectory implements Directory<Class<?>, CallbackDispatcher> {
+	
+	
+	/**
+	 * <p>The {@link CallbackDispatcherDirectory} which caches the {@link CallbackDispatcher}s that are 
+	 * configured for each endpoint. A {@link CallbackDispatcher} is stored or accessed using an endpoint's 
+	 * {@link Class}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	private static final Map<String, CallbackDispatcher> DIRECTORY = new HashMap<String, CallbackDispatcher>();
+	
+	
+	private static String configuration(Class<?> endpoint) {
+		
+		return endpoint.isAnnotationPresent(Config.class)?
+			endpoint.getAnnotation(Config.class).value().getName() :Zombie.Configuration.class.getName();
+	}
+	
+	/**
+	 * <p>Registers a {@link CallbackDispatcher} under the given {@link Class} of the endpoint definition. 
+	 * If a {@link CallbackDispatcher} already exists for the endpoint's configuration, <i>no attempt will 
+	 * be made to replace the existing instance</i>.</p>
+	 * 
+	 * @param endpoint
+	 * 			the {@link Class} of the endpoint whose {@link CallbackDispatcher} is registered
+	 * <br><br>
+	 * @param dispatcher
+	 * 			the {@link CallbackDispatcher} which is to be registered under the given endpoint
+	 * <br><br>
+	 * @return the {@link CallbackDispatcher} which was registered under the given endpoint
+	 * <br><br> 
+	 * @since 1.3.4
+	 */
+	@Override
+	public synchronized CallbackDispatcher bind(Class<?> endpoint, CallbackDispatcher dispatcher) {
+		
+		String configuration = configuration(endpoint);
+		
+		if(!DIRECTORY.containsKey(configuration)) {
+			
+			DIRECTORY.put(configuration, dispatcher);
+		}
+		
+		return DIRECTORY.get(configuration);
+	}
+	
+	/**
+	 * <p>Retrieves the {@link CallbackDispatcher} which was registered for the given endpoint. If none 
+	 * was registered, {@link CallbackDispatcher#DIRECT} is returned.</p>
+	 * 
+	 * @param endpoint
+	 * 			the {@link Class} of the endpoint whose {@link CallbackDispatcher} is to be retrieved
+	 * <br><br>
+	 * @return the registered {@link CallbackDispatcher}, else {@link CallbackDispatcher#DIRECT}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public synchronized CallbackDispatcher lookup(Class<?> endpoint) {
+		
+		CallbackDispatcher dispatcher = DIRECTORY.get(configuration(endpoint));
+		
+		return dispatcher == null? CallbackDispatcher.DIRECT :dispatcher;
+	}
+	
+	/**
+	 * <p>Determines whether a {@link CallbackDispatcher} has been registered for the given endpoint.</p>
+	 * 
+	 * @param endpoint
+	 * 			the {@link Class} of the endpoint whose registration is to be determined
+	 * <br><br>
+	 * @return {@code true} if a {@link CallbackDispatcher} exists for the endpoint's configuration
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	synchronized boolean contains(Class<?> endpoint) {
+		
+		return DIRECTORY.containsKey(configuration(endpoint));
+	}
+}
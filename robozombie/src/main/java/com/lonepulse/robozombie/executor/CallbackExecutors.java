@@ -0,0 +1,293 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>A collection of {@link Executor}s which may be used to run the callbacks of an {@link AsyncHandler}, 
+ * to process responses or to execute asynchronous requests. See {@link Zombie.Configuration#callbackExecutor()}, 
+ * {@link Zombie.Configuration#processingExecutor()} and {@link Zombie.Configuration#requestExecutor()}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category utility
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public final class CallbackExecutors {
+	
+	
+	private static final Executor DIRECT = new Executor() {
+		
+		@Override
+		public void execute(Runnable command) {
+			
+			command.run();
+		}
+	};
+	
+	
+	/**
+	 * <p>An {@link Executor} which posts commands to the {@link Handler} of a {@link Looper}. Commands 
+	 * are queued and drained in <b>batches</b>, so that a burst of callbacks results in a single post to 
+	 * the message queue. A batch yields to other messages once it exceeds its time budget.</p>
+	 */
+	private static final class LooperExecutor implements Executor {
+		
+		
+		private static final long BATCH_BUDGET = TimeUnit.MILLISECONDS.toNanos(8);
+		
+		
+		private final Handler handler;
+		
+		private final Queue<Runnable> commands = new ConcurrentLinkedQueue<Runnable>();
+		
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		
+		private final Runnable batch = new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				long start = System.nanoTime();
+				
+				Runnable command = null;
+				
+				while((command = commands.poll()) != null) {
+					
+					try {
+						
+						command.run();
+					}
+					catch(Exception e) {
+						
+						Log.e(CallbackExecutors.class.getSimpleName(), "A batched callback failed.", e);
+					}
+					
+					if(System.nanoTime() - start > BATCH_BUDGET) {
+						
+						handler.post(this); //yield to other messages and resume with the next batch
+						return;
+					}
+				}
+				
+				scheduled.set(false);
+				
+				if(!commands.isEmpty() && scheduled.compareAndSet(false, true)) {
+					
+					handler.post(this);
+				}
+			}
+		};
+		
+		
+		private LooperExecutor(Looper looper) {
+			
+			this.handler = new Handler(looper);
+		}
+		
+		@Override
+		public void execute(Runnable command) {
+			
+			commands.offer(command);
+			
+			if(scheduled.compareAndSet(false, true)) {
+				
+				handler.post(batch);
+			}
+		}
+	}
+	
+	/**
+	 * <p>Lazily creates the {@link Executor} which runs each command on a new <b>virtual thread</b>. 
+	 * It is discovered reflectively, so that it is only created on a runtime which supports it.</p>
+	 */
+	private static final class VirtualThreads {
+		
+		
+		private static final ExecutorService EXECUTOR = create();
+		
+		
+		private static ExecutorService create() {
+			
+			try {
+				
+				Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+				
+				Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+				builder = builderClass.getMethod("name", String.class, long.class)
+					.invoke(builder, "RoboZombie-Virtual-", 1L);
+				
+				ThreadFactory threadFactory = (ThreadFactory)builderClass.getMethod("factory").invoke(builder);
+				
+				return (ExecutorService)Executors.class
+					.getMethod("newThreadPerTaskExecutor", ThreadFactory.class).invoke(null, threadFactory);
+			}
+			catch(Exception e) { //virtual threads are unavailable or are a preview feature on this runtime
+				
+				return null;
+			}
+		}
+	}
+	
+	
+	private CallbackExecutors() {}
+	
+	
+	/**
+	 * <p>Returns an {@link Executor} which runs each command <b>directly</b> on the thread which 
+	 * submitted it. For callbacks this is the thread which executed the request.</p>
+	 *
+	 * @return the direct {@link Executor}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static Executor direct() {
+		
+		return DIRECT;
+	}
+	
+	/**
+	 * <p>Returns an {@link Executor} which runs commands on the callback executor that was configured 
+	 * for the given endpoint (see {@link Zombie.Configuration#callbackExecutor()}), or directly if 
+	 * none was configured.</p>
+	 *
+	 * @param endpoint
+	 * 			the endpoint whose callback executor is to be used
+	 * <br><br>
+	 * @return an {@link Executor} which submits commands to the endpoint's callback executor
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static Executor of(final Class<?> endpoint) {
+		
+		return new Executor() {
+			
+			@Override
+			public void execute(Runnable command) {
+				
+				CallbackDispatcherDirectory.INSTANCE.lookup(endpoint).callback(command);
+			}
+		};
+	}
+	
+	/**
+	 * <p>Creates a new {@link Executor} which runs commands on a <b>dedicated pool</b> of daemon threads.</p>
+	 *
+	 * @param threads
+	 * 			the number of threads in the pool; idle threads are released after a minute
+	 * <br><br>
+	 * @return a new {@link Executor} which is backed by a pool of the given size
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static Executor pool(int threads) {
+		
+		int size = Math.max(threads, 1);
+		
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(size, size, 60L, TimeUnit.SECONDS, 
+			new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+			
+			private final AtomicInteger count = new AtomicInteger();
+			
+			@Override
+			public Thread newThread(Runnable runnable) {
+				
+				Thread thread = new Thread(runnable, "RoboZombie-Callback-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				
+				return thread;
+			}
+		});
+		
+		executor.allowCoreThreadTimeOut(true);
+		
+		return executor;
+	}
+	
+	/**
+	 * <p>Creates a new {@link Executor} which runs commands on the thread of the given {@link Looper}. 
+	 * Commands are posted in batches. See {@link Handler#post(Runnable)}.</p>
+	 *
+	 * @param looper
+	 * 			the {@link Looper} whose thread runs the commands
+	 * <br><br>
+	 * @return a new {@link Executor} which is backed by the given {@link Looper}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static Executor looper(Looper looper) {
+		
+		return new LooperExecutor(looper);
+	}
+	
+	/**
+	 * <p>Creates a new {@link Executor} which runs commands on the <b>main thread</b> of the application. 
+	 * See {@link Looper#getMainLooper()}.</p>
+	 *
+	 * @return a new {@link Executor} which is backed by the main {@link Looper}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static Executor mainThread() {
+		
+		return looper(Looper.getMainLooper());
+	}
+	
+	/**
+	 * <p>Returns an {@link Executor} which runs each command on a new <b>virtual thread</b>. A virtual 
+	 * thread which blocks on I/O releases its carrier thread, so that tens of thousands of blocking 
+	 * requests may be in flight at once.</p>
+	 * 
+	 * <p>Virtual threads are available on <b>Java 21</b> and above. On older runtimes this returns 
+	 * {@code null}, which configures the <i>out-of-the-box</i> executor in its place.</p>
+	 *
+	 * @return the shared {@link Executor} which is backed by virtual threads, else {@code null} if the 
+	 * 		   runtime does not support virtual threads
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static Executor virtual() {
+		
+		return VirtualThreads.EXECUTOR;
+	}
+}
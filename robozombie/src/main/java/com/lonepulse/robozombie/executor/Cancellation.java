@@ -0,0 +1,197 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.lonepulse.robozombie.util.Metadata.findArgument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import android.util.Log;
+
+import com.lonepulse.robozombie.proxy.InvocationContext;
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>A handle which can be used to <b>cancel</b> a request invocation. It is passed as an argument to 
+ * the request and may be cancelled from any thread.</p>
+ * 
+ * <p>If an asynchronous request has not started executing yet, it is removed from the execution queue. 
+ * If the request is in flight, the underlying HTTP request is aborted and processing of the response 
+ * is skipped. Cancellation is reported to {@link AsyncHandler#onCancel()} for asynchronous requests, 
+ * whereas synchronous requests fail with an {@link java.util.concurrent.CancellationException}.</p>
+ * 
+ * <p><b>Note</b> that a {@link Cancellation} is meant to be used with a single invocation.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <p>
+ * <code>
+ * <pre>@Async&nbsp;@GET("/users/{user}/repos")
+ *void getRepos(@PathParam("user") String user, AsyncHandler&lt;List&lt;Repo&gt;&gt; handler, <b>Cancellation cancellation</b>);
+ *
+ *Cancellation cancellation = new Cancellation();
+ *githubEndpoint.getRepos("sahan", handler, cancellation);
+ *...
+ *<b>cancellation.cancel();</b>
+ * </pre>
+ * </code>
+ * </p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public final class Cancellation {
+	
+	
+	private final List<Runnable> hooks = new ArrayList<Runnable>();
+	
+	private final AtomicBoolean settled = new AtomicBoolean();
+	
+	private boolean cancelled;
+	
+	
+	/**
+	 * <p>Cancels the invocation which this handle was passed to. Subsequent invocations have no effect.</p>
+	 *
+	 * @since 1.3.4
+	 */
+	public void cancel() {
+		
+		List<Runnable> pending = null;
+		
+		synchronized (this) {
+			
+			if(cancelled) {
+				
+				return;
+			}
+			
+			cancelled = true;
+			
+			pending = new ArrayList<Runnable>(hooks);
+			hooks.clear();
+		}
+		
+		for (Runnable hook : pending) {
+			
+			run(hook);
+		}
+	}
+	
+	/**
+	 * <p>Determines whether this handle has been cancelled.</p>
+	 *
+	 * @return {@code true} if {@link #cancel()} has been invoked
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public synchronized boolean isCancelled() {
+		
+		return cancelled;
+	}
+	
+	/**
+	 * <p>Registers a hook which is run when this handle is cancelled. If it has already been cancelled, 
+	 * the hook is run immediately on the calling thread.</p>
+	 *
+	 * @param hook
+	 * 			the {@link Runnable} which releases the resources held by the invocation
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void onCancel(Runnable hook) {
+		
+		synchronized (this) {
+			
+			if(!cancelled) {
+				
+				hooks.add(hook);
+				return;
+			}
+		}
+		
+		run(hook);
+	}
+	
+	/**
+	 * <p>Settles the cancellation of the invocation, so that it is reported exactly once although it may 
+	 * be observed by several threads.</p>
+	 *
+	 * @return {@code true} if this handle has been cancelled and the cancellation was not settled before
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	boolean settle() {
+		
+		return isCancelled() && settled.compareAndSet(false, true);
+	}
+	
+	/**
+	 * <p>Determines whether the given invocation was cancelled using a {@link Cancellation} which was 
+	 * passed as an argument. The cancellation is reported to the given {@link ExecutionHandler} by the 
+	 * first thread which observes it. See {@link #settle()}.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover the {@link Cancellation}, if any
+	 * <br><br>
+	 * @param executionHandler
+	 * 			the {@link ExecutionHandler} which is notified of the cancellation
+	 * <br><br>
+	 * @return {@code true} if the invocation was cancelled and should not proceed any further
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	static boolean observe(InvocationContext context, ExecutionHandler executionHandler) {
+		
+		Cancellation cancellation = findArgument(Cancellation.class, context);
+		
+		if(cancellation == null || !cancellation.isCancelled()) {
+			
+			return false;
+		}
+		
+		if(cancellation.settle()) {
+			
+			executionHandler.onCancel(context);
+		}
+		
+		return true;
+	}
+	
+	private void run(Runnable hook) {
+		
+		try {
+			
+			hook.run();
+		}
+		catch(Exception e) {
+			
+			Log.w(getClass().getSimpleName(), "Failed to release an invocation upon cancellation.", e);
+		}
+	}
+}
@@ -20,6 +20,8 @@ package com.lonepulse.robozombie.executor;
  * #L%
  */
 
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.Warmup;
 import com.lonepulse.robozombie.proxy.Zombie;
 import com.lonepulse.robozombie.proxy.Zombie.Configuration;
 
@@ -65,4 +67,17 @@ public interface ConfigurationManager {
 	 * @since 1.2.3
 	 */
 	Configuration register(Class<?> endpointClass);
+	
+	/**
+	 * <p>Takes the {@link Class} of a registered endpoint interface and opens keep-alive connections to 
+	 * the host of its @{@link Endpoint} in background. The number of connections is specified using the 
+	 * <b>@{@link Warmup}</b> annotation, or else the <i>default</i> of 2 connections is used. This is 
+	 * performed automatically when an endpoint which is identified by @{@link Warmup} is registered.</p>
+	 *
+	 * @param endpointClass
+	 * 			the {@link Class} of the registered endpoint whose connections are to be warmed up
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void warmup(Class<?> endpointClass);
 }
@@ -20,6 +20,8 @@ package com.lonepulse.robozombie.executor;
  * #L%
  */
 
+import java.util.concurrent.Executor;
+
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.params.HttpClientParams;
 import org.apache.http.conn.ClientConnectionManager;
@@ -35,8 +37,11 @@ import org.apache.http.params.HttpParams;
 import org.apache.http.params.HttpProtocolParams;
 
 import com.lonepulse.robozombie.annotation.Config;
+import com.lonepulse.robozombie.annotation.Warmup;
 import com.lonepulse.robozombie.proxy.Zombie;
 import com.lonepulse.robozombie.proxy.Zombie.Configuration;
+import com.lonepulse.robozombie.transport.HttpClientTransport;
+import com.lonepulse.robozombie.transport.Transport;
 
 /**
  * <p>This is a concrete implementation of {@link ConfigurationManager} which manages request execution 
@@ -66,7 +71,8 @@ final class ConfigurationService implements ConfigurationManager {
 	 * 	<li><b>HTTPS</b> on port <b>443</b> using sockets from {@link SSLSocketFactory#getSocketFactory}</li>
 	 * </ol>
 	 * 
-	 * <p>It uses a {@link ThreadSafeClientConnManager} with the following parameters:</p>
+	 * <p>It uses a {@link MeteredConnectionManager} (a {@link ThreadSafeClientConnManager} which exposes 
+	 * its {@link PoolStats}) with the following parameters:</p>
 	 * <br>
 	 * <ol>
 	 * 	<li><b>Redirecting:</b> enabled</li>
@@ -74,8 +80,21 @@ final class ConfigurationService implements ConfigurationManager {
 	 * 	<li><b>Socket Timeout:</b> 30 seconds</li>
 	 * 	<li><b>Socket Buffer Size:</b> 12000 bytes</li>
 	 * 	<li><b>User-Agent:</b> via <code>System.getProperty("http.agent")</code></li>
+	 * 	<li><b>Idle Connection Timeout:</b> 30 seconds</li>
 	 * </ol>
 	 * </li>
+	 * <li>
+	 * <p><b>Executors</b></p>
+	 * <br>
+	 * <p>Asynchronous requests are executed on a shared pool of threads which is ordered by priority. 
+	 * Their responses are processed and their callbacks are invoked directly on the thread which executed 
+	 * the request. See {@link CallbackExecutors#direct()}.</p>
+	 * </li>
+	 * <li>
+	 * <p><b>Transport</b></p>
+	 * <br>
+	 * <p>Requests are executed using the configured {@link HttpClient}. See {@link HttpClientTransport}.</p>
+	 * </li>
 	 * </ul>
 	 * @return the instance of {@link HttpClient} which will be used for request execution
 	 * <br><br>
@@ -102,7 +121,7 @@ final class ConfigurationService implements ConfigurationManager {
 			        schemeRegistry.register(new Scheme("http", PlainSocketFactory.getSocketFactory(), 80));
 			        schemeRegistry.register(new Scheme("https", SSLSocketFactory.getSocketFactory(), 443));
 
-			        ClientConnectionManager manager = new ThreadSafeClientConnManager(params, schemeRegistry);
+			        ClientConnectionManager manager = new MeteredConnectionManager(params, schemeRegistry);
 
 			        return new DefaultHttpClient(manager, params);
 				}
@@ -111,6 +130,36 @@ final class ConfigurationService implements ConfigurationManager {
 					throw new ConfigurationFailedException(e);
 				}
 			}
+			
+			@Override
+			public Executor callbackExecutor() {
+				
+				return CallbackExecutors.direct();
+			}
+			
+			@Override
+			public Executor processingExecutor() {
+				
+				return CallbackExecutors.direct();
+			}
+			
+			@Override
+			public Executor requestExecutor() {
+				
+				return null;
+			}
+			
+			@Override
+			public Transport transport() {
+				
+				return null;
+			}
+			
+			@Override
+			public long idleConnectionTimeout() {
+				
+				return 30 * 1000;
+			}
 		};
 	}
 	
@@ -122,25 +171,59 @@ final class ConfigurationService implements ConfigurationManager {
 		
 		try {
 			
+			Configuration configuration;
+			
 			if(endpointClass.isAnnotationPresent(Config.class)) {
 				
-				Configuration configuration = endpointClass.getAnnotation(Config.class).value().newInstance();
+				configuration = endpointClass.getAnnotation(Config.class).value().newInstance();
+				
+				HttpClient httpClient = HttpClientDirectory.INSTANCE.bind(endpointClass, configuration.httpClient());
+				ConnectionReaper.INSTANCE.watch(httpClient, configuration.idleConnectionTimeout());
 				
-				HttpClient httpClient = configuration.httpClient();
-				HttpClientDirectory.INSTANCE.bind(endpointClass, httpClient); //currently the only configurable property
+				if(!TransportDirectory.INSTANCE.contains(endpointClass)) {
+					
+					Transport transport = configuration.transport();
+					
+					TransportDirectory.INSTANCE.bind(endpointClass, 
+						transport == null? new HttpClientTransport(httpClient) :transport);
+				}
 				
-				return configuration;
+				if(!CallbackDispatcherDirectory.INSTANCE.contains(endpointClass)) {
+					
+					CallbackDispatcherDirectory.INSTANCE.bind(endpointClass, new CallbackDispatcher(configuration.requestExecutor(), 
+						configuration.processingExecutor(), configuration.callbackExecutor()));
+				}
 			}
 			else {
 				
+				configuration = new Configuration(){};
+				
 				HttpClientDirectory.INSTANCE.bind(endpointClass, HttpClientDirectory.DEFAULT);
+				ConnectionReaper.INSTANCE.watch(HttpClientDirectory.DEFAULT, configuration.idleConnectionTimeout());
+			}
+			
+			if(endpointClass.isAnnotationPresent(Warmup.class)) {
 				
-				return new Configuration(){};
+				warmup(endpointClass);
 			}
+			
+			return configuration;
 		}
 		catch(Exception e) {
 			
 			throw new ConfigurationFailedException(endpointClass, e);
 		}
 	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void warmup(Class<?> endpointClass) {
+		
+		Warmup warmup = endpointClass.getAnnotation(Warmup.class);
+		
+		ConnectionWarmer.INSTANCE.warm(endpointClass, 
+			warmup == null? ConnectionWarmer.DEFAULT_CONNECTIONS :warmup.value());
+	}
 }
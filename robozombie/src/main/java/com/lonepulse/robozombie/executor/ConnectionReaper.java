@@ -0,0 +1,145 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ClientConnectionManager;
+
+import android.util.Log;
+
+import com.lonepulse.robozombie.proxy.Zombie;
+
+/**
+ * <p>Runs a periodic <b>maintenance task</b> for each registered {@link HttpClient} which closes the 
+ * pooled connections that were idle for longer than the threshold of its configuration (see 
+ * {@link Zombie.Configuration#idleConnectionTimeout()}).</p>
+ * 
+ * <p>Connections whose keep-alive duration has expired are closed as well. The keep-alive duration is 
+ * determined by the <b>Keep-Alive: timeout</b> header of the response on which a connection was 
+ * released, so that connections which the server would have already dropped are not reused.</p>
+ * 
+ * <p>All maintenance tasks are run on a single daemon thread.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum ConnectionReaper {
+	
+	
+	/**
+	 * <p>The {@link ConnectionReaper} which maintains the connection pools of all registered clients.</p>
+	 *
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	private static final long MIN_INTERVAL = 100;
+	
+	private static final long MAX_INTERVAL = 1000;
+	
+	private static final ScheduledExecutorService REAPING_EXECUTOR_SERVICE;
+	
+	private static final Map<ClientConnectionManager, ScheduledFuture<?>> TASKS 
+		= new IdentityHashMap<ClientConnectionManager, ScheduledFuture<?>>();
+	
+	static
+	{
+		REAPING_EXECUTOR_SERVICE = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable runnable) {
+				
+				Thread thread = new Thread(runnable, "RoboZombie-ConnectionReaper");
+				thread.setDaemon(true);
+				
+				return thread;
+			}
+		});
+	}
+	
+	
+	/**
+	 * <p>Schedules the maintenance of the connection pool of the given {@link HttpClient}. The pool is 
+	 * checked at an interval of half the idle timeout, which is kept within <b>100ms - 1s</b> so that 
+	 * expired connections are closed promptly. A client whose pool is already maintained is ignored.</p>
+	 *
+	 * @param httpClient
+	 * 			the {@link HttpClient} whose connection pool is to be maintained
+	 * <br><br>
+	 * @param idleTimeout
+	 * 			the time in <b>milliseconds</b> after which an idle connection is closed, else a value 
+	 * 			less than or equal to {@code 0} to close expired connections only
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void watch(HttpClient httpClient, final long idleTimeout) {
+		
+		final ClientConnectionManager manager = httpClient.getConnectionManager();
+		
+		synchronized (TASKS) {
+			
+			if(TASKS.containsKey(manager)) {
+				
+				return;
+			}
+			
+			long interval = Math.min(Math.max(idleTimeout / 2, MIN_INTERVAL), MAX_INTERVAL);
+			
+			TASKS.put(manager, REAPING_EXECUTOR_SERVICE.scheduleWithFixedDelay(new Runnable() {
+				
+				@Override
+				public void run() {
+					
+					try {
+						
+						manager.closeExpiredConnections();
+						
+						if(idleTimeout > 0) {
+							
+							manager.closeIdleConnections(idleTimeout, TimeUnit.MILLISECONDS);
+						}
+					}
+					catch(Exception e) {
+						
+						Log.w(getClass().getSimpleName(), "Stopped maintaining the connection pool of an HTTP client.", e);
+						
+						synchronized (TASKS) {
+							
+							TASKS.remove(manager).cancel(false);
+						}
+					}
+				}
+			}, interval, interval, TimeUnit.MILLISECONDS));
+		}
+	}
+}
@@ -0,0 +1,234 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.params.ConnManagerParams;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.client.AbstractHttpClient;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.BasicHttpContext;
+
+import android.util.Log;
+
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.Warmup;
+import com.lonepulse.robozombie.transport.HttpClientTransport;
+import com.lonepulse.robozombie.transport.Transport;
+
+/**
+ * <p>Opens keep-alive connections to the host of an endpoint in background and returns them to the 
+ * connection pool of the endpoint's {@link HttpClient}, so that its first requests reuse connections 
+ * which have already been established. See @{@link Warmup}.</p>
+ * 
+ * <p>Connections are opened on the request executor of the endpoint if one was configured (see 
+ * {@link com.lonepulse.robozombie.proxy.Zombie.Configuration#requestExecutor()}), or else on a shared 
+ * pool of threads. Endpoints which are not executed using an {@link HttpClientTransport} are ignored.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum ConnectionWarmer {
+	
+	
+	/**
+	 * <p>The {@link ConnectionWarmer} which pre-warms the connections of all endpoints.</p>
+	 *
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	/**
+	 * <p>The number of connections which are opened if an endpoint is not identified by @{@link Warmup}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	static final int DEFAULT_CONNECTIONS = 2;
+	
+	private static final long LEASE_TIMEOUT = 10;
+	
+	private static final ExecutorService WARMING_EXECUTOR_SERVICE;
+	
+	private static final Set<String> WARMING = new HashSet<String>();
+	
+	static
+	{
+		WARMING_EXECUTOR_SERVICE = Executors.newCachedThreadPool();
+		
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				List<Runnable> pendingWarmups = WARMING_EXECUTOR_SERVICE.shutdownNow();
+				
+				if(!pendingWarmups.isEmpty()) {
+					
+					Log.i(getClass().getSimpleName(), pendingWarmups.size() + " connection warm-ups aborted.");
+				}
+			}
+		}));
+	}
+	
+	
+	/**
+	 * <p>Opens the given number of keep-alive connections to the host of the endpoint in background. 
+	 * The number of connections is limited by the maximum number of connections per route of the 
+	 * endpoint's {@link HttpClient}. Idle connections which are already pooled are counted towards 
+	 * the warmed connections. If the endpoint is already being warmed up, this request is ignored.</p>
+	 *
+	 * @param endpoint
+	 * 			the {@link Class} of the registered endpoint whose connections are to be warmed up
+	 * <br><br>
+	 * @param connections
+	 * 			the number of keep-alive connections to be opened to the endpoint's host
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void warm(final Class<?> endpoint, final int connections) {
+		
+		Transport transport = TransportDirectory.INSTANCE.lookup(endpoint);
+		
+		if(connections < 1 || !(transport instanceof HttpClientTransport)) {
+			
+			return;
+		}
+		
+		final HttpClient httpClient = ((HttpClientTransport)transport).getHttpClient();
+		
+		synchronized (WARMING) {
+			
+			if(!WARMING.add(endpoint.getName())) {
+				
+				return;
+			}
+		}
+		
+		Executor requestExecutor = CallbackDispatcherDirectory.INSTANCE.lookup(endpoint).requests();
+		
+		try {
+			
+			(requestExecutor == null? WARMING_EXECUTOR_SERVICE :requestExecutor).execute(new Runnable() {
+				
+				@Override
+				public void run() {
+					
+					try {
+						
+						open(endpoint, httpClient, connections);
+					}
+					catch(Exception e) {
+						
+						Log.w(getClass().getSimpleName(), new StringBuilder("Failed to warm up the connections of <")
+							.append(endpoint.getName()).append(">").toString(), e);
+					}
+					finally {
+						
+						synchronized (WARMING) {
+							
+							WARMING.remove(endpoint.getName());
+						}
+					}
+				}
+			});
+		}
+		catch(RuntimeException re) {
+			
+			synchronized (WARMING) {
+				
+				WARMING.remove(endpoint.getName());
+			}
+			
+			throw re;
+		}
+	}
+	
+	private static void open(Class<?> endpoint, HttpClient httpClient, int connections) throws Exception {
+		
+		URI uri = URI.create(endpoint.getAnnotation(Endpoint.class).value());
+		
+		HttpParams params = httpClient.getParams();
+		ClientConnectionManager manager = httpClient.getConnectionManager();
+		
+		HttpRoute route = route(httpClient, uri);
+		int count = Math.min(connections, ConnManagerParams.getMaxConnectionsPerRoute(params).getMaxForRoute(route));
+		
+		List<ManagedClientConnection> leased = new ArrayList<ManagedClientConnection>(count);
+		
+		try {
+			
+			for (int i = 0; i < count; i++) {
+				
+				ManagedClientConnection connection 
+					= manager.requestConnection(route, null).getConnection(LEASE_TIMEOUT, TimeUnit.SECONDS);
+				
+				leased.add(connection);
+				
+				if(!connection.isOpen()) {
+					
+					connection.open(route, new BasicHttpContext(), params);
+				}
+				
+				connection.markReusable();
+			}
+		}
+		finally {
+			
+			for (ManagedClientConnection connection : leased) {
+				
+				manager.releaseConnection(connection, -1, TimeUnit.MILLISECONDS);
+			}
+		}
+	}
+	
+	private static HttpRoute route(HttpClient httpClient, URI uri) throws Exception {
+		
+		HttpHost target = new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme());
+		
+		if(httpClient instanceof AbstractHttpClient) {
+			
+			HttpGet request = new HttpGet(uri);
+			request.setParams(httpClient.getParams());
+			
+			return ((AbstractHttpClient)httpClient).getRoutePlanner().determineRoute(target, request, new BasicHttpContext());
+		}
+		
+		return new HttpRoute(target, null, "https".equalsIgnoreCase(uri.getScheme()));
+	}
+}
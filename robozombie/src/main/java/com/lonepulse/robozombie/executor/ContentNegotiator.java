@@ -0,0 +1,122 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+
+import com.lonepulse.robozombie.annotation.Download;
+import com.lonepulse.robozombie.proxy.InvocationContext;
+import com.lonepulse.robozombie.response.DecodedEntity;
+import com.lonepulse.robozombie.util.Downloads;
+
+/**
+ * <p>Negotiates the <b>content-encoding</b> of responses. Requests advertise support for <i>gzip</i> and 
+ * <i>deflate</i> with an <b>Accept-Encoding</b> header and responses which arrive with either encoding 
+ * are decompressed as a stream by a {@link DecodedEntity}, before any of the response processors read 
+ * their content.</p>
+ * 
+ * <p>A request which specifies its own <b>Accept-Encoding</b> header is sent as is, although a compressed 
+ * response is still decoded. A @{@link Download} is neither negotiated nor decoded, since its content is 
+ * written (and resumed) byte for byte.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum ContentNegotiator {
+	
+	
+	/**
+	 * <p>The {@link ContentNegotiator} which negotiates the content-encoding for all endpoints.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	private static final String ACCEPT_ENCODING = "Accept-Encoding";
+	
+	private static final String SUPPORTED_ENCODINGS = "gzip, deflate";
+	
+	
+	/**
+	 * <p>Adds an <b>Accept-Encoding</b> header for <i>gzip</i> and <i>deflate</i> to the given request, 
+	 * unless it already specifies one or is a @{@link Download}.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} of the request
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is about to be transmitted
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void negotiate(InvocationContext context, HttpRequestBase request) {
+		
+		if(!request.containsHeader(ACCEPT_ENCODING) && Downloads.find(context) == null) {
+			
+			request.setHeader(ACCEPT_ENCODING, SUPPORTED_ENCODINGS);
+		}
+	}
+	
+	/**
+	 * <p>Replaces the entity of a response which was compressed with <i>gzip</i> or <i>deflate</i> with 
+	 * a {@link DecodedEntity}. The <b>Content-Encoding</b> and <b>Content-Length</b> headers, which describe 
+	 * the compressed content, are removed from the response.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} of the request
+	 * <br><br>
+	 * @param response
+	 * 			the {@link HttpResponse} which was received for the request
+	 * <br><br>
+	 * @return the given {@link HttpResponse}, whose entity may have been replaced
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	HttpResponse decode(InvocationContext context, HttpResponse response) {
+		
+		HttpEntity entity = response == null? null :response.getEntity();
+		
+		if(entity == null || entity instanceof DecodedEntity) {
+			
+			return response;
+		}
+		
+		Header contentEncoding = entity.getContentEncoding();
+		contentEncoding = contentEncoding == null? response.getFirstHeader("Content-Encoding") :contentEncoding;
+		
+		if(contentEncoding != null && DecodedEntity.isSupported(contentEncoding.getValue()) 
+		   && Downloads.find(context) == null) {
+			
+			response.setEntity(new DecodedEntity(entity, contentEncoding.getValue()));
+			response.removeHeaders("Content-Encoding");
+			response.removeHeaders("Content-Length");
+		}
+		
+		return response;
+	}
+}
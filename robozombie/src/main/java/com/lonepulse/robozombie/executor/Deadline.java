@@ -0,0 +1,209 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.concurrent.TimeUnit;
+
+import com.lonepulse.robozombie.annotation.Timeout;
+
+/**
+ * <p>A <b>deadline</b> which bounds the execution of a request. It can be passed as an argument to any 
+ * request and takes precedence over an @{@link Timeout} on the request or endpoint.</p>
+ * 
+ * <p>The deadline is fixed at the time of creation, hence the same instance may be passed to several 
+ * requests which share a single budget; each request is limited to the budget which remains.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <p>
+ * <code>
+ * <pre>@GET("/users/{user}")
+ *User getUser(@PathParam("user") String user, <b>Deadline deadline</b>);
+ *
+ *githubEndpoint.getUser("sahan", <b>Deadline.within(300, TimeUnit.MILLISECONDS)</b>);
+ * </pre>
+ * </code>
+ * </p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public final class Deadline {
+	
+	
+	private final Long expiry;
+	
+	private final long connectTimeout;
+	
+	private final long readTimeout;
+	
+	
+	/**
+	 * <p>Creates a new {@link Deadline} which expires after the given timeout has elapsed.</p>
+	 *
+	 * @param timeout
+	 * 			the total time which is allowed for the execution of a request
+	 * <br><br>
+	 * @param unit
+	 * 			the {@link TimeUnit} of the given timeout
+	 * <br><br>
+	 * @return a new {@link Deadline} which expires after the given timeout
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static Deadline within(long timeout, TimeUnit unit) {
+		
+		return new Deadline(System.nanoTime() + unit.toNanos(timeout), 0L, 0L);
+	}
+	
+	/**
+	 * <p>Creates a new {@link Deadline} using the timeouts of the given @{@link Timeout}. The total 
+	 * deadline (if any) is measured from the time the request is dispatched for execution, i.e. after 
+	 * any rate-limiting or queueing of the invocation.</p>
+	 *
+	 * @param timeout
+	 * 			the @{@link Timeout} whose connection, read and total timeouts are used
+	 * <br><br>
+	 * @return a new {@link Deadline} with the given timeouts
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	static Deadline from(Timeout timeout) {
+		
+		return new Deadline(timeout.total() > 0? 
+				System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout.total()) :null, 
+				timeout.connect(), timeout.read());
+	}
+	
+	private Deadline(Long expiry, long connectTimeout, long readTimeout) {
+		
+		this.expiry = expiry;
+		this.connectTimeout = connectTimeout;
+		this.readTimeout = readTimeout;
+	}
+	
+	/**
+	 * <p>Creates a copy of this {@link Deadline} which limits the time spent on establishing a 
+	 * connection to the given timeout.</p>
+	 *
+	 * @param timeout
+	 * 			the connection timeout for each attempt of the request
+	 * <br><br>
+	 * @param unit
+	 * 			the {@link TimeUnit} of the given timeout
+	 * <br><br>
+	 * @return a new {@link Deadline} with the given connection timeout
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public Deadline withConnectTimeout(long timeout, TimeUnit unit) {
+		
+		return new Deadline(expiry, unit.toMillis(timeout), readTimeout);
+	}
+	
+	/**
+	 * <p>Creates a copy of this {@link Deadline} which limits the time spent waiting for data between 
+	 * two consecutive packets to the given timeout.</p>
+	 *
+	 * @param timeout
+	 * 			the socket (read) timeout for each attempt of the request
+	 * <br><br>
+	 * @param unit
+	 * 			the {@link TimeUnit} of the given timeout
+	 * <br><br>
+	 * @return a new {@link Deadline} with the given read timeout
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public Deadline withReadTimeout(long timeout, TimeUnit unit) {
+		
+		return new Deadline(expiry, connectTimeout, unit.toMillis(timeout));
+	}
+	
+	/**
+	 * <p>Determines the time which remains until this {@link Deadline} expires.</p>
+	 *
+	 * @param unit
+	 * 			the {@link TimeUnit} in which the remaining time is expressed
+	 * <br><br>
+	 * @return the remaining time (which is negative once expired), else {@link Long#MAX_VALUE} if 
+	 * 		   this {@link Deadline} does not impose a total deadline
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public long remaining(TimeUnit unit) {
+		
+		return expiry == null? Long.MAX_VALUE :unit.convert(expiry - System.nanoTime(), TimeUnit.NANOSECONDS);
+	}
+	
+	/**
+	 * <p>Determines whether this {@link Deadline} has expired.</p>
+	 *
+	 * @return {@code true} if a total deadline is imposed and it has expired
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public boolean isExpired() {
+		
+		return expiry != null && System.nanoTime() - expiry >= 0;
+	}
+	
+	/**
+	 * <p>Retrieves the absolute time of expiry as given by {@link System#nanoTime()}.</p>
+	 *
+	 * @return the time of expiry in nanoseconds, else {@code null} if no total deadline is imposed
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	Long getExpiry() {
+		
+		return expiry;
+	}
+	
+	/**
+	 * <p>Retrieves the connection timeout in <b>milliseconds</b>.</p>
+	 *
+	 * @return the connection timeout, else {@code 0} if the configured timeout is retained
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public long getConnectTimeout() {
+		
+		return connectTimeout;
+	}
+	
+	/**
+	 * <p>Retrieves the socket (read) timeout in <b>milliseconds</b>.</p>
+	 *
+	 * @return the read timeout, else {@code 0} if the configured timeout is retained
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public long getReadTimeout() {
+		
+		return readTimeout;
+	}
+}
@@ -0,0 +1,101 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.lang.reflect.Method;
+
+import com.lonepulse.robozombie.RoboZombieRuntimeException;
+import com.lonepulse.robozombie.annotation.Timeout;
+
+/**
+ * <p>This runtime exception is thrown when a request fails to complete within the total deadline which 
+ * was imposed using an @{@link Timeout} or a {@link Deadline}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class DeadlineExceededException extends RoboZombieRuntimeException {
+	
+	
+	private static final long serialVersionUID = 5371190386548412253L;
+	
+	
+	/**
+	 * <p>Displays a detailed description with information on the endpoint and request definition.</p>
+	 * 
+	 * @param request
+	 * 			the {@link Method} which represents the invoked request's definition
+	 * <br><br>
+	 * @param endpoint
+	 * 			the endpoint {@link Class} whose request exceeded its deadline
+	 * <br><br>
+	 * @param rootCause
+	 * 			the failure which resulted from aborting the request, else {@code null}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public DeadlineExceededException(Method request, Class<?> endpoint, Throwable rootCause) {
+		
+		super(new StringBuilder("Request <").append(request.getName()).append("> on <")
+			  .append(endpoint.getSimpleName()).append("> exceeded its deadline").toString(), rootCause);
+	}
+	
+	/**
+	 * <p>See {@link RoboZombieRuntimeException#RoboZombieRuntimeException()}.</p>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public DeadlineExceededException() {}
+	
+	/**
+	 * <p>See {@link RoboZombieRuntimeException#RoboZombieRuntimeException(String)}.</p>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public DeadlineExceededException(String detailMessage) {
+		
+		super(detailMessage);
+	}
+	
+	/**
+	 * <p>See {@link RoboZombieRuntimeException#RoboZombieRuntimeException(Throwable)}.</p>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public DeadlineExceededException(Throwable throwable) {
+		
+		super(throwable);
+	}
+	
+	/**
+	 * <p>See {@link RoboZombieRuntimeException#RoboZombieRuntimeException(String, Throwable)}.</p>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public DeadlineExceededException(String detailMessage, Throwable throwable) {
+		
+		super(detailMessage, throwable);
+	}
+}
@@ -84,4 +84,17 @@ interface ExecutionHandler {
 	 * @since 1.3.0
 	 */
 	void onError(InvocationContext context, Exception error);
+	
+	/**
+	 * <p>This callback is invoked when a request execution is <b>cancelled</b> using a {@link Cancellation}. 
+	 * Once cancelled, none of the other callbacks are invoked for the request.</p>
+	 * 
+	 * <p><b>Note</b> that this callback may be invoked on the thread which cancelled the request.</p>
+	 * 
+	 * @param context
+	 * 			the {@link InvocationContext} with information on the proxy invocation 
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void onCancel(InvocationContext context);
 }
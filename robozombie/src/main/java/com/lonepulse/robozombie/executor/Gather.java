@@ -0,0 +1,430 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+
+import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>Gathers the results of several <b>asynchronous</b> requests which are invoked concurrently, i.e. 
+ * a <i>fan-out</i> of the same request with different arguments or of heterogeneous requests. Each 
+ * invocation is given a {@link Gather.Handler} from {@link #newHandler()} (along with its 
+ * {@link Cancellation} if the request accepts one), and the results are collected using 
+ * {@link #await(long, TimeUnit)}.</p>
+ * 
+ * <p>Since the requests are @{@link Async}, they are executed by the asynchronous request executor 
+ * of the endpoint and no additional threads are used to gather them. Results are returned when all 
+ * requests have completed, when the required number of results are in, or when the overall deadline 
+ * elapses; whichever happens first. The results of requests which completed successfully by then are 
+ * returned, and any stragglers are cancelled unless the {@link Gather} was created otherwise.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <p>
+ * <code>
+ * <pre>@Async&nbsp;@GET("/users/{user}")
+ *void getUser(@PathParam("user") String user, AsyncHandler&lt;User&gt; handler, Cancellation cancellation);
+ *
+ *<b>Gather&lt;User&gt; gather = new Gather&lt;User&gt;();</b>
+ *
+ *for (String user : users) {
+ *
+ *&nbsp;&nbsp;Gather.Handler&lt;User&gt; handler = <b>gather.newHandler()</b>;
+ *&nbsp;&nbsp;githubEndpoint.getUser(user, handler, handler.getCancellation());
+ *}
+ *
+ *List&lt;User&gt; results = <b>gather.await(2, TimeUnit.SECONDS)</b>;
+ * </pre>
+ * </code>
+ * </p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public final class Gather<T> {
+	
+	
+	/**
+	 * <p>The {@link AsyncHandler} of a single request in a {@link Gather}, which records the outcome 
+	 * of the request.</p>
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @since 1.3.4
+	 * <br><br>
+	 * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static final class Handler<T> extends AsyncHandler<T> {
+		
+		
+		private final Gather<T> gather;
+		
+		private final Cancellation cancellation = new Cancellation();
+		
+		private boolean done;
+		
+		private boolean successful;
+		
+		private T result;
+		
+		private HttpResponse response;
+		
+		private InvocationException error;
+		
+		
+		private Handler(Gather<T> gather) {
+			
+			this.gather = gather;
+		}
+		
+		@Override
+		public void onSuccess(HttpResponse response, T content) {
+			
+			synchronized (gather) {
+				
+				this.response = response;
+				this.result = content;
+				this.successful = true;
+				
+				complete();
+			}
+		}
+		
+		@Override
+		public void onFailure(HttpResponse response) {
+			
+			synchronized (gather) {
+				
+				this.response = response;
+				
+				complete();
+			}
+		}
+		
+		@Override
+		public void onError(InvocationException error) {
+			
+			synchronized (gather) {
+				
+				this.error = error;
+				
+				complete();
+			}
+		}
+		
+		@Override
+		public void onCancel() {
+			
+			synchronized (gather) {
+				
+				complete();
+			}
+		}
+		
+		private void complete() {
+			
+			if(!done) {
+				
+				done = true;
+				gather.completed(this);
+			}
+		}
+		
+		/**
+		 * <p>Returns the {@link Cancellation} which should be passed to the request along with this 
+		 * handler, so that the request can be aborted if it is a straggler.</p>
+		 *
+		 * @return the {@link Cancellation} of the request
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public Cancellation getCancellation() {
+			
+			return cancellation;
+		}
+		
+		/**
+		 * <p>Determines whether the request has completed; successfully or otherwise.</p>
+		 *
+		 * @return {@code true} if the request has completed
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public boolean isDone() {
+			
+			synchronized (gather) {
+				
+				return done;
+			}
+		}
+		
+		/**
+		 * <p>Determines whether the request completed with a successful response.</p>
+		 *
+		 * @return {@code true} if the request completed successfully
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public boolean isSuccessful() {
+			
+			synchronized (gather) {
+				
+				return successful;
+			}
+		}
+		
+		/**
+		 * <p>Returns the result of the request if it completed successfully.</p>
+		 *
+		 * @return the deserialized result, else {@code null} if the request did not complete successfully
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public T getResult() {
+			
+			synchronized (gather) {
+				
+				return result;
+			}
+		}
+		
+		/**
+		 * <p>Returns the {@link HttpResponse} of the request if one was received, which may have a failed 
+		 * status code.</p>
+		 *
+		 * @return the {@link HttpResponse} of the request, else {@code null} if none was received
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public HttpResponse getResponse() {
+			
+			synchronized (gather) {
+				
+				return response;
+			}
+		}
+		
+		/**
+		 * <p>Returns the error with which the request failed, if any.</p>
+		 *
+		 * @return the {@link InvocationException} of the request, else {@code null} if it did not fail 
+		 * 		   with an error
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public InvocationException getError() {
+			
+			synchronized (gather) {
+				
+				return error;
+			}
+		}
+	}
+	
+	
+	private final boolean cancelStragglers;
+	
+	private final List<Handler<T>> handlers = new ArrayList<Handler<T>>();
+	
+	private int completed;
+	
+	private int successful;
+	
+	
+	/**
+	 * <p>Creates a new {@link Gather} which cancels any stragglers once the results have been gathered.</p>
+	 *
+	 * @since 1.3.4
+	 */
+	public Gather() {
+		
+		this(true);
+	}
+	
+	/**
+	 * <p>Creates a new {@link Gather} which may leave any stragglers running once the results have been 
+	 * gathered.</p>
+	 *
+	 * @param cancelStragglers
+	 * 			{@code true} to cancel any requests which have not completed once the results have been 
+	 * 			gathered, else {@code false} to let them run to completion
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public Gather(boolean cancelStragglers) {
+		
+		this.cancelStragglers = cancelStragglers;
+	}
+	
+	/**
+	 * <p>Creates a new {@link Gather.Handler} for a request which is to be gathered. A handler should 
+	 * be used with a single request invocation.</p>
+	 *
+	 * @return a new {@link Gather.Handler} which is part of this {@link Gather}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public synchronized Handler<T> newHandler() {
+		
+		Handler<T> handler = new Handler<T>(this);
+		handlers.add(handler);
+		
+		return handler;
+	}
+	
+	/**
+	 * <p>Returns the {@link Gather.Handler}s of all requests in the order in which they were created.</p>
+	 *
+	 * @return the {@link Gather.Handler}s of this {@link Gather}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public synchronized List<Handler<T>> getHandlers() {
+		
+		return new ArrayList<Handler<T>>(handlers);
+	}
+	
+	/**
+	 * <p>Waits until all requests have completed or the given deadline elapses and returns the results 
+	 * of the requests which completed successfully.</p>
+	 * 
+	 * <p>See {@link #await(int, long, TimeUnit)}.</p>
+	 *
+	 * @param timeout
+	 * 			the maximum time to wait for the results
+	 * <br><br>
+	 * @param unit
+	 * 			the {@link TimeUnit} of the timeout
+	 * <br><br>
+	 * @return the results of the successful requests in the order in which their handlers were created
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public List<T> await(long timeout, TimeUnit unit) {
+		
+		return await(Integer.MAX_VALUE, timeout, unit);
+	}
+	
+	/**
+	 * <p>Waits until the given number of requests have completed successfully, all requests have completed, 
+	 * or the given deadline elapses; whichever happens first. The results of the requests which completed 
+	 * successfully by then are returned and any stragglers are cancelled, unless this {@link Gather} was 
+	 * created to let them run.</p>
+	 * 
+	 * <p>If the waiting thread is interrupted, the results which are in are returned and the interrupt 
+	 * status of the thread is restored.</p>
+	 *
+	 * @param quorum
+	 * 			the number of successful results which are sufficient
+	 * <br><br>
+	 * @param timeout
+	 * 			the maximum time to wait for the results
+	 * <br><br>
+	 * @param unit
+	 * 			the {@link TimeUnit} of the timeout
+	 * <br><br>
+	 * @return the results of the successful requests in the order in which their handlers were created
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public List<T> await(int quorum, long timeout, TimeUnit unit) {
+		
+		List<T> results = new ArrayList<T>();
+		
+		synchronized (this) {
+			
+			long deadline = System.nanoTime() + unit.toNanos(timeout);
+			boolean compensated = AsyncRequestExecutor.compensate();
+			
+			try {
+				
+				for (long remaining = unit.toNanos(timeout); 
+					 completed < handlers.size() && successful < quorum && remaining > 0; 
+					 remaining = deadline - System.nanoTime()) {
+					
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+				}
+			}
+			catch(InterruptedException ie) {
+				
+				Thread.currentThread().interrupt();
+			}
+			finally {
+				
+				if(compensated) {
+					
+					AsyncRequestExecutor.restore();
+				}
+			}
+			
+			for (Handler<T> handler : handlers) {
+				
+				if(handler.successful) {
+					
+					results.add(handler.result);
+				}
+			}
+		}
+		
+		if(cancelStragglers) {
+			
+			cancel();
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * <p>Cancels all requests in this {@link Gather} which have not completed yet.</p>
+	 *
+	 * @since 1.3.4
+	 */
+	public void cancel() {
+		
+		for (Handler<T> handler : getHandlers()) {
+			
+			if(!handler.isDone()) {
+				
+				handler.cancellation.cancel();
+			}
+		}
+	}
+	
+	private void completed(Handler<T> handler) {
+		
+		completed++;
+		successful += handler.successful? 1 :0;
+		
+		notifyAll();
+	}
+}
@@ -0,0 +1,141 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.scheme.Scheme;
+
+/**
+ * <p>A snapshot of the TLS handshakes which were performed by a {@link TlsSocketFactory}. It reports 
+ * the number of <b>full</b> handshakes, the number of handshakes which <b>resumed</b> a cached session 
+ * and the rate of resumption.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <p>
+ * <code>
+ * <pre>HandshakeStats stats = <b>HandshakeStats.of(GitHubEndpoint.class)</b>;
+ *Log.d("GitHubEndpoint", stats.getFullHandshakes() + " full, " + stats.getResumptionRate() + " resumed");
+ * </pre>
+ * </code>
+ * </p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public final class HandshakeStats {
+	
+	
+	private final long fullHandshakes;
+	
+	private final long resumedHandshakes;
+	
+	
+	HandshakeStats(long fullHandshakes, long resumedHandshakes) {
+		
+		this.fullHandshakes = fullHandshakes;
+		this.resumedHandshakes = resumedHandshakes;
+	}
+	
+	/**
+	 * <p>Takes a snapshot of the TLS handshakes which were performed for the <b>HTTPS</b> connections of 
+	 * the given endpoint. Statistics are only available for endpoints whose {@link HttpClient} was 
+	 * configured with a {@link TlsSocketFactory}, which the <i>out-of-the-box</i> configuration does not use.</p>
+	 *
+	 * @param endpoint
+	 * 			the {@link Class} of the endpoint whose handshake statistics are to be retrieved
+	 * <br><br>
+	 * @return a new instance of {@link HandshakeStats} for the endpoint's HTTPS connections, else 
+	 * 		   {@code null} if the endpoint's {@link HttpClient} does not use a {@link TlsSocketFactory}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static HandshakeStats of(Class<?> endpoint) {
+		
+		Scheme scheme = HttpClientDirectory.INSTANCE.lookup(endpoint)
+			.getConnectionManager().getSchemeRegistry().get("https");
+		
+		return (scheme != null && scheme.getSocketFactory() instanceof TlsSocketFactory)? 
+				((TlsSocketFactory)scheme.getSocketFactory()).getHandshakeStats() :null;
+	}
+	
+	/**
+	 * <p>Returns the total number of handshakes which were performed.</p>
+	 *
+	 * @return the number of full and resumed handshakes
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public long getHandshakes() {
+		
+		return fullHandshakes + resumedHandshakes;
+	}
+	
+	/**
+	 * <p>Returns the number of full handshakes which negotiated a new session.</p>
+	 *
+	 * @return the number of full handshakes
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public long getFullHandshakes() {
+		
+		return fullHandshakes;
+	}
+	
+	/**
+	 * <p>Returns the number of abbreviated handshakes which resumed a cached session.</p>
+	 *
+	 * @return the number of resumed handshakes
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public long getResumedHandshakes() {
+		
+		return resumedHandshakes;
+	}
+	
+	/**
+	 * <p>Returns the fraction of handshakes which resumed a cached session.</p>
+	 *
+	 * @return the rate of resumption in the range <b>0.0 - 1.0</b>, which is {@code 0.0} if no 
+	 * 		   handshakes were performed
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public double getResumptionRate() {
+		
+		long handshakes = getHandshakes();
+		
+		return handshakes == 0? 0.0 :(double)resumedHandshakes / handshakes;
+	}
+	
+	@Override
+	public String toString() {
+		
+		return new StringBuilder("HandshakeStats [full=").append(fullHandshakes)
+			.append(", resumed=").append(resumedHandshakes).append("]").toString();
+	}
+}
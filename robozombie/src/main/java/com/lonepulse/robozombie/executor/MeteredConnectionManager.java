@@ -0,0 +1,184 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.apache.http.params.HttpParams;
+
+/**
+ * <p>A {@link ThreadSafeClientConnManager} which keeps track of the connections that are leased from 
+ * its pool and of those which were closed after being idle or expired. A snapshot of these statistics 
+ * can be taken using {@link #getPoolStats()} or {@link PoolStats#of(Class)}.</p>
+ * 
+ * <p>This connection manager is used by the <i>out-of-the-box</i> configuration. Custom configurations 
+ * may use it in place of a {@link ThreadSafeClientConnManager} to expose the statistics of their pool.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class MeteredConnectionManager extends ThreadSafeClientConnManager {
+	
+	
+	private final Set<ManagedClientConnection> leased 
+		= Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<ManagedClientConnection, Boolean>()));
+	
+	private final AtomicLong leases = new AtomicLong();
+	
+	private final AtomicLong reaped = new AtomicLong();
+	
+	
+	/**
+	 * <p>Creates a new instance of {@link MeteredConnectionManager} using the given parameters and the 
+	 * registry of supported schemes.</p>
+	 *
+	 * @param params
+	 * 			the {@link HttpParams} which configure the connection pool
+	 * <br><br>
+	 * @param schemeRegistry
+	 * 			the {@link SchemeRegistry} of the schemes which are supported by this connection manager
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public MeteredConnectionManager(HttpParams params, SchemeRegistry schemeRegistry) {
+		
+		super(params, schemeRegistry);
+	}
+	
+	/**
+	 * <p>Requests a connection from the pool and records each connection which is leased.</p>
+	 * 
+	 * <p>See {@link ThreadSafeClientConnManager#requestConnection(HttpRoute, Object)}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+		
+		final ClientConnectionRequest request = super.requestConnection(route, state);
+		
+		return new ClientConnectionRequest() {
+			
+			@Override
+			public ManagedClientConnection getConnection(long timeout, TimeUnit unit) 
+			throws InterruptedException, ConnectionPoolTimeoutException {
+				
+				ManagedClientConnection connection = request.getConnection(timeout, unit);
+				
+				leased.add(connection);
+				leases.incrementAndGet();
+				
+				return connection;
+			}
+			
+			@Override
+			public void abortRequest() {
+				
+				request.abortRequest();
+			}
+		};
+	}
+	
+	/**
+	 * <p>Returns a connection to the pool and records its release. A connection which is released more 
+	 * than once (for example, after it was aborted) is only recorded once.</p>
+	 * 
+	 * <p>See {@link ThreadSafeClientConnManager#releaseConnection(ManagedClientConnection, long, TimeUnit)}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public void releaseConnection(ManagedClientConnection connection, long validDuration, TimeUnit unit) {
+		
+		try {
+			
+			super.releaseConnection(connection, validDuration, unit);
+		}
+		finally {
+			
+			leased.remove(connection);
+		}
+	}
+	
+	/**
+	 * <p>Closes the pooled connections which were idle for longer than the given time and records the 
+	 * number of connections which were closed.</p>
+	 * 
+	 * <p>See {@link ThreadSafeClientConnManager#closeIdleConnections(long, TimeUnit)}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public void closeIdleConnections(long idleTimeout, TimeUnit unit) {
+		
+		int pooled = getConnectionsInPool();
+		
+		super.closeIdleConnections(idleTimeout, unit);
+		
+		reaped.addAndGet(Math.max(pooled - getConnectionsInPool(), 0));
+	}
+	
+	/**
+	 * <p>Closes the pooled connections whose keep-alive duration has expired and records the number of 
+	 * connections which were closed.</p>
+	 * 
+	 * <p>See {@link ThreadSafeClientConnManager#closeExpiredConnections()}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public void closeExpiredConnections() {
+		
+		int pooled = getConnectionsInPool();
+		
+		super.closeExpiredConnections();
+		
+		reaped.addAndGet(Math.max(pooled - getConnectionsInPool(), 0));
+	}
+	
+	/**
+	 * <p>Takes a snapshot of the statistics of this connection pool.</p>
+	 *
+	 * @return a new instance of {@link PoolStats} with the current statistics of this pool
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public PoolStats getPoolStats() {
+		
+		int pooled = getConnectionsInPool();
+		int leasedCount = leased.size();
+		
+		return new PoolStats(leasedCount, Math.max(pooled - leasedCount, 0), leases.get(), reaped.get());
+	}
+}
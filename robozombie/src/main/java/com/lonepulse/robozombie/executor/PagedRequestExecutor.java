@@ -0,0 +1,262 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.lonepulse.robozombie.util.Metadata.findArgument;
+
+import java.lang.reflect.Array;
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.http.Header;
+import org.apache.http.HttpResponse;
+import org.apache.http.NameValuePair;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http42.client.utils.URIBuilder;
+
+import android.util.Log;
+
+import com.lonepulse.robozombie.annotation.Paginate;
+import com.lonepulse.robozombie.processor.Processors;
+import com.lonepulse.robozombie.proxy.InvocationContext;
+import com.lonepulse.robozombie.proxy.InvocationException;
+
+/**
+ * <p>A {@link RequestExecutor} for requests which are identified by @{@link Paginate} and invoked with 
+ * a {@link Pages} argument. The invocation binds the {@link Pages} and returns without a response, while 
+ * each page is fetched and processed in the background by {@link BasicRequestExecutor}. Once a page has 
+ * been fetched, the request for the next page is derived from its response.</p>
+ * 
+ * <p>Pages are fetched on the request executor of the endpoint if one was configured (see 
+ * {@link com.lonepulse.robozombie.proxy.Zombie.Configuration#requestExecutor()}), or else on a shared 
+ * pool of threads.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+class PagedRequestExecutor extends BasicRequestExecutor {
+	
+	
+	private static final Pattern LINK = Pattern.compile("<([^>]*)>([^<]*)");
+	
+	private static final Pattern NEXT = Pattern.compile("rel\\s*=\\s*\"?([^\";,]*\\s)*next[\"\\s;,]", 
+		Pattern.CASE_INSENSITIVE);
+	
+	private static final ExecutorService PAGING_EXECUTOR_SERVICE;
+	
+	static
+	{
+		PAGING_EXECUTOR_SERVICE = Executors.newCachedThreadPool();
+		
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				List<Runnable> pendingPages = PAGING_EXECUTOR_SERVICE.shutdownNow();
+				
+				if(!pendingPages.isEmpty()) {
+					
+					Log.i(getClass().getSimpleName(), pendingPages.size() + " page prefetches aborted.");
+				}
+			}
+		}));
+	}
+	
+	
+	/**
+	 * <p>Creates a new {@link PagedRequestExecutor} with the given {@link ExecutionHandler}.</p>
+	 *
+	 * @param executionHandler
+	 * 			the {@link ExecutionHandler} which will be invoked during the execution of each page
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	PagedRequestExecutor(ExecutionHandler executionHandler) {
+		
+		super(executionHandler);
+	}
+	
+	/**
+	 * <p>Binds the {@link Pages} argument of the invocation, which starts fetching the first page 
+	 * using the given request.</p>
+	 * 
+	 * @param context
+	 * 			the {@link InvocationContext} of a request which is identified by @{@link Paginate}
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} for the first page
+	 * <br><br>
+	 * @return {@code null}, since pages are delivered via the {@link Pages} argument
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public HttpResponse execute(InvocationContext context, HttpRequestBase request) {
+		
+		findArgument(Pages.class, context).bind(this, context, request, 
+			context.getRequest().getAnnotation(Paginate.class).prefetch());
+		
+		return null;
+	}
+	
+	/**
+	 * <p>Fetches a page in the background and delivers it to the given {@link Pages} along with the 
+	 * request for the following page.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} of the paginated request
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} for the page which is to be fetched
+	 * <br><br>
+	 * @param pages
+	 * 			the {@link Pages} which receives the page
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void prefetch(final InvocationContext context, final HttpRequestBase request, final Pages<?> pages) {
+		
+		Executor requestExecutor = CallbackDispatcherDirectory.INSTANCE.lookup(context.getEndpoint()).requests();
+		
+		(requestExecutor == null? PAGING_EXECUTOR_SERVICE :requestExecutor).execute(new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				try {
+					
+					HttpResponse response = fetch(context, request);
+					
+					if(response == null) {
+						
+						pages.fail(null);
+					}
+					else {
+						
+						Object page = Processors.RESPONSE.run(context, response);
+						pages.receive(empty(page)? null :page, next(context, request, response, page));
+					}
+				}
+				catch(Exception e) {
+					
+					pages.fail(InvocationException.newInstance(context, e));
+				}
+			}
+		});
+	}
+	
+	private HttpResponse fetch(InvocationContext context, HttpRequestBase request) {
+		
+		return super.execute(context, request);
+	}
+	
+	/**
+	 * <p>Derives the request for the page which follows the given page, using the strategy described 
+	 * by the @{@link Paginate} metadata.</p>
+	 *
+	 * @return the {@link HttpRequestBase} for the next page, else {@code null} if this is the last page
+	 */
+	private static HttpRequestBase next(InvocationContext context, HttpRequestBase request, HttpResponse response, 
+		Object page) throws Exception {
+		
+		Paginate metadata = context.getRequest().getAnnotation(Paginate.class);
+		
+		String param = metadata.param();
+		URI uri = null;
+		
+		if(param.length() == 0) {
+			
+			String link = link(response);
+			uri = (link == null)? null :request.getURI().resolve(link);
+		}
+		else if(metadata.cursor().length() > 0) {
+			
+			Header cursor = response.getFirstHeader(metadata.cursor());
+			
+			uri = (cursor == null || cursor.getValue().trim().length() == 0)? null 
+					:new URIBuilder(request.getURI()).setParameter(param, cursor.getValue().trim()).build();
+		}
+		else if(!empty(page)) {
+			
+			URIBuilder uriBuilder = new URIBuilder(request.getURI());
+			int number = metadata.start();
+			
+			for (NameValuePair pair : uriBuilder.getQueryParams()) {
+				
+				if(pair.getName().equals(param)) {
+					
+					number = Integer.parseInt(pair.getValue().trim());
+				}
+			}
+			
+			uri = uriBuilder.setParameter(param, String.valueOf(number + 1)).build();
+		}
+		
+		if(uri == null) {
+			
+			return null;
+		}
+		
+		HttpRequestBase next = (HttpRequestBase)request.clone();
+		next.setURI(uri);
+		
+		return next;
+	}
+	
+	private static String link(HttpResponse response) {
+		
+		for (Header header : response.getHeaders("Link")) {
+			
+			Matcher link = LINK.matcher(header.getValue());
+			
+			while(link.find()) {
+				
+				if(NEXT.matcher(link.group(2) + ";").find()) {
+					
+					return link.group(1).trim();
+				}
+			}
+		}
+		
+		return null;
+	}
+	
+	private static boolean empty(Object page) {
+		
+		return page == null 
+			|| (page instanceof Collection && ((Collection<?>)page).isEmpty())
+			|| (page instanceof Map && ((Map<?, ?>)page).isEmpty())
+			|| (page instanceof CharSequence && ((CharSequence)page).length() == 0)
+			|| (page.getClass().isArray() && Array.getLength(page) == 0);
+	}
+}
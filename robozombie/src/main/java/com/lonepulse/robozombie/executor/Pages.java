@@ -0,0 +1,281 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.NoSuchElementException;
+
+import org.apache.http.client.methods.HttpRequestBase;
+
+import com.lonepulse.robozombie.annotation.Paginate;
+import com.lonepulse.robozombie.proxy.InvocationContext;
+import com.lonepulse.robozombie.proxy.InvocationException;
+
+/**
+ * <p>A lazy {@link Iterator} over the pages of a request which is identified by @{@link Paginate}. It 
+ * is passed as an argument to the request, whose invocation returns immediately. The first page is then 
+ * fetched in the background and each subsequent page is <b>prefetched</b> while the current page is being 
+ * consumed. The number of pages which are fetched ahead is bounded by {@link Paginate#prefetch()}.</p>
+ * 
+ * <p>If a page fails to be fetched, iteration ends with an {@link InvocationException} from 
+ * {@link #next()}. Iteration may be abandoned early using {@link #close()}, which stops any further 
+ * prefetching.</p>
+ * 
+ * <p><b>Note</b> that a {@link Pages} is meant to be used with a single invocation and iterated by a 
+ * single consumer.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <p>
+ * <code>
+ * <pre>@Paginate(param = "page")&nbsp;&nbsp;@GET("/users/{user}/repos")
+ *List&lt;Repo&gt; getRepos(@PathParam("user") String user, Pages&lt;List&lt;Repo&gt;&gt; pages);
+ *
+ *Pages&lt;List&lt;Repo&gt;&gt; pages = new Pages&lt;List&lt;Repo&gt;&gt;();
+ *githubEndpoint.getRepos("sahan", pages);
+ *
+ *while(pages.hasNext()) {
+ *
+ *&nbsp;&nbsp;List&lt;Repo&gt; page = pages.next();
+ *&nbsp;&nbsp;...
+ *}
+ * </pre>
+ * </code>
+ * </p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public final class Pages<T> implements Iterator<T> {
+	
+	
+	private final LinkedList<T> pages = new LinkedList<T>();
+	
+	private PagedRequestExecutor executor;
+	
+	private InvocationContext context;
+	
+	private HttpRequestBase pending;
+	
+	private int capacity;
+	
+	private boolean fetching;
+	
+	private boolean closed;
+	
+	private RuntimeException error;
+	
+	
+	/**
+	 * <p>Binds this {@link Pages} to the invocation of a paginated request and starts fetching the 
+	 * first page.</p>
+	 *
+	 * @param executor
+	 * 			the {@link PagedRequestExecutor} which fetches each page
+	 * <br><br>
+	 * @param context
+	 * 			the {@link InvocationContext} of the paginated request
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} for the first page
+	 * <br><br>
+	 * @param prefetch
+	 * 			the maximum number of pages which are fetched ahead of the consumer
+	 * <br><br>
+	 * @throws IllegalStateException
+	 * 			if this {@link Pages} has already been bound to an invocation
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	synchronized void bind(PagedRequestExecutor executor, InvocationContext context, HttpRequestBase request, int prefetch) {
+		
+		if(this.context != null) {
+			
+			throw new IllegalStateException("These pages are already bound to the invocation of request <" 
+				+ this.context.getRequest().getName() + ">. Use a new instance for each invocation. ");
+		}
+		
+		this.executor = executor;
+		this.context = context;
+		this.pending = request;
+		this.capacity = Math.max(prefetch, 1);
+		
+		fetch();
+	}
+	
+	/**
+	 * <p>Accepts a page which was fetched along with the request for the following page. Empty pages 
+	 * are not delivered.</p>
+	 *
+	 * @param page
+	 * 			the deserialized content of the page, else {@code null} if the page was empty
+	 * <br><br>
+	 * @param next
+	 * 			the {@link HttpRequestBase} for the next page, else {@code null} if this is the last page
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@SuppressWarnings("unchecked") //safe cast, since pages are deserialized to the request's return type
+	synchronized void receive(Object page, HttpRequestBase next) {
+		
+		fetching = false;
+		
+		if(!closed) {
+			
+			if(page != null) {
+				
+				pages.add((T)page);
+			}
+			
+			pending = next;
+			
+			fetch();
+		}
+		
+		notifyAll();
+	}
+	
+	/**
+	 * <p>Ends the iteration once all pages which were fetched are consumed, with the given error if 
+	 * one occurred.</p>
+	 *
+	 * @param error
+	 * 			the error which occurred while fetching a page, else {@code null} if no page was received
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	synchronized void fail(RuntimeException error) {
+		
+		fetching = false;
+		pending = null;
+		
+		this.error = error;
+		
+		notifyAll();
+	}
+	
+	private void fetch() {
+		
+		if(!fetching && !closed && pending != null && pages.size() < capacity) {
+			
+			fetching = true;
+			executor.prefetch(context, pending, this);
+		}
+	}
+	
+	/**
+	 * <p>Determines if another page is available, waiting for the next page to be fetched if necessary.</p>
+	 * 
+	 * @return {@code true} if there is another page, or an error which will be thrown by {@link #next()}
+	 * <br><br>
+	 * @throws InvocationException
+	 * 			if the calling thread was interrupted while waiting for the next page
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public synchronized boolean hasNext() {
+		
+		try {
+			
+			while(pages.isEmpty() && fetching && error == null) {
+				
+				wait();
+			}
+		}
+		catch(InterruptedException ie) {
+			
+			Thread.currentThread().interrupt();
+			throw InvocationException.newInstance(context, ie);
+		}
+		
+		return !pages.isEmpty() || error != null;
+	}
+	
+	/**
+	 * <p>Returns the next page and resumes prefetching if fewer pages are held than the prefetch limit.</p>
+	 * 
+	 * @return the next page
+	 * <br><br>
+	 * @throws NoSuchElementException
+	 * 			if there are no more pages
+	 * <br><br>
+	 * @throws InvocationException
+	 * 			if the next page could not be fetched
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public synchronized T next() {
+		
+		if(!hasNext()) {
+			
+			throw new NoSuchElementException();
+		}
+		
+		if(pages.isEmpty()) {
+			
+			RuntimeException failure = error;
+			error = null;
+			
+			throw failure;
+		}
+		
+		T page = pages.removeFirst();
+		fetch();
+		
+		return page;
+	}
+	
+	/**
+	 * <p>Pages cannot be removed.</p>
+	 * 
+	 * @throws UnsupportedOperationException
+	 * 			always
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public void remove() {
+		
+		throw new UnsupportedOperationException();
+	}
+	
+	/**
+	 * <p>Stops fetching any further pages and discards the pages which were prefetched.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public synchronized void close() {
+		
+		closed = true;
+		pending = null;
+		
+		pages.clear();
+		notifyAll();
+	}
+}
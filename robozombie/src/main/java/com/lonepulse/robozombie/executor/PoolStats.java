@@ -0,0 +1,160 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ClientConnectionManager;
+
+import com.lonepulse.robozombie.proxy.Zombie;
+
+/**
+ * <p>A snapshot of the statistics of a connection pool which is managed by a {@link MeteredConnectionManager}. 
+ * It reports the connections which are currently <b>leased</b> to request executions, those which are 
+ * <b>idle</b> in the pool and available for reuse, the total number of <b>leases</b> and the number of 
+ * connections which were <b>reaped</b> after being idle past the threshold or after their keep-alive 
+ * duration expired.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <p>
+ * <code>
+ * <pre>PoolStats stats = <b>PoolStats.of(GitHubEndpoint.class)</b>;
+ *Log.d("GitHubEndpoint", stats.getLeased() + " leased, " + stats.getIdle() + " idle");
+ * </pre>
+ * </code>
+ * </p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public final class PoolStats {
+	
+	
+	private final int leased;
+	
+	private final int idle;
+	
+	private final long leases;
+	
+	private final long reaped;
+	
+	
+	PoolStats(int leased, int idle, long leases, long reaped) {
+		
+		this.leased = leased;
+		this.idle = idle;
+		this.leases = leases;
+		this.reaped = reaped;
+	}
+	
+	/**
+	 * <p>Takes a snapshot of the statistics of the connection pool which is used by the given endpoint. 
+	 * Statistics are only available for endpoints whose {@link HttpClient} uses a 
+	 * {@link MeteredConnectionManager}, such as those of the <i>out-of-the-box</i> configuration.</p>
+	 *
+	 * @param endpoint
+	 * 			the {@link Class} of the endpoint whose connection pool statistics are to be retrieved
+	 * <br><br>
+	 * @return a new instance of {@link PoolStats} for the endpoint's connection pool, else {@code null} 
+	 * 		   if the endpoint's {@link HttpClient} does not use a {@link MeteredConnectionManager}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static PoolStats of(Class<?> endpoint) {
+		
+		ClientConnectionManager manager = HttpClientDirectory.INSTANCE.lookup(endpoint).getConnectionManager();
+		
+		return (manager instanceof MeteredConnectionManager)? 
+				((MeteredConnectionManager)manager).getPoolStats() :null;
+	}
+	
+	/**
+	 * <p>Returns the number of connections which are currently leased to request executions.</p>
+	 *
+	 * @return the number of leased connections
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public int getLeased() {
+		
+		return leased;
+	}
+	
+	/**
+	 * <p>Returns the number of connections which are idle in the pool and available for reuse.</p>
+	 *
+	 * @return the number of idle connections
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public int getIdle() {
+		
+		return idle;
+	}
+	
+	/**
+	 * <p>Returns the total number of connections which are currently held by the pool.</p>
+	 *
+	 * @return the number of leased and idle connections
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public int getTotal() {
+		
+		return leased + idle;
+	}
+	
+	/**
+	 * <p>Returns the number of times a connection was leased from the pool since it was created.</p>
+	 *
+	 * @return the total number of leases
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public long getLeases() {
+		
+		return leases;
+	}
+	
+	/**
+	 * <p>Returns the number of connections which were closed after being idle past the threshold or 
+	 * after their keep-alive duration expired. See {@link Zombie.Configuration#idleConnectionTimeout()}.</p>
+	 *
+	 * @return the total number of reaped connections
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public long getReaped() {
+		
+		return reaped;
+	}
+	
+	@Override
+	public String toString() {
+		
+		return new StringBuilder("PoolStats [leased=").append(leased).append(", idle=").append(idle)
+			.append(", leases=").append(leases).append(", reaped=").append(reaped).append("]").toString();
+	}
+}
@@ -0,0 +1,122 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.lonepulse.robozombie.annotation.Priority;
+
+/**
+ * <p>An asynchronous execution which is ordered by its <b>priority</b> when queued for a thread. To 
+ * prevent starvation, executions are ranked by a <i>virtual time</i> which is the time of submission 
+ * advanced by a fixed quantum for each level of priority. An execution with a lower priority therefore 
+ * overtakes newer executions with a higher priority once it has waited for long enough. Executions with 
+ * the same rank are ordered by their submission.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+class PrioritizedExecution extends FutureTask<Void> implements Comparable<PrioritizedExecution> {
+	
+	
+	/**
+	 * <p>The time in <b>nanoseconds</b> which an execution gains in rank for each level of priority.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	static final long AGING_QUANTUM = TimeUnit.MILLISECONDS.toNanos(250);
+	
+	private static final AtomicLong SEQUENCE = new AtomicLong();
+	
+	
+	private final long rank;
+	
+	private final long sequence;
+	
+	
+	/**
+	 * <p>Creates a new {@link PrioritizedExecution} which is submitted at the time of creation.</p>
+	 *
+	 * @param runnable
+	 * 			the {@link Runnable} which performs the execution
+	 * <br><br>
+	 * @param priority
+	 * 			the scheduling priority of the execution; see @{@link Priority}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	PrioritizedExecution(Runnable runnable, int priority) {
+		
+		this(runnable, priority, System.nanoTime());
+	}
+	
+	/**
+	 * <p>Creates a new {@link PrioritizedExecution} which was submitted at the given time.</p>
+	 *
+	 * @param runnable
+	 * 			the {@link Runnable} which performs the execution
+	 * <br><br>
+	 * @param priority
+	 * 			the scheduling priority of the execution; see @{@link Priority}
+	 * <br><br>
+	 * @param submitted
+	 * 			the time of submission as given by {@link System#nanoTime()}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	PrioritizedExecution(Runnable runnable, int priority, long submitted) {
+		
+		super(runnable, null);
+		
+		this.rank = submitted - (priority * AGING_QUANTUM);
+		this.sequence = SEQUENCE.getAndIncrement();
+	}
+	
+	/**
+	 * <p>Orders executions by their rank, so that the execution which is due first is at the head of 
+	 * the queue.</p>
+	 * 
+	 * @param execution
+	 * 			the {@link PrioritizedExecution} to compare with
+	 * <br><br>
+	 * @return a negative integer if this execution is due before the given execution
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public int compareTo(PrioritizedExecution execution) {
+		
+		long difference = rank - execution.rank;
+		
+		if(difference != 0L) {
+			
+			return difference < 0L? -1 :1;
+		}
+		
+		return sequence < execution.sequence? -1 :(sequence == execution.sequence? 0 :1);
+	}
+}
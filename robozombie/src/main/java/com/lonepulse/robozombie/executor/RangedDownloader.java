@@ -0,0 +1,499 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static com.lonepulse.robozombie.util.Is.status;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+
+import android.util.Log;
+
+import com.lonepulse.robozombie.annotation.Download;
+import com.lonepulse.robozombie.annotation.Stateful;
+import com.lonepulse.robozombie.proxy.InvocationContext;
+import com.lonepulse.robozombie.util.Downloads;
+
+/**
+ * <p>Directs the <b>parallel ranged download</b> of content to a file identified by a @{@link Download} 
+ * which allows more than one part (see {@link Download#parts()}). A single byte of the content is 
+ * requested first; if the server responds with a partial response, the content is split into byte 
+ * ranges which are executed concurrently and written at their offsets into a pre-allocated file.</p>
+ * 
+ * <p>Parts are executed on the request executor of the endpoint if one was configured (see 
+ * {@link com.lonepulse.robozombie.proxy.Zombie.Configuration#requestExecutor()}), or else on a shared 
+ * pool of threads. If any part fails, the remaining parts are aborted.</p>
+ * 
+ * <p>The validator of the content is recorded before the parts are requested. If the download fails, 
+ * the file is truncated to the parts which were downloaded in sequence from its beginning, so that the 
+ * download may be resumed from there (see {@link Downloads#validator(File)}).</p>
+ *
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum RangedDownloader {
+	
+	
+	/**
+	 * <p>The {@link RangedDownloader} which directs parallel downloads for all endpoints.</p>
+	 *
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	private static final long MIN_PART_SIZE = 1024 * 1024;
+	
+	private static final long TRANSFER_SIZE = 64 * 1024;
+	
+	private static final ExecutorService DOWNLOAD_EXECUTOR_SERVICE;
+	
+	static
+	{
+		DOWNLOAD_EXECUTOR_SERVICE = Executors.newCachedThreadPool();
+		
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				List<Runnable> pendingExecutions = DOWNLOAD_EXECUTOR_SERVICE.shutdownNow();
+				
+				if(!pendingExecutions.isEmpty()) {
+					
+					Log.i(getClass().getSimpleName(), pendingExecutions.size() + " ranged downloads aborted.");
+				}
+			}
+		}));
+	}
+	
+	
+	/**
+	 * <p>Determines if the given invocation is a @{@link Download} which may be split into parts.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} which contains information about the proxy invocation
+	 * <br><br>
+	 * @return {@code true} if the download allows more than one part
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	boolean splits(InvocationContext context) {
+		
+		Map.Entry<Download, Object> download = Downloads.find(context);
+		
+		return download != null && download.getKey().parts() > 1;
+	}
+	
+	/**
+	 * <p>Executes the given download request using the {@link BasicRequestExecutor}, splitting the 
+	 * content into parts if the server accepts byte ranges.</p>
+	 * 
+	 * <p>If the request resumes an interrupted download, if the server does not support ranges or if 
+	 * the content is too small to be split, the content is downloaded with a single response which is 
+	 * returned as is. Otherwise a response is returned whose entity is the complete file (see 
+	 * {@link Downloads#downloaded(File, String)}).</p>
+	 *
+	 * @param executor
+	 * 			the {@link BasicRequestExecutor} which transmits each part of the download
+	 * <br><br>
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover the @{@link Download} metadata
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} of the download
+	 * <br><br>
+	 * @return the {@link HttpResponse} of the download
+	 * <br><br>
+	 * @throws Exception
+	 * 			if the probe or any part of the download failed
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	HttpResponse download(BasicRequestExecutor executor, InvocationContext context, HttpRequestBase request)
+	throws Exception {
+		
+		Map.Entry<Download, Object> download = Downloads.find(context);
+		
+		File file = (File)download.getValue();
+		
+		Class<?> endpoint = context.getEndpoint();
+		boolean stateful = endpoint.isAnnotationPresent(Stateful.class);
+		
+		HttpContext httpContext = stateful? HttpContextDirectory.INSTANCE.lookup(endpoint) :null;
+		
+		if(request.containsHeader("Range")) { //resumes an interrupted download
+			
+			return executor.transmit(context, request, httpContext);
+		}
+		
+		HttpRequestBase probe = (HttpRequestBase)request.clone();
+		probe.setHeader("Range", "bytes=0-0");
+		
+		HttpResponse response = executor.transmit(context, probe, httpContext);
+		
+		if(!status(response, HttpStatus.SC_PARTIAL_CONTENT)) {
+			
+			return response; //the complete content or a failure
+		}
+		
+		release(response);
+		
+		long length = Downloads.length(response);
+		String validator = Downloads.validator(response);
+		
+		int parts = (int)Math.min(download.getKey().parts(), length / MIN_PART_SIZE);
+		
+		if(parts < 2 || validator == null) {
+			
+			return executor.transmit(context, request, httpContext);
+		}
+		
+		allocate(file, length);
+		Downloads.begin(file, validator);
+		
+		Executor requestExecutor = CallbackDispatcherDirectory.INSTANCE.lookup(endpoint).requests();
+		
+		CompletionService<Long> completionService = new ExecutorCompletionService<Long>(
+			requestExecutor == null? DOWNLOAD_EXECUTOR_SERVICE :requestExecutor);
+		
+		Map<Future<Long>, HttpRequestBase> executions = new LinkedHashMap<Future<Long>, HttpRequestBase>();
+		
+		AtomicBoolean aborted = new AtomicBoolean();
+		ReadWriteLock writing = new ReentrantReadWriteLock();
+		
+		long size = length / parts;
+		boolean completed = false;
+		
+		try {
+			
+			for (int i = 0; i < parts; i++) {
+				
+				long first = i * size;
+				long last = (i == parts - 1)? length - 1 :first + size - 1;
+				
+				HttpRequestBase part = (HttpRequestBase)request.clone();
+				part.setHeader("Range", "bytes=" + first + "-" + last);
+				part.setHeader("If-Range", validator);
+				
+				HttpContext partContext = stateful? new BasicHttpContext(httpContext) :null;
+				
+				executions.put(completionService.submit(
+					part(executor, context, part, partContext, file, first, last, aborted, writing)), part);
+			}
+			
+			long written = 0;
+			
+			for (int pending = executions.size(); pending > 0; pending--) {
+				
+				try {
+					
+					written += completionService.take().get();
+				}
+				catch(ExecutionException ee) {
+					
+					Throwable cause = ee.getCause();
+					throw (cause instanceof Exception)? (Exception)cause :ee;
+				}
+			}
+			
+			if(written != length || file.length() != length) {
+				
+				throw new IOException(new StringBuilder("Expected ").append(length)
+				.append(" bytes, but ").append(written).append(" bytes were downloaded").toString());
+			}
+			
+			completed = true;
+		}
+		catch(InterruptedException ie) {
+			
+			Thread.currentThread().interrupt();
+			throw ie;
+		}
+		finally {
+			
+			if(!completed) {
+				
+				long downloaded = downloaded(executions.keySet(), size);
+				
+				aborted.set(true);
+				
+				for (Map.Entry<Future<Long>, HttpRequestBase> execution : executions.entrySet()) {
+					
+					execution.getValue().abort();
+					execution.getKey().cancel(true);
+				}
+				
+				writing.writeLock().lock();
+				
+				try {
+					
+					truncate(file, downloaded);
+				}
+				finally {
+					
+					writing.writeLock().unlock();
+				}
+			}
+		}
+		
+		Downloads.complete(file);
+		
+		BasicHttpResponse downloaded = new BasicHttpResponse(
+			response.getProtocolVersion(), HttpStatus.SC_OK, "OK");
+		
+		for (Header header : response.getAllHeaders()) {
+			
+			String name = header.getName();
+			
+			if(!(name.equalsIgnoreCase("Content-Range") || name.equalsIgnoreCase("Content-Length"))) {
+				
+				downloaded.addHeader(header);
+			}
+		}
+		
+		Header contentType = response.getFirstHeader("Content-Type");
+		
+		downloaded.setEntity(Downloads.downloaded(file, 
+			contentType == null? "application/octet-stream" :contentType.getValue()));
+		
+		return downloaded;
+	}
+	
+	private static Callable<Long> part(final BasicRequestExecutor executor, final InvocationContext context, 
+		final HttpRequestBase part, final HttpContext httpContext, final File file, final long first, final long last, 
+		final AtomicBoolean aborted, final ReadWriteLock writing) {
+		
+		return new Callable<Long>() {
+			
+			@Override
+			public Long call() throws Exception {
+				
+				HttpResponse response = executor.transmit(context, part, httpContext);
+				
+				try {
+					
+					Header contentRange = response.getFirstHeader("Content-Range");
+					
+					if(!status(response, HttpStatus.SC_PARTIAL_CONTENT) || contentRange == null 
+					   || !contentRange.getValue().trim().startsWith("bytes " + first + "-")) {
+						
+						throw new IOException(new StringBuilder("The range <").append(first).append("-")
+						.append(last).append("> was not served; the content may have changed (status ")
+						.append(response.getStatusLine().getStatusCode()).append(")").toString());
+					}
+					
+					long expected = last - first + 1;
+					long written = write(response.getEntity(), file, first, expected, aborted, writing);
+					
+					if(written != expected) {
+						
+						throw new IOException(new StringBuilder("The range <").append(first).append("-")
+						.append(last).append("> was interrupted after ").append(written).append(" bytes").toString());
+					}
+					
+					return written;
+				}
+				finally {
+					
+					release(response);
+				}
+			}
+		};
+	}
+	
+	/**
+	 * <p>Writes the content of a part at its offset in the file. Each transfer is made while holding 
+	 * the read lock, so that no part writes to the file once the download was aborted and truncated.</p>
+	 */
+	private static long write(HttpEntity entity, File file, long position, long count, 
+		AtomicBoolean aborted, ReadWriteLock writing) throws IOException {
+		
+		InputStream content = entity.getContent();
+		ReadableByteChannel source = Channels.newChannel(content);
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		
+		try {
+			
+			FileChannel destination = randomAccessFile.getChannel();
+			
+			long written = 0;
+			
+			while(written < count) {
+				
+				long transferred = 0;
+				
+				writing.readLock().lock();
+				
+				try {
+					
+					if(aborted.get()) {
+						
+						throw new IOException("The download was aborted");
+					}
+					
+					transferred = destination.transferFrom(
+						source, position + written, Math.min(TRANSFER_SIZE, count - written));
+				}
+				finally {
+					
+					writing.readLock().unlock();
+				}
+				
+				if(transferred <= 0) {
+					
+					break;
+				}
+				
+				written += transferred;
+			}
+			
+			return written;
+		}
+		finally {
+			
+			source.close();
+			randomAccessFile.close();
+		}
+	}
+	
+	private static void allocate(File file, long length) throws IOException {
+		
+		File directory = file.getAbsoluteFile().getParentFile();
+		
+		if(directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+			
+			throw new IOException("Failed to create the directory <" + directory + ">");
+		}
+		
+		RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+		
+		try {
+			
+			randomAccessFile.setLength(length);
+		}
+		finally {
+			
+			randomAccessFile.close();
+		}
+	}
+	
+	private static void release(HttpResponse response) {
+		
+		HttpEntity entity = response.getEntity();
+		
+		if(entity != null) {
+			
+			try {
+				
+				entity.consumeContent();
+			}
+			catch(IOException ioe) {}
+		}
+	}
+	
+	/**
+	 * <p>Determines the number of bytes which were downloaded in sequence from the beginning of the 
+	 * file, i.e. the combined size of the leading parts which completed successfully.</p>
+	 */
+	private static long downloaded(Iterable<Future<Long>> executions, long size) {
+		
+		long downloaded = 0;
+		
+		for (Future<Long> execution : executions) {
+			
+			if(!execution.isDone() || execution.isCancelled()) {
+				
+				break;
+			}
+			
+			try {
+				
+				execution.get();
+			}
+			catch(Exception e) {
+				
+				break;
+			}
+			
+			downloaded += size;
+		}
+		
+		return downloaded;
+	}
+	
+	/**
+	 * <p>Truncates the file of a failed download to the content which can be resumed. If the file 
+	 * cannot be truncated, it is deleted along with its validator.</p>
+	 */
+	private static void truncate(File file, long length) {
+		
+		try {
+			
+			RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+			
+			try {
+				
+				randomAccessFile.setLength(length);
+			}
+			finally {
+				
+				randomAccessFile.close();
+			}
+		}
+		catch(IOException ioe) {
+			
+			file.delete();
+			Downloads.complete(file);
+		}
+	}
+}
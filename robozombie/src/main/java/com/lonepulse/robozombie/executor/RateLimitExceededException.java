@@ -0,0 +1,96 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.lang.reflect.AnnotatedElement;
+
+import com.lonepulse.robozombie.RoboZombieRuntimeException;
+import com.lonepulse.robozombie.annotation.RateLimit;
+
+/**
+ * <p>This runtime exception is thrown when a request which is limited by a @{@link RateLimit} in the 
+ * mode {@link RateLimit.Mode#REJECT} is invoked while no permits are available.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class RateLimitExceededException extends RoboZombieRuntimeException {
+	
+	
+	private static final long serialVersionUID = -2786014434409873211L;
+	
+	
+	/**
+	 * <p>Displays a detailed description with information on the rate limited definition.</p>
+	 * 
+	 * @param definition
+	 * 			the endpoint {@link Class} or request {@link java.lang.reflect.Method} whose rate 
+	 * 			limit was exceeded
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public RateLimitExceededException(AnnotatedElement definition) {
+		
+		this(new StringBuilder("Exceeded the rate limit of <").append(definition)
+			 .append(">; the request was rejected.").toString());
+	}
+	
+	/**
+	 * <p>See {@link RoboZombieRuntimeException#RoboZombieRuntimeException()}.</p>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public RateLimitExceededException() {}
+	
+	/**
+	 * <p>See {@link RoboZombieRuntimeException#RoboZombieRuntimeException(String)}.</p>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public RateLimitExceededException(String detailMessage) {
+		
+		super(detailMessage);
+	}
+	
+	/**
+	 * <p>See {@link RoboZombieRuntimeException#RoboZombieRuntimeException(Throwable)}.</p>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public RateLimitExceededException(Throwable throwable) {
+		
+		super(throwable);
+	}
+	
+	/**
+	 * <p>See {@link RoboZombieRuntimeException#RoboZombieRuntimeException(String, Throwable)}.</p>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public RateLimitExceededException(String detailMessage, Throwable throwable) {
+		
+		super(detailMessage, throwable);
+	}
+}
@@ -0,0 +1,147 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.concurrent.TimeUnit;
+
+import com.lonepulse.robozombie.annotation.RateLimit;
+
+/**
+ * <p>A <b>token bucket</b> which issues permits at a constant rate and accumulates unused permits up 
+ * to its capacity. Permits may be <i>reserved</i> ahead of time, in which case the bucket runs into a 
+ * deficit which is settled before any further permits are issued.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+final class RateLimiter {
+	
+	
+	private final double capacity;
+	
+	private final double interval;
+	
+	private double tokens;
+	
+	private long refilled;
+	
+	
+	/**
+	 * <p>Creates a new {@link RateLimiter} using the quota defined by the given @{@link RateLimit}.</p>
+	 *
+	 * @param rateLimit
+	 * 			the @{@link RateLimit} which defines the permits, period and burst capacity
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	RateLimiter(RateLimit rateLimit) {
+		
+		this(rateLimit.permits(), rateLimit.period(), rateLimit.unit(), rateLimit.burst());
+	}
+	
+	/**
+	 * <p>Creates a new {@link RateLimiter} which issues the given number of permits per period.</p>
+	 *
+	 * @param permits
+	 * 			the number of permits which are issued for each period
+	 * <br><br>
+	 * @param period
+	 * 			the length of the period in the given {@link TimeUnit}
+	 * <br><br>
+	 * @param unit
+	 * 			the {@link TimeUnit} of the period
+	 * <br><br>
+	 * @param burst
+	 * 			the capacity of the bucket, else {@code 0} to use the number of permits
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	RateLimiter(int permits, long period, TimeUnit unit, int burst) {
+		
+		int rate = Math.max(permits, 1);
+		
+		this.capacity = burst > 0? burst :rate;
+		this.interval = unit.toNanos(Math.max(period, 1)) / (double)rate;
+		this.tokens = capacity;
+		this.refilled = System.nanoTime();
+	}
+	
+	private void refill() {
+		
+		long now = System.nanoTime();
+		
+		tokens = Math.min(capacity, tokens + ((now - refilled) / interval));
+		refilled = now;
+	}
+	
+	/**
+	 * <p>Acquires a permit only if one is available at the time of invocation.</p>
+	 *
+	 * @return {@code true} if a permit was acquired, else {@code false}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	synchronized boolean tryAcquire() {
+		
+		refill();
+		
+		if(tokens >= 1.0) {
+			
+			tokens -= 1.0;
+			return true;
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * <p>Reserves the next permit and returns the time until which it is due. A permit which is 
+	 * reserved is always honoured, hence the caller must wait for the returned duration before 
+	 * proceeding.</p>
+	 *
+	 * @return the number of <b>nanoseconds</b> to wait before the reserved permit is due 
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	synchronized long reserve() {
+		
+		refill();
+		
+		tokens -= 1.0;
+		
+		return tokens >= 0.0? 0L :(long)Math.ceil(-tokens * interval);
+	}
+	
+	/**
+	 * <p>Returns a permit which was acquired or reserved, but which was not used because the request 
+	 * was rejected by another rate limit or was cancelled before it was sent.</p>
+	 *
+	 * @since 1.3.4
+	 */
+	synchronized void release() {
+		
+		tokens = Math.min(capacity, tokens + 1.0);
+	}
+}
@@ -0,0 +1,107 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.lonepulse.robozombie.Directory;
+import com.lonepulse.robozombie.annotation.RateLimit;
+
+/**
+ * <p>A registry of {@link RateLimiter}s which enforce the quota of an endpoint or a request that is 
+ * annotated with @{@link RateLimit}. Rate limiters are shared by all proxies of an endpoint.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum RateLimiterDirectory implements Directory<AnnotatedElement, RateLimiter> {
+	
+	
+	/**
+	 * <p>The {@link RateLimiterDirectory} which caches the {@link RateLimiter}s which can be bound 
+	 * and looked up using their endpoint or request definitions.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	private static final Map<AnnotatedElement, RateLimiter> RATE_LIMITERS 
+		= new HashMap<AnnotatedElement, RateLimiter>();
+	
+	
+	/**
+	 * <p>Registers the given {@link RateLimiter} under the specified endpoint or request definition. If 
+	 * a {@link RateLimiter} is already registered, the existing instance is returned without being 
+	 * replaced by the given {@link RateLimiter}.</p>
+	 *
+	 * @param definition
+	 * 			the {@link Class} of an endpoint or the {@link java.lang.reflect.Method} of a request
+	 * <br><br>
+	 * @param rateLimiter
+	 * 			the {@link RateLimiter} which is to be bound under the given definition
+	 * <br><br>
+	 * @return the {@link RateLimiter} which was bound under the specified definition 
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public synchronized RateLimiter bind(AnnotatedElement definition, RateLimiter rateLimiter) {
+		
+		if(!RATE_LIMITERS.containsKey(definition)) {
+			
+			RATE_LIMITERS.put(definition, rateLimiter);
+		}
+		
+		return RATE_LIMITERS.get(definition);
+	}
+	
+	/**
+	 * <p>Retrieves the bound {@link RateLimiter} for the specified endpoint or request definition. If 
+	 * no {@link RateLimiter} exists, a new instance is created using the definition's @{@link RateLimit} 
+	 * and registered under the definition.</p>
+	 *
+	 * @param definition
+	 * 			the {@link Class} of an endpoint or the {@link java.lang.reflect.Method} of a request
+	 * <br><br>
+	 * @return the bound {@link RateLimiter}, else {@code null} if the definition is not rate limited 
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public synchronized RateLimiter lookup(AnnotatedElement definition) {
+		
+		RateLimiter rateLimiter = RATE_LIMITERS.get(definition);
+		
+		if(rateLimiter == null && definition.isAnnotationPresent(RateLimit.class)) {
+			
+			rateLimiter = bind(definition, new RateLimiter(definition.getAnnotation(RateLimit.class)));
+		}
+		
+		return rateLimiter;
+	}
+}
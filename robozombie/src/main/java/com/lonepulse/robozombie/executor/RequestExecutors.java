@@ -21,11 +21,13 @@ package com.lonepulse.robozombie.executor;
  */
 
 import static com.lonepulse.robozombie.util.Is.async;
+import static com.lonepulse.robozombie.util.Is.paged;
 
 import org.apache.http.HttpResponse;
 import org.apache.http.client.methods.HttpRequestBase;
 
 import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Paginate;
 import com.lonepulse.robozombie.proxy.InvocationContext;
 import com.lonepulse.robozombie.proxy.Zombie;
 
@@ -53,7 +55,14 @@ public enum RequestExecutors implements RequestExecutor {
 	 * 
 	 * @since 1.1.0
 	 */
-	ASYNC(new AsyncRequestExecutor(new AsyncExecutionHandler()));
+	ASYNC(new AsyncRequestExecutor(new AsyncExecutionHandler())),
+	
+	/**
+	 * See {@link PagedRequestExecutor}.
+	 * 
+	 * @since 1.3.4
+	 */
+	PAGED(new PagedRequestExecutor(new BasicExecutionHandler()));
 	
 	
 	
@@ -80,13 +89,19 @@ public enum RequestExecutors implements RequestExecutor {
 	 * @param context
 	 * 			the {@link InvocationContext} for resolving a suitable {@link RequestExecutor}
 	 * <br><br>
-	 * @return {@link RequestExecutors#ASYNC} if the request method or endpoint is annotated with 
-	 * 		   {@link Async}, else {@link RequestExecutors#BASIC}
+	 * @return {@link RequestExecutors#PAGED} if the request is annotated with {@link Paginate} and 
+	 * 		   invoked with {@link Pages}, {@link RequestExecutors#ASYNC} if the request method or endpoint 
+	 * 		   is annotated with {@link Async}, else {@link RequestExecutors#BASIC}
 	 * <br><br>
 	 * @since 1.3.0
 	 */
 	public static final RequestExecutor resolve(InvocationContext context) {
 		
+		if(paged(context)) {
+			
+			return RequestExecutors.PAGED.requestExecutor;
+		}
+		
 		return async(context)? 
 				RequestExecutors.ASYNC.requestExecutor :RequestExecutors.BASIC.requestExecutor;
 	}
@@ -0,0 +1,327 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static com.lonepulse.robozombie.util.Is.successful;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+
+import android.util.Log;
+
+import com.lonepulse.robozombie.annotation.Hedge;
+import com.lonepulse.robozombie.annotation.Stateful;
+import com.lonepulse.robozombie.proxy.InvocationContext;
+
+/**
+ * <p>Directs the <b>hedged execution</b> of idempotent requests which are identified by @{@link Hedge}.
+ * The original request is executed and if no response is received within the hedging delay, a clone
+ * of the request is executed on another pooled connection. The first <i>successful</i> response is
+ * accepted and the slower execution is aborted via {@link HttpRequestBase#abort()}.</p>
+ *
+ * <p>Executions for a @{@link Stateful} endpoint are isolated in a child {@link HttpContext} which 
+ * shares the attributes (such as the cookie store) of the endpoint's context.</p>
+ *
+ * <p>Executions are run on the request executor of the endpoint if one was configured (see 
+ * {@link com.lonepulse.robozombie.proxy.Zombie.Configuration#requestExecutor()}), or else on a shared 
+ * pool of threads.</p>
+ *
+ * <p>Latencies are tracked for each request definition and the number of hedged executions is limited
+ * by a budget which accrues a fraction of a hedge for each execution (see {@link Hedge#cap()}).</p>
+ *
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum RequestHedger {
+	
+	
+	/**
+	 * <p>The {@link RequestHedger} which directs hedged executions for all endpoints.</p>
+	 *
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	/**
+	 * <p>Tracks the recent latencies of a request definition along with its budget for hedging.</p>
+	 */
+	private static final class Stats {
+		
+		
+		private static final int SAMPLE_SIZE = 128;
+		
+		private static final int SAMPLE_THRESHOLD = 16;
+		
+		private static final double BUDGET_LIMIT = 10.0;
+		
+		
+		private final long[] latencies = new long[SAMPLE_SIZE];
+		
+		private int samples;
+		
+		private int cursor;
+		
+		private double budget;
+		
+		
+		private synchronized void record(long latency) {
+			
+			latencies[cursor] = latency;
+			cursor = (cursor + 1) % SAMPLE_SIZE;
+			samples = Math.min(samples + 1, SAMPLE_SIZE);
+		}
+		
+		private synchronized long percentile(int percentile) {
+			
+			if(samples < SAMPLE_THRESHOLD) {
+				
+				return 0;
+			}
+			
+			long[] sorted = Arrays.copyOf(latencies, samples);
+			Arrays.sort(sorted);
+			
+			int index = (int)Math.ceil((Math.min(Math.max(percentile, 1), 99) / 100.0) * samples) - 1;
+			
+			return sorted[Math.max(index, 0)];
+		}
+		
+		private synchronized void accrue(double cap) {
+			
+			budget = Math.min(budget + Math.min(Math.max(cap, 0.0), 1.0), BUDGET_LIMIT);
+		}
+		
+		private synchronized boolean spend() {
+			
+			if(budget < 1.0) {
+				
+				return false;
+			}
+			
+			budget -= 1.0;
+			return true;
+		}
+	}
+	
+	
+	private static final ExecutorService HEDGING_EXECUTOR_SERVICE;
+	
+	private static final Map<Method, Stats> STATS = new HashMap<Method, Stats>();
+	
+	static
+	{
+		HEDGING_EXECUTOR_SERVICE = Executors.newCachedThreadPool();
+		
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				List<Runnable> pendingExecutions = HEDGING_EXECUTOR_SERVICE.shutdownNow();
+				
+				if(!pendingExecutions.isEmpty()) {
+					
+					Log.i(getClass().getSimpleName(), pendingExecutions.size() + " hedged executions aborted.");
+				}
+			}
+		}));
+	}
+	
+	
+	private static Stats stats(Method request) {
+		
+		synchronized (STATS) {
+			
+			Stats stats = STATS.get(request);
+			
+			if(stats == null) {
+				
+				stats = new Stats();
+				STATS.put(request, stats);
+			}
+			
+			return stats;
+		}
+	}
+	
+	/**
+	 * <p>Executes the given {@link HttpRequestBase} using the {@link BasicRequestExecutor} and hedges
+	 * the execution with a clone of the request if no response is received within the hedging delay.
+	 * If a delay cannot be determined yet, the request is executed on the calling thread.</p>
+	 *
+	 * <p>The first response with a <b>successful status code</b> is returned. If all executions result
+	 * in a failed status code, the last response is returned; if all executions result in an error,
+	 * the last error is thrown. Any execution which did not yield the returned response is aborted.</p>
+	 *
+	 * @param executor
+	 * 			the {@link BasicRequestExecutor} which transmits each execution of the request
+	 * <br><br>
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover the @{@link Hedge} metadata
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} of an idempotent request which is to be hedged
+	 * <br><br>
+	 * @return the {@link HttpResponse} of the first successful execution
+	 * <br><br>
+	 * @throws Exception
+	 * 			if all executions of the request failed with an error
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	HttpResponse hedge(BasicRequestExecutor executor, InvocationContext context, HttpRequestBase request)
+	throws Exception {
+		
+		Hedge metadata = (metadata = context.getRequest().getAnnotation(Hedge.class)) == null?
+				context.getEndpoint().getAnnotation(Hedge.class) :metadata;
+		
+		Class<?> endpoint = context.getEndpoint();
+		boolean stateful = endpoint.isAnnotationPresent(Stateful.class);
+		
+		Stats stats = stats(context.getRequest());
+		stats.accrue(metadata.cap());
+		
+		long delay = metadata.delay() > 0? metadata.delay() :stats.percentile(metadata.percentile());
+		
+		if(delay <= 0) {
+			
+			return execution(executor, context, request, stateful, stats).call();
+		}
+		
+		Executor requestExecutor = CallbackDispatcherDirectory.INSTANCE.lookup(endpoint).requests();
+		
+		CompletionService<HttpResponse> completionService = new ExecutorCompletionService<HttpResponse>(
+			requestExecutor == null? HEDGING_EXECUTOR_SERVICE :requestExecutor);
+		
+		Map<Future<HttpResponse>, HttpRequestBase> executions
+			= new LinkedHashMap<Future<HttpResponse>, HttpRequestBase>();
+		
+		Future<HttpResponse> accepted = null;
+		
+		try {
+			
+			executions.put(completionService.submit(execution(executor, context, request, stateful, stats)), request);
+			
+			Future<HttpResponse> completed = completionService.poll(delay, TimeUnit.MILLISECONDS);
+			
+			if(completed == null && stats.spend()) {
+				
+				HttpRequestBase hedge = (HttpRequestBase)request.clone();
+				executions.put(completionService.submit(execution(executor, context, hedge, stateful, stats)), hedge);
+			}
+			
+			Exception error = null;
+			
+			for (int pending = executions.size(); pending > 0; pending--) {
+				
+				completed = (completed == null)? completionService.take() :completed;
+				
+				try {
+					
+					HttpResponse response = completed.get();
+					accepted = completed;
+					
+					if(successful(response)) {
+						
+						return response;
+					}
+				}
+				catch(ExecutionException ee) {
+					
+					Throwable cause = ee.getCause();
+					error = (cause instanceof Exception)? (Exception)cause :ee;
+				}
+				
+				completed = null;
+			}
+			
+			if(accepted != null) {
+				
+				return accepted.get();
+			}
+			
+			throw error;
+		}
+		catch(InterruptedException ie) {
+			
+			Thread.currentThread().interrupt();
+			throw ie;
+		}
+		finally {
+			
+			for (Map.Entry<Future<HttpResponse>, HttpRequestBase> execution : executions.entrySet()) {
+				
+				if(execution.getKey() != accepted) {
+					
+					execution.getValue().abort();
+					execution.getKey().cancel(true);
+				}
+			}
+		}
+	}
+	
+	private static Callable<HttpResponse> execution(final BasicRequestExecutor executor,
+		final InvocationContext context, final HttpRequestBase request, final boolean stateful, final Stats stats) {
+		
+		return new Callable<HttpResponse>() {
+			
+			@Override
+			public HttpResponse call() throws Exception {
+				
+				HttpContext httpContext = stateful? 
+						new BasicHttpContext(HttpContextDirectory.INSTANCE.lookup(context.getEndpoint())) :null;
+				
+				long start = System.nanoTime();
+				
+				HttpResponse response = executor.transmit(context, request, httpContext);
+				
+				if(successful(response)) {
+					
+					stats.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+				}
+				
+				return response;
+			}
+		};
+	}
+}
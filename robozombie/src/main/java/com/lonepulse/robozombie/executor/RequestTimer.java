@@ -0,0 +1,305 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.lonepulse.robozombie.util.Metadata.findArgument;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.params.ConnManagerPNames;
+import org.apache.http.params.CoreConnectionPNames;
+import org.apache.http.params.HttpParams;
+
+import com.lonepulse.robozombie.annotation.Timeout;
+import com.lonepulse.robozombie.proxy.InvocationContext;
+
+/**
+ * <p>Enforces the timeouts and deadlines which are imposed on requests using @{@link Timeout} or a 
+ * {@link Deadline}. The time of expiry is retained in the {@link HttpParams} of the request, so that it 
+ * is carried over to any clones which are executed as hedges.</p>
+ * 
+ * <p>Each attempt is limited to the remaining budget by capping its connection, socket and connection 
+ * pool timeouts, and is aborted via {@link HttpRequestBase#abort()} once the deadline expires. Since 
+ * redirects and retries are directed by the same {@link HttpRequestBase}, they share the budget.</p>
+ * 
+ * <p>The timers of an execution are cancelled once it has finished, so that a request which completes 
+ * well within its deadline is not retained until the deadline expires. See 
+ * {@link #disarm(HttpRequestBase)}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum RequestTimer {
+	
+	
+	/**
+	 * <p>The {@link RequestTimer} which enforces the deadlines of all requests.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	private static final String EXPIRY = "robozombie.request.expiry";
+	
+	private static final String TIMERS = "robozombie.request.timers";
+	
+	private static final ScheduledExecutorService TIMER_EXECUTOR_SERVICE;
+	
+	static
+	{
+		TIMER_EXECUTOR_SERVICE = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable runnable) {
+				
+				Thread thread = new Thread(runnable, "RoboZombie-Deadline");
+				thread.setDaemon(true);
+				
+				return thread;
+			}
+		});
+	}
+	
+	
+	/**
+	 * <p>Discovers the {@link Deadline} which applies to the proxy invocation and attaches its timeouts 
+	 * to the given {@link HttpRequestBase}. A {@link Deadline} which is supplied as a runtime argument 
+	 * takes precedence over an @{@link Timeout} on the request, which in turn takes precedence over an 
+	 * @{@link Timeout} on the endpoint.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} used to discover the applicable {@link Deadline}
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is to be bounded by the {@link Deadline}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void arm(InvocationContext context, HttpRequestBase request) {
+		
+		Deadline deadline = findArgument(Deadline.class, context);
+		
+		if(deadline == null) {
+			
+			Timeout timeout = context.getRequest().isAnnotationPresent(Timeout.class)? 
+					context.getRequest().getAnnotation(Timeout.class) 
+					:context.getEndpoint().getAnnotation(Timeout.class);
+			
+			if(timeout == null) {
+				
+				return;
+			}
+			
+			deadline = Deadline.from(timeout);
+		}
+		
+		HttpParams params = request.getParams();
+		
+		if(deadline.getConnectTimeout() > 0) {
+			
+			params.setIntParameter(CoreConnectionPNames.CONNECTION_TIMEOUT, millis(deadline.getConnectTimeout()));
+		}
+		
+		if(deadline.getReadTimeout() > 0) {
+			
+			params.setIntParameter(CoreConnectionPNames.SO_TIMEOUT, millis(deadline.getReadTimeout()));
+		}
+		
+		if(deadline.getExpiry() != null) {
+			
+			params.setLongParameter(EXPIRY, deadline.getExpiry());
+			params.setParameter(TIMERS, new ConcurrentLinkedQueue<Abort>());
+		}
+	}
+	
+	/**
+	 * <p>Limits the timeouts of the given {@link HttpRequestBase} to the budget which remains until its 
+	 * deadline and schedules the request to be aborted once the deadline expires. Requests which are 
+	 * not bounded by a deadline are left untouched.</p>
+	 * 
+	 * <p>The timer is shared with all clones of the request, so that it can be cancelled once the 
+	 * execution has finished. See {@link #disarm(HttpRequestBase)}.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} which identifies the request and endpoint
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is about to be executed
+	 * <br><br>
+	 * @throws DeadlineExceededException
+	 * 			if the deadline of the request has already expired
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void schedule(InvocationContext context, HttpRequestBase request) {
+		
+		HttpParams params = request.getParams();
+		Object expiry = params.getParameter(EXPIRY);
+		
+		if(expiry == null) {
+			
+			return;
+		}
+		
+		long remaining = ((Long)expiry).longValue() - System.nanoTime();
+		
+		if(remaining <= 0L) {
+			
+			throw new DeadlineExceededException(context.getRequest(), context.getEndpoint(), null);
+		}
+		
+		int budget = millis(Math.max(TimeUnit.NANOSECONDS.toMillis(remaining), 1L));
+		HttpParams defaults = HttpClientDirectory.INSTANCE.lookup(context.getEndpoint()).getParams();
+		
+		cap(CoreConnectionPNames.CONNECTION_TIMEOUT, params, defaults, budget);
+		cap(CoreConnectionPNames.SO_TIMEOUT, params, defaults, budget);
+		params.setLongParameter(ConnManagerPNames.TIMEOUT, budget);
+		
+		Abort abort = new Abort(request);
+		abort.future = TIMER_EXECUTOR_SERVICE.schedule(abort, remaining, TimeUnit.NANOSECONDS);
+		
+		timers(params).add(abort);
+	}
+	
+	/**
+	 * <p>Cancels all timers which were scheduled for the given {@link HttpRequestBase} and its clones. 
+	 * This should be invoked once the execution has finished and its response has been consumed.</p>
+	 * 
+	 * <p>See {@link #schedule(InvocationContext, HttpRequestBase)}</p>
+	 *
+	 * @param request
+	 * 			the {@link HttpRequestBase} whose execution has finished
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void disarm(HttpRequestBase request) {
+		
+		HttpParams params = request.getParams();
+		
+		if(params.getParameter(TIMERS) == null) {
+			
+			return;
+		}
+		
+		Queue<Abort> timers = timers(params);
+		
+		for (Abort abort = timers.poll(); abort != null; abort = timers.poll()) {
+			
+			abort.cancel();
+		}
+	}
+	
+	@SuppressWarnings("unchecked") //only queues of aborts are attached as timers
+	private static Queue<Abort> timers(HttpParams params) {
+		
+		Object timers = params.getParameter(TIMERS);
+		
+		if(timers == null) {
+			
+			timers = new ConcurrentLinkedQueue<Abort>();
+			params.setParameter(TIMERS, timers);
+		}
+		
+		return (Queue<Abort>)timers;
+	}
+	
+	/**
+	 * <p>Determines whether the deadline of the given {@link HttpRequestBase} has expired.</p>
+	 *
+	 * @param request
+	 * 			the {@link HttpRequestBase} whose deadline is to be evaluated
+	 * <br><br>
+	 * @return {@code true} if the request is bounded by a deadline which has expired
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	boolean expired(HttpRequestBase request) {
+		
+		Object expiry = request.getParams().getParameter(EXPIRY);
+		
+		return expiry != null && System.nanoTime() - ((Long)expiry).longValue() >= 0L;
+	}
+	
+	private static void cap(String name, HttpParams params, HttpParams defaults, int budget) {
+		
+		Object timeout = params.getParameter(name);
+		timeout = (timeout == null)? defaults.getParameter(name) :timeout;
+		
+		int millis = (timeout instanceof Integer)? ((Integer)timeout).intValue() :0;
+		
+		params.setIntParameter(name, millis > 0? Math.min(millis, budget) :budget);
+	}
+	
+	private static int millis(long millis) {
+		
+		return (int)Math.min(millis, Integer.MAX_VALUE);
+	}
+	
+	/**
+	 * <p>Aborts a request once its deadline expires. The reference to the request is released as soon 
+	 * as the timer is cancelled, although the cancelled timer remains queued until its delay elapses.</p>
+	 */
+	private static final class Abort implements Runnable {
+		
+		private volatile HttpRequestBase request;
+		
+		private volatile ScheduledFuture<?> future;
+		
+		
+		private Abort(HttpRequestBase request) {
+			
+			this.request = request;
+		}
+		
+		@Override
+		public void run() {
+			
+			HttpRequestBase expired = request;
+			
+			if(expired != null) {
+				
+				expired.abort();
+			}
+		}
+		
+		private void cancel() {
+			
+			request = null;
+			
+			if(future != null) {
+				
+				future.cancel(false);
+			}
+		}
+	}
+}
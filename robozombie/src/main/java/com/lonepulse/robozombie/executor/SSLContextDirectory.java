@@ -0,0 +1,98 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.net.ssl.SSLContext;
+
+import com.lonepulse.robozombie.Directory;
+
+/**
+ * <p>A registry of {@link SSLContext}s which are shared by all {@link TlsSocketFactory}s with the same 
+ * session cache settings. Since TLS sessions are cached by each {@link SSLContext} for each host, the 
+ * endpoints of a host reuse the sessions which were negotiated for any other endpoint of the host, even 
+ * if they use different configurations.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum SSLContextDirectory implements Directory<String, SSLContext> {
+	
+	
+	/**
+	 * <p>The {@link SSLContextDirectory} which caches the shared {@link SSLContext}s. An {@link SSLContext} 
+	 * is stored or accessed using the name of its session cache settings.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	private static final Map<String, SSLContext> DIRECTORY = new HashMap<String, SSLContext>();
+	
+	
+	/**
+	 * <p>Registers an {@link SSLContext} under the given name. If an {@link SSLContext} already exists 
+	 * under the name, <i>no attempt will be made to replace the existing instance</i>.</p>
+	 * 
+	 * @param name
+	 * 			the name of the session cache settings of the {@link SSLContext} to be added
+	 * <br><br>
+	 * @param sslContext
+	 * 			the {@link SSLContext} which is to be registered under the given name
+	 * <br><br>
+	 * @return the {@link SSLContext} which was registered under the given name
+	 * <br><br> 
+	 * @since 1.3.4
+	 */
+	@Override
+	public synchronized SSLContext bind(String name, SSLContext sslContext) {
+		
+		if(!DIRECTORY.containsKey(name)) {
+			
+			DIRECTORY.put(name, sslContext);
+		}
+		
+		return DIRECTORY.get(name);
+	}
+	
+	/**
+	 * <p>Retrieves the {@link SSLContext} which was registered under the given name.</p>
+	 * 
+	 * @param name
+	 * 			the name of the session cache settings of the {@link SSLContext} to be retrieved
+	 * <br><br>
+	 * @return the {@link SSLContext} which was registered under the given name, else {@code null} if 
+	 * 		   no {@link SSLContext} was registered under the name
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public synchronized SSLContext lookup(String name) {
+		
+		return DIRECTORY.get(name);
+	}
+}
@@ -0,0 +1,234 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.net.UnknownHostException;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import javax.net.ssl.SSLSocket;
+
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.params.HttpParams;
+
+/**
+ * <p>An {@link SSLSocketFactory} which allows <b>TLS sessions to be resumed</b> across connections, so 
+ * that a new pooled connection to a host can skip the full handshake. Sessions are cached by an 
+ * {@link SSLContext} which is shared by all {@link TlsSocketFactory}s with the same session cache size 
+ * and timeout, so that endpoints which share a host resume each other's sessions even if they use 
+ * different configurations.</p>
+ * 
+ * <p>The number of full and resumed handshakes are tracked and a snapshot of these can be taken using 
+ * {@link #getHandshakeStats()} or {@link HandshakeStats#of(Class)}. A handshake is deemed to have been 
+ * resumed if it reused a session which was cached by the {@link SSLContext}.</p>
+ * 
+ * <p>Sockets are created by the shared {@link SSLContext} and their host names are verified by the 
+ * {@link #getHostnameVerifier()} of this socket factory.</p>
+ * 
+ * <p>The <i>out-of-the-box</i> configuration uses {@link SSLSocketFactory#getSocketFactory()} for 
+ * <b>HTTPS</b>. Custom configurations may register this socket factory in its place to resume sessions.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <p>
+ * <code>
+ * <pre>schemeRegistry.register(new Scheme("https", <b>new TlsSocketFactory(50, 60 * 60)</b>, 443));</pre>
+ * </code>
+ * </p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class TlsSocketFactory extends SSLSocketFactory {
+	
+	
+	/**
+	 * <p>The default maximum number of TLS sessions which are cached.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public static final int DEFAULT_SESSION_CACHE_SIZE = 100;
+	
+	/**
+	 * <p>The default time in <b>seconds</b> for which a cached TLS session can be resumed.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public static final int DEFAULT_SESSION_TIMEOUT = 24 * 60 * 60;
+	
+	
+	private final SSLContext sslContext;
+	
+	private final AtomicLong fullHandshakes = new AtomicLong();
+	
+	private final AtomicLong resumedHandshakes = new AtomicLong();
+	
+	
+	/**
+	 * <p>Creates a new instance of {@link TlsSocketFactory} which caches up to {@link #DEFAULT_SESSION_CACHE_SIZE} 
+	 * sessions for a period of {@link #DEFAULT_SESSION_TIMEOUT}.</p>
+	 * 
+	 * @throws GeneralSecurityException
+	 * 			if an {@link SSLContext} for the <b>TLS</b> protocol failed to be created
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public TlsSocketFactory() throws GeneralSecurityException {
+		
+		this(DEFAULT_SESSION_CACHE_SIZE, DEFAULT_SESSION_TIMEOUT);
+	}
+	
+	/**
+	 * <p>Creates a new instance of {@link TlsSocketFactory} with the given limits on the session cache.</p>
+	 * 
+	 * @param sessionCacheSize
+	 * 			the maximum number of TLS sessions which are cached, else {@code 0} for no limit
+	 * <br><br>
+	 * @param sessionTimeout
+	 * 			the time in <b>seconds</b> for which a cached TLS session can be resumed, else {@code 0} 
+	 * 			for no limit
+	 * <br><br>
+	 * @throws GeneralSecurityException
+	 * 			if an {@link SSLContext} for the <b>TLS</b> protocol failed to be created
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public TlsSocketFactory(int sessionCacheSize, int sessionTimeout) throws GeneralSecurityException {
+		
+		this(context(Math.max(sessionCacheSize, 0), Math.max(sessionTimeout, 0)));
+	}
+	
+	private TlsSocketFactory(SSLContext sslContext) throws GeneralSecurityException {
+		
+		super((KeyStore)null); //the SSLContext constructor is not available on Android
+		this.sslContext = sslContext;
+	}
+	
+	private static synchronized SSLContext context(int sessionCacheSize, int sessionTimeout) 
+	throws GeneralSecurityException {
+		
+		String name = sessionCacheSize + "/" + sessionTimeout;
+		SSLContext sslContext = SSLContextDirectory.INSTANCE.lookup(name);
+		
+		if(sslContext == null) {
+			
+			sslContext = SSLContext.getInstance(TLS);
+			sslContext.init(null, null, null);
+			
+			SSLSessionContext sessionContext = sslContext.getClientSessionContext();
+			sessionContext.setSessionCacheSize(sessionCacheSize);
+			sessionContext.setSessionTimeout(sessionTimeout);
+			
+			sslContext = SSLContextDirectory.INSTANCE.bind(name, sslContext);
+		}
+		
+		return sslContext;
+	}
+	
+	private Socket record(Socket socket, long start) {
+		
+		if(socket instanceof SSLSocket) {
+			
+			if(((SSLSocket)socket).getSession().getCreationTime() < start) {
+				
+				resumedHandshakes.incrementAndGet();
+			}
+			else {
+				
+				fullHandshakes.incrementAndGet();
+			}
+		}
+		
+		return socket;
+	}
+	
+	/**
+	 * <p>Creates an unconnected socket using the shared {@link SSLContext}.</p>
+	 * 
+	 * <p>See {@link SSLSocketFactory#createSocket()}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public Socket createSocket() throws IOException {
+		
+		return sslContext.getSocketFactory().createSocket();
+	}
+	
+	/**
+	 * <p>Connects a socket to the given host and records whether its handshake resumed a cached session.</p>
+	 * 
+	 * <p>See {@link SSLSocketFactory#connectSocket(Socket, String, int, InetAddress, int, HttpParams)}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public Socket connectSocket(Socket sock, String host, int port, 
+		InetAddress localAddress, int localPort, HttpParams params) throws IOException {
+		
+		long start = System.currentTimeMillis();
+		
+		return record(super.connectSocket(sock, host, port, localAddress, localPort, params), start);
+	}
+	
+	/**
+	 * <p>Layers a socket from the shared {@link SSLContext} over an existing connection to the given 
+	 * host (for example, a tunnel through a proxy), verifies the host name and records whether its 
+	 * handshake resumed a cached session.</p>
+	 * 
+	 * <p>See {@link SSLSocketFactory#createSocket(Socket, String, int, boolean)}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public Socket createSocket(Socket socket, String host, int port, boolean autoClose)
+	throws IOException, UnknownHostException {
+		
+		long start = System.currentTimeMillis();
+		
+		SSLSocket sslSocket = (SSLSocket)sslContext.getSocketFactory().createSocket(socket, host, port, autoClose);
+		getHostnameVerifier().verify(host, sslSocket);
+		
+		return record(sslSocket, start);
+	}
+	
+	/**
+	 * <p>Takes a snapshot of the handshakes which were performed by this socket factory.</p>
+	 *
+	 * @return a new instance of {@link HandshakeStats} with the current handshake counts
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public HandshakeStats getHandshakeStats() {
+		
+		return new HandshakeStats(fullHandshakes.get(), resumedHandshakes.get());
+	}
+}
@@ -0,0 +1,175 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.HashMap;
+import java.util.Map;
+
+import android.util.Log;
+
+import com.lonepulse.robozombie.Directory;
+import com.lonepulse.robozombie.annotation.Config;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.transport.HttpClientTransport;
+import com.lonepulse.robozombie.transport.Transport;
+
+/**
+ * <p>A registry of {@link Transport}s which are configured to be used for a specific endpoint.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum TransportDirectory implements Directory<Class<?>, Transport> {
+	
+	
+	/**
+	 * <p>The {@link TransportDirectory} which caches {@link Transport}s that are uniquely configured 
+	 * for each endpoint. A {@link Transport} is stored or accessed using an endpoint's {@link Class}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	/**
+	 * <p>The {@link Transport} which will be used to execute endpoint requests if no specialized 
+	 * configuration is provided. It executes requests using {@link HttpClientDirectory#DEFAULT}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public static final Transport DEFAULT = new HttpClientTransport(HttpClientDirectory.DEFAULT);
+	
+	
+	private static final Map<String, Transport> DIRECTORY = new HashMap<String, Transport>();
+	
+	
+	static {
+		
+		Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				synchronized (DIRECTORY) {
+					
+					for (Transport transport : DIRECTORY.values()) {
+						
+						try {
+							
+							transport.shutdown();
+						}
+						catch(Exception e) {
+							
+							Log.w(getClass().getSimpleName(), "Failed to shutdown a transport.", e);
+						}
+					}
+				}
+			}
+		}));
+	}
+	
+	
+	private static String configuration(Class<?> endpoint) {
+		
+		return endpoint.isAnnotationPresent(Config.class)?
+			endpoint.getAnnotation(Config.class).value().getName() :Zombie.Configuration.class.getName();
+	}
+	
+	/**
+	 * <p>Registers a {@link Transport} under the given {@link Class} of the endpoint definition. If a 
+	 * {@link Transport} already exists for the endpoint's configuration, <i>no attempt will be made to 
+	 * replace the existing instance</i>.</p>
+	 * 
+	 * @param endpoint
+	 * 			the {@link Class} of the endpoint whose {@link Transport} is added to the directory
+	 * <br><br>
+	 * @param transport
+	 * 			the {@link Transport} which is to be registered under the given endpoint definition
+	 * <br><br>
+	 * @return the {@link Transport} which was registered under the given endpoint definition
+	 * <br><br> 
+	 * @since 1.3.4
+	 */
+	@Override
+	public Transport bind(Class<?> endpoint, Transport transport) {
+		
+		String configuration = configuration(endpoint);
+		
+		synchronized (DIRECTORY) {
+			
+			if(!DIRECTORY.containsKey(configuration)) {
+				
+				DIRECTORY.put(configuration, transport);
+			}
+			
+			return DIRECTORY.get(configuration);
+		}
+	}
+	
+	/**
+	 * <p>Retrieves the {@link Transport} which was registered under the given endpoint. If no instance 
+	 * was registered for this endpoint's configuration, the {@link #DEFAULT} instance is returned.</p>
+	 * 
+	 * @param endpoint
+	 * 			the {@link Class} of the endpoint definition whose {@link Transport} is to be retrieved
+	 * <br><br>
+	 * @return the {@link Transport} which was registered under the given endpoint, else the 
+	 * 		   {@link #DEFAULT} instance if no existing {@link Transport} was found
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public Transport lookup(Class<?> endpoint) {
+		
+		String configuration = configuration(endpoint);
+		
+		synchronized (DIRECTORY) {
+			
+			Transport transport = DIRECTORY.get(configuration);
+			
+			return transport == null? DEFAULT :transport;
+		}
+	}
+	
+	/**
+	 * <p>Determines whether a {@link Transport} has been registered for the given endpoint.</p>
+	 * 
+	 * @param endpoint
+	 * 			the {@link Class} of the endpoint whose registration is to be determined
+	 * <br><br>
+	 * @return {@code true} if a {@link Transport} exists for the endpoint's configuration
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	boolean contains(Class<?> endpoint) {
+		
+		String configuration = configuration(endpoint);
+		
+		synchronized (DIRECTORY) {
+			
+			return DIRECTORY.containsKey(configuration);
+		}
+	}
+}
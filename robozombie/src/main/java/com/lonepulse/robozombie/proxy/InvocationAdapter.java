@@ -0,0 +1,102 @@
+package com.lonepulse.robozombie.proxy;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.reflect.Method;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+
+/**
+ * <p>Adapts the invocation of a request to an alternate <b>return type</b>, such as a lazy stream of the 
+ * response content. An adapter receives a deferred {@link Execution} instead of a processed result, so it 
+ * is free to decide when the request is executed and how the response content is consumed.</p>
+ * 
+ * <p>Adapters are discovered using {@link java.util.ServiceLoader}; an integration module registers its 
+ * implementation in <i>META-INF/services/com.lonepulse.robozombie.proxy.InvocationAdapter</i>. Each 
+ * implementation must have a public no-argument constructor and must be thread-safe.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public interface InvocationAdapter {
+	
+	
+	/**
+	 * <p>A deferred execution of an invoked request.</p>
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @since 1.3.4
+	 * <br><br>
+	 * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+	 */
+	interface Execution {
+		
+		/**
+		 * <p>Builds and executes the request <b>on the calling thread</b> and returns the resulting 
+		 * {@link HttpResponse} <i>without</i> processing it. The caller is responsible for consuming 
+		 * or closing the {@link HttpEntity} of the response.</p>
+		 * 
+		 * <p>Each call executes the request anew.</p>
+		 *
+		 * @return the unprocessed {@link HttpResponse} of a successful execution, else {@code null} if the 
+		 * 		   request is executed <i>asynchronously</i>
+		 * <br><br>
+		 * @throws InvocationException
+		 * 			if the request failed with an error or if the response has a failed status code
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		HttpResponse execute();
+	}
+	
+	
+	/**
+	 * <p>Determines whether this adapter handles the invocations of the given request.</p>
+	 *
+	 * @param request
+	 * 			the {@link Method} on an endpoint which defines the request
+	 * <br><br>
+	 * @return {@code true} if this adapter handles the return type of the request
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	boolean adapts(Method request);
+	
+	/**
+	 * <p>Adapts an invocation of a request to the return type of the request.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} of the proxy invocation
+	 * <br><br>
+	 * @param execution
+	 * 			the deferred {@link Execution} of the request
+	 * <br><br>
+	 * @return the result of the invocation, which conforms to the return type of the request
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	Object adapt(InvocationContext context, Execution execution);
+}
@@ -0,0 +1,139 @@
+package com.lonepulse.robozombie.proxy;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import android.util.Log;
+
+/**
+ * <p>A registry of the {@link InvocationAdapter}s which are discovered on the classpath. The adapter of 
+ * each request definition is resolved once and cached.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum InvocationAdapters {
+	
+	
+	/**
+	 * <p>The {@link InvocationAdapters} which resolves the adapters of all endpoint requests.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	private static final InvocationAdapter NONE = new InvocationAdapter() {
+		
+		@Override
+		public boolean adapts(Method request) {
+			
+			return false;
+		}
+		
+		@Override
+		public Object adapt(InvocationContext context, Execution execution) {
+			
+			throw new UnsupportedOperationException();
+		}
+	};
+	
+	private static final List<InvocationAdapter> ADAPTERS;
+	
+	private static final Map<Method, InvocationAdapter> RESOLVED = new HashMap<Method, InvocationAdapter>();
+	
+	static
+	{
+		List<InvocationAdapter> adapters = new ArrayList<InvocationAdapter>();
+		
+		try {
+			
+			Iterator<InvocationAdapter> iterator = ServiceLoader.load(
+				InvocationAdapter.class, InvocationAdapter.class.getClassLoader()).iterator();
+			
+			while(iterator.hasNext()) {
+				
+				adapters.add(iterator.next());
+			}
+		}
+		catch(ServiceConfigurationError sce) {
+			
+			Log.w(InvocationAdapters.class.getSimpleName(), "Failed to load the registered invocation adapters.", sce);
+		}
+		
+		ADAPTERS = Collections.unmodifiableList(adapters);
+	}
+	
+	
+	/**
+	 * <p>Resolves the {@link InvocationAdapter} which handles the given request definition.</p>
+	 *
+	 * @param request
+	 * 			the {@link Method} on an endpoint which defines the request
+	 * <br><br>
+	 * @return the first {@link InvocationAdapter} which adapts the request, else {@code null} if the 
+	 * 		   request is processed as usual
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	InvocationAdapter resolve(Method request) {
+		
+		if(ADAPTERS.isEmpty()) {
+			
+			return null;
+		}
+		
+		synchronized (RESOLVED) {
+			
+			InvocationAdapter adapter = RESOLVED.get(request);
+			
+			if(adapter == null) {
+				
+				adapter = NONE;
+				
+				for (InvocationAdapter candidate : ADAPTERS) {
+					
+					if(candidate.adapts(request)) {
+						
+						adapter = candidate;
+						break;
+					}
+				}
+				
+				RESOLVED.put(request, adapter);
+			}
+			
+			return adapter == NONE? null :adapter;
+		}
+	}
+}
@@ -0,0 +1,455 @@
+package com.lonepulse.robozombie.proxy;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.lonepulse.robozombie.util.Metadata.findArgument;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import android.util.Log;
+
+import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Batch;
+import com.lonepulse.robozombie.executor.CallbackExecutors;
+import com.lonepulse.robozombie.response.AsyncHandler;
+import com.lonepulse.robozombie.util.Is;
+
+/**
+ * <p>Collects the invocations of requests which are identified by @{@link Batch} and invokes the 
+ * companion bulk request once for each batch. The first invocation opens a batch for its request, 
+ * which is <b>flushed</b> when the batching window elapses (or as soon as the batch fills up) by 
+ * invoking the bulk request with the distinct keys which were collected. The result is then split 
+ * among the invocations in the batch.</p>
+ * 
+ * <p>Batches are flushed on a background thread. Blocking invocations wait for their share of the 
+ * result, whereas @{@link Async} invocations return immediately and receive their share via their 
+ * {@link AsyncHandler}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum InvocationBatcher {
+	
+	
+	/**
+	 * <p>The {@link InvocationBatcher} which collects batched invocations for all endpoints.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	/**
+	 * <p>An @{@link Async} invocation in a batch which is notified once the batch completes.</p>
+	 */
+	private static final class Listener {
+		
+		
+		private final InvocationContext context;
+		
+		private final Object key;
+		
+		private final int index;
+		
+		private final AsyncHandler<Object> asyncHandler;
+		
+		
+		private Listener(InvocationContext context, Object key, int index, AsyncHandler<Object> asyncHandler) {
+			
+			this.context = context;
+			this.key = key;
+			this.index = index;
+			this.asyncHandler = asyncHandler;
+		}
+	}
+	
+	/**
+	 * <p>The distinct keys of a batch along with the result of its bulk request.</p>
+	 */
+	private static final class Invocations {
+		
+		
+		private final Map<Object, Integer> keys = new LinkedHashMap<Object, Integer>();
+		
+		private final List<Listener> listeners = new ArrayList<Listener>();
+		
+		private boolean flushed;
+		
+		private boolean completed;
+		
+		private Object result;
+		
+		private RuntimeException error;
+		
+		
+		private int add(Object key) {
+			
+			Integer index = keys.get(key);
+			
+			if(index == null) {
+				
+				index = keys.size();
+				keys.put(key, index);
+			}
+			
+			return index;
+		}
+		
+		private synchronized boolean flush() {
+			
+			boolean flushing = !flushed;
+			flushed = true;
+			
+			return flushing;
+		}
+		
+		private void complete(Object result, RuntimeException error) {
+			
+			synchronized (this) {
+				
+				this.result = result;
+				this.error = error;
+				this.completed = true;
+				
+				notifyAll();
+			}
+			
+			for (Listener listener : listeners) {
+				
+				notify(listener);
+			}
+		}
+		
+		private void notify(final Listener listener) {
+			
+			Object share = null;
+			InvocationException failure = null;
+			
+			try {
+				
+				share = share(listener.context, listener.key, listener.index);
+			}
+			catch(InvocationException ie) {
+				
+				failure = ie;
+			}
+			catch(RuntimeException re) {
+				
+				failure = InvocationException.newInstance(listener.context, re);
+			}
+			
+			final Object result = share;
+			final InvocationException error = failure;
+			
+			CallbackExecutors.of(listener.context.getEndpoint()).execute(new Runnable() {
+				
+				@Override
+				public void run() {
+					
+					try {
+						
+						if(error == null) {
+							
+							listener.asyncHandler.onSuccess(null, result);
+						}
+						else {
+							
+							listener.asyncHandler.onError(error);
+						}
+					}
+					catch(Exception e) {
+						
+						Log.e(InvocationBatcher.class.getSimpleName(), "A callback of a batched invocation failed.", e);
+					}
+				}
+			});
+		}
+		
+		private synchronized Object get(InvocationContext context, Object key, int index) throws InterruptedException {
+			
+			while(!completed) {
+				
+				wait();
+			}
+			
+			return share(context, key, index);
+		}
+		
+		private synchronized Object share(InvocationContext context, Object key, int index) {
+			
+			if(error != null) {
+				
+				throw error;
+			}
+			
+			if(result == null) {
+				
+				return null;
+			}
+			
+			if(result instanceof Map) {
+				
+				return ((Map<?, ?>)result).get(key);
+			}
+			
+			int size = (result instanceof List)? ((List<?>)result).size() 
+					  :result.getClass().isArray()? Array.getLength(result) :-1;
+			
+			if(size != keys.size()) {
+				
+				throw InvocationException.newInstance(context, new IllegalStateException(new StringBuilder()
+					.append("The bulk result of type <").append(result.getClass().getName())
+					.append("> cannot be split among ").append(keys.size()).append(" batched invocations. ")
+					.append("Return a java.util.Map of results or a java.util.List (or array) ")
+					.append("with one result for each key. ").toString()));
+			}
+			
+			return (result instanceof List)? ((List<?>)result).get(index) :Array.get(result, index);
+		}
+	}
+	
+	
+	private static final Map<Method, Invocations> BATCHES = new HashMap<Method, Invocations>();
+	
+	private static final ScheduledExecutorService WINDOW_EXECUTOR_SERVICE;
+	
+	private static final ExecutorService FLUSHING_EXECUTOR_SERVICE;
+	
+	static
+	{
+		ThreadFactory threadFactory = new ThreadFactory() {
+			
+			@Override
+			public Thread newThread(Runnable runnable) {
+				
+				Thread thread = new Thread(runnable, "RoboZombie-Batch");
+				thread.setDaemon(true);
+				
+				return thread;
+			}
+		};
+		
+		WINDOW_EXECUTOR_SERVICE = Executors.newSingleThreadScheduledExecutor(threadFactory);
+		FLUSHING_EXECUTOR_SERVICE = Executors.newCachedThreadPool(threadFactory);
+	}
+	
+	
+	/**
+	 * <p>Adds the given invocation to the open batch of its request. If there is no open batch, a new 
+	 * batch is opened and scheduled to be flushed once the batching window elapses.</p>
+	 * 
+	 * <p>A blocking invocation waits for its share of the result once the batch has been executed. An 
+	 * @{@link Async} invocation returns immediately and its share is submitted to the <i>onSuccess</i> 
+	 * callback of its {@link AsyncHandler} (along with a {@code null} response, since the result was 
+	 * split from that of the bulk request), or the failure to its <i>onError</i> callback. Callbacks 
+	 * are run on the callback executor of the endpoint. See {@link CallbackExecutors#of(Class)}.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} of a request which is identified by @{@link Batch}
+	 * <br><br>
+	 * @return the result of the invocation which was split from the result of the bulk request, else 
+	 * 		   {@code null} if the invocation is asynchronous
+	 * <br><br>
+	 * @throws InvocationException
+	 * 			if the bulk request failed or if its result could not be split among the invocations
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	Object batch(final InvocationContext context) {
+		
+		final Method request = context.getRequest();
+		final Batch metadata = request.getAnnotation(Batch.class);
+		
+		Object key = context.getArguments().get(0);
+		
+		@SuppressWarnings("unchecked") //the share of the result is of the handler's type argument
+		AsyncHandler<Object> asyncHandler = findArgument(AsyncHandler.class, context);
+		
+		Invocations invocations = null;
+		boolean full = false;
+		int index;
+		
+		synchronized (BATCHES) {
+			
+			invocations = BATCHES.get(request);
+			
+			if(invocations == null) {
+				
+				final Invocations opened = new Invocations();
+				BATCHES.put(request, opened);
+				
+				WINDOW_EXECUTOR_SERVICE.schedule(new Runnable() {
+					
+					@Override
+					public void run() {
+						
+						flush(context, metadata, opened);
+					}
+				}, metadata.window(), TimeUnit.MILLISECONDS);
+				
+				invocations = opened;
+			}
+			
+			index = invocations.add(key);
+			
+			if(asyncHandler != null) {
+				
+				invocations.listeners.add(new Listener(context, key, index, asyncHandler));
+			}
+			
+			full = invocations.keys.size() >= metadata.size();
+		}
+		
+		if(full) {
+			
+			flush(context, metadata, invocations);
+		}
+		
+		if(Is.async(context)) {
+			
+			return null;
+		}
+		
+		try {
+			
+			return invocations.get(context, key, index);
+		}
+		catch(InterruptedException ie) {
+			
+			Thread.currentThread().interrupt();
+			throw InvocationException.newInstance(context, ie);
+		}
+	}
+	
+	/**
+	 * <p>Closes the given batch to further invocations and invokes its bulk request on a background 
+	 * thread, unless it has already been flushed.</p>
+	 */
+	private static void flush(final InvocationContext context, final Batch metadata, final Invocations invocations) {
+		
+		synchronized (BATCHES) {
+			
+			if(BATCHES.get(context.getRequest()) == invocations) {
+				
+				BATCHES.remove(context.getRequest());
+			}
+		}
+		
+		if(invocations.flush()) {
+			
+			FLUSHING_EXECUTOR_SERVICE.execute(new Runnable() {
+				
+				@Override
+				public void run() {
+					
+					invoke(context, metadata, invocations);
+				}
+			});
+		}
+	}
+	
+	private static void invoke(InvocationContext context, Batch metadata, Invocations invocations) {
+		
+		List<Object> keys = null;
+		
+		synchronized (BATCHES) {
+			
+			keys = new ArrayList<Object>(invocations.keys.keySet());
+		}
+		
+		try {
+			
+			Method bulk = bulk(context.getEndpoint(), metadata);
+			Class<?> type = bulk.getParameterTypes()[0];
+			
+			Object argument = keys;
+			
+			if(type.isArray()) {
+				
+				argument = Array.newInstance(type.getComponentType(), keys.size());
+				
+				for (int i = 0; i < keys.size(); i++) {
+					
+					Array.set(argument, i, keys.get(i));
+				}
+			}
+			
+			invocations.complete(bulk.invoke(context.getProxy(), argument), null);
+		}
+		catch(InvocationTargetException ite) {
+			
+			Throwable cause = ite.getCause();
+			
+			invocations.complete(null, (cause instanceof RuntimeException)? 
+				(RuntimeException)cause :InvocationException.newInstance(context, cause));
+		}
+		catch(Exception e) {
+			
+			invocations.complete(null, InvocationException.newInstance(context, e));
+		}
+	}
+	
+	/**
+	 * <p>Finds the bulk request which is named by the given @{@link Batch} on the given endpoint.</p>
+	 *
+	 * @param endpoint
+	 * 			the endpoint definition which declares the batched and bulk requests
+	 * <br><br>
+	 * @param metadata
+	 * 			the @{@link Batch} metadata which names the bulk request
+	 * <br><br>
+	 * @return the bulk request {@link Method}, else {@code null} if no bulk request which accepts 
+	 * 		   a single {@link List} or array of keys was found
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	static Method bulk(Class<?> endpoint, Batch metadata) {
+		
+		for (Method request : endpoint.getMethods()) {
+			
+			Class<?>[] parameterTypes = request.getParameterTypes();
+			
+			if(request.getName().equals(metadata.value()) && parameterTypes.length == 1 && 
+			   (parameterTypes[0].isArray() || parameterTypes[0].isAssignableFrom(List.class))) {
+				
+				return request;
+			}
+		}
+		
+		return null;
+	}
+}
@@ -0,0 +1,482 @@
+package com.lonepulse.robozombie.proxy;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.lonepulse.robozombie.util.Assert.assertNotNull;
+import static com.lonepulse.robozombie.util.Is.successful;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.apache.http.util.EntityUtils;
+import org.apache.http42.HttpHeaders;
+
+import com.lonepulse.robozombie.executor.RequestExecutors;
+import com.lonepulse.robozombie.processor.Processors;
+
+/**
+ * <p>Executes several requests on an endpoint in a <b>single round trip</b> by encoding them as the 
+ * parts of a <i>multipart/mixed</i> batch request. Requests are added to the batch by invoking them on 
+ * the recorder returned by {@link #add()}; each invocation is processed into a request as usual, but it 
+ * is not executed until the batch is executed.</p>
+ * 
+ * <p>The batch itself is sent using a <b>batch request</b> which is declared on the same endpoint. This 
+ * request should not accept any arguments; its metadata (such as the path, headers and timeouts) apply 
+ * to the batch request and its body is replaced with the encoded parts. Each part of the batch response 
+ * is decoded and processed with the context of the request which it answers.</p>
+ * 
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <code>
+ * <pre>&#064;POST("/batch")
+ *void batch();<br>
+ *...<br>
+ *MixedBatch&lt;GitHubEndpoint&gt; batch = MixedBatch.newInstance(GitHubEndpoint.class, "batch");<br>
+ *batch.add().getUser("sahan");
+ *batch.add().getGists("sahan");<br>
+ *List&lt;Object&gt; results = batch.execute();</pre>
+ * </code>
+ * </p>
+ * 
+ * <p>Requests may be added to a {@link MixedBatch} from several threads. The batch contains the requests 
+ * which were added before {@link #execute()} was invoked; it should not be reused once it has been 
+ * executed.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public final class MixedBatch<T> {
+	
+	
+	private static final String CRLF = "\r\n";
+	
+	private static final String CHARSET = "ISO-8859-1";
+	
+	
+	private final Class<T> endpoint;
+	
+	private final Object proxy;
+	
+	private final Method batchRequest;
+	
+	private final T recorder;
+	
+	private final List<InvocationContext> contexts 
+		= Collections.synchronizedList(new ArrayList<InvocationContext>());
+	
+	
+	/**
+	 * <p>Creates a new {@link MixedBatch} for the given endpoint which is sent using the named batch 
+	 * request.</p>
+	 *
+	 * @param endpoint
+	 * 			the endpoint definition whose requests are to be batched
+	 * <br><br>
+	 * @param batchRequest
+	 * 			the name of the request on the endpoint (without any parameters) which sends the batch
+	 * <br><br>
+	 * @return a new {@link MixedBatch} for the given endpoint
+	 * <br><br>
+	 * @throws IllegalArgumentException
+	 * 			if the endpoint does not declare a batch request with the given name
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static <T> MixedBatch<T> newInstance(Class<T> endpoint, String batchRequest) {
+		
+		assertNotNull(endpoint);
+		assertNotNull(batchRequest);
+		
+		try {
+			
+			return new MixedBatch<T>(endpoint, endpoint.getMethod(batchRequest));
+		}
+		catch(NoSuchMethodException nsme) {
+			
+			throw new IllegalArgumentException(new StringBuilder("The endpoint <").append(endpoint.getName())
+				.append("> does not declare a batch request <").append(batchRequest)
+				.append("> without any parameters. ").toString(), nsme);
+		}
+	}
+	
+	private MixedBatch(final Class<T> endpoint, Method batchRequest) {
+		
+		this.endpoint = endpoint;
+		this.proxy = EndpointProxyFactory.INSTANCE.create(endpoint);
+		this.batchRequest = batchRequest;
+		
+		this.recorder = endpoint.cast(Proxy.newProxyInstance(
+			endpoint.getClassLoader(), new Class<?>[] {endpoint}, new InvocationHandler() {
+			
+			@Override
+			public Object invoke(Object recorder, Method method, Object[] args) {
+				
+				contexts.add(InvocationContext.newBuilder()
+					.setEndpoint(endpoint)
+					.setProxy(proxy)
+					.setRequest(method)
+					.setArguments(args)
+					.build());
+				
+				Class<?> returnType = method.getReturnType();
+				
+				return (returnType.isPrimitive() && returnType != void.class)? 
+						Array.get(Array.newInstance(returnType, 1), 0) :null;
+			}
+		}));
+	}
+	
+	/**
+	 * <p>Returns a recorder for the endpoint which adds each request invoked on it to this batch. The 
+	 * invocations on the recorder return {@code null} (or the default value of a primitive type).</p>
+	 *
+	 * @return a recorder of requests on the endpoint
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public T add() {
+		
+		return recorder;
+	}
+	
+	/**
+	 * <p>Returns the number of requests which have been added to this batch.</p>
+	 *
+	 * @return the number of batched requests
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public int size() {
+		
+		return contexts.size();
+	}
+	
+	/**
+	 * <p>Executes all requests in this batch using a single <i>multipart/mixed</i> request and returns 
+	 * the processed result of each request in the order in which they were added.</p>
+	 * 
+	 * <p>A request whose part of the batch response has a failed status code, or which could not be 
+	 * decoded or processed, yields an {@link InvocationException} in place of its result.</p>
+	 *
+	 * @return the results of the batched requests in the order in which they were added
+	 * <br><br>
+	 * @throws InvocationException
+	 * 			if the batch request failed or if the batch response could not be decoded
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public List<Object> execute() {
+		
+		List<InvocationContext> batched = null;
+		
+		synchronized (contexts) {
+			
+			batched = new ArrayList<InvocationContext>(contexts);
+		}
+		
+		if(batched.isEmpty()) {
+			
+			return Collections.emptyList();
+		}
+		
+		InvocationContext context = InvocationContext.newBuilder()
+			.setEndpoint(endpoint)
+			.setProxy(proxy)
+			.setRequest(batchRequest)
+			.setArguments(null)
+			.build();
+		
+		String boundary = "batch_" + UUID.randomUUID().toString().replace("-", "");
+		
+		HttpRequestBase request = (HttpRequestBase)Processors.REQUEST.run(context);
+		
+		if(!(request instanceof HttpEntityEnclosingRequestBase)) {
+			
+			throw InvocationException.newInstance(context, new IllegalStateException(new StringBuilder()
+				.append("The batch request <").append(batchRequest.getName())
+				.append("> should be a request which encloses an entity; such as a @POST. ").toString()));
+		}
+		
+		List<Object> responses = null;
+		
+		try {
+			
+			ByteArrayEntity entity = new ByteArrayEntity(encode(batched, boundary));
+			entity.setContentType("multipart/mixed; boundary=" + boundary);
+			
+			request.setHeader(HttpHeaders.CONTENT_TYPE, entity.getContentType().getValue());
+			((HttpEntityEnclosingRequestBase)request).setEntity(entity);
+			
+			HttpResponse response = RequestExecutors.BASIC.execute(context, request);
+			
+			responses = decode(response, batched.size());
+		}
+		catch(InvocationException ie) {
+			
+			throw ie;
+		}
+		catch(Exception e) {
+			
+			throw InvocationException.newInstance(context, e);
+		}
+		
+		List<Object> results = new ArrayList<Object>(batched.size());
+		
+		for (int i = 0; i < batched.size(); i++) {
+			
+			InvocationContext partContext = batched.get(i);
+			Object part = (i < responses.size())? responses.get(i) :null;
+			
+			try {
+				
+				if(part == null) {
+					
+					throw new IllegalStateException("The batch response did not contain a part for this request. ");
+				}
+				
+				if(part instanceof Exception) {
+					
+					throw (Exception)part;
+				}
+				
+				HttpResponse partResponse = (HttpResponse)part;
+				
+				results.add(successful(partResponse)? 
+					Processors.RESPONSE.run(partContext, partResponse) 
+					:InvocationException.newInstance(partContext, partResponse));
+			}
+			catch(Exception e) {
+				
+				results.add(InvocationException.newInstance(partContext, e));
+			}
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * <p>Processes each batched request and encodes it as an <i>application/http</i> part whose 
+	 * <b>Content-ID</b> identifies its position in the batch.</p>
+	 */
+	private static byte[] encode(List<InvocationContext> contexts, String boundary) throws IOException {
+		
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		
+		for (int i = 0; i < contexts.size(); i++) {
+			
+			HttpRequestBase request = (HttpRequestBase)Processors.REQUEST.run(contexts.get(i));
+			
+			URI uri = request.getURI();
+			String target = uri.getRawPath() == null || uri.getRawPath().length() == 0? "/" :uri.getRawPath();
+			target = (uri.getRawQuery() == null)? target :target + "?" + uri.getRawQuery();
+			
+			StringBuilder part = new StringBuilder()
+				.append("--").append(boundary).append(CRLF)
+				.append("Content-Type: application/http").append(CRLF)
+				.append("Content-ID: <item-").append(i + 1).append(">").append(CRLF).append(CRLF)
+				.append(request.getMethod()).append(" ").append(target).append(" HTTP/1.1").append(CRLF);
+			
+			for (Header header : request.getAllHeaders()) {
+				
+				part.append(header.getName()).append(": ").append(header.getValue()).append(CRLF);
+			}
+			
+			HttpEntity entity = (request instanceof HttpEntityEnclosingRequest)? 
+					((HttpEntityEnclosingRequest)request).getEntity() :null;
+			
+			byte[] body = (entity == null)? new byte[0] :EntityUtils.toByteArray(entity);
+			
+			if(entity != null) {
+				
+				part.append(HttpHeaders.CONTENT_LENGTH).append(": ").append(body.length).append(CRLF);
+			}
+			
+			content.write(part.append(CRLF).toString().getBytes(CHARSET));
+			content.write(body);
+			content.write(CRLF.getBytes(CHARSET));
+		}
+		
+		content.write(new StringBuilder("--").append(boundary).append("--").append(CRLF).toString().getBytes(CHARSET));
+		
+		return content.toByteArray();
+	}
+	
+	/**
+	 * <p>Decodes the <i>application/http</i> parts of a batch response into {@link HttpResponse}s which 
+	 * are ordered by their <b>Content-ID</b>, or else by their position in the batch response. A part 
+	 * which could not be decoded is given as the {@link Exception} which describes its failure.</p>
+	 */
+	private static List<Object> decode(HttpResponse response, int size) throws IOException {
+		
+		HttpEntity entity = response.getEntity();
+		
+		Header contentType = (entity == null)? null :entity.getContentType();
+		contentType = (contentType == null)? response.getFirstHeader(HttpHeaders.CONTENT_TYPE) :contentType;
+		
+		String boundary = null;
+		
+		if(contentType != null) {
+			
+			for (String parameter : contentType.getValue().split(";")) {
+				
+				parameter = parameter.trim();
+				
+				if(parameter.toLowerCase().startsWith("boundary=")) {
+					
+					boundary = parameter.substring(9).replace("\"", "");
+				}
+			}
+		}
+		
+		if(boundary == null) {
+			
+			throw new IllegalStateException(new StringBuilder("The batch response with the content-type <")
+				.append(contentType == null? null :contentType.getValue())
+				.append("> is not a multipart response. ").toString());
+		}
+		
+		String content = new String(EntityUtils.toByteArray(entity), CHARSET);
+		String delimiter = "--" + boundary;
+		
+		Object[] ordered = new Object[size];
+		List<Object> unordered = new ArrayList<Object>();
+		
+		int start = content.indexOf(delimiter);
+		
+		while(start >= 0 && !content.startsWith("--", start + delimiter.length())) {
+			
+			int end = content.indexOf(CRLF + delimiter, start + delimiter.length());
+			end = (end < 0)? content.length() :end;
+			
+			String part = content.substring(content.indexOf(CRLF, start) + 2, end);
+			int separator = part.indexOf(CRLF + CRLF);
+			
+			int index = -1;
+			
+			for (String header : part.substring(0, (separator < 0)? part.length() :separator).split(CRLF)) {
+				
+				if(header.toLowerCase().startsWith("content-id:")) {
+					
+					String id = header.substring(11).replaceAll("[^0-9]", "");
+					index = id.length() == 0? -1 :Integer.parseInt(id) - 1;
+				}
+			}
+			
+			Object partResponse = null;
+			
+			try {
+				
+				if(separator < 0) {
+					
+					throw new IllegalStateException("The part of the batch response has no body. ");
+				}
+				
+				partResponse = parse(part.substring(separator + 4));
+			}
+			catch(RuntimeException re) {
+				
+				partResponse = re;
+			}
+			
+			if(index >= 0 && index < ordered.length && ordered[index] == null) {
+				
+				ordered[index] = partResponse;
+			}
+			else {
+				
+				unordered.add(partResponse);
+			}
+			
+			start = (end < content.length())? end + 2 :-1;
+		}
+		
+		List<Object> responses = new ArrayList<Object>(ordered.length);
+		
+		for (Object partResponse : ordered) {
+			
+			responses.add((partResponse == null && !unordered.isEmpty())? unordered.remove(0) :partResponse);
+		}
+		
+		return responses;
+	}
+	
+	/**
+	 * <p>Parses an HTTP response message which was encoded in a part of the batch response.</p>
+	 */
+	private static HttpResponse parse(String message) throws UnsupportedEncodingException {
+		
+		int separator = message.indexOf(CRLF + CRLF);
+		
+		String head = (separator < 0)? message :message.substring(0, separator);
+		String body = (separator < 0)? "" :message.substring(separator + 4);
+		
+		String[] lines = head.split(CRLF);
+		String[] statusLine = lines[0].trim().split(" ", 3);
+		
+		HttpResponse response = new BasicHttpResponse(new BasicStatusLine(HttpVersion.HTTP_1_1, 
+			Integer.parseInt(statusLine[1]), statusLine.length > 2? statusLine[2] :""));
+		
+		for (int i = 1; i < lines.length; i++) {
+			
+			int colon = lines[i].indexOf(':');
+			
+			if(colon > 0) {
+				
+				response.addHeader(lines[i].substring(0, colon).trim(), lines[i].substring(colon + 1).trim());
+			}
+		}
+		
+		ByteArrayEntity entity = new ByteArrayEntity(body.getBytes(CHARSET));
+		
+		Header contentType = response.getFirstHeader(HttpHeaders.CONTENT_TYPE);
+		entity.setContentType(contentType == null? null :contentType.getValue());
+		
+		response.setEntity(entity);
+		
+		return response;
+	}
+}
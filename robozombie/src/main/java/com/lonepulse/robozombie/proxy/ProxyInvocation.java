@@ -29,6 +29,7 @@ import org.apache.http.client.HttpClient;
 import org.apache.http.client.methods.HttpRequestBase;
 
 import com.lonepulse.robozombie.RoboZombieRuntimeException;
+import com.lonepulse.robozombie.annotation.Batch;
 import com.lonepulse.robozombie.executor.RequestExecutors;
 import com.lonepulse.robozombie.processor.Processors;
 
@@ -196,6 +197,10 @@ final class ProxyInvocation implements Invocation {
 	/**
 	 * <p>Allows the request invocation to progress by directing each stage of the process from context 
 	 * instantiation to request processing, onto request execution and finally response handling.</p>
+	 * 
+	 * <p>If an {@link InvocationAdapter} handles the request, the stages are deferred to the adapter and 
+	 * the response is not handled. See {@link InvocationAdapters}. Requests which are identified by 
+	 * @{@link Batch} are collected and executed as a bulk request. See {@link InvocationBatcher}.</p>
 	 *
 	 * @return the result of the invocation as specified by the request definition on the endpoint
 	 * <br><br>
@@ -207,6 +212,25 @@ final class ProxyInvocation implements Invocation {
 	@Override
 	public Object invoke() {
 		
+		if(context.getRequest().isAnnotationPresent(Batch.class)) {
+			
+			return InvocationBatcher.INSTANCE.batch(context);
+		}
+		
+		InvocationAdapter adapter = InvocationAdapters.INSTANCE.resolve(context.getRequest());
+		
+		if(adapter != null) {
+			
+			return adapter.adapt(context, new InvocationAdapter.Execution() {
+				
+				@Override
+				public HttpResponse execute() {
+					
+					return template.executeRequest(context, template.buildRequest(context));
+				}
+			});
+		}
+		
 		HttpRequestBase request = template.buildRequest(context); 
 		HttpResponse response = template.executeRequest(context, request);
 		return response == null? null :template.handleResponse(context, response);
@@ -24,10 +24,15 @@ import static com.lonepulse.robozombie.util.Assert.assertNotNull;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import com.lonepulse.robozombie.Validator;
+import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Batch;
+import com.lonepulse.robozombie.annotation.Detach;
 import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.response.AsyncHandler;
 import com.lonepulse.robozombie.util.Metadata;
 
 /**
@@ -59,6 +64,7 @@ final class Validators {
 	 * 	<li>Mandates interfaces for expressing endpoint definitions ({@link EndpointValidationFailedException})</li>
 	 * 	<li>Checks the existence of an @{@link Endpoint} annotation ({@link MissingEndpointAnnotationException})</li>
 	 * 	<li>Ensures that all method definitions are invokable requests ({@link StrayRequestException})</li>
+	 * 	<li>Checks that batched requests name a valid bulk request ({@link EndpointValidationFailedException})</li>
 	 * </ol>
 	 * 
 	 * @since 1.3.0
@@ -105,6 +111,36 @@ final class Validators {
 					
 					throw new StrayEndpointRequestException(strayRequests);
 				}
+				
+				for (Method requestDefinition : requestDefinitions) {
+					
+					Batch batch = requestDefinition.getAnnotation(Batch.class);
+					
+					Class<?>[] parameterTypes = requestDefinition.getParameterTypes();
+					
+					if(batch != null && (parameterTypes.length == 0 || parameterTypes.length > 2 || 
+					   (parameterTypes.length == 2 && !AsyncHandler.class.isAssignableFrom(parameterTypes[1])) ||
+					   InvocationBatcher.bulk(endpointDefinition, batch) == null)) {
+						
+						throw new EndpointValidationFailedException(new StringBuilder("The batched request <")
+							.append(requestDefinition.getName()).append("> should accept a single key (followed by ")
+							.append("an AsyncHandler if it is asynchronous) and name a bulk request on the same ")
+							.append("endpoint which accepts a java.util.List (or an array) of keys. ").toString());
+					}
+					
+					Method bulk = batch == null? null :InvocationBatcher.bulk(endpointDefinition, batch);
+					
+					if(bulk != null && (bulk.isAnnotationPresent(Async.class) || 
+					   endpointDefinition.isAnnotationPresent(Async.class)) && !(bulk.isAnnotationPresent(Detach.class) && 
+					   Arrays.asList(bulk.getAnnotation(Detach.class).value()).contains(Async.class))) {
+						
+						throw new EndpointValidationFailedException(new StringBuilder("The bulk request <")
+							.append(bulk.getName()).append("> of the batched request <").append(requestDefinition.getName())
+							.append("> is asynchronous. A bulk request is invoked synchronously, hence it should ")
+							.append("not be annotated with @Async and should @Detach(Async.class) on an @Async endpoint. ")
+							.toString());
+					}
+				}
 			}
 			catch(Exception e) {
 				
@@ -28,6 +28,7 @@ import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.apache.http.client.HttpClient;
 import org.apache.http.conn.scheme.PlainSocketFactory;
@@ -37,11 +38,19 @@ import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
 
 import android.util.Log;
 
+import com.lonepulse.robozombie.annotation.Async;
 import com.lonepulse.robozombie.annotation.Bite;
 import com.lonepulse.robozombie.annotation.Config;
 import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.Warmup;
+import com.lonepulse.robozombie.executor.CallbackExecutors;
 import com.lonepulse.robozombie.executor.ConfigurationFailedException;
 import com.lonepulse.robozombie.executor.RequestExecutors;
+import com.lonepulse.robozombie.executor.TlsSocketFactory;
+import com.lonepulse.robozombie.response.AsyncHandler;
+import com.lonepulse.robozombie.transport.LoopbackTransport;
+import com.lonepulse.robozombie.transport.NioTransport;
+import com.lonepulse.robozombie.transport.Transport;
 import com.lonepulse.robozombie.util.Fields;
 
 /**
@@ -99,6 +108,9 @@ public final class Zombie {
 		 * 	<li><b>HTTPS</b> on port <b>443</b> using sockets from {@link SSLSocketFactory#getSocketFactory}</li>
 		 * </ol>
 		 * 
+		 * <p>Configurations which should resume TLS sessions across connections may register a 
+		 * {@link TlsSocketFactory} for <b>HTTPS</b> instead.</p>
+		 * 
 		 * <p>It uses a {@link ThreadSafeClientConnManager} with the following parameters:</p>
 		 * <ol>
 		 * 	<li><b>Redirecting:</b> enabled</li>
@@ -121,6 +133,96 @@ public final class Zombie {
 			
 			return DEFAULT.httpClient();
 		}
+		
+		/**
+		 * <p>The {@link Executor} on which the callbacks of an {@link AsyncHandler} are invoked. Override 
+		 * this to run callbacks where the application needs them, for example on the main thread using 
+		 * {@link CallbackExecutors#mainThread()}, so that slow callbacks do not hold the threads which 
+		 * execute requests.</p>
+		 * 
+		 * <p>The <i>out-of-the-box</i> configuration invokes callbacks directly on the thread which 
+		 * processed the response. See {@link CallbackExecutors#direct()}.</p>
+		 *
+		 * @return the {@link Executor} which runs the callbacks of asynchronous requests
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public Executor callbackExecutor() {
+			
+			return DEFAULT.callbackExecutor();
+		}
+		
+		/**
+		 * <p>The {@link Executor} on which the responses of asynchronous requests are processed (for 
+		 * example, deserialized). Override this to move response processing off the threads which 
+		 * execute requests, for example using {@link CallbackExecutors#pool(int)}.</p>
+		 * 
+		 * <p>The <i>out-of-the-box</i> configuration processes responses directly on the thread which 
+		 * executed the request. See {@link CallbackExecutors#direct()}.</p>
+		 *
+		 * @return the {@link Executor} which processes the responses of asynchronous requests
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public Executor processingExecutor() {
+			
+			return DEFAULT.processingExecutor();
+		}
+		
+		/**
+		 * <p>The {@link Executor} on which asynchronous requests are executed. Override this to run each 
+		 * @{@link Async} request on a virtual thread using {@link CallbackExecutors#virtual()}, so that a 
+		 * blocking execution does not pin a thread of the operating system. Hedged executions of the 
+		 * endpoint's requests are run on the same executor.</p>
+		 * 
+		 * <p>The <i>out-of-the-box</i> configuration returns {@code null}, which executes requests on a 
+		 * shared pool of threads that schedules queued requests by their priority.</p>
+		 *
+		 * @return the {@link Executor} which executes asynchronous requests, else {@code null} to use the 
+		 * 		   shared pool of threads
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public Executor requestExecutor() {
+			
+			return DEFAULT.requestExecutor();
+		}
+		
+		/**
+		 * <p>The {@link Transport} which carries the requests of an endpoint. Override this to execute 
+		 * requests with an alternate transport, for example a {@link NioTransport} which serves a large 
+		 * number of concurrent @{@link Async} requests without holding a thread for each of them, or a 
+		 * {@link LoopbackTransport} which serves requests in memory.</p>
+		 * 
+		 * <p>The <i>out-of-the-box</i> configuration returns {@code null}, which executes requests using 
+		 * the {@link HttpClient} of this configuration. See {@link #httpClient()}.</p>
+		 *
+		 * @return the {@link Transport} which carries the requests of an endpoint, else {@code null} to 
+		 * 		   execute requests using the configured {@link HttpClient}
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public Transport transport() {
+			
+			return DEFAULT.transport();
+		}
+		
+		/**
+		 * <p>The time in <b>milliseconds</b> after which a pooled connection of the {@link HttpClient} is 
+		 * closed if it remains idle. The connection pool is maintained in background, where connections 
+		 * whose <b>Keep-Alive: timeout</b> has expired are closed as well.</p>
+		 * 
+		 * <p>The <i>out-of-the-box</i> configuration closes connections which are idle for <b>30 seconds</b>.</p>
+		 *
+		 * @return the idle timeout of pooled connections in milliseconds, else a value less than or equal 
+		 * 		   to {@code 0} to keep idle connections open until their keep-alive duration expires
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		public long idleConnectionTimeout() {
+			
+			return DEFAULT.idleConnectionTimeout();
+		}
 	}
 	
 	
@@ -370,4 +472,59 @@ public final class Zombie {
 			while(!hierarchyTerminal(type, packagePrefixes));
 		}
 	}
+	
+	/**
+	 * <p>Accepts a list of endpoint interfaces and opens keep-alive connections to the host of each of their 
+	 * @{@link Endpoint}s in background, so that their first requests reuse established connections. The 
+	 * number of connections for each endpoint is specified using @{@link Warmup}, or else the default of 
+	 * <b>2</b> connections is used.</p>
+	 * 
+	 * <p>Endpoints which have not been injected yet are validated and registered with their configuration. 
+	 * An endpoint which fails to be registered is logged and skipped.</p>
+	 * <br>
+	 * <b>Usage:</b>
+	 * <br><br>
+	 * <pre>
+	 * <code>Zombie.warmup(GitHubEndpoint.class, GitHubGistsEndpoint.class);</code>
+	 * </pre>
+	 * 
+	 * @param endpoint
+	 * 			the {@link Class} of an endpoint interface whose connections are to be warmed up
+	 * <br><br>
+	 * @param moreEndpoints
+	 * 			the {@link Class}es of more endpoint interfaces whose connections are to be warmed up
+	 * <br><br>
+	 * @throws NullPointerException
+	 * 			if the endpoint interface supplied for warming up is {@code null} 
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static void warmup(Class<?> endpoint, Class<?>... moreEndpoints) {
+		
+		assertNotNull(endpoint);
+		
+		List<Class<?>> endpoints = new ArrayList<Class<?>>();
+		endpoints.add(endpoint);
+		
+		if(moreEndpoints != null && moreEndpoints.length > 0) {
+			
+			endpoints.addAll(Arrays.asList(moreEndpoints));
+		}
+		
+		for (Class<?> endpointInterface : endpoints) {
+			
+			try {
+				
+				EndpointProxyFactory.INSTANCE.create(endpointInterface);
+				RequestExecutors.CONFIGURATION.warmup(endpointInterface);
+			}
+			catch(Exception e) {
+				
+				Log.e(Zombie.class.getName(), new StringBuilder()
+				.append("Failed to warm up the connections of endpoint ")
+				.append(endpointInterface == null? null :endpointInterface.getName())
+				.append(". ").toString(), e);
+			}
+		}
+	}
 }
@@ -0,0 +1,168 @@
+package com.lonepulse.robozombie.request;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.message.BasicHeader;
+import org.apache.http.protocol.HTTP;
+
+import com.lonepulse.robozombie.annotation.Compress;
+import com.lonepulse.robozombie.annotation.Compress.Encoding;
+
+/**
+ * <p>An {@link HttpEntity} which <b>compresses</b> the content of another entity as it is written to 
+ * the connection, for requests which are identified by @{@link Compress}. Since the length of the 
+ * compressed content is unknown in advance, it is sent using the <i>chunked</i> transfer-encoding.</p>
+ * 
+ * <p><b>Note</b> that transports which read the entity via {@link #getContent()} instead of writing it 
+ * receive a buffer of the compressed content.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+final class CompressedEntity extends HttpEntityWrapper {
+	
+	
+	/**
+	 * <p>A {@link GZIPOutputStream} which compresses with the given level.</p>
+	 */
+	private static final class GzipOutputStream extends GZIPOutputStream {
+		
+		
+		private GzipOutputStream(OutputStream outputStream, int level) throws IOException {
+			
+			super(outputStream);
+			def.setLevel(level);
+		}
+		
+		/**
+		 * <p>Releases the native resources of the {@link Deflater}, whether or not compression finished.</p>
+		 */
+		private void end() {
+			
+			def.end();
+		}
+	}
+	
+	
+	private final Encoding encoding;
+	
+	private final int level;
+	
+	
+	/**
+	 * <p>Creates a new {@link CompressedEntity} which compresses the content of the given entity.</p>
+	 *
+	 * @param entity
+	 * 			the {@link HttpEntity} whose content is to be compressed
+	 * <br><br>
+	 * @param encoding
+	 * 			the {@link Encoding} which is used to compress the content
+	 * <br><br>
+	 * @param level
+	 * 			the compression level in the range <b>1 - 9</b>, else <b>-1</b> for the default level
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	CompressedEntity(HttpEntity entity, Encoding encoding, int level) {
+		
+		super(entity);
+		
+		this.encoding = encoding;
+		this.level = (level < 1 || level > 9)? Deflater.DEFAULT_COMPRESSION :level;
+	}
+	
+	@Override
+	public void writeTo(OutputStream outputStream) throws IOException {
+		
+		Deflater deflater = (encoding == Encoding.GZIP)? null :new Deflater(level);
+		GzipOutputStream gzip = null;
+		
+		try {
+			
+			DeflaterOutputStream compressor = (deflater == null)? 
+				new GzipOutputStream(outputStream, level) :new DeflaterOutputStream(outputStream, deflater);
+			
+			if(compressor instanceof GzipOutputStream) {
+				
+				gzip = (GzipOutputStream)compressor;
+			}
+			
+			wrappedEntity.writeTo(compressor);
+			
+			compressor.finish();
+			compressor.flush();
+		}
+		finally {
+			
+			if(gzip != null) {
+				
+				gzip.end();
+			}
+			
+			if(deflater != null) {
+				
+				deflater.end();
+			}
+		}
+	}
+	
+	@Override
+	public InputStream getContent() throws IOException {
+		
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		writeTo(content);
+		
+		return new ByteArrayInputStream(content.toByteArray());
+	}
+	
+	@Override
+	public long getContentLength() {
+		
+		return -1L;
+	}
+	
+	@Override
+	public boolean isChunked() {
+		
+		return true;
+	}
+	
+	@Override
+	public Header getContentEncoding() {
+		
+		return new BasicHeader(HTTP.CONTENT_ENCODING, encoding.getName());
+	}
+}
@@ -0,0 +1,96 @@
+package com.lonepulse.robozombie.request;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.File;
+import java.util.Map;
+
+import org.apache.http.client.methods.HttpRequestBase;
+
+import com.lonepulse.robozombie.annotation.Download;
+import com.lonepulse.robozombie.proxy.InvocationContext;
+import com.lonepulse.robozombie.util.Downloads;
+
+/**
+ * <p>This {@link AbstractRequestProcessor} <b>resumes</b> an interrupted download to the file identified 
+ * by @{@link Download}. If part of the content was already written to the file, a <b>Range</b> header 
+ * requests the remaining bytes and an <b>If-Range</b> header validates them against the response which 
+ * was interrupted.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+final class DownloadProcessor extends AbstractRequestProcessor {
+	
+	
+	/**
+	 * <p>Accepts the {@link InvocationContext} along with an {@link HttpRequestBase} and adds the headers 
+	 * which resume an interrupted download, if the request has a @{@link Download} destination whose 
+	 * validator was recorded (see {@link Downloads#validator(File)}).</p>
+	 * 
+	 * <p>Downloads which have not begun, which have completed, or whose response did not provide a 
+	 * validator are requested in full.</p>
+	 * 
+	 * @param context
+	 * 			the {@link InvocationContext} which is used to discover the @{@link Download} argument
+	 * <br><br>
+	 * @param request
+	 * 			the {@link HttpRequestBase} to which the <b>Range</b> and <b>If-Range</b> headers are added 
+	 * <br><br>
+ 	 * @return the same instance of {@link HttpRequestBase} which was given for processing
+	 * <br><br>
+	 * @throws RequestProcessorException
+	 * 			if the @{@link Download} argument is not a {@link File}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	protected HttpRequestBase process(InvocationContext context, HttpRequestBase request) {
+		
+		try {
+			
+			Map.Entry<Download, Object> download = Downloads.find(context);
+			
+			if(download == null || !download.getKey().resume()) {
+				
+				return request;
+			}
+			
+			File file = (File)download.getValue();
+			String validator = Downloads.validator(file);
+			
+			if(validator != null && file.length() > 0) {
+				
+				request.setHeader("Range", "bytes=" + file.length() + "-");
+				request.setHeader("If-Range", validator);
+			}
+			
+			return request;
+		}
+		catch(Exception e) {
+			
+			throw new RequestProcessorException(context, getClass(), e);
+		}
+	}
+}
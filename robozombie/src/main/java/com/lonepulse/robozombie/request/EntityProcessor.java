@@ -31,9 +31,11 @@ import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.client.methods.HttpEntityEnclosingRequestBase;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.HTTP;
 import org.apache.http42.HttpHeaders;
 import org.apache.http42.entity.ContentType;
 
+import com.lonepulse.robozombie.annotation.Compress;
 import com.lonepulse.robozombie.annotation.Entity;
 import com.lonepulse.robozombie.annotation.Serialize;
 import com.lonepulse.robozombie.proxy.InvocationContext;
@@ -46,7 +48,8 @@ import com.lonepulse.robozombie.util.Metadata;
  * the enclosing entity for an {@link HttpEntityEnclosingRequest} into the body of the request.</p>
  * 
  * <p>It identifies an @{@link Entity} annotation on a parameter of an endpoint interface method and 
- * inserts the value as the body in the resulting {@link HttpEntityEnclosingRequest}.</p>
+ * inserts the value as the body in the resulting {@link HttpEntityEnclosingRequest}. If the request is 
+ * identified by @{@link Compress}, the entity is compressed as it is sent.</p>
  * 
  * @version 1.2.0
  * <br><br>
@@ -131,7 +134,7 @@ class EntityProcessor extends AbstractRequestProcessor {
 				((HttpEntityEnclosingRequestBase)request).setHeader(
 					HttpHeaders.CONTENT_TYPE, ContentType.getOrDefault(httpEntity).getMimeType());
 				
-				((HttpEntityEnclosingRequestBase)request).setEntity(httpEntity);
+				((HttpEntityEnclosingRequestBase)request).setEntity(compress(context, request, httpEntity));
 			}
 		}
 		catch(MissingEntityException mee) { //violates HTTP 1.1 specification, be more verbose 
@@ -172,4 +175,31 @@ class EntityProcessor extends AbstractRequestProcessor {
 		
 		return request;
 	}
+	
+	/**
+	 * <p>Wraps the given {@link HttpEntity} in a {@link CompressedEntity} if the request is identified 
+	 * by @{@link Compress} and the length of the entity is not below the compression threshold.</p>
+	 */
+	private static HttpEntity compress(InvocationContext context, HttpRequestBase request, HttpEntity httpEntity) {
+		
+		Compress metadata = (metadata = 
+			context.getRequest().getAnnotation(Compress.class)) == null? 
+				context.getEndpoint().getAnnotation(Compress.class) :metadata;
+		
+		if(metadata == null || isDetached(context, Compress.class)) {
+			
+			return httpEntity;
+		}
+		
+		long length = httpEntity.getContentLength();
+		
+		if(length >= 0 && length < metadata.threshold()) {
+			
+			return httpEntity;
+		}
+		
+		request.setHeader(HTTP.CONTENT_ENCODING, metadata.value().getName());
+		
+		return new CompressedEntity(httpEntity, metadata.value(), metadata.level());
+	}
 }
@@ -26,6 +26,7 @@ import static com.lonepulse.robozombie.util.Assert.assertNotEmpty;
 import org.apache.http.HttpEntity;
 import org.apache.http.client.methods.HttpRequestBase;
 
+import com.lonepulse.robozombie.annotation.Download;
 import com.lonepulse.robozombie.annotation.Entity;
 import com.lonepulse.robozombie.annotation.FormParam;
 import com.lonepulse.robozombie.annotation.PathParam;
@@ -45,6 +46,7 @@ import com.lonepulse.robozombie.proxy.InvocationContext;
  * <ol>
  * 	<li>{@link UriProcessor} - builds the URI from the endpoint and sub-path and fills @{@link PathParam}s</li>
  * 	<li>{@link HeaderProcessor} - populates all static and dynamic HTTP headers</li>
+ * 	<li>{@link DownloadProcessor} - requests the remainder of an interrupted @{@link Download}</li>
  *  <li>{@link QueryParamProcessor} - appends a query-string formulated for any @{@link QueryParam}s</li>
  *  <li>{@link FormParamProcessor} - inserts a form-url-encoded query-string for any @{@link FormParam}s</li>
  *  <li>{@link EntityProcessor} - inserts the {@link HttpEntity} identified using @{@link Entity}</li>
@@ -88,6 +90,7 @@ public final class RequestProcessorChain extends AbstractProcessorChain<HttpRequ
 		super(new ProcessorChainFactory<HttpRequestBase, RequestProcessorException>().newInstance(
 			  new UriProcessor(), 
 			  new HeaderProcessor(),
+			  new DownloadProcessor(),
 			  new QueryParamProcessor(), 
 			  new FormParamProcessor(), 
 			  new EntityProcessor(),
@@ -20,9 +20,13 @@ package com.lonepulse.robozombie.response;
  * #L%
  */
 
+import java.nio.ByteBuffer;
+
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 
+import com.lonepulse.robozombie.annotation.Priority;
+import com.lonepulse.robozombie.executor.Cancellation;
 import com.lonepulse.robozombie.proxy.InvocationException;
 
 /**
@@ -34,6 +38,13 @@ import com.lonepulse.robozombie.proxy.InvocationException;
  * 	<li>{@link #onSuccess(HttpResponse, Object)} - handle a successful execution</li>
  * 	<li>{@link #onFailure(HttpResponse)} - handle a failed response</li>
  * 	<li>{@link #onError(InvocationException)} - handle an erroneous execution</li>
+ * 	<li>{@link #onCancel()} - handle a cancelled execution</li>
+ * </ul>
+ * 
+ * <p>Large responses may be consumed with constant memory by overriding the optional callbacks:</p>
+ * <ul>
+ * 	<li>{@link #onChunk(HttpResponse, ByteBuffer)} - receive the content in chunks as it arrives</li>
+ * 	<li>{@link #onProgress(long, long)} - track the number of bytes which were read</li>
  * </ul>
  * 
  * @version 1.2.0
@@ -44,6 +55,49 @@ import com.lonepulse.robozombie.proxy.InvocationException;
  */
 public abstract class AsyncHandler<RESPONSE> {
 
+	
+	private final Integer priority;
+	
+	
+	/**
+	 * <p>Creates a new {@link AsyncHandler} whose request is scheduled with the priority given by an 
+	 * @{@link Priority} on the request or endpoint, if any.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public AsyncHandler() {
+		
+		this.priority = null;
+	}
+	
+	/**
+	 * <p>Creates a new {@link AsyncHandler} whose request is scheduled with the given priority, which 
+	 * takes precedence over any @{@link Priority} on the request or endpoint.</p>
+	 * 
+	 * @param priority
+	 * 			the scheduling priority of the request; see {@link Priority#LOW}, {@link Priority#NORMAL} 
+	 * 			and {@link Priority#HIGH}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public AsyncHandler(int priority) {
+		
+		this.priority = priority;
+	}
+	
+	/**
+	 * <p>Retrieves the scheduling priority which was assigned to this invocation.</p>
+	 * 
+	 * @return the scheduling priority, else {@code null} if none was assigned using 
+	 * 		   {@link #AsyncHandler(int)}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public Integer getPriority() {
+		
+		return priority;
+	}
+	
 	/**
 	 * <p>Use this callback to handle a <i>successful request execution</i>.</p> 
 	 * 
@@ -92,4 +146,82 @@ public abstract class AsyncHandler<RESPONSE> {
 	 * @since 1.3.0
 	 */
 	public void onError(InvocationException errorContext){}
-}
\ No newline at end of file
+	
+	/**
+	 * <p>Use this callback to handle the <i>cancellation</i> of a request execution which was requested 
+	 * via a {@link Cancellation}. None of the other callbacks are invoked for a cancelled request.</p>
+	 * 
+	 * <p><b>Note</b> that the default implementation does absolutely nothing and that this callback may 
+	 * be invoked on the thread which cancelled the request.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public void onCancel(){}
+	
+	/**
+	 * <p>Use this callback to receive the response content in <i>chunks</i> as it is read from the 
+	 * connection, for example to pipe a large download into a decoder or a file. If this callback is 
+	 * overridden, the content is <b>not</b> deserialized and {@link #onSuccess(HttpResponse, Object)} is 
+	 * invoked with {@code null} content once the last chunk was delivered.</p>
+	 * 
+	 * <p><b>Note</b> that the given buffer is reused for the next chunk, hence its content must be 
+	 * consumed or copied before this callback returns. Chunks are delivered in order on the thread which 
+	 * reads the response. If this callback throws an exception, the connection is closed and the exception 
+	 * is reported to {@link #onError(InvocationException)}.</p>
+	 * 
+	 * @param response
+	 * 			the successful {@link HttpResponse} whose content is being read
+	 * <br><br>
+	 * @param chunk
+	 * 			a read-only {@link ByteBuffer} holding the next chunk of content
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public void onChunk(HttpResponse response, ByteBuffer chunk){}
+	
+	/**
+	 * <p>Use this callback to track the <i>progress</i> of reading a successful response's content. 
+	 * Progress is reported whenever at least another percent of the content has been read (or another 
+	 * 64 KiB if the content length is unknown) and once more when the content has been read fully.</p>
+	 * 
+	 * <p><b>Note</b> that the default implementation does absolutely nothing. Progress is reported on the 
+	 * thread which reads the response, whether or not {@link #onChunk(HttpResponse, ByteBuffer)} is used.</p>
+	 * 
+	 * @param bytesRead
+	 * 			the number of bytes of content which were read so far
+	 * <br><br>
+	 * @param contentLength
+	 * 			the <b>Content-Length</b> of the response, else {@code -1} if it is unknown
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public void onProgress(long bytesRead, long contentLength){}
+	
+	/**
+	 * <p>Determines whether this handler overrides {@link #onChunk(HttpResponse, ByteBuffer)}.</p>
+	 */
+	boolean isChunked() {
+		
+		return overrides("onChunk", HttpResponse.class, ByteBuffer.class);
+	}
+	
+	/**
+	 * <p>Determines whether this handler overrides {@link #onProgress(long, long)}.</p>
+	 */
+	boolean isProgressive() {
+		
+		return overrides("onProgress", long.class, long.class);
+	}
+	
+	private boolean overrides(String callback, Class<?>... parameterTypes) {
+		
+		try {
+			
+			return getClass().getMethod(callback, parameterTypes).getDeclaringClass() != AsyncHandler.class;
+		}
+		catch(NoSuchMethodException nsme) {
+			
+			return false;
+		}
+	}
+}
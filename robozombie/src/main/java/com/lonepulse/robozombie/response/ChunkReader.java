@@ -0,0 +1,250 @@
+package com.lonepulse.robozombie.response;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.HttpEntityWrapper;
+
+import com.lonepulse.robozombie.proxy.InvocationContext;
+
+/**
+ * <p>Reads the content of a successful response <b>progressively</b> for an {@link AsyncHandler} which 
+ * overrides {@link AsyncHandler#onChunk(HttpResponse, ByteBuffer)} or 
+ * {@link AsyncHandler#onProgress(long, long)}. Chunks are delivered from a single reusable buffer, so 
+ * that large responses are consumed with constant memory, and progress is throttled to at most one 
+ * report for each percent of the content.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum ChunkReader {
+	
+	
+	/**
+	 * <p>The {@link ChunkReader} which reads all progressive responses.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	private static final int CHUNK_SIZE = 8 * 1024;
+	
+	private static final long UNKNOWN_LENGTH_INTERVAL = 64 * 1024;
+	
+	
+	/**
+	 * <p>Tracks the number of bytes read from an entity and reports progress once the throttling 
+	 * interval has been exceeded.</p>
+	 */
+	private static final class Progress {
+		
+		
+		private final AsyncHandler<?> handler;
+		
+		private final long contentLength;
+		
+		private final long interval;
+		
+		private long bytesRead;
+		
+		private long reported = -1L;
+		
+		
+		private Progress(AsyncHandler<?> handler, long contentLength) {
+			
+			this.handler = handler;
+			this.contentLength = contentLength;
+			this.interval = contentLength > 0? Math.max(contentLength / 100, 1) :UNKNOWN_LENGTH_INTERVAL;
+		}
+		
+		private void advance(int count) {
+			
+			bytesRead += count;
+			
+			if(bytesRead - Math.max(reported, 0) >= interval) {
+				
+				report();
+			}
+		}
+		
+		private void complete() {
+			
+			if(reported != bytesRead) {
+				
+				report();
+			}
+		}
+		
+		private void report() {
+			
+			reported = bytesRead;
+			handler.onProgress(bytesRead, contentLength);
+		}
+	}
+	
+	/**
+	 * <p>An {@link InputStream} which reports the progress of reading the content of an entity.</p>
+	 */
+	private static final class ProgressInputStream extends FilterInputStream {
+		
+		
+		private final Progress progress;
+		
+		
+		private ProgressInputStream(InputStream inputStream, Progress progress) {
+			
+			super(inputStream);
+			this.progress = progress;
+		}
+		
+		@Override
+		public int read() throws IOException {
+			
+			int data = super.read();
+			
+			if(data < 0) {
+				
+				progress.complete();
+			}
+			else {
+				
+				progress.advance(1);
+			}
+			
+			return data;
+		}
+		
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			
+			int count = super.read(buffer, offset, length);
+			
+			if(count < 0) {
+				
+				progress.complete();
+			}
+			else {
+				
+				progress.advance(count);
+			}
+			
+			return count;
+		}
+	}
+	
+	
+	/**
+	 * <p>Reads the content of the given {@link HttpResponse} in chunks and delivers each one to 
+	 * {@link AsyncHandler#onChunk(HttpResponse, ByteBuffer)}, reporting progress along the way.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} of the request whose response is read
+	 * <br><br>
+	 * @param response
+	 * 			the successful {@link HttpResponse} whose content is read
+	 * <br><br>
+	 * @param handler
+	 * 			the {@link AsyncHandler} which receives the chunks
+	 * <br><br>
+	 * @throws DeserializerException
+	 * 			if the content could not be read
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void read(InvocationContext context, HttpResponse response, AsyncHandler<?> handler) {
+		
+		HttpEntity entity = response.getEntity();
+		
+		try {
+			
+			Progress progress = new Progress(handler, entity.getContentLength());
+			InputStream inputStream = entity.getContent();
+			
+			try {
+				
+				byte[] buffer = new byte[CHUNK_SIZE];
+				ByteBuffer chunk = ByteBuffer.wrap(buffer);
+				
+				for (int count; (count = inputStream.read(buffer)) != -1; ) {
+					
+					if(count > 0) {
+						
+						chunk.clear().limit(count);
+						handler.onChunk(response, chunk.asReadOnlyBuffer());
+						
+						progress.advance(count);
+					}
+				}
+				
+				progress.complete();
+			}
+			finally {
+				
+				inputStream.close();
+			}
+		}
+		catch(Exception e) {
+			
+			throw new DeserializerException(new StringBuilder("Failed to read the chunks of request <")
+			.append(context.getRequest().getName())
+			.append("> on endpoint <")
+			.append(context.getEndpoint().getName())
+			.append(">").toString(), e);
+		}
+	}
+	
+	/**
+	 * <p>Replaces the entity of the given {@link HttpResponse} with one which reports the progress of 
+	 * reading its content to {@link AsyncHandler#onProgress(long, long)} as it is being deserialized.</p>
+	 *
+	 * @param response
+	 * 			the successful {@link HttpResponse} whose content is to be tracked
+	 * <br><br>
+	 * @param handler
+	 * 			the {@link AsyncHandler} which receives the progress
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void track(HttpResponse response, AsyncHandler<?> handler) {
+		
+		final HttpEntity entity = response.getEntity();
+		final Progress progress = new Progress(handler, entity.getContentLength());
+		
+		response.setEntity(new HttpEntityWrapper(entity) {
+			
+			@Override
+			public InputStream getContent() throws IOException {
+				
+				return new ProgressInputStream(entity.getContent(), progress);
+			}
+		});
+	}
+}
@@ -0,0 +1,321 @@
+package com.lonepulse.robozombie.response;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.entity.HttpEntityWrapper;
+
+/**
+ * <p>An {@link HttpEntity} which <b>decompresses</b> the content of a response which was sent with the 
+ * <b>Content-Encoding</b> <i>gzip</i> or <i>deflate</i>. The content is decoded as a stream while it is 
+ * being read, hence deserializers receive the original content without buffering the compressed form.</p>
+ * 
+ * <p>The number of bytes which were read from the connection and the number of bytes which they were 
+ * decoded to are counted as the content is consumed. These are available via {@link #getEncodedLength()} 
+ * and {@link #getDecodedLength()}; for example on an {@link org.apache.http.HttpResponse} which is 
+ * returned from a request or passed to an {@link AsyncHandler}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class DecodedEntity extends HttpEntityWrapper {
+	
+	
+	/**
+	 * <p>An {@link InputStream} which counts the bytes which are read from it.</p>
+	 */
+	private final class CountingInputStream extends FilterInputStream {
+		
+		
+		private final boolean encoded;
+		
+		
+		private CountingInputStream(InputStream inputStream, boolean encoded) {
+			
+			super(inputStream);
+			this.encoded = encoded;
+		}
+		
+		@Override
+		public int read() throws IOException {
+			
+			int data = super.read();
+			count(data < 0? 0 :1);
+			
+			return data;
+		}
+		
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			
+			int count = super.read(buffer, offset, length);
+			count(count < 0? 0 :count);
+			
+			return count;
+		}
+		
+		private void count(int count) {
+			
+			if(encoded) {
+				
+				encodedLength += count;
+			}
+			else {
+				
+				decodedLength += count;
+			}
+		}
+	}
+	
+	
+	/**
+	 * <p>An {@link InflaterInputStream} which releases the native resources of its {@link Inflater} 
+	 * when it is closed, since an {@link Inflater} which is supplied to the stream is not ended by it.</p>
+	 */
+	private static final class InflatingInputStream extends InflaterInputStream {
+		
+		
+		private InflatingInputStream(InputStream inputStream, Inflater inflater) {
+			
+			super(inputStream, inflater);
+		}
+		
+		@Override
+		public void close() throws IOException {
+			
+			try {
+				
+				super.close();
+			}
+			finally {
+				
+				inf.end();
+			}
+		}
+	}
+	
+	
+	private final String encoding;
+	
+	private InputStream content;
+	
+	private volatile long encodedLength;
+	
+	private volatile long decodedLength;
+	
+	
+	/**
+	 * <p>Creates a new {@link DecodedEntity} which decodes the content of the given entity.</p>
+	 *
+	 * @param entity
+	 * 			the {@link HttpEntity} whose content is compressed
+	 * <br><br>
+	 * @param encoding
+	 * 			the <b>Content-Encoding</b> of the entity, which is one of <i>gzip</i>, <i>x-gzip</i> 
+	 * 			or <i>deflate</i>
+	 * <br><br>
+	 * @throws IllegalArgumentException
+	 * 			if the given encoding is not supported (see {@link #isSupported(String)})
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public DecodedEntity(HttpEntity entity, String encoding) {
+		
+		super(entity);
+		
+		if(!isSupported(encoding)) {
+			
+			throw new IllegalArgumentException("The Content-Encoding <" + encoding + "> is not supported");
+		}
+		
+		this.encoding = encoding.trim().toLowerCase(Locale.ENGLISH);
+	}
+	
+	/**
+	 * <p>Determines whether content with the given <b>Content-Encoding</b> can be decoded.</p>
+	 *
+	 * @param encoding
+	 * 			the value of a <b>Content-Encoding</b> header
+	 * <br><br>
+	 * @return {@code true} if the encoding is <i>gzip</i>, <i>x-gzip</i> or <i>deflate</i>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static boolean isSupported(String encoding) {
+		
+		if(encoding == null) {
+			
+			return false;
+		}
+		
+		String name = encoding.trim().toLowerCase(Locale.ENGLISH);
+		
+		return name.equals("gzip") || name.equals("x-gzip") || name.equals("deflate");
+	}
+	
+	/**
+	 * <p>Returns a stream of the <b>decoded</b> content. The same stream is returned for each invocation, 
+	 * since the content of the wrapped entity can only be read once.</p>
+	 * 
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized InputStream getContent() throws IOException {
+		
+		if(content == null) {
+			
+			InputStream encoded = new CountingInputStream(wrappedEntity.getContent(), true);
+			
+			content = new CountingInputStream(decode(encoded), false);
+		}
+		
+		return content;
+	}
+	
+	private InputStream decode(InputStream inputStream) throws IOException {
+		
+		PushbackInputStream pushbackInputStream = new PushbackInputStream(inputStream, 2);
+		
+		byte[] header = new byte[2];
+		int length = 0;
+		
+		for (int count; length < header.length //a short read may deliver the header one byte at a time
+			 && (count = pushbackInputStream.read(header, length, header.length - length)) != -1; ) {
+			
+			length += count;
+		}
+		
+		if(length <= 0) { //an empty body (e.g. 204, 304 or HEAD) has no compressed stream to decode
+			
+			return pushbackInputStream;
+		}
+		
+		pushbackInputStream.unread(header, 0, length);
+		
+		if(!encoding.equals("deflate")) {
+			
+			return new GZIPInputStream(pushbackInputStream);
+		}
+		
+		//"deflate" should be a zlib stream (RFC 1950), although some servers send raw deflate data
+		boolean zlib = length == 2 && (header[0] & 0x0F) == 8 
+				&& (((header[0] & 0xFF) << 8) | (header[1] & 0xFF)) % 31 == 0;
+		
+		return new InflatingInputStream(pushbackInputStream, new Inflater(!zlib));
+	}
+	
+	/**
+	 * <p>Writes the <b>decoded</b> content to the given {@link OutputStream}.</p>
+	 * 
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void writeTo(OutputStream outputStream) throws IOException {
+		
+		InputStream inputStream = getContent();
+		
+		try {
+			
+			byte[] buffer = new byte[4096];
+			
+			for (int count; (count = inputStream.read(buffer)) != -1; ) {
+				
+				outputStream.write(buffer, 0, count);
+			}
+		}
+		finally {
+			
+			inputStream.close();
+		}
+	}
+	
+	/**
+	 * <p>The length of the decoded content is unknown until it has been read.</p>
+	 * 
+	 * @return {@code -1}
+	 */
+	@Override
+	public long getContentLength() {
+		
+		return -1L;
+	}
+	
+	/**
+	 * <p>The decoded content has no <b>Content-Encoding</b>.</p>
+	 * 
+	 * @return {@code null}
+	 */
+	@Override
+	public Header getContentEncoding() {
+		
+		return null;
+	}
+	
+	/**
+	 * <p>Returns the <b>Content-Encoding</b> which this entity decodes.</p>
+	 *
+	 * @return the content encoding, which is one of <i>gzip</i>, <i>x-gzip</i> or <i>deflate</i>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public String getEncoding() {
+		
+		return encoding;
+	}
+	
+	/**
+	 * <p>Returns the number of <b>compressed</b> bytes which were read from the connection so far.</p>
+	 *
+	 * @return the number of bytes read before decompression
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public long getEncodedLength() {
+		
+		return encodedLength;
+	}
+	
+	/**
+	 * <p>Returns the number of <b>decompressed</b> bytes which were delivered so far.</p>
+	 *
+	 * @return the number of bytes read after decompression
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public long getDecodedLength() {
+		
+		return decodedLength;
+	}
+}
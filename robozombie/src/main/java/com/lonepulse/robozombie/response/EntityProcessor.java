@@ -24,16 +24,21 @@ import static com.lonepulse.robozombie.util.Components.isDetached;
 import static com.lonepulse.robozombie.util.Is.async;
 import static com.lonepulse.robozombie.util.Is.status;
 import static com.lonepulse.robozombie.util.Is.successful;
+import static com.lonepulse.robozombie.util.Metadata.findArgument;
 
+import java.io.File;
 import java.lang.reflect.Method;
+import java.util.Map;
 
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http42.util.EntityUtils;
 
 import com.lonepulse.robozombie.annotation.Deserialize;
+import com.lonepulse.robozombie.annotation.Download;
 import com.lonepulse.robozombie.annotation.Entity.ContentType;
 import com.lonepulse.robozombie.proxy.InvocationContext;
+import com.lonepulse.robozombie.util.Downloads;
 
 /**
  * <p>This {@link AbstractResponseProcessor} retrieves the {@link HttpEntity} of an {@link HttpResponse} 
@@ -59,6 +64,14 @@ class EntityProcessor extends AbstractResponseProcessor {
 	 * <p>If the desired return type is {@link HttpResponse} or {@link HttpEntity} the response or entity 
 	 * is simply returned without any further processing.</p>
 	 * 
+	 * <p>If a {@link StreamHandler} is passed to an asynchronous request, the content is read as a stream 
+	 * of records which are delivered to the handler, and {@code null} is returned once the stream ends. 
+	 * Likewise, if the {@link AsyncHandler} receives chunks via {@link AsyncHandler#onChunk(HttpResponse, 
+	 * java.nio.ByteBuffer)}, the content is delivered in chunks instead of being deserialized.</p>
+	 * 
+	 * <p>If the request identifies a {@link File} with @{@link Download}, the content is written to the 
+	 * file and the file is returned.</p>
+	 * 
 	 * <p><b>Note</b> that this processor returns {@code null} for successful responses with the status 
 	 * codes {@code 205} or {@code 205}.</p>
 	 * 
@@ -102,11 +115,37 @@ class EntityProcessor extends AbstractResponseProcessor {
 					return response.getEntity();
 				}
 			
+				Map.Entry<Download, Object> download = Downloads.find(context);
+				
+				if(download != null) {
+					
+					return FileDownloader.INSTANCE.download(context, response, (File)download.getValue());
+				}
+				
 				boolean responseExpected = !(responseType.equals(void.class) || responseType.equals(Void.class));
 				boolean handleAsync = async(context);
 				
 				if(handleAsync || responseExpected) {
 					
+					AsyncHandler<?> asyncHandler = handleAsync? findArgument(AsyncHandler.class, context) :null;
+					
+					if(asyncHandler instanceof StreamHandler) {
+						
+						StreamDeserializer.INSTANCE.deserialize(context, response, streamHandler(asyncHandler));
+						return null;
+					}
+					
+					if(asyncHandler != null && asyncHandler.isChunked()) {
+						
+						ChunkReader.INSTANCE.read(context, response, asyncHandler);
+						return null;
+					}
+					
+					if(asyncHandler != null && asyncHandler.isProgressive()) {
+						
+						ChunkReader.INSTANCE.track(response, asyncHandler);
+					}
+					
 					Class<?> endpoint = context.getEndpoint();
 					AbstractDeserializer<?> deserializer = null;
 			
@@ -148,4 +187,10 @@ class EntityProcessor extends AbstractResponseProcessor {
 		
 		return content;
 	}
+	
+	@SuppressWarnings("unchecked") //safe cast, since records are delivered as the handler's type argument
+	private static StreamHandler<Object> streamHandler(AsyncHandler<?> asyncHandler) {
+		
+		return (StreamHandler<Object>)asyncHandler;
+	}
 }
@@ -0,0 +1,178 @@
+package com.lonepulse.robozombie.response;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static com.lonepulse.robozombie.util.Is.status;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+
+import com.lonepulse.robozombie.annotation.Download;
+import com.lonepulse.robozombie.proxy.InvocationContext;
+import com.lonepulse.robozombie.util.Downloads;
+
+/**
+ * <p>Writes the content of a successful response to the {@link File} identified by @{@link Download}. 
+ * The content is transferred from the connection using {@link FileChannel#transferFrom(ReadableByteChannel, 
+ * long, long)}, hence it is never held on the heap in full. A response with the status <b>206 Partial 
+ * Content</b> is appended at the offset given by its <b>Content-Range</b>, whereas any other response 
+ * replaces the content of the file. If the content was already written by a download which was split 
+ * into parts, the file is returned as is.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum FileDownloader {
+	
+	
+	/**
+	 * <p>The {@link FileDownloader} which writes all downloads.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	private static final long TRANSFER_SIZE = 64 * 1024;
+	
+	
+	/**
+	 * <p>Downloads the content of the given {@link HttpResponse} to the given {@link File}.</p>
+	 * 
+	 * <p>The validator of the response is recorded before any content is written and is discarded once 
+	 * all of the content was written, so that an interrupted download may be resumed.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} of the download request
+	 * <br><br>
+	 * @param response
+	 * 			the successful {@link HttpResponse} whose content is downloaded
+	 * <br><br>
+	 * @param file
+	 * 			the destination {@link File}
+	 * <br><br>
+	 * @return the given {@link File}, once the download has completed
+	 * <br><br>
+	 * @throws DeserializerException
+	 * 			if the content could not be written or was truncated
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	File download(InvocationContext context, HttpResponse response, File file) {
+		
+		HttpEntity entity = response.getEntity();
+		
+		if(Downloads.isDownloaded(entity)) {
+			
+			return file;
+		}
+		
+		try {
+			
+			long offset = 0;
+			
+			if(status(response, 206)) {
+				
+				offset = offset(response, file);
+			}
+			
+			File directory = file.getAbsoluteFile().getParentFile();
+			
+			if(directory != null && !directory.isDirectory() && !directory.mkdirs()) {
+				
+				throw new IOException("Failed to create the directory <" + directory + ">");
+			}
+			
+			Downloads.begin(file, Downloads.validator(response));
+			
+			RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+			ReadableByteChannel source = Channels.newChannel(entity.getContent());
+			
+			long position = offset;
+			
+			try {
+				
+				FileChannel destination = randomAccessFile.getChannel();
+				destination.truncate(offset);
+				
+				for (long count; (count = destination.transferFrom(source, position, TRANSFER_SIZE)) > 0; ) {
+					
+					position += count;
+				}
+			}
+			finally {
+				
+				source.close();
+				randomAccessFile.close();
+			}
+			
+			long contentLength = entity.getContentLength();
+			
+			if(contentLength >= 0 && position - offset != contentLength) {
+				
+				throw new IOException(new StringBuilder("The download was interrupted after ")
+				.append(position - offset).append(" of ").append(contentLength).append(" bytes").toString());
+			}
+			
+			Downloads.complete(file);
+			
+			return file;
+		}
+		catch(Exception e) {
+			
+			throw new DeserializerException(new StringBuilder("Failed to download the content of request <")
+			.append(context.getRequest().getName())
+			.append("> on endpoint <")
+			.append(context.getEndpoint().getName())
+			.append("> to <")
+			.append(file)
+			.append(">").toString(), e);
+		}
+	}
+	
+	private static long offset(HttpResponse response, File file) throws IOException {
+		
+		long offset = Downloads.offset(response);
+		
+		if(offset < 0) {
+			
+			throw new IOException("A partial response was received without a valid Content-Range");
+		}
+		
+		if(offset > file.length()) {
+			
+			throw new IOException(new StringBuilder("The partial content begins at byte ").append(offset)
+			.append(", but only ").append(file.length()).append(" bytes were downloaded").toString());
+		}
+		
+		return offset;
+	}
+}
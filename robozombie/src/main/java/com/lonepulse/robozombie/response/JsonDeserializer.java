@@ -155,8 +155,7 @@ final class JsonDeserializer extends AbstractDeserializer<Object> {
 		
 		try {
 			
-			return entity == null? null :Gson_fromJson.invoke(gson, EntityUtils.toString(entity), 
-					TypeToken_getType.invoke(TypeToken_GET.invoke(null, context.getRequest().getGenericReturnType())));
+			return entity == null? null :fromJson(EntityUtils.toString(entity), context.getRequest().getGenericReturnType());
 		} 
 		catch(Exception e) {
 			
@@ -167,4 +166,34 @@ final class JsonDeserializer extends AbstractDeserializer<Object> {
 			.append(">").toString(), e);
 		}
 	}
+	
+	/**
+	 * <p>Parses the given JSON String using <b>GSON</b> to an instance of the given {@link Type}.</p>
+	 *
+	 * @param json
+	 * 			the JSON String which is to be parsed
+	 * <br><br>
+	 * @param type
+	 * 			the generic {@link Type} of the model which the JSON String represents
+	 * <br><br>
+	 * @return the model which was parsed from the given JSON String
+	 * <br><br>
+	 * @throws IllegalStateException 
+	 * 			if the <b>GSON library</b> was not found on the classpath or if an incompatible version 
+	 * 			of the library is being used
+	 * <br><br>
+	 * @throws Exception
+	 * 			if the JSON String could not be parsed to the given {@link Type}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	static Object fromJson(String json, Type type) throws Exception {
+		
+		if(unavailable || incompatible) {
+			
+			throw new IllegalStateException(unavailable? ERROR_CONTEXT_UNAVAILABLE :ERROR_CONTEXT_INCOMPATIBLE);
+		}
+		
+		return Gson_fromJson.invoke(gson, json, TypeToken_getType.invoke(TypeToken_GET.invoke(null, type)));
+	}
 }
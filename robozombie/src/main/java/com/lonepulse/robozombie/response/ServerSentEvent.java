@@ -0,0 +1,126 @@
+package com.lonepulse.robozombie.response;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/**
+ * <p>Represents a single event of a <a href="http://www.w3.org/TR/eventsource/">Server-Sent Events</a> 
+ * stream (<b>text/event-stream</b>). See {@link StreamHandler}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public final class ServerSentEvent {
+	
+	
+	private final String id;
+	
+	private final String event;
+	
+	private final String data;
+	
+	private final long retry;
+	
+	
+	/**
+	 * <p>Creates a new {@link ServerSentEvent} with the given fields.</p>
+	 *
+	 * @param id
+	 * 			the last event identifier of the stream, else {@code null} if none was sent
+	 * <br><br>
+	 * @param event
+	 * 			the type of the event; <b>"message"</b> if none was sent
+	 * <br><br>
+	 * @param data
+	 * 			the data of the event, with multiple data lines joined by a line feed
+	 * <br><br>
+	 * @param retry
+	 * 			the reconnection time in milliseconds, else {@code -1} if none was sent
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public ServerSentEvent(String id, String event, String data, long retry) {
+		
+		this.id = id;
+		this.event = event;
+		this.data = data;
+		this.retry = retry;
+	}
+	
+	/**
+	 * <p>Returns the last event identifier of the stream as of this event.</p>
+	 *
+	 * @return the event identifier, else {@code null} if none was sent
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public String getId() {
+		
+		return id;
+	}
+	
+	/**
+	 * <p>Returns the type of this event.</p>
+	 *
+	 * @return the type of the event, which defaults to <b>"message"</b>
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public String getEvent() {
+		
+		return event;
+	}
+	
+	/**
+	 * <p>Returns the data of this event.</p>
+	 *
+	 * @return the data of the event, with multiple data lines joined by a line feed
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public String getData() {
+		
+		return data;
+	}
+	
+	/**
+	 * <p>Returns the reconnection time which the server advised along with this event.</p>
+	 *
+	 * @return the reconnection time in milliseconds, else {@code -1} if none was sent
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public long getRetry() {
+		
+		return retry;
+	}
+	
+	@Override
+	public String toString() {
+		
+		return new StringBuilder("ServerSentEvent [id=").append(id)
+			.append(", event=").append(event)
+			.append(", data=").append(data)
+			.append(", retry=").append(retry).append("]").toString();
+	}
+}
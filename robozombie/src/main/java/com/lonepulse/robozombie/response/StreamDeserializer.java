@@ -0,0 +1,237 @@
+package com.lonepulse.robozombie.response;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Locale;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.util.EntityUtils;
+
+import com.lonepulse.robozombie.proxy.InvocationContext;
+
+/**
+ * <p>Reads the records of a <b>streamed response</b> incrementally and delivers each one to the 
+ * {@link StreamHandler} of the invocation. Content of type <b>text/event-stream</b> is parsed as 
+ * <i>Server-Sent Events</i>; any other content is read as a sequence of lines, such as <i>newline-delimited 
+ * JSON</i> (<b>application/x-ndjson</b>), where each non-blank line is a record.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+enum StreamDeserializer {
+	
+	
+	/**
+	 * <p>The {@link StreamDeserializer} which reads all streamed responses.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	INSTANCE;
+	
+	
+	private static final String EVENT_STREAM = "text/event-stream";
+	
+	private static final String DEFAULT_EVENT = "message";
+	
+	
+	/**
+	 * <p>Reads the records of the given {@link HttpResponse} until the server closes the stream and 
+	 * delivers each record to the given {@link StreamHandler} on the calling thread.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} of the streamed request
+	 * <br><br>
+	 * @param response
+	 * 			the {@link HttpResponse} whose content is streamed
+	 * <br><br>
+	 * @param handler
+	 * 			the {@link StreamHandler} which receives each record
+	 * <br><br>
+	 * @throws DeserializerException
+	 * 			if the stream could not be read or if a record could not be deserialized
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void deserialize(InvocationContext context, HttpResponse response, StreamHandler<Object> handler) {
+		
+		HttpEntity entity = response.getEntity();
+		
+		if(entity == null) {
+			
+			return;
+		}
+		
+		Type recordType = recordType(handler);
+		
+		try {
+			
+			String charset = EntityUtils.getContentCharSet(entity);
+			
+			BufferedReader reader = new BufferedReader(
+				new InputStreamReader(entity.getContent(), charset == null? "UTF-8" :charset));
+			
+			try {
+				
+				if(eventStream(entity)) {
+					
+					events(reader, recordType, handler);
+				}
+				else {
+					
+					lines(reader, recordType, handler);
+				}
+			}
+			finally {
+				
+				reader.close();
+			}
+		}
+		catch(Exception e) {
+			
+			throw new DeserializerException(new StringBuilder("Failed to read the stream of request <")
+			.append(context.getRequest().getName())
+			.append("> on endpoint <")
+			.append(context.getEndpoint().getName())
+			.append(">").toString(), e);
+		}
+	}
+	
+	private static void lines(BufferedReader reader, Type recordType, StreamHandler<Object> handler) 
+	throws Exception {
+		
+		for (String line; (line = reader.readLine()) != null; ) {
+			
+			if(line.trim().length() > 0) {
+				
+				handler.onRecord(recordType == ServerSentEvent.class? 
+					new ServerSentEvent(null, DEFAULT_EVENT, line, -1L) :record(line, recordType));
+			}
+		}
+	}
+	
+	private static void events(BufferedReader reader, Type recordType, StreamHandler<Object> handler) 
+	throws Exception {
+		
+		String id = null, event = null;
+		StringBuilder data = new StringBuilder();
+		long retry = -1L;
+		
+		boolean pending = false;
+		
+		for (String line; (line = reader.readLine()) != null; ) {
+			
+			if(line.length() == 0) { //dispatch the event
+				
+				if(pending) {
+					
+					String content = data.length() > 0? data.substring(0, data.length() - 1) :"";
+					
+					handler.onRecord(recordType == ServerSentEvent.class? 
+						new ServerSentEvent(id, event == null? DEFAULT_EVENT :event, content, retry) 
+						:record(content, recordType));
+				}
+				
+				event = null;
+				data.setLength(0);
+				retry = -1L;
+				pending = false;
+				
+				continue;
+			}
+			
+			if(line.startsWith(":")) {
+				
+				continue; //a comment, which is often sent as a heartbeat
+			}
+			
+			int colon = line.indexOf(':');
+			
+			String field = colon < 0? line :line.substring(0, colon);
+			String value = colon < 0? "" :line.substring(colon + 1);
+			
+			if(value.startsWith(" ")) {
+				
+				value = value.substring(1);
+			}
+			
+			if("data".equals(field)) {
+				
+				data.append(value).append('\n');
+				pending = true;
+			}
+			else if("event".equals(field)) {
+				
+				event = value;
+			}
+			else if("id".equals(field) && value.indexOf('\0') < 0) {
+				
+				id = value;
+			}
+			else if("retry".equals(field) && value.matches("\\d+")) {
+				
+				retry = Long.parseLong(value);
+			}
+		}
+	}
+	
+	private static Object record(String content, Type recordType) throws Exception {
+		
+		return recordType == String.class || recordType == Object.class? 
+				content :JsonDeserializer.fromJson(content, recordType);
+	}
+	
+	private static boolean eventStream(HttpEntity entity) {
+		
+		Header contentType = entity.getContentType();
+		
+		return contentType != null && 
+			   contentType.getValue().toLowerCase(Locale.ENGLISH).startsWith(EVENT_STREAM);
+	}
+	
+	private static Type recordType(StreamHandler<?> handler) {
+		
+		for (Class<?> type = handler.getClass(); type != null && type != StreamHandler.class; type = type.getSuperclass()) {
+			
+			Type supertype = type.getGenericSuperclass();
+			
+			if(supertype instanceof ParameterizedType 
+			   && ((ParameterizedType)supertype).getRawType() == StreamHandler.class) {
+				
+				Type recordType = ((ParameterizedType)supertype).getActualTypeArguments()[0];
+				
+				return (recordType instanceof Class || recordType instanceof ParameterizedType)? 
+						recordType :String.class;
+			}
+		}
+		
+		return String.class;
+	}
+}
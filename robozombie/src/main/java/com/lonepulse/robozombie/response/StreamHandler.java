@@ -0,0 +1,121 @@
+package com.lonepulse.robozombie.response;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import org.apache.http.HttpResponse;
+
+import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.executor.Cancellation;
+import com.lonepulse.robozombie.proxy.Zombie;
+
+/**
+ * <p>An {@link AsyncHandler} for <b>streamed responses</b> whose content is a sequence of records, such 
+ * as <i>newline-delimited JSON</i> (<b>application/x-ndjson</b>) or <i>Server-Sent Events</i> 
+ * (<b>text/event-stream</b>). Records are read incrementally from the open connection and each one is 
+ * delivered to {@link #onRecord(Object)} as soon as it arrives, so that long-lived feeds may be consumed 
+ * and large feeds are never held in memory.</p>
+ * 
+ * <p>The type argument of the handler determines how each record is delivered:</p>
+ * <ul>
+ * 	<li>{@link String} - the raw line of an NDJSON stream or the data of an event</li>
+ * 	<li>{@link ServerSentEvent} - the complete event, including its type and identifier</li>
+ * 	<li>any other type - the JSON line or the JSON data of an event is deserialized using <b>GSON</b></li>
+ * </ul>
+ * 
+ * <p>The connection is kept open until the server closes it, whereupon 
+ * {@link #onSuccess(HttpResponse, Object)} is invoked with {@code null} content. To close it earlier, 
+ * pass a {@link Cancellation} to the request and cancel it; {@link #onCancel()} is then invoked instead.</p>
+ * 
+ * <p><b>Note</b> that streamed requests must be @{@link Async}. Records are delivered in order on the 
+ * thread which reads the stream, which occupies a thread of the processing executor for the lifetime of 
+ * the stream (see {@link Zombie.Configuration#processingExecutor()}). Long-lived feeds should configure 
+ * a socket timeout which exceeds the interval between records.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br>
+ * <br>
+ * <code>
+ * <pre>@Async @GET("/events")
+ *void events(StreamHandler&lt;ServerSentEvent&gt; handler, Cancellation cancellation);</pre>
+ * </code>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public abstract class StreamHandler<RECORD> extends AsyncHandler<RECORD> {
+	
+	
+	/**
+	 * <p>Creates a new {@link StreamHandler} whose request is scheduled with the default priority.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public StreamHandler() {
+		
+		super();
+	}
+	
+	/**
+	 * <p>Creates a new {@link StreamHandler} whose request is scheduled with the given priority. See 
+	 * {@link AsyncHandler#AsyncHandler(int)}.</p>
+	 *
+	 * @param priority
+	 * 			the scheduling priority of the request
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public StreamHandler(int priority) {
+		
+		super(priority);
+	}
+	
+	/**
+	 * <p>Use this callback to handle each <i>record</i> of the stream as it arrives.</p>
+	 * 
+	 * <p>If this callback throws an exception, the stream is closed and the exception is reported to 
+	 * {@link #onError(com.lonepulse.robozombie.proxy.InvocationException)}.</p>
+	 *
+	 * @param record
+	 * 			the next record of the stream
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public abstract void onRecord(RECORD record);
+	
+	/**
+	 * <p>Invoked once the server has closed the stream and all of its records have been delivered.</p>
+	 * 
+	 * <p><b>Note</b> that the default implementation does absolutely nothing.</p>
+	 * 
+	 * @param response
+	 * 			the {@link HttpResponse} of the stream
+	 * <br><br>
+	 * @param content
+	 * 			always {@code null}, since the content was delivered as records
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public void onSuccess(HttpResponse response, RECORD content) {}
+}
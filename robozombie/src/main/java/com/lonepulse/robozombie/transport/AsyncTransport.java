@@ -0,0 +1,95 @@
+package com.lonepulse.robozombie.transport;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.HttpContext;
+
+import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Stateful;
+
+/**
+ * <p>A {@link Transport} which is capable of executing requests <b>without blocking</b> the invoking 
+ * thread. The requests of @{@link Async} endpoints which use such a transport do not hold a thread of 
+ * the asynchronous executor while they wait for their responses.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public interface AsyncTransport extends Transport {
+	
+	
+	/**
+	 * <p>Receives the outcome of a request which was executed by an {@link AsyncTransport}. Exactly one 
+	 * of the callbacks is invoked for each execution.</p>
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @since 1.3.4
+	 * <br><br>
+	 * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+	 */
+	interface Callback {
+		
+		/**
+		 * <p>Invoked once the complete response has been received.</p>
+		 *
+		 * @param response
+		 * 			the {@link HttpResponse} which resulted from the execution
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		void onResponse(HttpResponse response);
+		
+		/**
+		 * <p>Invoked if the request could not be executed or if it was aborted.</p>
+		 *
+		 * @param error
+		 * 			the {@link Exception} which caused the execution to fail
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		void onError(Exception error);
+	}
+	
+	
+	/**
+	 * <p>Initiates the execution of the given {@link HttpRequestBase} and returns <b>immediately</b>. 
+	 * The outcome is delivered to the given {@link Callback}.</p>
+	 *
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is to be executed
+	 * <br><br>
+	 * @param context
+	 * 			the {@link HttpContext} of a @{@link Stateful} endpoint, else {@code null}
+	 * <br><br>
+	 * @param callback
+	 * 			the {@link Callback} which receives the outcome of the execution
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	void execute(HttpRequestBase request, HttpContext context, Callback callback);
+}
@@ -0,0 +1,98 @@
+package com.lonepulse.robozombie.transport;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.lonepulse.robozombie.util.Assert.assertNotNull;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.HttpClient;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.protocol.HttpContext;
+
+import com.lonepulse.robozombie.proxy.Zombie;
+
+/**
+ * <p>The default {@link Transport} which executes requests using an {@link HttpClient}. Unless another 
+ * transport is configured, requests are executed with the {@link HttpClient} which is supplied by 
+ * {@link Zombie.Configuration#httpClient()}.</p>
+ * 
+ * <p>See {@link HttpClient#execute(HttpUriRequest, HttpContext)}</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class HttpClientTransport implements Transport {
+	
+	
+	private final HttpClient httpClient;
+	
+	
+	/**
+	 * <p>Creates a new {@link HttpClientTransport} which executes requests using the given 
+	 * {@link HttpClient}.</p>
+	 *
+	 * @param httpClient
+	 * 			the {@link HttpClient} which is used to execute requests
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public HttpClientTransport(HttpClient httpClient) {
+		
+		this.httpClient = assertNotNull(httpClient);
+	}
+	
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public HttpResponse execute(HttpRequestBase request, HttpContext context) throws Exception {
+		
+		return context != null? httpClient.execute(request, context) :httpClient.execute(request);
+	}
+	
+	/**
+	 * <p>Shuts down the connection manager of the {@link HttpClient}.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public void shutdown() {
+		
+		httpClient.getConnectionManager().shutdown();
+	}
+	
+	/**
+	 * <p>Retrieves the {@link HttpClient} which is used to execute requests.</p>
+	 *
+	 * @return the {@link HttpClient} of this transport
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public HttpClient getHttpClient() {
+		
+		return httpClient;
+	}
+}
@@ -0,0 +1,338 @@
+package com.lonepulse.robozombie.transport;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.lonepulse.robozombie.util.Assert.assertNotNull;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.EnglishReasonPhraseCatalog;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * <p>An <b>in-memory</b> {@link Transport} which dispatches requests to registered {@link Handler}s 
+ * without opening any sockets. It can stand in for a backend in tests, or be used to measure the 
+ * request and response processing of endpoints without the noise of a network.</p>
+ * 
+ * <p>Handlers are registered for a request method and a path. A path which ends with <b>*</b> matches 
+ * all paths which start with the preceding prefix; exact paths take precedence over prefixes, which are 
+ * matched in the order of registration. Requests which do not match any handler receive a response with 
+ * the status <b>404 Not Found</b>.</p>
+ * <br>
+ * <b>Usage:</b>
+ * <br><br>
+ * <code>
+ * <pre>public Transport transport() {<br>
+ *&nbsp;&nbsp;return new LoopbackTransport().register("GET", "/users/*", new Handler() {<br>
+ *&nbsp;&nbsp;&nbsp;&nbsp;public HttpResponse handle(HttpRequestBase request, HttpContext context) {<br>
+ *&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;&nbsp;return LoopbackTransport.response(200, "{\"login\": \"sahan\"}");<br>
+ *&nbsp;&nbsp;&nbsp;&nbsp;}<br>
+ *&nbsp;&nbsp;});<br>}</pre>
+ * </code>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class LoopbackTransport implements Transport {
+	
+	
+	/**
+	 * <p>Serves the requests which are dispatched to it by a {@link LoopbackTransport}. Handlers are 
+	 * invoked on the thread which executes the request and should be thread-safe.</p>
+	 * 
+	 * @version 1.1.0
+	 * <br><br>
+	 * @since 1.3.4
+	 * <br><br>
+	 * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+	 */
+	public static interface Handler {
+		
+		/**
+		 * <p>Serves the given request and produces its response.</p>
+		 *
+		 * @param request
+		 * 			the fully processed {@link HttpRequestBase} which is to be served
+		 * <br><br>
+		 * @param context
+		 * 			the {@link HttpContext} of a stateful endpoint, else {@code null}
+		 * <br><br>
+		 * @return the {@link HttpResponse} for the request
+		 * <br><br>
+		 * @throws Exception
+		 * 			to simulate a failed request execution
+		 * <br><br>
+		 * @since 1.3.4
+		 */
+		HttpResponse handle(HttpRequestBase request, HttpContext context) throws Exception;
+	}
+	
+	private static final class Route {
+		
+		
+		private final String method;
+		
+		private final String prefix;
+		
+		private final Handler handler;
+		
+		
+		private Route(String method, String prefix, Handler handler) {
+			
+			this.method = method;
+			this.prefix = prefix;
+			this.handler = handler;
+		}
+	}
+	
+	
+	private static final String ANY = "*";
+	
+	
+	private final Map<String, Handler> exactRoutes = new ConcurrentHashMap<String, Handler>();
+	
+	private final CopyOnWriteArrayList<Route> prefixRoutes = new CopyOnWriteArrayList<Route>();
+	
+	private volatile boolean running = true;
+	
+	
+	/**
+	 * <p>Registers a {@link Handler} for requests with the given method and path.</p>
+	 *
+	 * @param method
+	 * 			the request method (such as <b>GET</b>) to be served, else <b>*</b> for any method
+	 * <br><br>
+	 * @param path
+	 * 			the exact path to be served, or a prefix which ends with <b>*</b>
+	 * <br><br>
+	 * @param handler
+	 * 			the {@link Handler} which serves matching requests
+	 * <br><br>
+	 * @return this {@link LoopbackTransport} for chaining further registrations
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public LoopbackTransport register(String method, String path, Handler handler) {
+		
+		String verb = assertNotNull(method).toUpperCase(Locale.ENGLISH);
+		
+		assertNotNull(path);
+		assertNotNull(handler);
+		
+		if(path.endsWith(ANY)) {
+			
+			prefixRoutes.add(new Route(verb, path.substring(0, path.length() - 1), handler));
+		}
+		else {
+			
+			exactRoutes.put(verb + " " + path, handler);
+		}
+		
+		return this;
+	}
+	
+	/**
+	 * <p>Registers a {@link Handler} for requests of <b>any method</b> with the given path.</p>
+	 * 
+	 * <p>See {@link #register(String, String, Handler)}</p>
+	 *
+	 * @param path
+	 * 			the exact path to be served, or a prefix which ends with <b>*</b>
+	 * <br><br>
+	 * @param handler
+	 * 			the {@link Handler} which serves matching requests
+	 * <br><br>
+	 * @return this {@link LoopbackTransport} for chaining further registrations
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public LoopbackTransport register(String path, Handler handler) {
+		
+		return register(ANY, path, handler);
+	}
+	
+	/**
+	 * <p>Dispatches the given {@link HttpRequestBase} to the {@link Handler} which was registered for 
+	 * its method and path.</p>
+	 * 
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is to be served
+	 * <br><br>
+	 * @param context
+	 * 			the {@link HttpContext} which is passed on to the {@link Handler}
+	 * <br><br>
+	 * @return the {@link HttpResponse} of the {@link Handler}, else a response with the status 
+	 * 		   <b>404 Not Found</b> if no {@link Handler} matches the request
+	 * <br><br>
+	 * @throws IOException
+	 * 			if the request was aborted or if this transport was shut down
+	 * <br><br>
+	 * @throws Exception
+	 * 			if the {@link Handler} failed to serve the request
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public HttpResponse execute(HttpRequestBase request, HttpContext context) throws Exception {
+		
+		if(!running) {
+			
+			throw new IOException(getClass().getSimpleName() + " has been shut down");
+		}
+		
+		if(request.isAborted()) {
+			
+			throw new IOException("The request was aborted");
+		}
+		
+		Handler handler = route(request.getMethod(), request.getURI().getPath());
+		
+		if(handler == null) {
+			
+			return response(HttpStatus.SC_NOT_FOUND, null);
+		}
+		
+		HttpResponse response = handler.handle(request, context);
+		
+		if(response == null) {
+			
+			throw new IOException("The handler for " + request.getRequestLine() + " returned no response");
+		}
+		
+		return response;
+	}
+	
+	private Handler route(String method, String path) {
+		
+		String target = (path == null || path.length() == 0)? "/" :path;
+		
+		Handler handler = exactRoutes.get(method + " " + target);
+		
+		if(handler == null) {
+			
+			handler = exactRoutes.get(ANY + " " + target);
+		}
+		
+		if(handler == null) {
+			
+			for (Route route : prefixRoutes) {
+				
+				if((route.method.equals(ANY) || route.method.equals(method)) && target.startsWith(route.prefix)) {
+					
+					return route.handler;
+				}
+			}
+		}
+		
+		return handler;
+	}
+	
+	/**
+	 * <p>Discards all registered {@link Handler}s. Any subsequent requests will fail.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public void shutdown() {
+		
+		running = false;
+		
+		exactRoutes.clear();
+		prefixRoutes.clear();
+	}
+	
+	/**
+	 * <p>Creates an {@link HttpResponse} with the given status code and a <b>text/plain</b> body, 
+	 * which is encoded using <b>UTF-8</b>.</p>
+	 *
+	 * @param status
+	 * 			the status code of the response
+	 * <br><br>
+	 * @param content
+	 * 			the body of the response, else {@code null} for a response without a body
+	 * <br><br>
+	 * @return a new {@link HttpResponse} with the given status and body
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static HttpResponse response(int status, String content) {
+		
+		try {
+			
+			return response(status, content == null? null :content.getBytes(HTTP.UTF_8), 
+					HTTP.PLAIN_TEXT_TYPE + HTTP.CHARSET_PARAM + HTTP.UTF_8);
+		}
+		catch(UnsupportedEncodingException uee) {
+			
+			throw new IllegalStateException(uee);
+		}
+	}
+	
+	/**
+	 * <p>Creates an {@link HttpResponse} with the given status code and body.</p>
+	 *
+	 * @param status
+	 * 			the status code of the response
+	 * <br><br>
+	 * @param content
+	 * 			the body of the response, else {@code null} for a response without a body
+	 * <br><br>
+	 * @param contentType
+	 * 			the value of the <i>Content-Type</i> header which describes the body
+	 * <br><br>
+	 * @return a new {@link HttpResponse} with the given status and body
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static HttpResponse response(int status, byte[] content, String contentType) {
+		
+		BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, status, 
+				EnglishReasonPhraseCatalog.INSTANCE.getReason(status, Locale.ENGLISH));
+		
+		if(content != null) {
+			
+			ByteArrayEntity entity = new ByteArrayEntity(content);
+			entity.setContentType(contentType);
+			
+			response.setEntity(entity);
+			response.setHeader(HTTP.CONTENT_TYPE, contentType);
+			response.setHeader(HTTP.CONTENT_LEN, String.valueOf(content.length));
+		}
+		
+		return response;
+	}
+}
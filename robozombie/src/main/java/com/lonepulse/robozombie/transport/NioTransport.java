@@ -0,0 +1,1176 @@
+package com.lonepulse.robozombie.transport;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.HttpVersion;
+import org.apache.http.NoHttpResponseException;
+import org.apache.http.StatusLine;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicLineParser;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.util.EntityUtils;
+
+import android.util.Log;
+
+import com.lonepulse.robozombie.executor.ConfigurationFailedException;
+
+/**
+ * <p>A <b>non-blocking</b> {@link AsyncTransport} which is built on {@link java.nio} channels. All 
+ * connections are multiplexed by a single {@link Selector} loop, so that thousands of concurrent 
+ * requests share a handful of threads. Completed exchanges are delivered on a small pool of completion 
+ * threads, which keeps slow callbacks from stalling the selector loop.</p>
+ * 
+ * <p>Connections are kept alive and reused for subsequent requests to the same host and port when the 
+ * response permits it. Responses with a <i>Content-Length</i>, a <i>chunked</i> transfer-coding or a 
+ * body which is delimited by the closure of the connection are supported, and each response entity is 
+ * buffered in memory before it is delivered.</p>
+ * 
+ * <p>The connection and socket timeouts of a request are read from its parameters (see 
+ * {@link HttpConnectionParams}) and fall back to the timeouts of this transport. Aborting a request via 
+ * {@link HttpRequestBase#abort()} closes its connection.</p>
+ * 
+ * <p><b>Note</b> that this transport speaks plain <b>HTTP/1.1</b> only. It does not support the 
+ * <i>https</i> scheme, proxies, redirection or cookie management; the {@link HttpContext} of a request 
+ * is ignored.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class NioTransport implements AsyncTransport {
+	
+	
+	private static final int DEFAULT_TIMEOUT = 30 * 1000;
+	
+	private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 32;
+	
+	private static final long IDLE_TIMEOUT = 30 * 1000L;
+	
+	private static final long SWEEP_INTERVAL = 100L;
+	
+	private static final int BUFFER_SIZE = 8 * 1024;
+	
+	private static final Charset ASCII = Charset.forName("US-ASCII");
+	
+	private static final byte[] CRLF = {'\r', '\n'};
+	
+	private static final byte[] CRLFCRLF = {'\r', '\n', '\r', '\n'};
+	
+	
+	/**
+	 * <p>Marks a connection which is kept alive in the pool while it waits for its next request.</p>
+	 */
+	private static final class Idle {
+		
+		
+		private final String route;
+		
+		private final long since = System.currentTimeMillis();
+		
+		
+		private Idle(String route) {
+			
+			this.route = route;
+		}
+	}
+	
+	/**
+	 * <p>Carries a single request over a pooled or a new connection and assembles its response. All 
+	 * state transitions occur on the selector thread, except for an abort which may be issued by any 
+	 * thread.</p>
+	 */
+	private final class Exchange implements ConnectionReleaseTrigger {
+		
+		
+		private final HttpRequestBase request;
+		
+		private final Callback callback;
+		
+		private final boolean inline;
+		
+		private final String route;
+		
+		private final InetSocketAddress address;
+		
+		private final ByteBuffer out;
+		
+		private final int connectTimeout;
+		
+		private final int readTimeout;
+		
+		private final AtomicBoolean settled = new AtomicBoolean();
+		
+		private volatile SocketChannel channel;
+		
+		private boolean connecting;
+		
+		private boolean reused;
+		
+		private long deadline;
+		
+		private byte[] in = new byte[BUFFER_SIZE];
+		
+		private int length;
+		
+		private int headLength = -1;
+		
+		private StatusLine statusLine;
+		
+		private Header[] headers;
+		
+		private boolean bodiless;
+		
+		private boolean chunked;
+		
+		private long contentLength = -1L;
+		
+		private int cursor;
+		
+		private long chunkRemaining = -1L;
+		
+		private boolean trailers;
+		
+		private ByteArrayOutputStream decoded;
+		
+		
+		private Exchange(HttpRequestBase request, Callback callback, boolean inline) throws IOException {
+			
+			URI uri = request.getURI();
+			
+			if(uri == null || !"http".equalsIgnoreCase(uri.getScheme())) {
+				
+				throw new IOException(NioTransport.class.getSimpleName() + 
+					" supports only the http scheme; unable to execute " + uri);
+			}
+			
+			int port = uri.getPort() < 0? 80 :uri.getPort();
+			
+			this.request = request;
+			this.callback = callback;
+			this.inline = inline;
+			this.route = uri.getHost() + ":" + port;
+			this.address = new InetSocketAddress(uri.getHost(), port);
+			this.out = encode(request, uri);
+			
+			int connectTimeout = HttpConnectionParams.getConnectionTimeout(request.getParams());
+			int readTimeout = HttpConnectionParams.getSoTimeout(request.getParams());
+			
+			this.connectTimeout = connectTimeout > 0? connectTimeout :NioTransport.this.connectTimeout;
+			this.readTimeout = readTimeout > 0? readTimeout :NioTransport.this.readTimeout;
+		}
+		
+		private void start() {
+			
+			if(settled.get()) {
+				
+				return;
+			}
+			
+			long now = System.currentTimeMillis();
+			
+			try {
+				
+				SelectionKey key = lease(route);
+				
+				if(key != null) {
+					
+					reused = true;
+					channel = (SocketChannel)key.channel();
+					key.attach(this);
+					key.interestOps(SelectionKey.OP_WRITE);
+					deadline = now + readTimeout;
+				}
+				else {
+					
+					SocketChannel channel = SocketChannel.open();
+					channel.configureBlocking(false);
+					channel.socket().setTcpNoDelay(true);
+					
+					this.channel = channel;
+					this.connecting = !channel.connect(address);
+					
+					channel.register(selector, connecting? SelectionKey.OP_CONNECT :SelectionKey.OP_WRITE, this);
+					deadline = now + (connecting? connectTimeout :readTimeout);
+				}
+				
+				if(settled.get()) {
+					
+					close();
+				}
+			}
+			catch(Exception e) {
+				
+				fail(e);
+			}
+		}
+		
+		private void ready(SelectionKey key) {
+			
+			try {
+				
+				if(settled.get()) {
+					
+					close();
+				}
+				else if(key.isConnectable()) {
+					
+					if(channel.finishConnect()) {
+						
+						connecting = false;
+						key.interestOps(SelectionKey.OP_WRITE);
+						deadline = System.currentTimeMillis() + readTimeout;
+					}
+				}
+				else if(key.isWritable()) {
+					
+					channel.write(out);
+					
+					if(!out.hasRemaining()) {
+						
+						key.interestOps(SelectionKey.OP_READ);
+					}
+					
+					deadline = System.currentTimeMillis() + readTimeout;
+				}
+				else if(key.isReadable()) {
+					
+					read(key);
+				}
+			}
+			catch(Exception e) {
+				
+				fail(e);
+			}
+		}
+		
+		private void read(SelectionKey key) throws IOException {
+			
+			boolean eof = false;
+			
+			while(true) {
+				
+				scratch.clear();
+				int count = channel.read(scratch);
+				
+				if(count < 0) {
+					
+					eof = true;
+					break;
+				}
+				
+				if(count == 0) {
+					
+					break;
+				}
+				
+				scratch.flip();
+				
+				if(length + count > in.length) {
+					
+					in = Arrays.copyOf(in, Math.max(in.length * 2, length + count));
+				}
+				
+				scratch.get(in, length, count);
+				length += count;
+			}
+			
+			deadline = System.currentTimeMillis() + readTimeout;
+			
+			if(eof && reused && length == 0) {
+				
+				retry(key); //the pooled connection was closed by the server while it was idle
+				return;
+			}
+			
+			if(headLength < 0 && !head()) {
+				
+				if(eof) {
+					
+					fail(new NoHttpResponseException("The target server failed to respond"));
+				}
+				
+				return;
+			}
+			
+			if(complete(eof)) {
+				
+				finish(key);
+			}
+			else if(eof) {
+				
+				fail(new IOException("The connection was closed before the response was complete"));
+			}
+		}
+		
+		private void retry(SelectionKey key) {
+			
+			key.attach(null);
+			close();
+			
+			reused = false;
+			out.rewind();
+			
+			start();
+		}
+		
+		private boolean head() {
+			
+			while(true) {
+				
+				int end = indexOf(in, 0, length, CRLFCRLF);
+				
+				if(end < 0) {
+					
+					return false;
+				}
+				
+				String[] lines = new String(in, 0, end, ASCII).split("\r\n");
+				
+				statusLine = BasicLineParser.parseStatusLine(lines[0], null);
+				headers = new Header[lines.length - 1];
+				
+				for (int i = 1; i < lines.length; i++) {
+					
+					headers[i - 1] = BasicLineParser.parseHeader(lines[i], null);
+				}
+				
+				headLength = end + CRLFCRLF.length;
+				
+				int status = statusLine.getStatusCode();
+				
+				if(status >= 100 && status < 200) { //discard interim responses, such as 100-continue
+					
+					length -= headLength;
+					System.arraycopy(in, headLength, in, 0, length);
+					headLength = -1;
+					
+					continue;
+				}
+				
+				bodiless = "HEAD".equalsIgnoreCase(request.getMethod()) || 
+						   status == HttpStatus.SC_NO_CONTENT || status == HttpStatus.SC_NOT_MODIFIED;
+				
+				String transferEncoding = header(HTTP.TRANSFER_ENCODING);
+				String contentLength = header(HTTP.CONTENT_LEN);
+				
+				chunked = transferEncoding != null && transferEncoding.toLowerCase().contains(HTTP.CHUNK_CODING);
+				this.contentLength = (chunked || contentLength == null)? -1L :Long.parseLong(contentLength.trim());
+				
+				cursor = headLength;
+				
+				return true;
+			}
+		}
+		
+		private boolean complete(boolean eof) throws IOException {
+			
+			if(bodiless) {
+				
+				return true;
+			}
+			
+			if(chunked) {
+				
+				return dechunk();
+			}
+			
+			if(contentLength >= 0) {
+				
+				return length - headLength >= contentLength;
+			}
+			
+			return eof;
+		}
+		
+		private boolean dechunk() throws IOException {
+			
+			if(decoded == null) {
+				
+				decoded = new ByteArrayOutputStream(BUFFER_SIZE);
+			}
+			
+			while(true) {
+				
+				if(chunkRemaining > 0) {
+					
+					int count = (int)Math.min(chunkRemaining, length - cursor);
+					
+					decoded.write(in, cursor, count);
+					cursor += count;
+					chunkRemaining -= count;
+					
+					if(chunkRemaining > 0) {
+						
+						return false;
+					}
+				}
+				
+				int end = indexOf(in, cursor, length, CRLF);
+				
+				if(end < 0) {
+					
+					return false;
+				}
+				
+				String line = new String(in, cursor, end - cursor, ASCII).trim();
+				cursor = end + CRLF.length;
+				
+				if(chunkRemaining == 0) { //the delimiter which follows the data of a chunk
+					
+					chunkRemaining = -1L;
+				}
+				else if(trailers) {
+					
+					if(line.length() == 0) {
+						
+						return true;
+					}
+				}
+				else {
+					
+					int extension = line.indexOf(';');
+					long size = Long.parseLong(extension < 0? line :line.substring(0, extension).trim(), 16);
+					
+					if(size < 0) {
+						
+						throw new IOException("Invalid chunk size: " + line);
+					}
+					
+					trailers = size == 0;
+					chunkRemaining = trailers? -1L :size;
+				}
+			}
+		}
+		
+		private void finish(SelectionKey key) {
+			
+			BasicHttpResponse response = new BasicHttpResponse(statusLine);
+			response.setHeaders(headers);
+			
+			if(!bodiless) {
+				
+				byte[] content = chunked? decoded.toByteArray() 
+						:Arrays.copyOfRange(in, headLength, contentLength < 0? length :headLength + (int)contentLength);
+				
+				ByteArrayEntity entity = new ByteArrayEntity(content);
+				entity.setContentType(response.getFirstHeader(HTTP.CONTENT_TYPE));
+				entity.setContentEncoding(response.getFirstHeader(HTTP.CONTENT_ENCODING));
+				
+				response.setEntity(entity);
+			}
+			
+			int consumed = bodiless? headLength :chunked? cursor :contentLength < 0? -1 :headLength + (int)contentLength;
+			
+			if(!settled.compareAndSet(false, true)) {
+				
+				close();
+				return;
+			}
+			
+			if(consumed == length && persistent()) {
+				
+				release(route, key);
+			}
+			else {
+				
+				close();
+			}
+			
+			deliver(response, null);
+		}
+		
+		private boolean persistent() {
+			
+			String connection = header(HTTP.CONN_DIRECTIVE);
+			String requested = request.getFirstHeader(HTTP.CONN_DIRECTIVE) == null? 
+					null :request.getFirstHeader(HTTP.CONN_DIRECTIVE).getValue();
+			
+			if(HTTP.CONN_CLOSE.equalsIgnoreCase(requested) || HTTP.CONN_CLOSE.equalsIgnoreCase(connection)) {
+				
+				return false;
+			}
+			
+			return statusLine.getProtocolVersion().greaterEquals(HttpVersion.HTTP_1_1) || 
+				   HTTP.CONN_KEEP_ALIVE.equalsIgnoreCase(connection);
+		}
+		
+		private String header(String name) {
+			
+			for (Header header : headers) {
+				
+				if(header.getName().equalsIgnoreCase(name)) {
+					
+					return header.getValue();
+				}
+			}
+			
+			return null;
+		}
+		
+		private void expire(long now) {
+			
+			if(now - deadline >= 0L) {
+				
+				fail(connecting? new ConnectTimeoutException("Connect to " + route + " timed out") 
+						:new SocketTimeoutException("Read timed out"));
+			}
+		}
+		
+		private void fail(Exception error) {
+			
+			if(settled.compareAndSet(false, true)) {
+				
+				close();
+				deliver(null, error);
+			}
+		}
+		
+		private void close() {
+			
+			SocketChannel channel = this.channel;
+			
+			if(channel != null) {
+				
+				try {
+					
+					channel.close();
+				}
+				catch(IOException ioe) {
+					
+					//the connection is discarded regardless
+				}
+			}
+		}
+		
+		private void deliver(final HttpResponse response, final Exception error) {
+			
+			Runnable delivery = new Runnable() {
+				
+				@Override
+				public void run() {
+					
+					if(error == null) {
+						
+						callback.onResponse(response);
+					}
+					else {
+						
+						callback.onError(error);
+					}
+				}
+			};
+			
+			if(inline) {
+				
+				delivery.run();
+			}
+			else {
+				
+				try {
+					
+					completionExecutor.execute(delivery);
+				}
+				catch(RejectedExecutionException ree) {
+					
+					delivery.run(); //the executor was shut down, although the callback is still due
+				}
+			}
+		}
+		
+		@Override
+		public void releaseConnection() {}
+		
+		@Override
+		public void abortConnection() {
+			
+			fail(new IOException("The request was aborted"));
+		}
+	}
+	
+	
+	private final int connectTimeout;
+	
+	private final int readTimeout;
+	
+	private final int maxIdleConnections;
+	
+	private final Executor completionExecutor;
+	
+	private final ExecutorService ownedExecutor;
+	
+	private final Selector selector;
+	
+	private final ByteBuffer scratch = ByteBuffer.allocateDirect(BUFFER_SIZE * 8);
+	
+	private final Queue<Runnable> commands = new ConcurrentLinkedQueue<Runnable>();
+	
+	private final Map<String, LinkedList<SelectionKey>> pool = new HashMap<String, LinkedList<SelectionKey>>();
+	
+	private volatile boolean running = true;
+	
+	
+	/**
+	 * <p>Creates a new {@link NioTransport} with connection and socket timeouts of <b>30 seconds</b>.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public NioTransport() {
+		
+		this(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT);
+	}
+	
+	/**
+	 * <p>Creates a new {@link NioTransport} with the given timeouts, which apply to requests that do not 
+	 * specify their own.</p>
+	 *
+	 * @param connectTimeout
+	 * 			the number of <b>milliseconds</b> to wait for a connection to be established
+	 * <br><br>
+	 * @param readTimeout
+	 * 			the maximum number of <b>milliseconds</b> of inactivity while awaiting a response
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public NioTransport(int connectTimeout, int readTimeout) {
+		
+		this(connectTimeout, readTimeout, DEFAULT_MAX_IDLE_CONNECTIONS, null);
+	}
+	
+	/**
+	 * <p>Creates a new {@link NioTransport} with the given timeouts, connection pool size and completion 
+	 * {@link Executor}.</p>
+	 *
+	 * @param connectTimeout
+	 * 			the number of <b>milliseconds</b> to wait for a connection to be established
+	 * <br><br>
+	 * @param readTimeout
+	 * 			the maximum number of <b>milliseconds</b> of inactivity while awaiting a response
+	 * <br><br>
+	 * @param maxIdleConnections
+	 * 			the maximum number of idle connections which are kept alive for each host and port
+	 * <br><br>
+	 * @param completionExecutor
+	 * 			the {@link Executor} which delivers completed exchanges to their {@link Callback}s, else 
+	 * 			{@code null} to use a dedicated pool with a thread for each available processor
+	 * <br><br>
+	 * @throws ConfigurationFailedException
+	 * 			if the {@link Selector} could not be opened
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public NioTransport(int connectTimeout, int readTimeout, int maxIdleConnections, Executor completionExecutor) {
+		
+		this.connectTimeout = connectTimeout;
+		this.readTimeout = readTimeout;
+		this.maxIdleConnections = Math.max(maxIdleConnections, 0);
+		
+		if(completionExecutor == null) {
+			
+			int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+			
+			final AtomicInteger count = new AtomicInteger();
+			
+			this.ownedExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, 
+				new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+				
+				@Override
+				public Thread newThread(Runnable runnable) {
+					
+					Thread thread = new Thread(runnable, "RoboZombie-NIO-" + count.incrementAndGet());
+					thread.setDaemon(true);
+					
+					return thread;
+				}
+			});
+			
+			this.completionExecutor = ownedExecutor;
+		}
+		else {
+			
+			this.ownedExecutor = null;
+			this.completionExecutor = completionExecutor;
+		}
+		
+		try {
+			
+			this.selector = Selector.open();
+		}
+		catch(IOException ioe) {
+			
+			throw new ConfigurationFailedException(ioe);
+		}
+		
+		Thread reactor = new Thread(new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				react();
+			}
+		}, "RoboZombie-NIO-Selector");
+		
+		reactor.setDaemon(true);
+		reactor.start();
+	}
+	
+	/**
+	 * <p>Executes the given {@link HttpRequestBase} over a non-blocking connection and <b>blocks</b> 
+	 * until its response has been received.</p>
+	 * 
+	 * <p>See {@link #execute(HttpRequestBase, HttpContext, Callback)}</p>
+	 * 
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is to be executed
+	 * <br><br>
+	 * @param context
+	 * 			<b>ignored</b> by this transport
+	 * <br><br>
+	 * @return the {@link HttpResponse} which resulted from the execution
+	 * <br><br>
+	 * @throws Exception
+	 * 			if the request could not be executed, or if the thread was interrupted while waiting
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public HttpResponse execute(HttpRequestBase request, HttpContext context) throws Exception {
+		
+		final CountDownLatch latch = new CountDownLatch(1);
+		final Object[] outcome = new Object[1];
+		
+		submit(request, new Callback() {
+			
+			@Override
+			public void onResponse(HttpResponse response) {
+				
+				outcome[0] = response;
+				latch.countDown();
+			}
+			
+			@Override
+			public void onError(Exception error) {
+				
+				outcome[0] = error;
+				latch.countDown();
+			}
+		}, true);
+		
+		try {
+			
+			latch.await();
+		}
+		catch(InterruptedException ie) {
+			
+			request.abort();
+			throw ie;
+		}
+		
+		if(outcome[0] instanceof Exception) {
+			
+			throw (Exception)outcome[0];
+		}
+		
+		return (HttpResponse)outcome[0];
+	}
+	
+	/**
+	 * <p>Queues the given {@link HttpRequestBase} on the selector loop and returns immediately. The 
+	 * outcome is delivered to the {@link Callback} on a completion thread.</p>
+	 * 
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is to be executed
+	 * <br><br>
+	 * @param context
+	 * 			<b>ignored</b> by this transport
+	 * <br><br>
+	 * @param callback
+	 * 			the {@link Callback} which receives the outcome of the execution
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public void execute(HttpRequestBase request, HttpContext context, Callback callback) {
+		
+		submit(request, callback, false);
+	}
+	
+	private void submit(HttpRequestBase request, Callback callback, boolean inline) {
+		
+		final Exchange exchange;
+		
+		try {
+			
+			exchange = new Exchange(request, callback, inline);
+			request.setReleaseTrigger(exchange);
+		}
+		catch(IOException ioe) {
+			
+			callback.onError(ioe);
+			return;
+		}
+		
+		if(!running) {
+			
+			exchange.fail(new IOException(getClass().getSimpleName() + " has been shut down"));
+			return;
+		}
+		
+		commands.offer(new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				exchange.start();
+			}
+		});
+		
+		selector.wakeup();
+	}
+	
+	/**
+	 * <p>Stops the selector loop, closes all connections and fails any requests which are in flight. The 
+	 * callbacks of the failed requests are delivered before the completion threads of this transport stop.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public void shutdown() {
+		
+		running = false;
+		selector.wakeup();
+	}
+	
+	private void react() {
+		
+		long lastSweep = System.currentTimeMillis();
+		
+		try {
+			
+			while(running) {
+				
+				selector.select(SWEEP_INTERVAL);
+				
+				for (Runnable command; (command = commands.poll()) != null; ) {
+					
+					command.run();
+				}
+				
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				
+				while(keys.hasNext()) {
+					
+					SelectionKey key = keys.next();
+					keys.remove();
+					
+					Object attachment = key.attachment();
+					
+					if(attachment instanceof Exchange) {
+						
+						((Exchange)attachment).ready(key);
+					}
+					else if(attachment instanceof Idle) {
+						
+						evict(key); //an idle connection was closed or sent unsolicited data
+					}
+				}
+				
+				long now = System.currentTimeMillis();
+				
+				if(now - lastSweep >= SWEEP_INTERVAL) {
+					
+					sweep(now);
+					lastSweep = now;
+				}
+			}
+		}
+		catch(Exception e) {
+			
+			running = false;
+			Log.e(getClass().getSimpleName(), "The selector loop of the NIO transport failed.", e);
+		}
+		finally {
+			
+			try {
+				
+				terminate();
+			}
+			finally {
+				
+				if(ownedExecutor != null) {
+					
+					ownedExecutor.shutdown(); //only once the requests in flight have been failed
+				}
+			}
+		}
+	}
+	
+	private void sweep(long now) {
+		
+		for (SelectionKey key : selector.keys()) {
+			
+			Object attachment = key.attachment();
+			
+			if(attachment instanceof Exchange) {
+				
+				((Exchange)attachment).expire(now);
+			}
+			else if(attachment instanceof Idle && now - ((Idle)attachment).since >= IDLE_TIMEOUT) {
+				
+				evict(key);
+			}
+		}
+	}
+	
+	private void terminate() {
+		
+		IOException shutdown = new IOException(getClass().getSimpleName() + " has been shut down");
+		
+		for (Runnable command; (command = commands.poll()) != null; ) {
+			
+			command.run();
+		}
+		
+		for (SelectionKey key : selector.keys()) {
+			
+			Object attachment = key.attachment();
+			
+			if(attachment instanceof Exchange) {
+				
+				((Exchange)attachment).fail(shutdown);
+			}
+			
+			try {
+				
+				key.channel().close();
+			}
+			catch(IOException ioe) {
+				
+				//the connection is discarded regardless
+			}
+		}
+		
+		try {
+			
+			selector.close();
+		}
+		catch(IOException ioe) {
+			
+			Log.w(getClass().getSimpleName(), "Failed to close the selector of the NIO transport.", ioe);
+		}
+	}
+	
+	private SelectionKey lease(String route) {
+		
+		LinkedList<SelectionKey> idle = pool.get(route);
+		
+		while(idle != null && !idle.isEmpty()) {
+			
+			SelectionKey key = idle.removeLast();
+			
+			if(key.isValid() && key.channel().isOpen()) {
+				
+				return key;
+			}
+		}
+		
+		return null;
+	}
+	
+	private void release(String route, SelectionKey key) {
+		
+		LinkedList<SelectionKey> idle = pool.get(route);
+		
+		if(idle == null) {
+			
+			idle = new LinkedList<SelectionKey>();
+			pool.put(route, idle);
+		}
+		
+		if(idle.size() < maxIdleConnections && key.isValid()) {
+			
+			key.attach(new Idle(route));
+			key.interestOps(SelectionKey.OP_READ);
+			idle.addLast(key);
+		}
+		else {
+			
+			key.attach(null);
+			
+			try {
+				
+				key.channel().close();
+			}
+			catch(IOException ioe) {
+				
+				//the connection is discarded regardless
+			}
+		}
+	}
+	
+	private void evict(SelectionKey key) {
+		
+		LinkedList<SelectionKey> idle = pool.get(((Idle)key.attachment()).route);
+		
+		if(idle != null) {
+			
+			idle.remove(key);
+		}
+		
+		key.attach(null);
+		
+		try {
+			
+			key.channel().close();
+		}
+		catch(IOException ioe) {
+			
+			//the connection is discarded regardless
+		}
+	}
+	
+	private static ByteBuffer encode(HttpRequestBase request, URI uri) throws IOException {
+		
+		String target = uri.getRawPath() == null || uri.getRawPath().length() == 0? "/" :uri.getRawPath();
+		
+		if(uri.getRawQuery() != null) {
+			
+			target += "?" + uri.getRawQuery();
+		}
+		
+		StringBuilder head = new StringBuilder(256)
+			.append(request.getMethod()).append(' ').append(target).append(" HTTP/1.1\r\n");
+		
+		if(!request.containsHeader(HTTP.TARGET_HOST)) {
+			
+			head.append(HTTP.TARGET_HOST).append(": ").append(uri.getHost());
+			
+			if(uri.getPort() >= 0) {
+				
+				head.append(':').append(uri.getPort());
+			}
+			
+			head.append("\r\n");
+		}
+		
+		for (Header header : request.getAllHeaders()) {
+			
+			head.append(header.getName()).append(": ").append(header.getValue()).append("\r\n");
+		}
+		
+		byte[] content = null;
+		
+		if(request instanceof HttpEntityEnclosingRequest) {
+			
+			HttpEntity entity = ((HttpEntityEnclosingRequest)request).getEntity();
+			content = entity == null? new byte[0] :EntityUtils.toByteArray(entity);
+			
+			if(entity != null && entity.getContentType() != null && !request.containsHeader(HTTP.CONTENT_TYPE)) {
+				
+				head.append(HTTP.CONTENT_TYPE).append(": ").append(entity.getContentType().getValue()).append("\r\n");
+			}
+			
+			if(entity != null && entity.getContentEncoding() != null && !request.containsHeader(HTTP.CONTENT_ENCODING)) {
+				
+				head.append(HTTP.CONTENT_ENCODING).append(": ").append(entity.getContentEncoding().getValue()).append("\r\n");
+			}
+			
+			if(!request.containsHeader(HTTP.CONTENT_LEN)) {
+				
+				head.append(HTTP.CONTENT_LEN).append(": ").append(content.length).append("\r\n");
+			}
+		}
+		
+		byte[] headBytes = head.append("\r\n").toString().getBytes(ASCII);
+		
+		ByteBuffer buffer = ByteBuffer.allocate(headBytes.length + (content == null? 0 :content.length));
+		buffer.put(headBytes);
+		
+		if(content != null) {
+			
+			buffer.put(content);
+		}
+		
+		buffer.flip();
+		
+		return buffer;
+	}
+	
+	private static int indexOf(byte[] data, int from, int to, byte[] target) {
+		
+		outer:
+		for (int i = from; i <= to - target.length; i++) {
+			
+			for (int j = 0; j < target.length; j++) {
+				
+				if(data[i + j] != target[j]) {
+					
+					continue outer;
+				}
+			}
+			
+			return i;
+		}
+		
+		return -1;
+	}
+}
@@ -0,0 +1,73 @@
+package com.lonepulse.robozombie.transport;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.protocol.HttpContext;
+
+import com.lonepulse.robozombie.annotation.Stateful;
+import com.lonepulse.robozombie.proxy.Zombie;
+
+/**
+ * <p>This contract defines the services of a <b>transport</b>, which carries a fully processed request 
+ * to its endpoint and returns the raw response. Transports are configured for each endpoint using 
+ * {@link Zombie.Configuration#transport()}.</p>
+ * 
+ * <p>Implementations should be thread-safe, since a single instance is shared by all endpoints which 
+ * use the same configuration. A transport should honour {@link HttpRequestBase#abort()} by releasing 
+ * any resources which are held by an in-flight request.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public interface Transport {
+	
+	/**
+	 * <p>Executes the given {@link HttpRequestBase} and <b>blocks</b> until its response is received.</p>
+	 *
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is to be executed
+	 * <br><br>
+	 * @param context
+	 * 			the {@link HttpContext} of a @{@link Stateful} endpoint, else {@code null}
+	 * <br><br>
+	 * @return the {@link HttpResponse} which resulted from the execution
+	 * <br><br>
+	 * @throws Exception
+	 * 			if the request could not be executed
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	HttpResponse execute(HttpRequestBase request, HttpContext context) throws Exception;
+	
+	/**
+	 * <p>Releases all resources which are held by this transport. Requests which are executed after 
+	 * the transport is shut down will fail.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	void shutdown();
+}
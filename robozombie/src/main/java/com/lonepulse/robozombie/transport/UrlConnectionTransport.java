@@ -0,0 +1,377 @@
+package com.lonepulse.robozombie.transport;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpEntityEnclosingRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.ConnectionReleaseTrigger;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+/**
+ * <p>A {@link Transport} which executes requests using {@link HttpURLConnection}. It avoids much of the 
+ * per-request object churn of the bundled {@link org.apache.http.impl.client.DefaultHttpClient} and 
+ * relies on the platform's connection handling, which is actively maintained on newer Android releases 
+ * and server JVMs.</p>
+ * 
+ * <ul>
+ * <li><b>Compression:</b> compressed responses are returned as is, along with their <i>Content-Encoding</i>, 
+ * so that they are decoded alike for all transports (see {@link com.lonepulse.robozombie.response.DecodedEntity}).</li>
+ * <li><b>Connection reuse:</b> a connection is returned to the platform's keep-alive pool once the 
+ * response entity has been consumed. See the system properties <i>http.keepAlive</i> and 
+ * <i>http.maxConnections</i>.</li>
+ * <li><b>Streaming:</b> request entities are streamed to the connection with a fixed length if it is 
+ * known, or else with the chunked transfer-coding.</li>
+ * </ul>
+ * 
+ * <p>The connection and socket timeouts of a request are read from its parameters (see 
+ * {@link HttpConnectionParams}) and fall back to the timeouts of this transport. Aborting a request via 
+ * {@link HttpRequestBase#abort()} disconnects it.</p>
+ * 
+ * <p><b>Note</b> that {@link HttpURLConnection} does not support the method <b>PATCH</b>; such requests 
+ * are sent as <b>POST</b> with the header <i>X-HTTP-Method-Override: PATCH</i>. Cookies are managed by 
+ * the platform's {@link java.net.CookieHandler}, if any, and the {@link HttpContext} is ignored.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class UrlConnectionTransport implements Transport {
+	
+	
+	private static final int DEFAULT_TIMEOUT = 30 * 1000;
+	
+	private static final String METHOD_OVERRIDE = "X-HTTP-Method-Override";
+	
+	
+	/**
+	 * <p>Disconnects an {@link HttpURLConnection} when its request is aborted.</p>
+	 */
+	private static final class Disconnection implements ConnectionReleaseTrigger {
+		
+		
+		private final HttpURLConnection connection;
+		
+		
+		private Disconnection(HttpURLConnection connection) {
+			
+			this.connection = connection;
+		}
+		
+		@Override
+		public void releaseConnection() {}
+		
+		@Override
+		public void abortConnection() {
+			
+			connection.disconnect();
+		}
+	}
+	
+	/**
+	 * <p>Closes the response stream when it has been read to its end, which returns the connection to 
+	 * the keep-alive pool even if the consumer neglects to close it.</p>
+	 */
+	private static final class ReleasingInputStream extends FilterInputStream {
+		
+		
+		private boolean closed;
+		
+		
+		private ReleasingInputStream(InputStream in) {
+			
+			super(in);
+		}
+		
+		@Override
+		public int read() throws IOException {
+			
+			int read = closed? -1 :super.read();
+			
+			if(read < 0) {
+				
+				close();
+			}
+			
+			return read;
+		}
+		
+		@Override
+		public int read(byte[] buffer, int offset, int length) throws IOException {
+			
+			int read = closed? -1 :super.read(buffer, offset, length);
+			
+			if(read < 0) {
+				
+				close();
+			}
+			
+			return read;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			
+			if(!closed) {
+				
+				closed = true;
+				super.close();
+			}
+		}
+	}
+	
+	
+	private final int connectTimeout;
+	
+	private final int readTimeout;
+	
+	private volatile boolean running = true;
+	
+	
+	/**
+	 * <p>Creates a new {@link UrlConnectionTransport} with connection and socket timeouts of 
+	 * <b>30 seconds</b>.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	public UrlConnectionTransport() {
+		
+		this(DEFAULT_TIMEOUT, DEFAULT_TIMEOUT);
+	}
+	
+	/**
+	 * <p>Creates a new {@link UrlConnectionTransport} with the given timeouts, which apply to requests 
+	 * that do not specify their own.</p>
+	 *
+	 * @param connectTimeout
+	 * 			the number of <b>milliseconds</b> to wait for a connection to be established
+	 * <br><br>
+	 * @param readTimeout
+	 * 			the maximum number of <b>milliseconds</b> of inactivity while awaiting a response
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public UrlConnectionTransport(int connectTimeout, int readTimeout) {
+		
+		this.connectTimeout = connectTimeout;
+		this.readTimeout = readTimeout;
+	}
+	
+	/**
+	 * <p>Executes the given {@link HttpRequestBase} using an {@link HttpURLConnection}. The entity of 
+	 * the returned {@link HttpResponse} streams the response body from the connection.</p>
+	 * 
+	 * @param request
+	 * 			the {@link HttpRequestBase} which is to be executed
+	 * <br><br>
+	 * @param context
+	 * 			<b>ignored</b> by this transport
+	 * <br><br>
+	 * @return the {@link HttpResponse} which resulted from the execution
+	 * <br><br>
+	 * @throws IOException
+	 * 			if the request could not be executed or if it was aborted
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	@Override
+	public HttpResponse execute(HttpRequestBase request, HttpContext context) throws IOException {
+		
+		if(!running) {
+			
+			throw new IOException(getClass().getSimpleName() + " has been shut down");
+		}
+		
+		HttpURLConnection connection = (HttpURLConnection)request.getURI().toURL().openConnection();
+		request.setReleaseTrigger(new Disconnection(connection));
+		
+		try {
+			
+			int connectTimeout = HttpConnectionParams.getConnectionTimeout(request.getParams());
+			int readTimeout = HttpConnectionParams.getSoTimeout(request.getParams());
+			
+			connection.setConnectTimeout(connectTimeout > 0? connectTimeout :this.connectTimeout);
+			connection.setReadTimeout(readTimeout > 0? readTimeout :this.readTimeout);
+			connection.setUseCaches(false);
+			
+			String method = request.getMethod();
+			
+			if("PATCH".equals(method)) {
+				
+				connection.setRequestMethod("POST");
+				connection.setRequestProperty(METHOD_OVERRIDE, method);
+			}
+			else {
+				
+				connection.setRequestMethod(method);
+			}
+			
+			for (Header header : request.getAllHeaders()) {
+				
+				connection.addRequestProperty(header.getName(), header.getValue());
+			}
+			
+			if(request instanceof HttpEntityEnclosingRequest) {
+				
+				stream(connection, request, ((HttpEntityEnclosingRequest)request).getEntity());
+			}
+			
+			return response(connection);
+		}
+		catch(IOException ioe) {
+			
+			if(request.isAborted()) {
+				
+				IOException aborted = new IOException("The request was aborted");
+				aborted.initCause(ioe);
+				
+				throw aborted;
+			}
+			
+			connection.disconnect();
+			throw ioe;
+		}
+	}
+	
+	private static void stream(HttpURLConnection connection, HttpRequestBase request, HttpEntity entity) 
+	throws IOException {
+		
+		if(entity == null) {
+			
+			return;
+		}
+		
+		if(entity.getContentType() != null && !request.containsHeader(HTTP.CONTENT_TYPE)) {
+			
+			connection.setRequestProperty(HTTP.CONTENT_TYPE, entity.getContentType().getValue());
+		}
+		
+		if(entity.getContentEncoding() != null && !request.containsHeader(HTTP.CONTENT_ENCODING)) {
+			
+			connection.setRequestProperty(HTTP.CONTENT_ENCODING, entity.getContentEncoding().getValue());
+		}
+		
+		long length = entity.getContentLength();
+		
+		if(length >= 0 && length <= Integer.MAX_VALUE) {
+			
+			connection.setFixedLengthStreamingMode((int)length);
+		}
+		else {
+			
+			connection.setChunkedStreamingMode(0);
+		}
+		
+		connection.setDoOutput(true);
+		
+		OutputStream outputStream = connection.getOutputStream();
+		
+		try {
+			
+			entity.writeTo(outputStream);
+		}
+		finally {
+			
+			outputStream.close();
+		}
+	}
+	
+	private static HttpResponse response(HttpURLConnection connection) throws IOException {
+		
+		int status = connection.getResponseCode();
+		
+		if(status < 0) {
+			
+			throw new IOException("Received an invalid HTTP response from " + connection.getURL());
+		}
+		
+		String reason = connection.getResponseMessage();
+		BasicHttpResponse response = new BasicHttpResponse(HttpVersion.HTTP_1_1, status, reason == null? "" :reason);
+		
+		for (Map.Entry<String, List<String>> header : connection.getHeaderFields().entrySet()) {
+			
+			String name = header.getKey();
+			
+			if(name == null) {
+				
+				continue; //skip the status line
+			}
+			
+			for (String value : header.getValue()) {
+				
+				response.addHeader(name, value);
+			}
+		}
+		
+		InputStream content = status >= 400? connection.getErrorStream() :connection.getInputStream();
+		
+		if(content == null || "HEAD".equals(connection.getRequestMethod().toUpperCase(Locale.ENGLISH))) {
+			
+			if(content != null) {
+				
+				content.close();
+			}
+			
+			return response;
+		}
+		
+		BasicHttpEntity entity = new BasicHttpEntity();
+		entity.setContent(new ReleasingInputStream(content));
+		entity.setContentLength(connection.getContentLength());
+		entity.setContentType(response.getFirstHeader(HTTP.CONTENT_TYPE));
+		entity.setContentEncoding(response.getFirstHeader(HTTP.CONTENT_ENCODING));
+		
+		response.setEntity(entity);
+		
+		return response;
+	}
+	
+	/**
+	 * <p>Rejects any subsequent requests. Connections which are kept alive are managed by the 
+	 * platform and are not closed.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Override
+	public void shutdown() {
+		
+		running = false;
+	}
+}
@@ -0,0 +1,342 @@
+package com.lonepulse.robozombie.util;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.http.Header;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.FileEntity;
+
+import com.lonepulse.robozombie.annotation.Download;
+import com.lonepulse.robozombie.proxy.InvocationContext;
+
+/**
+ * <p>A collection of utility services for downloading response content to a file identified by 
+ * @{@link Download} and for tracking the validators of interrupted downloads.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category utility
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public final class Downloads {
+	
+	
+	private static final String RESUME_SUFFIX = ".resume";
+	
+	private static final Pattern CONTENT_RANGE = Pattern.compile("bytes\\s+(\\d+)-(\\d+)/(\\d+|\\*)");
+	
+	
+	/**
+	 * <p>The entity of a response whose content was already written to its destination file.</p>
+	 */
+	private static final class DownloadedEntity extends FileEntity {
+		
+		
+		private DownloadedEntity(File file, String contentType) {
+			
+			super(file, contentType);
+		}
+	}
+	
+	
+	private Downloads() {}
+	
+	
+	/**
+	 * <p>Finds the @{@link Download} argument of a proxy invocation.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} whose arguments are searched
+	 * <br><br>
+	 * @return the {@link Map.Entry} of the @{@link Download} metadata and the destination {@link File}, 
+	 * 		   else {@code null} if the invocation is not a download
+	 * <br><br>
+	 * @throws IllegalArgumentException
+	 * 			if the argument identified by @{@link Download} is not a {@link File}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static Map.Entry<Download, Object> find(InvocationContext context) {
+		
+		List<Map.Entry<Download, Object>> downloads = Metadata.onParams(Download.class, context);
+		
+		if(downloads.isEmpty()) {
+			
+			return null;
+		}
+		
+		Map.Entry<Download, Object> download = downloads.get(0);
+		
+		if(!(download.getValue() instanceof File)) {
+			
+			throw new IllegalArgumentException(new StringBuilder("The destination of a @Download must be a ")
+			.append(File.class.getName())
+			.append(", but an instance of <")
+			.append(download.getValue().getClass().getName())
+			.append("> was given for request <")
+			.append(context.getRequest().getName())
+			.append(">").toString());
+		}
+		
+		return download;
+	}
+	
+	/**
+	 * <p>Reads the validator of an interrupted download to the given file.</p>
+	 *
+	 * @param file
+	 * 			the destination {@link File} of the download
+	 * <br><br>
+	 * @return the <i>ETag</i> or <i>Last-Modified</i> date of the interrupted response, else {@code null} 
+	 * 		   if no download to the file was interrupted
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static String validator(File file) {
+		
+		File resume = resume(file);
+		
+		if(!resume.isFile() || !file.isFile()) {
+			
+			return null;
+		}
+		
+		InputStream inputStream = null;
+		
+		try {
+			
+			inputStream = new FileInputStream(resume);
+			
+			byte[] content = new byte[(int)resume.length()];
+			
+			for (int offset = 0, count; offset < content.length; offset += count) {
+				
+				if((count = inputStream.read(content, offset, content.length - offset)) < 0) {
+					
+					return null;
+				}
+			}
+			
+			String validator = new String(content, "UTF-8").trim();
+			
+			return validator.length() == 0? null :validator;
+		}
+		catch(IOException ioe) {
+			
+			return null;
+		}
+		finally {
+			
+			close(inputStream);
+		}
+	}
+	
+	/**
+	 * <p>Finds the validator of a response which can be used to resume its download with an 
+	 * <b>If-Range</b> header. Weak validators are ignored since they cannot be used with If-Range.</p>
+	 *
+	 * @param response
+	 * 			the {@link HttpResponse} of a download
+	 * <br><br>
+	 * @return the strong <i>ETag</i> of the response, else its <i>Last-Modified</i> date, else 
+	 * 		   {@code null} if the response has neither
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static String validator(HttpResponse response) {
+		
+		Header eTag = response.getFirstHeader("ETag");
+		
+		if(eTag != null && !eTag.getValue().startsWith("W/")) {
+			
+			return eTag.getValue();
+		}
+		
+		Header lastModified = response.getFirstHeader("Last-Modified");
+		
+		return lastModified == null? null :lastModified.getValue();
+	}
+	
+	/**
+	 * <p>Reads the position of the first byte which is served by a partial response.</p>
+	 *
+	 * @param response
+	 * 			the {@link HttpResponse} of a ranged download
+	 * <br><br>
+	 * @return the offset of the first byte given by the <b>Content-Range</b>, else <b>-1</b> if the 
+	 * 		   response does not have a valid Content-Range
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static long offset(HttpResponse response) {
+		
+		Matcher matcher = contentRange(response);
+		
+		return matcher == null? -1L :Long.parseLong(matcher.group(1));
+	}
+	
+	/**
+	 * <p>Reads the length of the complete content of which a partial response serves a range.</p>
+	 *
+	 * @param response
+	 * 			the {@link HttpResponse} of a ranged download
+	 * <br><br>
+	 * @return the complete length given by the <b>Content-Range</b>, else <b>-1</b> if the response 
+	 * 		   does not have a valid Content-Range or if the length is unknown
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static long length(HttpResponse response) {
+		
+		Matcher matcher = contentRange(response);
+		
+		return (matcher == null || matcher.group(3).equals("*"))? -1L :Long.parseLong(matcher.group(3));
+	}
+	
+	/**
+	 * <p>Records the validator of a download which is in progress, so that it can be resumed if it is 
+	 * interrupted. If the response did not provide a validator, any previous record is discarded.</p>
+	 *
+	 * @param file
+	 * 			the destination {@link File} of the download
+	 * <br><br>
+	 * @param validator
+	 * 			the <i>ETag</i> or <i>Last-Modified</i> date of the response, else {@code null}
+	 * <br><br>
+	 * @throws IOException
+	 * 			if the validator could not be written
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static void begin(File file, String validator) throws IOException {
+		
+		if(validator == null) {
+			
+			complete(file);
+			return;
+		}
+		
+		OutputStream outputStream = new FileOutputStream(resume(file));
+		
+		try {
+			
+			outputStream.write(validator.getBytes("UTF-8"));
+		}
+		finally {
+			
+			close(outputStream);
+		}
+	}
+	
+	/**
+	 * <p>Discards the validator of a download once it has completed.</p>
+	 *
+	 * @param file
+	 * 			the destination {@link File} of the completed download
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static void complete(File file) {
+		
+		File resume = resume(file);
+		
+		if(resume.exists()) {
+			
+			resume.delete();
+		}
+	}
+	
+	/**
+	 * <p>Creates the entity of a response whose content was already downloaded to the given file, such 
+	 * as the result of a download which was split into several parts.</p>
+	 *
+	 * @param file
+	 * 			the destination {@link File} which holds the complete content
+	 * <br><br>
+	 * @param contentType
+	 * 			the <b>Content-Type</b> of the downloaded content
+	 * <br><br>
+	 * @return an {@link HttpEntity} which is recognized by {@link #isDownloaded(HttpEntity)}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static HttpEntity downloaded(File file, String contentType) {
+		
+		return new DownloadedEntity(file, contentType);
+	}
+	
+	/**
+	 * <p>Determines whether the content of the given entity was already written to its destination file. 
+	 * See {@link #downloaded(File, String)}.</p>
+	 *
+	 * @param entity
+	 * 			the {@link HttpEntity} of a download response
+	 * <br><br>
+	 * @return {@code true} if the content need not be written to the destination file again
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static boolean isDownloaded(HttpEntity entity) {
+		
+		return entity instanceof DownloadedEntity;
+	}
+	
+	private static Matcher contentRange(HttpResponse response) {
+		
+		Header contentRange = response.getFirstHeader("Content-Range");
+		Matcher matcher = contentRange == null? null :CONTENT_RANGE.matcher(contentRange.getValue().trim());
+		
+		return (matcher == null || !matcher.matches())? null :matcher;
+	}
+	
+	private static File resume(File file) {
+		
+		return new File(file.getPath() + RESUME_SUFFIX);
+	}
+	
+	private static void close(Closeable closeable) {
+		
+		if(closeable != null) {
+			
+			try {
+				
+				closeable.close();
+			}
+			catch(IOException ioe) {}
+		}
+	}
+}
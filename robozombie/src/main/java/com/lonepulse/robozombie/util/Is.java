@@ -28,6 +28,10 @@ import java.util.List;
 import org.apache.http.HttpResponse;
 
 import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Hedge;
+import com.lonepulse.robozombie.annotation.Paginate;
+import com.lonepulse.robozombie.annotation.Request.RequestMethod;
+import com.lonepulse.robozombie.executor.Pages;
 import com.lonepulse.robozombie.proxy.InvocationContext;
 
 /**
@@ -119,6 +123,48 @@ public final class Is {
 			   (context.getEndpoint().isAnnotationPresent(Async.class)));
 	}
 	
+	/**
+	 * <p>Determines if the execution of a proxy invocation should be <b>hedged</b>. Only idempotent
+	 * requests of type <b>GET</b>, <b>HEAD</b> and <b>OPTIONS</b> are eligible for hedging.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} which contains information about the proxy invocation
+	 * <br><br>
+	 * @return {@code true} if the request is idempotent and its execution should be hedged
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static boolean hedged(InvocationContext context) {
+		
+		if(isDetached(context, Hedge.class) ||
+		   !(context.getRequest().isAnnotationPresent(Hedge.class) ||
+		     context.getEndpoint().isAnnotationPresent(Hedge.class))) {
+			
+			return false;
+		}
+		
+		RequestMethod method = Metadata.findMethod(context.getRequest());
+		
+		return method == RequestMethod.GET || method == RequestMethod.HEAD || method == RequestMethod.OPTIONS;
+	}
+	
+	/**
+	 * <p>Determines if a proxy invocation should be <b>paged</b>, i.e. if the request is identified by 
+	 * @{@link Paginate} and it was invoked with a {@link Pages} argument.</p>
+	 *
+	 * @param context
+	 * 			the {@link InvocationContext} which contains information about the proxy invocation
+	 * <br><br>
+	 * @return {@code true} if the pages of the request should be delivered via {@link Pages}
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static boolean paged(InvocationContext context) {
+		
+		return context.getRequest().isAnnotationPresent(Paginate.class) && 
+			   Metadata.findArgument(Pages.class, context) != null;
+	}
+	
 	/**
 	 * <p>Determines if the given type terminates an endpoint lookup along an inheritance hierarchy.</p>
 	 * 
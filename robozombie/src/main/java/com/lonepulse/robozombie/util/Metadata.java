@@ -214,4 +214,38 @@ public final class Metadata {
 		
 		return path;
 	}
+	
+	/**
+	 * <p>Finds the first runtime argument of the proxy invocation which is an instance of the given 
+	 * type. Such arguments are not annotated and are used to supply components (for example an 
+	 * {@code AsyncHandler}) to a request at runtime.</p>
+	 *
+	 * @param type
+	 * 			the {@link Class} of the runtime argument which is to be discovered
+	 * <br><br>
+	 * @param context
+	 * 			the {@link InvocationContext} containing the runtime arguments of the proxy invocation
+	 * <br><br>
+	 * @return the first runtime argument which is an instance of the given type; else {@code null} if 
+	 * 		   no such argument was supplied
+	 * <br><br>
+	 * @since 1.3.4
+	 */
+	public static <T> T findArgument(Class<T> type, InvocationContext context) {
+		
+		List<Object> arguments = context.getArguments();
+		
+		if(arguments != null) {
+			
+			for (Object argument : arguments) {
+				
+				if(type.isInstance(argument)) {
+					
+					return type.cast(argument);
+				}
+			}
+		}
+		
+		return null;
+	}
 }
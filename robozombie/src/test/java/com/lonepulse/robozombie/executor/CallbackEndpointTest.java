@@ -0,0 +1,119 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>Performs unit testing on {@link CallbackEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class CallbackEndpointTest {
+	
+	
+	@Rule
+	public WireMockRule wireMockRule = new WireMockRule();
+	
+	@Bite
+	private CallbackEndpoint callbackEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		Zombie.infect(this);
+	}
+	
+	/**
+	 * <p>Tests that the callbacks of an asynchronous request are invoked on the configured 
+	 * callback executor with the processed response content.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testCallbackExecutor() throws InterruptedException {
+		
+		String subpath = "/callback", body = "callback";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)
+				.withBody(body)));
+		
+		int requests = 4;
+		
+		final CountDownLatch latch = new CountDownLatch(requests);
+		final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+		final List<String> contents = Collections.synchronizedList(new ArrayList<String>());
+		
+		for (int i = 0; i < requests; i++) {
+			
+			callbackEndpoint.callback(new AsyncHandler<String>() {
+				
+				@Override
+				public void onSuccess(HttpResponse httpResponse, String content) {
+					
+					threads.add(Thread.currentThread().getName());
+					contents.add(content);
+					latch.countDown();
+				}
+			});
+		}
+		
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		
+		for (int i = 0; i < requests; i++) {
+			
+			assertTrue(threads.get(i).startsWith("RoboZombie-Callback-"));
+			assertEquals(body, contents.get(i));
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>Performs unit testing on {@link CancellationEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class CancellationEndpointTest {
+	
+	
+	@Rule
+	public WireMockRule wireMockRule = new WireMockRule();
+	
+	@Bite
+	private CancellationEndpoint cancellationEndpoint;
+	
+	private ScheduledExecutorService scheduler;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		Zombie.infect(this);
+		scheduler = Executors.newSingleThreadScheduledExecutor();
+	}
+	
+	@After
+	public void tearDown() {
+		
+		scheduler.shutdownNow();
+	}
+	
+	private void cancelAfter(final Cancellation cancellation, long millis) {
+		
+		scheduler.schedule(new Runnable() {
+			
+			@Override
+			public void run() {
+				
+				cancellation.cancel();
+			}
+		}, millis, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * <p>Tests that an in-flight synchronous request is aborted upon cancellation.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testSyncCancelled() {
+		
+		String subpath = "/sync";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)
+				.withFixedDelay(3000)));
+		
+		Cancellation cancellation = new Cancellation();
+		cancelAfter(cancellation, 200);
+		
+		long start = System.currentTimeMillis();
+		
+		try {
+			
+			cancellationEndpoint.sync(cancellation);
+			fail("Expected the request to be cancelled.");
+		}
+		catch(InvocationException ie) {
+			
+			assertTrue(ie.getCause() instanceof CancellationException);
+		}
+		
+		long elapsed = System.currentTimeMillis() - start;
+		assertTrue("Cancelled after " + elapsed + "ms", elapsed < 2000);
+	}
+	
+	/**
+	 * <p>Tests that a request which was cancelled beforehand is not sent.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testPreCancelled() {
+		
+		String subpath = "/sync";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)));
+		
+		Cancellation cancellation = new Cancellation();
+		cancellation.cancel();
+		
+		try {
+			
+			cancellationEndpoint.sync(cancellation);
+			fail("Expected the request to be cancelled.");
+		}
+		catch(InvocationException ie) {
+			
+			assertTrue(ie.getCause() instanceof CancellationException);
+		}
+		
+		verify(0, getRequestedFor(urlEqualTo(subpath)));
+	}
+	
+	/**
+	 * <p>Tests that an in-flight asynchronous request reports its cancellation to the 
+	 * {@link AsyncHandler} exactly once and skips all other callbacks.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testAsyncCancelled() throws InterruptedException {
+		
+		String subpath = "/async";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)
+				.withBody("async")
+				.withFixedDelay(3000)));
+		
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicInteger callbacks = new AtomicInteger();
+		
+		Cancellation cancellation = new Cancellation();
+		
+		cancellationEndpoint.async(new AsyncHandler<String>() {
+			
+			@Override
+			public void onSuccess(HttpResponse httpResponse, String content) {
+				
+				callbacks.incrementAndGet();
+			}
+			
+			@Override
+			public void onError(InvocationException invocationException) {
+				
+				callbacks.incrementAndGet();
+			}
+			
+			@Override
+			public void onCancel() {
+				
+				callbacks.incrementAndGet();
+				latch.countDown();
+			}
+			
+		}, cancellation);
+		
+		cancelAfter(cancellation, 200);
+		
+		assertTrue(latch.await(2, TimeUnit.SECONDS));
+		
+		Thread.sleep(500);
+		assertEquals(1, callbacks.get());
+	}
+}
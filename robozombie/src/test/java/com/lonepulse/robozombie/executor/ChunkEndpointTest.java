@@ -0,0 +1,298 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.http.HttpResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.AsyncHandler;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on the progressive delivery of responses to an {@link AsyncHandler} using 
+ * the endpoint {@link ChunkEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class ChunkEndpointTest {
+	
+	
+	private static final int CONTENT_LENGTH = 1024 * 1024 + 17;
+	
+	
+	/**
+	 * <p>An {@link AsyncHandler} which collects chunks and progress.</p>
+	 */
+	private static class ChunkCollector extends AsyncHandler<String> {
+		
+		
+		private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+		
+		private final List<long[]> progress = Collections.synchronizedList(new ArrayList<long[]>());
+		
+		private final AtomicReference<Object> success = new AtomicReference<Object>();
+		
+		private final AtomicInteger errors = new AtomicInteger();
+		
+		private final CountDownLatch completed = new CountDownLatch(1);
+		
+		private int largestChunk;
+		
+		
+		@Override
+		public void onChunk(HttpResponse response, ByteBuffer chunk) {
+			
+			largestChunk = Math.max(largestChunk, chunk.remaining());
+			
+			byte[] bytes = new byte[chunk.remaining()];
+			chunk.get(bytes);
+			content.write(bytes, 0, bytes.length);
+		}
+		
+		@Override
+		public void onProgress(long bytesRead, long contentLength) {
+			
+			progress.add(new long[] {bytesRead, contentLength});
+		}
+		
+		@Override
+		public void onSuccess(HttpResponse response, String content) {
+			
+			success.set(content == null? "null" :content);
+			completed.countDown();
+		}
+		
+		@Override
+		public void onError(InvocationException error) {
+			
+			errors.incrementAndGet();
+			completed.countDown();
+		}
+	}
+	
+	
+	private HttpServer httpServer;
+	
+	private final byte[] body = new byte[CONTENT_LENGTH];
+	
+	@Bite
+	private ChunkEndpoint chunkEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		
+		for (int i = 0; i < body.length; i++) {
+			
+			body[i] = (byte)('a' + (i % 26));
+		}
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8099), 0);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				InputStream requestBody = exchange.getRequestBody();
+				requestBody.close();
+				
+				exchange.getResponseHeaders().add("Content-Type", "text/plain");
+				exchange.sendResponseHeaders(200, exchange.getRequestURI().getPath().equals("/fixed")? body.length :0);
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				
+				for (int offset = 0; offset < body.length; offset += 10000) {
+					
+					outputStream.write(body, offset, Math.min(10000, body.length - offset));
+				}
+				
+				outputStream.close();
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+	}
+	
+	private void assertProgress(List<long[]> progress, long contentLength) {
+		
+		assertTrue(progress.size() > 1);
+		assertTrue(progress.size() + " progress reports", progress.size() <= 101);
+		
+		long previous = 0;
+		
+		for (long[] report : progress) {
+			
+			assertTrue(report[0] > previous);
+			assertEquals(contentLength, report[1]);
+			
+			previous = report[0];
+		}
+		
+		assertEquals(CONTENT_LENGTH, previous);
+	}
+	
+	/**
+	 * <p>Tests that a response with a <b>Content-Length</b> is delivered in bounded chunks instead of 
+	 * being deserialized and that progress is reported against its length.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testFixedLength() throws InterruptedException {
+		
+		ChunkCollector collector = new ChunkCollector();
+		chunkEndpoint.fixed(collector);
+		
+		assertTrue(collector.completed.await(10, TimeUnit.SECONDS));
+		assertEquals(0, collector.errors.get());
+		assertEquals("null", collector.success.get());
+		
+		assertArrayEquals(body, collector.content.toByteArray());
+		assertTrue(collector.largestChunk <= 8 * 1024);
+		
+		assertProgress(collector.progress, CONTENT_LENGTH);
+	}
+	
+	/**
+	 * <p>Tests that progress is reported for content of an unknown length which is sent with the 
+	 * <b>chunked</b> transfer-encoding.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testUnknownLength() throws InterruptedException {
+		
+		ChunkCollector collector = new ChunkCollector();
+		chunkEndpoint.chunked(collector);
+		
+		assertTrue(collector.completed.await(10, TimeUnit.SECONDS));
+		assertEquals(0, collector.errors.get());
+		
+		assertArrayEquals(body, collector.content.toByteArray());
+		assertProgress(collector.progress, -1L);
+	}
+	
+	/**
+	 * <p>Tests that a handler which only tracks progress still has its content deserialized.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testProgressOnly() throws Exception {
+		
+		final List<long[]> progress = Collections.synchronizedList(new ArrayList<long[]>());
+		final AtomicReference<String> content = new AtomicReference<String>();
+		final CountDownLatch completed = new CountDownLatch(1);
+		
+		chunkEndpoint.fixed(new AsyncHandler<String>() {
+			
+			@Override
+			public void onProgress(long bytesRead, long contentLength) {
+				
+				progress.add(new long[] {bytesRead, contentLength});
+			}
+			
+			@Override
+			public void onSuccess(HttpResponse response, String deserialized) {
+				
+				content.set(deserialized);
+				completed.countDown();
+			}
+			
+			@Override
+			public void onError(InvocationException error) {
+				
+				completed.countDown();
+			}
+		});
+		
+		assertTrue(completed.await(10, TimeUnit.SECONDS));
+		assertEquals(new String(body, "UTF-8"), content.get());
+		
+		assertProgress(progress, CONTENT_LENGTH);
+	}
+	
+	/**
+	 * <p>Tests that a handler without the optional callbacks receives the deserialized content.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testDeserialized() throws Exception {
+		
+		final AtomicReference<String> content = new AtomicReference<String>();
+		final CountDownLatch completed = new CountDownLatch(1);
+		
+		chunkEndpoint.chunked(new AsyncHandler<String>() {
+			
+			@Override
+			public void onSuccess(HttpResponse response, String deserialized) {
+				
+				content.set(deserialized);
+				completed.countDown();
+			}
+		});
+		
+		assertTrue(completed.await(10, TimeUnit.SECONDS));
+		assertEquals(CONTENT_LENGTH, content.get().length());
+	}
+}
@@ -0,0 +1,64 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.io.File;
+
+import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Download;
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.GET;
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>An endpoint whose responses are downloaded to files.</p>
+ * 
+ * @version 1.1.0
+ * <br><br> 
+ * @since 1.3.4
+ * <br><br> 
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Endpoint("http://0.0.0.0:8100")
+public interface DownloadEndpoint {
+	
+	
+	@GET("/asset")
+	public File asset(@Download File destination);
+	
+	@GET("/asset")
+	public File restart(@Download(resume = false) File destination);
+	
+	@GET("/large")
+	public File parts(@Download(parts = 4) File destination);
+	
+	@GET("/unranged")
+	public File unranged(@Download(parts = 4) File destination);
+	
+	@GET("/failing")
+	public File failing(@Download(parts = 4) File destination);
+	
+	@Async
+	@GET("/asset")
+	public void async(@Download File destination, AsyncHandler<File> asyncHandler);
+}
@@ -0,0 +1,477 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.apache.http.HttpResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.annotation.Download;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.AsyncHandler;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on downloads identified by @{@link Download} using the endpoint 
+ * {@link DownloadEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class DownloadEndpointTest {
+	
+	
+	private static final int CONTENT_LENGTH = 300 * 1024;
+	
+	private static final int LARGE_CONTENT_LENGTH = 4 * 1024 * 1024 + 1234;
+	
+	
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+	
+	private HttpServer httpServer;
+	
+	private final byte[] body = new byte[CONTENT_LENGTH];
+	
+	private final byte[] largeBody = new byte[LARGE_CONTENT_LENGTH];
+	
+	private final List<String> ranges = Collections.synchronizedList(new ArrayList<String>());
+	
+	private final AtomicInteger inFlight = new AtomicInteger();
+	
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+	
+	private volatile String eTag = "\"v1\"";
+	
+	private volatile int interruptAt = -1;
+	
+	private volatile String range;
+	
+	private volatile int bytesSent;
+	
+	@Bite
+	private DownloadEndpoint downloadEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		
+		for (int i = 0; i < body.length; i++) {
+			
+			body[i] = (byte)(i % 251);
+		}
+		
+		for (int i = 0; i < largeBody.length; i++) {
+			
+			largeBody[i] = (byte)(i % 253);
+		}
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8100), 0);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				InputStream requestBody = exchange.getRequestBody();
+				requestBody.close();
+				
+				String path = exchange.getRequestURI().getPath();
+				
+				if(!path.equals("/asset")) {
+					
+					serve(exchange, largeBody, !path.equals("/unranged"), path.equals("/failing"));
+					return;
+				}
+				
+				range = exchange.getRequestHeaders().getFirst("Range");
+				String ifRange = exchange.getRequestHeaders().getFirst("If-Range");
+				
+				int offset = 0;
+				
+				exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+				exchange.getResponseHeaders().add("ETag", eTag);
+				
+				if(range != null && eTag.equals(ifRange)) {
+					
+					offset = Integer.parseInt(range.substring("bytes=".length(), range.length() - 1));
+					
+					exchange.getResponseHeaders().add("Content-Range", 
+						"bytes " + offset + "-" + (body.length - 1) + "/" + body.length);
+					exchange.sendResponseHeaders(206, body.length - offset);
+				}
+				else {
+					
+					exchange.sendResponseHeaders(200, body.length);
+				}
+				
+				int end = interruptAt < 0? body.length :interruptAt;
+				interruptAt = -1;
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				outputStream.write(body, offset, end - offset);
+				outputStream.flush();
+				
+				bytesSent = end - offset;
+				
+				if(end < body.length) {
+					
+					exchange.close();
+				}
+				else {
+					
+					outputStream.close();
+				}
+			}
+		});
+		
+		httpServer.setExecutor(Executors.newCachedThreadPool());
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	private void serve(HttpExchange exchange, byte[] content, boolean ranged, boolean failing) throws IOException {
+		
+		String requestedRange = exchange.getRequestHeaders().getFirst("Range");
+		
+		exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+		exchange.getResponseHeaders().add("ETag", "\"large\"");
+		
+		if(!ranged || requestedRange == null) {
+			
+			exchange.sendResponseHeaders(200, content.length);
+			
+			OutputStream outputStream = exchange.getResponseBody();
+			outputStream.write(content);
+			outputStream.close();
+			
+			return;
+		}
+		
+		ranges.add(requestedRange);
+		
+		String[] bounds = requestedRange.substring("bytes=".length()).split("-");
+		int first = Integer.parseInt(bounds[0]);
+		int last = Integer.parseInt(bounds[1]);
+		
+		maxInFlight.set(Math.max(maxInFlight.get(), inFlight.incrementAndGet()));
+		
+		boolean failed = failing && first == 2 * (content.length / 4); //the third part fails after the others
+		
+		try {
+			
+			if(last > first) {
+				
+				Thread.sleep(failed? 1000 :200);
+			}
+		}
+		catch(InterruptedException ie) {
+			
+			Thread.currentThread().interrupt();
+		}
+		
+		if(failed) {
+			
+			inFlight.decrementAndGet();
+			
+			exchange.sendResponseHeaders(500, -1);
+			exchange.close();
+			
+			return;
+		}
+		
+		exchange.getResponseHeaders().add("Content-Range", "bytes " + first + "-" + last + "/" + content.length);
+		exchange.sendResponseHeaders(206, last - first + 1);
+		
+		OutputStream outputStream = exchange.getResponseBody();
+		outputStream.write(content, first, last - first + 1);
+		outputStream.close();
+		
+		inFlight.decrementAndGet();
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+	}
+	
+	private static byte[] read(File file) throws IOException {
+		
+		byte[] content = new byte[(int)file.length()];
+		InputStream inputStream = new FileInputStream(file);
+		
+		try {
+			
+			for (int offset = 0, count; offset < content.length; offset += count) {
+				
+				count = inputStream.read(content, offset, content.length - offset);
+			}
+		}
+		finally {
+			
+			inputStream.close();
+		}
+		
+		return content;
+	}
+	
+	private static File resume(File file) {
+		
+		return new File(file.getPath() + ".resume");
+	}
+	
+	private void interrupt(File file) {
+		
+		interruptAt = CONTENT_LENGTH / 3;
+		
+		try {
+			
+			downloadEndpoint.asset(file);
+			fail("An interrupted download did not fail");
+		}
+		catch(InvocationException ie) {}
+		
+		assertTrue(file.length() > 0 && file.length() <= CONTENT_LENGTH / 3);
+		assertTrue(resume(file).isFile());
+	}
+	
+	/**
+	 * <p>Tests that the content is written to the destination file, which is returned.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testDownload() throws IOException {
+		
+		File file = new File(temporaryFolder.getRoot(), "assets/asset.bin");
+		
+		assertSame(file, downloadEndpoint.asset(file));
+		assertArrayEquals(body, read(file));
+		assertFalse(resume(file).exists());
+		assertNull(range);
+		
+		assertSame(file, downloadEndpoint.asset(file));
+		assertArrayEquals(body, read(file));
+		assertNull(range);
+	}
+	
+	/**
+	 * <p>Tests that an interrupted download is resumed with a <b>Range</b> request for the remaining bytes.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testResume() throws IOException {
+		
+		File file = new File(temporaryFolder.getRoot(), "asset.bin");
+		
+		interrupt(file);
+		
+		long downloaded = file.length();
+		
+		assertSame(file, downloadEndpoint.asset(file));
+		
+		assertEquals("bytes=" + downloaded + "-", range);
+		assertEquals(CONTENT_LENGTH - downloaded, bytesSent);
+		assertArrayEquals(body, read(file));
+		assertFalse(resume(file).exists());
+	}
+	
+	/**
+	 * <p>Tests that the content is downloaded in full if it changed after the download was interrupted.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testChangedContent() throws IOException {
+		
+		File file = new File(temporaryFolder.getRoot(), "asset.bin");
+		
+		interrupt(file);
+		
+		eTag = "\"v2\"";
+		body[0] = (byte)255;
+		
+		assertSame(file, downloadEndpoint.asset(file));
+		
+		assertTrue(range != null);
+		assertEquals(CONTENT_LENGTH, bytesSent);
+		assertArrayEquals(body, read(file));
+	}
+	
+	/**
+	 * <p>Tests that a download which disables resumption is always requested in full.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testRestart() throws IOException {
+		
+		File file = new File(temporaryFolder.getRoot(), "asset.bin");
+		
+		interrupt(file);
+		
+		assertSame(file, downloadEndpoint.restart(file));
+		
+		assertNull(range);
+		assertArrayEquals(body, read(file));
+	}
+	
+	/**
+	 * <p>Tests that a download which allows several parts is split into byte ranges which are requested 
+	 * concurrently and assembled at their offsets.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testParts() throws IOException {
+		
+		File file = new File(temporaryFolder.getRoot(), "parts/large.bin");
+		
+		assertSame(file, downloadEndpoint.parts(file));
+		assertArrayEquals(largeBody, read(file));
+		
+		assertEquals(5, ranges.size());
+		assertEquals("bytes=0-0", ranges.get(0));
+		int size = LARGE_CONTENT_LENGTH / 4;
+		
+		assertTrue(ranges.contains("bytes=0-" + (size - 1)));
+		assertTrue(ranges.contains("bytes=" + size + "-" + (2 * size - 1)));
+		assertTrue(ranges.contains("bytes=" + (3 * size) + "-" + (LARGE_CONTENT_LENGTH - 1)));
+		assertTrue(maxInFlight.get() + " parts were in flight", maxInFlight.get() > 1);
+	}
+	
+	/**
+	 * <p>Tests that a download which failed in one of its parts is truncated to the parts which were 
+	 * downloaded in sequence and that its validator is recorded, so that it may be resumed.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testFailedParts() throws IOException {
+		
+		File file = new File(temporaryFolder.getRoot(), "failing.bin");
+		
+		try {
+			
+			downloadEndpoint.failing(file);
+			fail("A download with a failed part did not fail");
+		}
+		catch(InvocationException ie) {}
+		
+		int size = LARGE_CONTENT_LENGTH / 4;
+		
+		assertEquals(2 * size, file.length());
+		assertArrayEquals(Arrays.copyOf(largeBody, 2 * size), read(file));
+		
+		assertTrue(resume(file).isFile());
+		assertEquals("\"large\"", new String(read(resume(file)), "UTF-8"));
+	}
+	
+	/**
+	 * <p>Tests that a download which allows several parts is completed with a single response if the 
+	 * server does not support ranges.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testUnranged() throws IOException {
+		
+		File file = new File(temporaryFolder.getRoot(), "large.bin");
+		
+		assertSame(file, downloadEndpoint.unranged(file));
+		assertArrayEquals(largeBody, read(file));
+		assertTrue(ranges.isEmpty());
+	}
+	
+	/**
+	 * <p>Tests that an asynchronous download delivers the file to the {@link AsyncHandler}.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testAsync() throws Exception {
+		
+		File file = new File(temporaryFolder.getRoot(), "asset.bin");
+		
+		final AtomicReference<File> downloaded = new AtomicReference<File>();
+		final CountDownLatch completed = new CountDownLatch(1);
+		
+		downloadEndpoint.async(file, new AsyncHandler<File>() {
+			
+			@Override
+			public void onSuccess(HttpResponse response, File content) {
+				
+				downloaded.set(content);
+				completed.countDown();
+			}
+			
+			@Override
+			public void onError(InvocationException error) {
+				
+				completed.countDown();
+			}
+		});
+		
+		assertTrue(completed.await(10, TimeUnit.SECONDS));
+		assertSame(file, downloaded.get());
+		assertArrayEquals(body, read(file));
+	}
+}
@@ -0,0 +1,324 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.AsyncHandler;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on gathering the results of concurrent requests using the endpoint 
+ * {@link GatherEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class GatherEndpointTest {
+	
+	
+	private HttpServer httpServer;
+	
+	private ExecutorService serverExecutor;
+	
+	private final CountDownLatch release = new CountDownLatch(1);
+	
+	private final AtomicInteger inFlight = new AtomicInteger();
+	
+	private final AtomicInteger maxInFlight = new AtomicInteger();
+	
+	@Bite
+	private GatherEndpoint gatherEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		
+		serverExecutor = Executors.newCachedThreadPool();
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8105), 0);
+		httpServer.setExecutor(serverExecutor);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				String path = exchange.getRequestURI().getPath();
+				
+				int current = inFlight.incrementAndGet();
+				
+				for (int max = maxInFlight.get(); current > max && !maxInFlight.compareAndSet(max, current); ) {
+					
+					max = maxInFlight.get();
+				}
+				
+				try {
+					
+					if(path.startsWith("/hang/")) {
+						
+						release.await(10, TimeUnit.SECONDS);
+					}
+					else {
+						
+						Thread.sleep(100);
+					}
+				}
+				catch(InterruptedException ie) {
+					
+					Thread.currentThread().interrupt();
+				}
+				finally {
+					
+					inFlight.decrementAndGet();
+				}
+				
+				int status = path.startsWith("/missing")? 404 :200;
+				byte[] body = path.substring(path.lastIndexOf('/') + 1).getBytes("UTF-8");
+				
+				exchange.getResponseHeaders().add("Content-Type", "text/plain");
+				exchange.sendResponseHeaders(status, body.length);
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				outputStream.write(body);
+				outputStream.close();
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		release.countDown();
+		
+		httpServer.stop(0);
+		serverExecutor.shutdownNow();
+	}
+	
+	/**
+	 * <p>Tests that requests are executed concurrently and that their results are gathered in the 
+	 * order in which their handlers were created.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testGather() {
+		
+		Gather<String> gather = new Gather<String>();
+		
+		for (int i = 1; i <= 6; i++) {
+			
+			Gather.Handler<String> handler = gather.newHandler();
+			gatherEndpoint.getUser(String.valueOf(i), handler, handler.getCancellation());
+		}
+		
+		long start = System.currentTimeMillis();
+		
+		List<String> results = gather.await(5, TimeUnit.SECONDS);
+		
+		assertEquals(Arrays.asList("1", "2", "3", "4", "5", "6"), results);
+		assertTrue(maxInFlight.get() > 1);
+		assertTrue(System.currentTimeMillis() - start < 5000);
+	}
+	
+	/**
+	 * <p>Tests that the results which are in when the deadline elapses are returned and that the 
+	 * stragglers are cancelled.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testDeadline() throws InterruptedException {
+		
+		Gather<String> gather = new Gather<String>();
+		
+		Gather.Handler<String> hung = gather.newHandler();
+		gatherEndpoint.hang("0", hung, hung.getCancellation());
+		
+		for (int i = 1; i <= 3; i++) {
+			
+			Gather.Handler<String> handler = gather.newHandler();
+			gatherEndpoint.getUser(String.valueOf(i), handler, handler.getCancellation());
+		}
+		
+		long start = System.currentTimeMillis();
+		
+		List<String> results = gather.await(1, TimeUnit.SECONDS);
+		
+		assertTrue(System.currentTimeMillis() - start < 5000);
+		assertEquals(Arrays.asList("1", "2", "3"), results);
+		
+		assertTrue(hung.getCancellation().isCancelled());
+		assertFalse(hung.isSuccessful());
+		assertNull(hung.getResult());
+	}
+	
+	/**
+	 * <p>Tests that results are returned as soon as the quorum is reached.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testQuorum() {
+		
+		Gather<String> gather = new Gather<String>();
+		
+		Gather.Handler<String> hung = gather.newHandler();
+		gatherEndpoint.hang("1", hung, hung.getCancellation());
+		
+		for (int i = 2; i <= 4; i++) {
+			
+			Gather.Handler<String> handler = gather.newHandler();
+			gatherEndpoint.getUser(String.valueOf(i), handler, handler.getCancellation());
+		}
+		
+		long start = System.currentTimeMillis();
+		
+		List<String> results = gather.await(2, 8, TimeUnit.SECONDS);
+		
+		assertTrue(System.currentTimeMillis() - start < 5000);
+		assertEquals(2, results.size());
+		assertTrue(hung.getCancellation().isCancelled());
+	}
+	
+	/**
+	 * <p>Tests that failed requests are excluded from the results and that their responses are 
+	 * available on their handlers.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testFailure() {
+		
+		Gather<String> gather = new Gather<String>();
+		
+		Gather.Handler<String> failed = gather.newHandler();
+		gatherEndpoint.missing(failed);
+		
+		Gather.Handler<String> handler = gather.newHandler();
+		gatherEndpoint.getUser("1", handler, handler.getCancellation());
+		
+		assertEquals(Arrays.asList("1"), gather.await(5, TimeUnit.SECONDS));
+		
+		assertTrue(failed.isDone());
+		assertFalse(failed.isSuccessful());
+		assertEquals(404, failed.getResponse().getStatusLine().getStatusCode());
+	}
+	
+	/**
+	 * <p>Tests that stragglers are left running if the {@link Gather} was created to do so.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testStragglersRunning() {
+		
+		Gather<String> gather = new Gather<String>(false);
+		
+		Gather.Handler<String> hung = gather.newHandler();
+		gatherEndpoint.hang("0", hung, hung.getCancellation());
+		
+		assertTrue(gather.await(500, TimeUnit.MILLISECONDS).isEmpty());
+		assertFalse(hung.getCancellation().isCancelled());
+		
+		gather.cancel();
+		
+		assertTrue(hung.getCancellation().isCancelled());
+	}
+	
+	/**
+	 * <p>Tests that requests which gather a fan-out from within the callbacks of asynchronous requests 
+	 * do not starve the nested requests, even if they occupy every thread of the pool.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testNestedFanOut() throws InterruptedException {
+		
+		int outer = Math.max(8, Runtime.getRuntime().availableProcessors() * 4) + 2;
+		
+		final CountDownLatch latch = new CountDownLatch(outer);
+		final AtomicInteger gathered = new AtomicInteger();
+		
+		for (int i = 0; i < outer; i++) {
+			
+			gatherEndpoint.getUser(String.valueOf(i), new AsyncHandler<String>() {
+				
+				@Override
+				public void onSuccess(HttpResponse response, String user) {
+					
+					try {
+						
+						Gather<String> gather = new Gather<String>();
+						
+						Gather.Handler<String> handler = gather.newHandler();
+						gatherEndpoint.getUser(user + "-nested", handler, handler.getCancellation());
+						
+						if(gather.await(10, TimeUnit.SECONDS).size() == 1) {
+							
+							gathered.incrementAndGet();
+						}
+					}
+					finally {
+						
+						latch.countDown();
+					}
+				}
+			}, new Cancellation());
+		}
+		
+		assertTrue(latch.await(30, TimeUnit.SECONDS));
+		assertEquals(outer, gathered.get());
+	}
+}
@@ -0,0 +1,129 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.Zombie;
+
+/**
+ * <p>Performs unit testing on {@link HedgeEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class HedgeEndpointTest {
+
+	
+	@Rule
+	public WireMockRule wireMockRule = new WireMockRule();
+	
+	@Bite
+	private HedgeEndpoint hedgeEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		Zombie.infect(this);
+	}
+	
+	/**
+	 * <p>Tests that a slow idempotent request is hedged and that the faster response is accepted.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testHedged() {
+		
+		String subpath = "/hedged";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.inScenario("hedging")
+				.whenScenarioStateIs(Scenario.STARTED)
+				.willReturn(aResponse()
+				.withStatus(200)
+				.withBody("slow")
+				.withFixedDelay(3000))
+				.willSetStateTo("hedged"));
+		
+		stubFor(get(urlEqualTo(subpath))
+				.inScenario("hedging")
+				.whenScenarioStateIs("hedged")
+				.willReturn(aResponse()
+				.withStatus(200)
+				.withBody("fast")));
+		
+		long start = System.currentTimeMillis();
+		
+		String response = hedgeEndpoint.hedged();
+		
+		long elapsed = System.currentTimeMillis() - start;
+		
+		verify(2, getRequestedFor(urlEqualTo(subpath)));
+		
+		assertEquals("fast", response);
+		assertTrue("Hedged request took " + elapsed + "ms", elapsed < 2000);
+	}
+	
+	/**
+	 * <p>Tests that a non-idempotent request is <b>not</b> hedged.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testUnhedged() {
+		
+		String subpath = "/unhedged";
+		
+		stubFor(post(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)
+				.withBody("slow")
+				.withFixedDelay(500)));
+		
+		assertEquals("slow", hedgeEndpoint.unhedged());
+		
+		verify(1, postRequestedFor(urlEqualTo(subpath)));
+	}
+}
@@ -0,0 +1,120 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.transport.LoopbackTransport;
+
+/**
+ * <p>Performs unit testing on {@link LoopbackEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class LoopbackEndpointTest {
+	
+	
+	@Bite
+	private LoopbackEndpoint loopbackEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		Zombie.infect(this);
+	}
+	
+	/**
+	 * <p>Tests that the {@link LoopbackTransport} is configured for the endpoint.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testTransport() {
+		
+		assertTrue(TransportDirectory.INSTANCE.lookup(LoopbackEndpoint.class) instanceof LoopbackTransport);
+	}
+	
+	/**
+	 * <p>Tests that requests are served by the handlers which match their method and path.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testHandlers() {
+		
+		assertEquals("hello", loopbackEndpoint.greeting());
+		assertEquals("Hello, Loopback", loopbackEndpoint.echo("Hello, Loopback"));
+		assertEquals("sahan", loopbackEndpoint.user("sahan"));
+	}
+	
+	/**
+	 * <p>Tests that a request which does not match any handler fails with <b>404 Not Found</b>.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testUnmatched() {
+		
+		try {
+			
+			loopbackEndpoint.missing();
+			fail("Expected the request to fail with 404 Not Found.");
+		}
+		catch(InvocationException ie) {
+			
+			assertTrue(ie.hasResponse());
+			assertEquals(404, ie.getResponse().getStatusLine().getStatusCode());
+		}
+	}
+	
+	/**
+	 * <p>Tests that requests traverse the complete processor pipeline in memory without a network.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testPipeline() {
+		
+		int invocations = 10000;
+		
+		for (int i = 0; i < invocations; i++) {
+			
+			assertEquals(String.valueOf(i), loopbackEndpoint.user(String.valueOf(i)));
+		}
+	}
+}
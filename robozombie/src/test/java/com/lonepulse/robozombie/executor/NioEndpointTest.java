@@ -0,0 +1,507 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.AsyncHandler;
+import com.lonepulse.robozombie.transport.AsyncTransport;
+import com.lonepulse.robozombie.transport.NioTransport;
+
+/**
+ * <p>Performs unit testing on {@link NioEndpoint}.</p>
+ * 
+ * <p>The endpoint is served by a non-blocking stub server which is capable of holding thousands of 
+ * slow responses at once. The number of concurrent requests in the load test can be raised with the 
+ * system property <b>robozombie.nio.concurrency</b>, provided that the limit on open files permits 
+ * a client and a server connection for each request.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class NioEndpointTest {
+	
+	
+	private static final int CONCURRENCY = Integer.getInteger("robozombie.nio.concurrency", 2000);
+	
+	private static final long SLOW_RESPONSE_DELAY = 1000L;
+	
+	
+	/**
+	 * <p>A non-blocking HTTP/1.1 server which echoes POST requests, sends a chunked response for 
+	 * <b>/chunked</b>, a compressed response for <b>/gzip</b> if <i>gzip</i> is accepted and responds 
+	 * to any other request after a fixed delay.</p>
+	 */
+	private static final class StubServer implements Runnable {
+		
+		
+		private final Selector selector;
+		
+		private final ServerSocketChannel server;
+		
+		private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+		
+		private final Queue<Runnable> commands = new ConcurrentLinkedQueue<Runnable>();
+		
+		private final Thread thread = new Thread(this, "NioEndpointTest-Stub");
+		
+		private volatile boolean running = true;
+		
+		
+		private StubServer(int port) throws IOException {
+			
+			selector = Selector.open();
+			server = ServerSocketChannel.open();
+			server.configureBlocking(false);
+			server.socket().setReuseAddress(true);
+			server.socket().bind(new InetSocketAddress("0.0.0.0", port), 16 * 1024);
+			server.register(selector, SelectionKey.OP_ACCEPT);
+			
+			thread.start();
+		}
+		
+		@Override
+		public void run() {
+			
+			try {
+				
+				while(running) {
+					
+					selector.select(100);
+					
+					for (Runnable command; (command = commands.poll()) != null; ) {
+						
+						command.run();
+					}
+					
+					Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+					
+					while(keys.hasNext()) {
+						
+						SelectionKey key = keys.next();
+						keys.remove();
+						
+						try {
+							
+							if(key.isAcceptable()) {
+								
+								for (SocketChannel channel; (channel = server.accept()) != null; ) {
+									
+									channel.configureBlocking(false);
+									channel.register(selector, SelectionKey.OP_READ, new ByteArrayOutputStream());
+								}
+							}
+							else if(key.isReadable()) {
+								
+								read(key);
+							}
+							else if(key.isWritable()) {
+								
+								write(key);
+							}
+						}
+						catch(IOException ioe) {
+							
+							key.channel().close();
+						}
+					}
+				}
+				
+				for (SelectionKey key : selector.keys()) {
+					
+					key.channel().close();
+				}
+				
+				selector.close();
+			}
+			catch(IOException ioe) {
+				
+				throw new RuntimeException(ioe);
+			}
+		}
+		
+		private void read(final SelectionKey key) throws IOException {
+			
+			ByteArrayOutputStream received = (ByteArrayOutputStream)key.attachment();
+			ByteBuffer buffer = ByteBuffer.allocate(4096);
+			
+			int count = ((SocketChannel)key.channel()).read(buffer);
+			
+			if(count < 0) {
+				
+				key.channel().close();
+				return;
+			}
+			
+			received.write(buffer.array(), 0, count);
+			
+			String message = received.toString("ISO-8859-1");
+			int headEnd = message.indexOf("\r\n\r\n");
+			
+			if(headEnd < 0) {
+				
+				return;
+			}
+			
+			String head = message.substring(0, headEnd).toLowerCase();
+			int contentLength = 0;
+			int lengthIndex = head.indexOf("content-length:");
+			
+			if(lengthIndex >= 0) {
+				
+				int lineEnd = head.indexOf("\r\n", lengthIndex);
+				contentLength = Integer.parseInt(head.substring(lengthIndex + 15, 
+					lineEnd < 0? head.length() :lineEnd).trim());
+			}
+			
+			if(message.length() < headEnd + 4 + contentLength) {
+				
+				return;
+			}
+			
+			received.reset();
+			key.interestOps(0);
+			
+			String path = message.substring(message.indexOf(' ') + 1, message.indexOf(' ', message.indexOf(' ') + 1));
+			
+			if(message.startsWith("POST")) {
+				
+				respond(key, fixed(message.substring(headEnd + 4, headEnd + 4 + contentLength)));
+			}
+			else if(path.startsWith("/chunked")) {
+				
+				respond(key, "HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nTransfer-Encoding: chunked\r\n\r\n" + 
+					"3\r\nchu\r\n4;ext=1\r\nnked\r\n0\r\n\r\n");
+			}
+			else if(path.startsWith("/gzip")) {
+				
+				respond(key, head.contains("accept-encoding: gzip")? gzip("gzip") :fixed("identity").getBytes());
+			}
+			else {
+				
+				scheduler.schedule(new Runnable() {
+					
+					@Override
+					public void run() {
+						
+						commands.offer(new Runnable() {
+							
+							@Override
+							public void run() {
+								
+								respond(key, fixed("slow"));
+							}
+						});
+						
+						selector.wakeup();
+					}
+				}, SLOW_RESPONSE_DELAY, TimeUnit.MILLISECONDS);
+			}
+		}
+		
+		private static String fixed(String body) {
+			
+			return "HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Length: " + body.length() + "\r\n\r\n" + body;
+		}
+		
+		private static byte[] gzip(String body) throws IOException {
+			
+			ByteArrayOutputStream content = new ByteArrayOutputStream();
+			GZIPOutputStream gzipOutputStream = new GZIPOutputStream(content);
+			gzipOutputStream.write(body.getBytes());
+			gzipOutputStream.close();
+			
+			ByteArrayOutputStream response = new ByteArrayOutputStream();
+			response.write(("HTTP/1.1 200 OK\r\nContent-Type: text/plain\r\nContent-Encoding: gzip\r\n" + 
+				"Content-Length: " + content.size() + "\r\n\r\n").getBytes());
+			content.writeTo(response);
+			
+			return response.toByteArray();
+		}
+		
+		private void respond(SelectionKey key, String response) {
+			
+			respond(key, response.getBytes());
+		}
+		
+		private void respond(SelectionKey key, byte[] response) {
+			
+			if(key.isValid()) {
+				
+				key.attach(ByteBuffer.wrap(response));
+				key.interestOps(SelectionKey.OP_WRITE);
+			}
+		}
+		
+		private void write(SelectionKey key) throws IOException {
+			
+			ByteBuffer buffer = (ByteBuffer)key.attachment();
+			((SocketChannel)key.channel()).write(buffer);
+			
+			if(!buffer.hasRemaining()) {
+				
+				key.attach(new ByteArrayOutputStream());
+				key.interestOps(SelectionKey.OP_READ);
+			}
+		}
+		
+		private void shutdown() throws InterruptedException {
+			
+			running = false;
+			selector.wakeup();
+			thread.join();
+			scheduler.shutdownNow();
+		}
+	}
+	
+	
+	private StubServer stubServer;
+	
+	@Bite
+	private NioEndpoint nioEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		stubServer = new StubServer(8090);
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() throws Exception {
+		
+		stubServer.shutdown();
+	}
+	
+	/**
+	 * <p>Tests that the {@link NioTransport} is configured for the endpoint.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testTransport() {
+		
+		assertTrue(TransportDirectory.INSTANCE.lookup(NioEndpoint.class) instanceof NioTransport);
+	}
+	
+	/**
+	 * <p>Tests a synchronous request which encloses an entity.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testEntity() {
+		
+		String content = "Hello, NIO";
+		
+		assertEquals(content, nioEndpoint.echo(content));
+		assertEquals(content, nioEndpoint.echo(content)); //over the pooled connection
+	}
+	
+	/**
+	 * <p>Tests a response which uses the chunked transfer-coding.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testChunked() {
+		
+		assertEquals("chunked", nioEndpoint.chunked());
+	}
+	
+	/**
+	 * <p>Tests that a {@link Deadline} aborts a request over the non-blocking transport.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testDeadline() {
+		
+		long start = System.currentTimeMillis();
+		
+		try {
+			
+			nioEndpoint.slow(Deadline.within(200, TimeUnit.MILLISECONDS));
+			fail("Expected the deadline to be exceeded.");
+		}
+		catch(InvocationException ie) {
+			
+			assertTrue(ie.getCause() instanceof DeadlineExceededException);
+		}
+		
+		long elapsed = System.currentTimeMillis() - start;
+		assertTrue("Deadline was enforced after " + elapsed + "ms", elapsed < SLOW_RESPONSE_DELAY);
+	}
+	
+	/**
+	 * <p>Tests that compressed content is negotiated and decoded for an asynchronous request which is 
+	 * executed over the non-blocking transport.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testAsyncCompressed() throws InterruptedException {
+		
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicReference<String> content = new AtomicReference<String>();
+		
+		nioEndpoint.gzip(new AsyncHandler<String>() {
+			
+			@Override
+			public void onSuccess(HttpResponse httpResponse, String body) {
+				
+				content.set(body);
+				latch.countDown();
+			}
+			
+			@Override
+			public void onError(InvocationException invocationException) {
+				
+				latch.countDown();
+			}
+		});
+		
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		assertEquals("gzip", content.get());
+	}
+	
+	/**
+	 * <p>Tests that shutting down the transport fails a request which is in flight and delivers its 
+	 * callback, although the completion threads which are owned by the transport are stopped.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testShutdownInFlight() throws InterruptedException {
+		
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicReference<Exception> error = new AtomicReference<Exception>();
+		
+		NioTransport transport = new NioTransport();
+		transport.execute(new HttpGet("http://0.0.0.0:8090/slow"), null, new AsyncTransport.Callback() {
+			
+			@Override
+			public void onResponse(HttpResponse response) {
+				
+				latch.countDown();
+			}
+			
+			@Override
+			public void onError(Exception exception) {
+				
+				error.set(exception);
+				latch.countDown();
+			}
+		});
+		
+		Thread.sleep(SLOW_RESPONSE_DELAY / 4);
+		transport.shutdown();
+		
+		assertTrue(latch.await(SLOW_RESPONSE_DELAY / 2, TimeUnit.MILLISECONDS));
+		assertTrue(error.get() instanceof IOException);
+	}
+	
+	/**
+	 * <p>Tests that thousands of concurrent asynchronous requests with slow responses are in flight 
+	 * at once, rather than being limited by the threads of the asynchronous executor.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testConcurrentSlowResponses() throws InterruptedException {
+		
+		final CountDownLatch latch = new CountDownLatch(CONCURRENCY);
+		final AtomicInteger successes = new AtomicInteger();
+		final AtomicInteger errors = new AtomicInteger();
+		
+		long start = System.currentTimeMillis();
+		
+		for (int i = 0; i < CONCURRENCY; i++) {
+			
+			nioEndpoint.slow(new AsyncHandler<String>() {
+				
+				@Override
+				public void onSuccess(HttpResponse httpResponse, String content) {
+					
+					if("slow".equals(content)) {
+						
+						successes.incrementAndGet();
+					}
+					
+					latch.countDown();
+				}
+				
+				@Override
+				public void onError(InvocationException invocationException) {
+					
+					errors.incrementAndGet();
+					latch.countDown();
+				}
+			});
+		}
+		
+		assertTrue(latch.await(60, TimeUnit.SECONDS));
+		
+		long elapsed = System.currentTimeMillis() - start;
+		
+		assertEquals(0, errors.get());
+		assertEquals(CONCURRENCY, successes.get());
+		assertTrue(CONCURRENCY + " slow responses took " + elapsed + "ms", elapsed < 20 * SLOW_RESPONSE_DELAY);
+	}
+}
@@ -0,0 +1,76 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static com.lonepulse.robozombie.annotation.Entity.ContentType.JSON;
+
+import java.util.List;
+
+import com.lonepulse.robozombie.annotation.Deserialize;
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.GET;
+import com.lonepulse.robozombie.annotation.Paginate;
+import com.lonepulse.robozombie.annotation.QueryParam;
+
+/**
+ * <p>An endpoint whose requests return paged collections.</p>
+ * 
+ * @version 1.1.0
+ * <br><br> 
+ * @since 1.3.4
+ * <br><br> 
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Deserialize(JSON)
+@Endpoint("http://0.0.0.0:8106")
+public interface PagesEndpoint {
+	
+	
+	@GET("/numbered")
+	@Paginate(param = "page")
+	public List<String> numbered(Pages<List<String>> pages);
+	
+	@GET("/numbered")
+	@Paginate(param = "page", prefetch = 3)
+	public List<String> prefetched(Pages<List<String>> pages);
+	
+	@GET("/numbered")
+	@Paginate(param = "page", start = 0)
+	public List<String> fromPage(@QueryParam("page") String page, Pages<List<String>> pages);
+	
+	@GET("/cursors")
+	@Paginate(param = "cursor", cursor = "X-Next-Cursor")
+	public List<String> cursors(Pages<List<String>> pages);
+	
+	@GET("/links")
+	@Paginate
+	public List<String> links(Pages<List<String>> pages);
+	
+	@GET("/failed")
+	@Paginate(param = "page")
+	public List<String> failed(Pages<List<String>> pages);
+	
+	@GET("/numbered")
+	@Paginate(param = "page")
+	public List<String> firstPage();
+}
@@ -0,0 +1,310 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on the iteration and prefetching of paged responses using the endpoint 
+ * {@link PagesEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class PagesEndpointTest {
+	
+	
+	private static final int PAGE_COUNT = 5;
+	
+	private HttpServer httpServer;
+	
+	private final List<String> requests = Collections.synchronizedList(new ArrayList<String>());
+	
+	@Bite
+	private PagesEndpoint pagesEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8106), 0);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				String path = exchange.getRequestURI().getPath();
+				String query = exchange.getRequestURI().getQuery();
+				
+				requests.add(query == null? path :path + "?" + query);
+				
+				String value = (query == null)? "" :query.substring(query.indexOf('=') + 1);
+				int page = value.length() == 0? 1 :Integer.parseInt(value);
+				
+				if(path.equals("/links") && page < PAGE_COUNT) {
+					
+					exchange.getResponseHeaders().add("Link", 
+						"<http://0.0.0.0:8106/links?page=1>; rel=\"first\", </links?page=" + (page + 1) + ">; rel=\"next\"");
+				}
+				
+				if(path.equals("/cursors") && page < PAGE_COUNT) {
+					
+					exchange.getResponseHeaders().add("X-Next-Cursor", String.valueOf(page + 1));
+				}
+				
+				int status = (path.equals("/failed") && page == 3)? 500 :200;
+				
+				StringBuilder body = new StringBuilder("[");
+				
+				if(page <= PAGE_COUNT) {
+					
+					body.append("\"").append(page).append("a\",\"").append(page).append("b\"");
+				}
+				
+				byte[] response = body.append("]").toString().getBytes("UTF-8");
+				
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(status, response.length);
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				outputStream.write(response);
+				outputStream.close();
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+	}
+	
+	private static List<String> consume(Pages<List<String>> pages) {
+		
+		List<String> items = new ArrayList<String>();
+		
+		while(pages.hasNext()) {
+			
+			items.addAll(pages.next());
+		}
+		
+		return items;
+	}
+	
+	private static List<String> items(int from, int to) {
+		
+		List<String> items = new ArrayList<String>();
+		
+		for (int page = from; page <= to; page++) {
+			
+			items.add(page + "a");
+			items.add(page + "b");
+		}
+		
+		return items;
+	}
+	
+	/**
+	 * <p>Tests that page numbers are incremented until an empty page is received, which is not 
+	 * delivered.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testPageNumbers() {
+		
+		Pages<List<String>> pages = new Pages<List<String>>();
+		
+		assertEquals(null, pagesEndpoint.numbered(pages));
+		
+		assertEquals(items(1, PAGE_COUNT), consume(pages));
+		assertEquals(Arrays.asList("/numbered", "/numbered?page=2", "/numbered?page=3", 
+			"/numbered?page=4", "/numbered?page=5", "/numbered?page=6"), requests);
+	}
+	
+	/**
+	 * <p>Tests that paging continues from a page number which was supplied with the first request.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testStartingPage() {
+		
+		Pages<List<String>> pages = new Pages<List<String>>();
+		pagesEndpoint.fromPage("4", pages);
+		
+		assertEquals(items(4, PAGE_COUNT), consume(pages));
+	}
+	
+	/**
+	 * <p>Tests that the next page is prefetched while the current page is consumed, and that the 
+	 * number of pages which are fetched ahead is bounded.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testPrefetch() throws InterruptedException {
+		
+		Pages<List<String>> pages = new Pages<List<String>>();
+		pagesEndpoint.numbered(pages);
+		
+		Thread.sleep(500);
+		assertEquals(1, requests.size());
+		
+		assertEquals(items(1, 1), pages.next());
+		
+		Thread.sleep(500);
+		assertEquals(2, requests.size());
+		
+		pages.close();
+		
+		Pages<List<String>> prefetched = new Pages<List<String>>();
+		pagesEndpoint.prefetched(prefetched);
+		
+		Thread.sleep(500);
+		assertEquals(5, requests.size());
+		
+		assertEquals(items(1, PAGE_COUNT), consume(prefetched));
+	}
+	
+	/**
+	 * <p>Tests that the next page is requested using the cursor in a response header.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testCursor() {
+		
+		Pages<List<String>> pages = new Pages<List<String>>();
+		pagesEndpoint.cursors(pages);
+		
+		assertEquals(items(1, PAGE_COUNT), consume(pages));
+		assertEquals("/cursors?cursor=2", requests.get(1));
+		assertEquals(PAGE_COUNT, requests.size());
+	}
+	
+	/**
+	 * <p>Tests that the next page is requested using the <b>Link</b> header.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testLink() {
+		
+		Pages<List<String>> pages = new Pages<List<String>>();
+		pagesEndpoint.links(pages);
+		
+		assertEquals(items(1, PAGE_COUNT), consume(pages));
+		assertEquals("/links?page=2", requests.get(1));
+		assertEquals(PAGE_COUNT, requests.size());
+	}
+	
+	/**
+	 * <p>Tests that iteration ends with an {@link InvocationException} once the pages before a 
+	 * failed page have been consumed.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testFailure() {
+		
+		Pages<List<String>> pages = new Pages<List<String>>();
+		pagesEndpoint.failed(pages);
+		
+		assertEquals(items(1, 1), pages.next());
+		assertEquals(items(2, 2), pages.next());
+		
+		try {
+			
+			pages.next();
+			fail("The failed page should have ended the iteration.");
+		}
+		catch(InvocationException ie) {
+			
+			assertEquals(500, ie.getResponse().getStatusLine().getStatusCode());
+		}
+		
+		assertFalse(pages.hasNext());
+	}
+	
+	/**
+	 * <p>Tests that a paginated request which is invoked without {@link Pages} returns the first page.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testFirstPage() {
+		
+		assertEquals(items(1, 1), pagesEndpoint.firstPage());
+		assertEquals(1, requests.size());
+	}
+	
+	/**
+	 * <p>Tests that closing the pages stops any further prefetching.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testClose() throws InterruptedException {
+		
+		Pages<List<String>> pages = new Pages<List<String>>();
+		pagesEndpoint.numbered(pages);
+		
+		assertTrue(pages.hasNext());
+		pages.close();
+		
+		Thread.sleep(300);
+		
+		assertFalse(pages.hasNext());
+		assertEquals(1, requests.size());
+	}
+}
@@ -0,0 +1,181 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on the maintenance and statistics of connection pools using the endpoint 
+ * {@link PoolEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class PoolEndpointTest {
+	
+	
+	private HttpServer httpServer;
+	
+	@Bite
+	private PoolEndpoint poolEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8107), 0);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				if(exchange.getRequestURI().getPath().equals("/keepalive")) {
+					
+					exchange.getResponseHeaders().add("Keep-Alive", "timeout=1");
+				}
+				
+				byte[] response = "pooled".getBytes("UTF-8");
+				
+				exchange.sendResponseHeaders(200, response.length);
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				outputStream.write(response);
+				outputStream.close();
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+	}
+	
+	/**
+	 * <p>Tests that connections are released to the pool and reused, and that their leases are tracked.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testStats() {
+		
+		PoolStats before = PoolStats.of(PoolEndpoint.class);
+		assertNotNull(before);
+		
+		assertEquals("pooled", poolEndpoint.persistent());
+		assertEquals("pooled", poolEndpoint.persistent());
+		
+		PoolStats after = PoolStats.of(PoolEndpoint.class);
+		
+		assertEquals(2, after.getLeases() - before.getLeases());
+		assertEquals(0, after.getLeased());
+		assertEquals(1, after.getIdle());
+		assertEquals(1, after.getTotal());
+	}
+	
+	/**
+	 * <p>Tests that the default configuration exposes the statistics of its connection pool and that a 
+	 * configuration which does not use a {@link MeteredConnectionManager} does not.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testDefaultStats() {
+		
+		Zombie.infect(new Object() {
+			
+			@Bite
+			private PagesEndpoint pagesEndpoint;
+			
+			@Bite
+			private ConfigEndpoint configEndpoint;
+		});
+		
+		assertNotNull(PoolStats.of(PagesEndpoint.class));
+		assertNull(PoolStats.of(ConfigEndpoint.class));
+	}
+	
+	/**
+	 * <p>Tests that a connection which remains idle past the configured threshold is closed.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testIdleConnectionReaping() throws InterruptedException {
+		
+		assertEquals("pooled", poolEndpoint.persistent());
+		
+		long reaped = PoolStats.of(PoolEndpoint.class).getReaped();
+		
+		Thread.sleep(1000);
+		assertEquals(1, PoolStats.of(PoolEndpoint.class).getIdle());
+		
+		Thread.sleep(3500);
+		
+		PoolStats stats = PoolStats.of(PoolEndpoint.class);
+		
+		assertEquals(0, stats.getTotal());
+		assertTrue(stats.getReaped() > reaped);
+	}
+	
+	/**
+	 * <p>Tests that a connection is closed once the duration specified by the <b>Keep-Alive: timeout</b> 
+	 * header of its last response expires, even though the idle threshold was not reached.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testKeepAliveTimeout() throws InterruptedException {
+		
+		assertEquals("pooled", poolEndpoint.keepAlive());
+		assertEquals(1, PoolStats.of(PoolEndpoint.class).getIdle());
+		
+		Thread.sleep(2500);
+		
+		assertEquals(0, PoolStats.of(PoolEndpoint.class).getTotal());
+	}
+}
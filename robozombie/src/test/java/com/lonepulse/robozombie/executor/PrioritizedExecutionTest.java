@@ -0,0 +1,114 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Priority;
+
+/**
+ * <p>Performs unit testing on {@link PrioritizedExecution}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class PrioritizedExecutionTest {
+	
+	
+	private static final Runnable NOOP = new Runnable() {
+		
+		@Override
+		public void run() {}
+	};
+	
+	
+	/**
+	 * <p>Tests that executions with a higher priority are dequeued first.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testPriority() {
+		
+		long now = System.nanoTime();
+		
+		PrioritizedExecution low = new PrioritizedExecution(NOOP, Priority.LOW, now);
+		PrioritizedExecution normal = new PrioritizedExecution(NOOP, Priority.NORMAL, now);
+		PrioritizedExecution high = new PrioritizedExecution(NOOP, Priority.HIGH, now);
+		
+		PriorityBlockingQueue<PrioritizedExecution> queue = new PriorityBlockingQueue<PrioritizedExecution>();
+		queue.add(low);
+		queue.add(normal);
+		queue.add(high);
+		
+		assertSame(high, queue.poll());
+		assertSame(normal, queue.poll());
+		assertSame(low, queue.poll());
+	}
+	
+	/**
+	 * <p>Tests that executions with the same priority are dequeued in the order of submission.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testFifo() {
+		
+		long now = System.nanoTime();
+		
+		PrioritizedExecution first = new PrioritizedExecution(NOOP, Priority.NORMAL, now);
+		PrioritizedExecution second = new PrioritizedExecution(NOOP, Priority.NORMAL, now);
+		
+		assertTrue(first.compareTo(second) < 0);
+		assertTrue(second.compareTo(first) > 0);
+	}
+	
+	/**
+	 * <p>Tests that a low priority execution which has waited for long overtakes newer executions 
+	 * with a higher priority.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testAging() {
+		
+		long now = System.nanoTime();
+		long waited = (Priority.HIGH - Priority.LOW) * PrioritizedExecution.AGING_QUANTUM 
+				+ TimeUnit.MILLISECONDS.toNanos(1);
+		
+		PrioritizedExecution starved = new PrioritizedExecution(NOOP, Priority.LOW, now - waited);
+		PrioritizedExecution recent = new PrioritizedExecution(NOOP, Priority.HIGH, now);
+		
+		assertTrue(starved.compareTo(recent) < 0);
+	}
+}
@@ -0,0 +1,74 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import java.util.concurrent.TimeUnit;
+
+import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Detach;
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.GET;
+import com.lonepulse.robozombie.annotation.RateLimit;
+import com.lonepulse.robozombie.annotation.RateLimit.Mode;
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>An endpoint whose requests are throttled using client-side rate limits.</p>
+ * 
+ * @version 1.1.0
+ * <br><br> 
+ * @since 1.3.4
+ * <br><br> 
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Endpoint("http://0.0.0.0:8080")
+@RateLimit(permits = 1, period = 1, unit = TimeUnit.HOURS, mode = Mode.REJECT)
+public interface RateLimitEndpoint {
+	
+	
+	@GET("/blocked")
+	@Detach(RateLimit.class)
+	@RateLimit(permits = 4, mode = Mode.BLOCK)
+	public String blocked();
+	
+	@GET("/rejected")
+	@Detach(RateLimit.class)
+	@RateLimit(permits = 2, period = 1, unit = TimeUnit.HOURS, mode = Mode.REJECT)
+	public String rejected();
+	
+	@Async
+	@GET("/queued")
+	@Detach(RateLimit.class)
+	@RateLimit(permits = 4, mode = Mode.QUEUE)
+	public void queued(AsyncHandler<String> asyncHandler);
+	
+	@Async
+	@GET("/reserved")
+	@Detach(RateLimit.class)
+	@RateLimit(permits = 1, period = 1, unit = TimeUnit.HOURS, mode = Mode.QUEUE)
+	public void reserved(Cancellation cancellation, AsyncHandler<String> asyncHandler);
+	
+	@GET("/limited")
+	public String limited();
+}
@@ -0,0 +1,243 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpResponse;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>Performs unit testing on {@link RateLimitEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class RateLimitEndpointTest {
+	
+	
+	@Rule
+	public WireMockRule wireMockRule = new WireMockRule();
+	
+	@Bite
+	private RateLimitEndpoint rateLimitEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		Zombie.infect(this);
+	}
+	
+	/**
+	 * <p>Tests that requests which exceed a blocking rate limit wait for a permit.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testBlocked() {
+		
+		String subpath = "/blocked";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)));
+		
+		long start = System.currentTimeMillis();
+		
+		for (int i = 0; i < 8; i++) {
+			
+			rateLimitEndpoint.blocked();
+		}
+		
+		long elapsed = System.currentTimeMillis() - start;
+		
+		verify(8, getRequestedFor(urlEqualTo(subpath)));
+		assertTrue("Rate limited requests took " + elapsed + "ms", elapsed >= 900);
+	}
+	
+	/**
+	 * <p>Tests that requests which exceed a rejecting rate limit fail without being sent.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testRejected() {
+		
+		String subpath = "/rejected";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)));
+		
+		rateLimitEndpoint.rejected();
+		rateLimitEndpoint.rejected();
+		
+		try {
+			
+			rateLimitEndpoint.rejected();
+			fail("Expected the request to be rejected.");
+		}
+		catch(InvocationException ie) {
+			
+			assertTrue(ie.getCause() instanceof RateLimitExceededException);
+		}
+		
+		verify(2, getRequestedFor(urlEqualTo(subpath)));
+	}
+	
+	/**
+	 * <p>Tests that the type-level rate limit is shared by all proxies of the endpoint.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testShared() {
+		
+		String subpath = "/limited";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)));
+		
+		rateLimitEndpoint.limited();
+		
+		try {
+			
+			Zombie.infect(this);
+			rateLimitEndpoint.limited();
+			
+			fail("Expected the request to be rejected.");
+		}
+		catch(InvocationException ie) {
+			
+			assertTrue(ie.getCause() instanceof RateLimitExceededException);
+		}
+		
+		verify(1, getRequestedFor(urlEqualTo(subpath)));
+	}
+	
+	/**
+	 * <p>Tests that asynchronous requests which exceed a queueing rate limit are deferred.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testQueued() throws InterruptedException {
+		
+		String subpath = "/queued";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)
+				.withBody("queued")));
+		
+		final CountDownLatch latch = new CountDownLatch(8);
+		
+		long start = System.currentTimeMillis();
+		
+		for (int i = 0; i < 8; i++) {
+			
+			rateLimitEndpoint.queued(new AsyncHandler<String>() {
+				
+				@Override
+				public void onSuccess(HttpResponse httpResponse, String content) {
+					
+					assertEquals("queued", content);
+					latch.countDown();
+				}
+			});
+		}
+		
+		assertTrue(System.currentTimeMillis() - start < 500);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		
+		long elapsed = System.currentTimeMillis() - start;
+		
+		verify(8, getRequestedFor(urlEqualTo(subpath)));
+		assertTrue("Queued requests took " + elapsed + "ms", elapsed >= 900);
+	}
+	
+	/**
+	 * <p>Tests that the permit reserved by a queued request is returned if the request is cancelled.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testQueuedCancelled() throws InterruptedException {
+		
+		String subpath = "/reserved";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)
+				.withBody("reserved")));
+		
+		Cancellation cancellation = new Cancellation();
+		cancellation.cancel();
+		
+		rateLimitEndpoint.reserved(cancellation, new AsyncHandler<String>() {
+			
+			@Override
+			public void onSuccess(HttpResponse httpResponse, String content) {}
+		});
+		
+		final CountDownLatch latch = new CountDownLatch(1);
+		
+		rateLimitEndpoint.reserved(new Cancellation(), new AsyncHandler<String>() {
+			
+			@Override
+			public void onSuccess(HttpResponse httpResponse, String content) {
+				
+				assertEquals("reserved", content);
+				latch.countDown();
+			}
+		});
+		
+		assertTrue(latch.await(2, TimeUnit.SECONDS));
+		verify(1, getRequestedFor(urlEqualTo(subpath)));
+	}
+}
@@ -0,0 +1,76 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.GET;
+import com.lonepulse.robozombie.response.ServerSentEvent;
+import com.lonepulse.robozombie.response.StreamHandler;
+
+/**
+ * <p>An endpoint whose responses are streamed as <b>newline-delimited JSON</b> and <b>Server-Sent Events</b>.</p>
+ * 
+ * @version 1.1.0
+ * <br><br> 
+ * @since 1.3.4
+ * <br><br> 
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Async
+@Endpoint("http://0.0.0.0:8098")
+public interface StreamEndpoint {
+	
+	
+	/**
+	 * <p>A record of a newline-delimited JSON stream.</p>
+	 */
+	public static final class Record {
+		
+		
+		private int id;
+		
+		private String name;
+		
+		
+		public int getId() {
+			
+			return id;
+		}
+		
+		public String getName() {
+			
+			return name;
+		}
+	}
+	
+	
+	@GET("/ndjson")
+	public void ndjson(StreamHandler<Record> streamHandler);
+	
+	@GET("/events")
+	public void events(StreamHandler<ServerSentEvent> streamHandler);
+	
+	@GET("/feed")
+	public void feed(StreamHandler<String> streamHandler, Cancellation cancellation);
+}
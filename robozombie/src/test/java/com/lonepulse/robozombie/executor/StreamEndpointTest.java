@@ -0,0 +1,349 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.executor.StreamEndpoint.Record;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.ServerSentEvent;
+import com.lonepulse.robozombie.response.StreamHandler;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on the streaming of responses to a {@link StreamHandler} using the endpoint 
+ * {@link StreamEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class StreamEndpointTest {
+	
+	
+	private static final int NDJSON_SIZE = 50;
+	
+	
+	private HttpServer httpServer;
+	
+	private final CountDownLatch feedResumed = new CountDownLatch(1);
+	
+	private final CountDownLatch feedClosed = new CountDownLatch(1);
+	
+	private final AtomicBoolean feedInterrupted = new AtomicBoolean();
+	
+	@Bite
+	private StreamEndpoint streamEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8098), 0);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				String path = exchange.getRequestURI().getPath();
+				
+				InputStream requestBody = exchange.getRequestBody();
+				requestBody.close();
+				
+				if(path.equals("/ndjson")) {
+					
+					StringBuilder content = new StringBuilder();
+					
+					for (int i = 0; i < NDJSON_SIZE; i++) {
+						
+						content.append("{\"id\":").append(i).append(",\"name\":\"record-").append(i).append("\"}\n");
+						
+						if(i % 10 == 0) {
+							
+							content.append("\n");
+						}
+					}
+					
+					write(exchange, "application/x-ndjson", content.toString());
+				}
+				else if(path.equals("/events")) {
+					
+					write(exchange, "text/event-stream; charset=UTF-8", new StringBuilder()
+						.append(": heartbeat\n\n")
+						.append("data: first\n\n")
+						.append("event: update\nid: 42\nretry: 3000\ndata: line one\ndata: line two\n\n")
+						.append("data:{\"unspaced\":true}\n\n")
+						.append("event: ignored\n\n")
+						.append("data: incomplete").toString());
+				}
+				else if(path.equals("/feed")) {
+					
+					exchange.getResponseHeaders().add("Content-Type", "text/plain");
+					exchange.sendResponseHeaders(200, 0);
+					
+					OutputStream outputStream = exchange.getResponseBody();
+					
+					try {
+						
+						outputStream.write("first\n".getBytes("UTF-8"));
+						outputStream.flush();
+						
+						feedResumed.await(10, TimeUnit.SECONDS);
+						
+						for (int i = 0; i < 100000; i++) {
+							
+							outputStream.write(("record-" + i + "\n").getBytes("UTF-8"));
+							outputStream.flush();
+						}
+						
+						outputStream.close();
+					}
+					catch(IOException ioe) {
+						
+						feedInterrupted.set(true);
+						exchange.close();
+					}
+					catch(InterruptedException ie) {
+						
+						exchange.close();
+					}
+					finally {
+						
+						feedClosed.countDown();
+					}
+				}
+				else {
+					
+					exchange.sendResponseHeaders(404, -1);
+					exchange.close();
+				}
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		feedResumed.countDown();
+		httpServer.stop(0);
+	}
+	
+	private static void write(HttpExchange exchange, String contentType, String content) throws IOException {
+		
+		byte[] body = content.getBytes("UTF-8");
+		
+		exchange.getResponseHeaders().add("Content-Type", contentType);
+		exchange.sendResponseHeaders(200, body.length);
+		
+		OutputStream outputStream = exchange.getResponseBody();
+		outputStream.write(body);
+		outputStream.close();
+	}
+	
+	/**
+	 * <p>Tests that each line of a newline-delimited JSON stream is deserialized to the type argument of 
+	 * the {@link StreamHandler} and that blank lines are skipped.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testNdjson() throws InterruptedException {
+		
+		final List<Record> records = Collections.synchronizedList(new ArrayList<Record>());
+		final CountDownLatch completed = new CountDownLatch(1);
+		final AtomicInteger errors = new AtomicInteger();
+		
+		streamEndpoint.ndjson(new StreamHandler<Record>() {
+			
+			@Override
+			public void onRecord(Record record) {
+				
+				records.add(record);
+			}
+			
+			@Override
+			public void onSuccess(HttpResponse httpResponse, Record record) {
+				
+				completed.countDown();
+			}
+			
+			@Override
+			public void onError(InvocationException error) {
+				
+				errors.incrementAndGet();
+				completed.countDown();
+			}
+		});
+		
+		assertTrue(completed.await(10, TimeUnit.SECONDS));
+		assertEquals(0, errors.get());
+		assertEquals(NDJSON_SIZE, records.size());
+		
+		for (int i = 0; i < NDJSON_SIZE; i++) {
+			
+			assertEquals(i, records.get(i).getId());
+			assertEquals("record-" + i, records.get(i).getName());
+		}
+	}
+	
+	/**
+	 * <p>Tests that a stream of <b>text/event-stream</b> is parsed as Server-Sent Events.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testEvents() throws InterruptedException {
+		
+		final List<ServerSentEvent> events = Collections.synchronizedList(new ArrayList<ServerSentEvent>());
+		final CountDownLatch completed = new CountDownLatch(1);
+		
+		streamEndpoint.events(new StreamHandler<ServerSentEvent>() {
+			
+			@Override
+			public void onRecord(ServerSentEvent event) {
+				
+				events.add(event);
+			}
+			
+			@Override
+			public void onSuccess(HttpResponse httpResponse, ServerSentEvent event) {
+				
+				completed.countDown();
+			}
+		});
+		
+		assertTrue(completed.await(10, TimeUnit.SECONDS));
+		assertEquals(3, events.size());
+		
+		ServerSentEvent first = events.get(0);
+		assertEquals("message", first.getEvent());
+		assertEquals("first", first.getData());
+		assertNull(first.getId());
+		assertEquals(-1L, first.getRetry());
+		
+		ServerSentEvent update = events.get(1);
+		assertEquals("update", update.getEvent());
+		assertEquals("line one\nline two", update.getData());
+		assertEquals("42", update.getId());
+		assertEquals(3000L, update.getRetry());
+		
+		ServerSentEvent unspaced = events.get(2);
+		assertEquals("message", unspaced.getEvent());
+		assertEquals("{\"unspaced\":true}", unspaced.getData());
+		assertEquals("42", unspaced.getId());
+	}
+	
+	/**
+	 * <p>Tests that records are delivered as they arrive and that cancelling an open stream closes the 
+	 * connection and invokes <i>onCancel</i> instead of <i>onSuccess</i>.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testCancellation() throws InterruptedException {
+		
+		final List<String> records = Collections.synchronizedList(new ArrayList<String>());
+		final CountDownLatch received = new CountDownLatch(1);
+		final CountDownLatch cancelled = new CountDownLatch(1);
+		final AtomicInteger terminals = new AtomicInteger();
+		
+		final Cancellation cancellation = new Cancellation();
+		
+		streamEndpoint.feed(new StreamHandler<String>() {
+			
+			@Override
+			public void onRecord(String record) {
+				
+				records.add(record);
+				received.countDown();
+			}
+			
+			@Override
+			public void onSuccess(HttpResponse httpResponse, String record) {
+				
+				terminals.incrementAndGet();
+			}
+			
+			@Override
+			public void onError(InvocationException error) {
+				
+				terminals.incrementAndGet();
+			}
+			
+			@Override
+			public void onCancel() {
+				
+				cancelled.countDown();
+			}
+		}, cancellation);
+		
+		assertTrue(received.await(10, TimeUnit.SECONDS));
+		assertEquals("first", records.get(0));
+		
+		cancellation.cancel();
+		feedResumed.countDown();
+		
+		assertTrue(cancelled.await(10, TimeUnit.SECONDS));
+		assertTrue(feedClosed.await(10, TimeUnit.SECONDS));
+		assertTrue(feedInterrupted.get());
+		
+		int count = records.size();
+		Thread.sleep(100);
+		
+		assertEquals(count, records.size());
+		assertEquals(0, terminals.get());
+		assertFalse(count > 100000);
+	}
+}
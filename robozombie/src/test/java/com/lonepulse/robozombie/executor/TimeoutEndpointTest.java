@@ -0,0 +1,184 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
+import static com.github.tomakehurst.wiremock.client.WireMock.verify;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+
+/**
+ * <p>Performs unit testing on {@link TimeoutEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class TimeoutEndpointTest {
+	
+	
+	@Rule
+	public WireMockRule wireMockRule = new WireMockRule();
+	
+	@Bite
+	private TimeoutEndpoint timeoutEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		Zombie.infect(this);
+	}
+	
+	/**
+	 * <p>Tests that a request which exceeds its total deadline is aborted.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testTotal() {
+		
+		String subpath = "/total";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)
+				.withFixedDelay(3000)));
+		
+		long start = System.currentTimeMillis();
+		
+		try {
+			
+			timeoutEndpoint.total();
+			fail("Expected the request to exceed its deadline.");
+		}
+		catch(InvocationException ie) {
+			
+			assertTrue(ie.getCause() instanceof DeadlineExceededException);
+		}
+		
+		long elapsed = System.currentTimeMillis() - start;
+		assertTrue("Deadline was enforced after " + elapsed + "ms", elapsed < 2000);
+	}
+	
+	/**
+	 * <p>Tests that a request-level read timeout overrides the configured socket timeout.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testRead() {
+		
+		String subpath = "/read";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)
+				.withFixedDelay(3000)));
+		
+		long start = System.currentTimeMillis();
+		
+		try {
+			
+			timeoutEndpoint.read();
+			fail("Expected the request to time out.");
+		}
+		catch(InvocationException ie) {
+			
+			assertTrue(ie.getCause().getCause() instanceof SocketTimeoutException);
+		}
+		
+		long elapsed = System.currentTimeMillis() - start;
+		assertTrue("Read timed out after " + elapsed + "ms", elapsed < 2000);
+	}
+	
+	/**
+	 * <p>Tests that a {@link Deadline} supplied at runtime overrides the endpoint's deadline.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testDeadline() {
+		
+		String subpath = "/deadline";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)
+				.withBody("deadline")
+				.withFixedDelay(1000)));
+		
+		Deadline deadline = Deadline.within(5, TimeUnit.SECONDS);
+		
+		assertEquals("deadline", timeoutEndpoint.deadline(deadline));
+		assertFalse(deadline.isExpired());
+	}
+	
+	/**
+	 * <p>Tests that a request whose {@link Deadline} has already expired is not sent.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testExpired() {
+		
+		String subpath = "/deadline";
+		
+		stubFor(get(urlEqualTo(subpath))
+				.willReturn(aResponse()
+				.withStatus(200)));
+		
+		try {
+			
+			timeoutEndpoint.deadline(Deadline.within(0, TimeUnit.MILLISECONDS));
+			fail("Expected the request to exceed its deadline.");
+		}
+		catch(InvocationException ie) {
+			
+			assertTrue(ie.getCause() instanceof DeadlineExceededException);
+		}
+		
+		verify(0, getRequestedFor(urlEqualTo(subpath)));
+	}
+}
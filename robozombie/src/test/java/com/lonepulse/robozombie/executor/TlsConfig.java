@@ -0,0 +1,77 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import java.security.GeneralSecurityException;
+
+import org.apache.http.client.HttpClient;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+
+import com.lonepulse.robozombie.proxy.Zombie;
+
+/**
+ * <p>An implementation of {@link Zombie.Configuration} which uses a {@link TlsSocketFactory} with a 
+ * custom session cache for executing requests with {@link TlsEndpoint}.</p> 
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class TlsConfig extends Zombie.Configuration {
+	
+	
+	static final int SESSION_CACHE_SIZE = 20;
+	
+	static final int SESSION_TIMEOUT = 10 * 60;
+	
+	
+	@Override
+	public HttpClient httpClient() {
+		
+		HttpParams params = new BasicHttpParams();
+		HttpConnectionParams.setSoTimeout(params, 5 * 1000);
+        
+        SchemeRegistry schemeRegistry = new SchemeRegistry();
+        
+        try {
+        	
+        	schemeRegistry.register(new Scheme("https", new TlsSocketFactory(SESSION_CACHE_SIZE, SESSION_TIMEOUT), 443));
+        }
+        catch(GeneralSecurityException gse) {
+        	
+        	throw new ConfigurationFailedException(gse);
+        }
+
+        ClientConnectionManager manager = new MeteredConnectionManager(params, schemeRegistry);
+        
+        return new DefaultHttpClient(manager, params);
+	}
+}
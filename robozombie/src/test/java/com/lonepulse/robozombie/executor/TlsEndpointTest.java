@@ -0,0 +1,226 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.security.KeyStore;
+import java.util.concurrent.TimeUnit;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsParameters;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * <p>Performs unit testing on the resumption of TLS sessions using the endpoint {@link TlsEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class TlsEndpointTest {
+	
+	
+	private static final String KEYSTORE = "src/test/resources/tls.jks";
+	
+	private static final char[] PASSWORD = "robozombie".toCharArray();
+	
+	private HttpsServer httpsServer;
+	
+	@Bite
+	private TlsEndpoint tlsEndpoint;
+	
+	
+	@BeforeClass
+	public static void setUpBeforeClass() {
+		
+		System.setProperty("javax.net.ssl.trustStore", KEYSTORE);
+		System.setProperty("javax.net.ssl.trustStorePassword", new String(PASSWORD));
+	}
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		KeyStore keyStore = KeyStore.getInstance("JKS");
+		InputStream inputStream = new FileInputStream(KEYSTORE);
+		
+		try {
+			
+			keyStore.load(inputStream, PASSWORD);
+		}
+		finally {
+			
+			inputStream.close();
+		}
+		
+		KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagerFactory.init(keyStore, PASSWORD);
+		
+		SSLContext sslContext = SSLContext.getInstance("TLS");
+		sslContext.init(keyManagerFactory.getKeyManagers(), null, null);
+		
+		httpsServer = HttpsServer.create(new InetSocketAddress(8109), 0);
+		httpsServer.setHttpsConfigurator(new HttpsConfigurator(sslContext) {
+			
+			@Override
+			public void configure(HttpsParameters params) {
+				
+				SSLParameters sslParameters = getSSLContext().getDefaultSSLParameters();
+				sslParameters.setProtocols(new String[] {"TLSv1.2"}); //resumes sessions by their ID
+				
+				params.setSSLParameters(sslParameters);
+			}
+		});
+		
+		httpsServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				byte[] response = "secure".getBytes("UTF-8");
+				
+				exchange.sendResponseHeaders(200, response.length);
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				outputStream.write(response);
+				outputStream.close();
+			}
+		});
+		
+		httpsServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpsServer.stop(0);
+	}
+	
+	private static void closePooledConnections() throws InterruptedException {
+		
+		Thread.sleep(100);
+		
+		ClientConnectionManager manager = HttpClientDirectory.INSTANCE.lookup(TlsEndpoint.class).getConnectionManager();
+		manager.closeIdleConnections(50, TimeUnit.MILLISECONDS);
+	}
+	
+	/**
+	 * <p>Tests that a new connection resumes the TLS session which was negotiated by a prior connection 
+	 * and that the handshakes are tracked.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testSessionResumption() throws InterruptedException {
+		
+		closePooledConnections();
+		
+		HandshakeStats before = HandshakeStats.of(TlsEndpoint.class);
+		assertNotNull(before);
+		
+		assertEquals("secure", tlsEndpoint.secure());
+		closePooledConnections();
+		assertEquals("secure", tlsEndpoint.secure());
+		
+		HandshakeStats after = HandshakeStats.of(TlsEndpoint.class);
+		
+		assertEquals(2, after.getHandshakes() - before.getHandshakes());
+		assertEquals(1, after.getResumedHandshakes() - before.getResumedHandshakes());
+		assertEquals(after.getResumedHandshakes() / (double)after.getHandshakes(), after.getResumptionRate(), 0.0);
+	}
+	
+	/**
+	 * <p>Tests that configurations with the same session cache settings share an {@link SSLContext}, so 
+	 * that the sessions negotiated for one configuration are resumed by another.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testSharedContext() throws Exception {
+		
+		assertEquals("secure", tlsEndpoint.secure());
+		
+		HttpParams params = new BasicHttpParams();
+		HttpConnectionParams.setSoTimeout(params, 5 * 1000);
+		
+		TlsSocketFactory shared = new TlsSocketFactory(TlsConfig.SESSION_CACHE_SIZE, TlsConfig.SESSION_TIMEOUT);
+		shared.connectSocket(shared.createSocket(), "localhost", 8109, null, 0, params).close();
+		
+		assertEquals(1, shared.getHandshakeStats().getResumedHandshakes());
+		assertEquals(0, shared.getHandshakeStats().getFullHandshakes());
+		
+		TlsSocketFactory isolated = new TlsSocketFactory(10, 60);
+		isolated.connectSocket(isolated.createSocket(), "localhost", 8109, null, 0, params).close();
+		
+		assertEquals(0, isolated.getHandshakeStats().getResumedHandshakes());
+		assertEquals(1, isolated.getHandshakeStats().getFullHandshakes());
+	}
+	
+	/**
+	 * <p>Tests that handshake statistics are unavailable for configurations which do not use a 
+	 * {@link TlsSocketFactory}, including the <i>out-of-the-box</i> configuration.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testUnavailableStats() {
+		
+		Zombie.infect(new Object() {
+			
+			@Bite
+			private ConfigEndpoint configEndpoint;
+		});
+		
+		assertNull(HandshakeStats.of(ConfigEndpoint.class));
+		assertNull(HandshakeStats.of(Object.class)); //resolves to the out-of-the-box configuration
+		assertEquals(0.0, new HandshakeStats(0, 0).getResumptionRate(), 0.0);
+	}
+}
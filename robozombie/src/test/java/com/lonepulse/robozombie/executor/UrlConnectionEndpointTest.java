@@ -0,0 +1,230 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.InvocationException;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.DecodedEntity;
+import com.lonepulse.robozombie.transport.UrlConnectionTransport;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on {@link UrlConnectionEndpoint}.</p>
+ * 
+ * <p>The endpoint is served by the JDK's {@link HttpServer}, which is able to send compressed bodies 
+ * verbatim and to report the connections which were used.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class UrlConnectionEndpointTest {
+	
+	
+	private HttpServer httpServer;
+	
+	private final Set<InetSocketAddress> connections = Collections.synchronizedSet(new HashSet<InetSocketAddress>());
+	
+	private volatile String acceptEncoding;
+	
+	@Bite
+	private UrlConnectionEndpoint urlConnectionEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8080), 0);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				connections.add(exchange.getRemoteAddress());
+				acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+				
+				String path = exchange.getRequestURI().getPath();
+				byte[] body = read(exchange.getRequestBody());
+				
+				if(path.equals("/plain")) {
+					
+					respond(exchange, 200, "plain".getBytes("UTF-8"));
+				}
+				else if(path.equals("/gzip")) {
+					
+					ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+					GZIPOutputStream gzipOutputStream = new GZIPOutputStream(compressed);
+					gzipOutputStream.write("gzipped".getBytes("UTF-8"));
+					gzipOutputStream.close();
+					
+					exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+					respond(exchange, 200, compressed.toByteArray());
+				}
+				else if(path.equals("/stream")) {
+					
+					respond(exchange, 200, body);
+				}
+				else {
+					
+					respond(exchange, 404, new byte[0]);
+				}
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+	}
+	
+	private static byte[] read(InputStream inputStream) throws IOException {
+		
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1024];
+		
+		for (int count; (count = inputStream.read(buffer)) != -1; ) {
+			
+			content.write(buffer, 0, count);
+		}
+		
+		inputStream.close();
+		
+		return content.toByteArray();
+	}
+	
+	private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+		
+		exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+		exchange.sendResponseHeaders(status, body.length == 0? -1 :body.length);
+		
+		OutputStream outputStream = exchange.getResponseBody();
+		outputStream.write(body);
+		outputStream.close();
+	}
+	
+	/**
+	 * <p>Tests that the {@link UrlConnectionTransport} is configured for the endpoint, that it requests 
+	 * compressed responses and that it reuses its connection.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testPlain() {
+		
+		assertTrue(TransportDirectory.INSTANCE.lookup(UrlConnectionEndpoint.class) instanceof UrlConnectionTransport);
+		
+		assertEquals("plain", urlConnectionEndpoint.plain());
+		assertEquals("plain", urlConnectionEndpoint.plain());
+		
+		assertTrue(acceptEncoding.contains("gzip"));
+		assertEquals(1, connections.size());
+	}
+	
+	/**
+	 * <p>Tests that a gzip-compressed response is decoded transparently by a {@link DecodedEntity}.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testGzip() throws IOException {
+		
+		assertEquals("gzipped", urlConnectionEndpoint.gzip());
+		
+		HttpResponse response = urlConnectionEndpoint.gzipResponse();
+		
+		assertTrue(response.getEntity() instanceof DecodedEntity);
+		assertEquals("gzipped", EntityUtils.toString(response.getEntity()));
+		
+		DecodedEntity entity = (DecodedEntity)response.getEntity();
+		
+		assertEquals("gzip", entity.getEncoding());
+		assertTrue(entity.getEncodedLength() > 0);
+		assertEquals("gzipped".length(), entity.getDecodedLength());
+	}
+	
+	/**
+	 * <p>Tests that a request entity is streamed to the server.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testStream() {
+		
+		String content = "streamed";
+		
+		assertEquals(content, urlConnectionEndpoint.stream(content));
+	}
+	
+	/**
+	 * <p>Tests that a failed status code is surfaced along with its response.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testFailure() {
+		
+		try {
+			
+			urlConnectionEndpoint.missing();
+			fail("Expected the request to fail with 404 Not Found.");
+		}
+		catch(InvocationException ie) {
+			
+			assertTrue(ie.hasResponse());
+			assertEquals(404, ie.getResponse().getStatusLine().getStatusCode());
+		}
+	}
+}
@@ -0,0 +1,145 @@
+package com.lonepulse.robozombie.executor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.tsccm.ThreadSafeClientConnManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on the pre-warming of connections using the endpoint {@link WarmupEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class WarmupEndpointTest {
+	
+	
+	private static final HttpRoute ROUTE = new HttpRoute(new HttpHost("0.0.0.0", 8108, "http"));
+	
+	private HttpServer httpServer;
+	
+	private ThreadSafeClientConnManager manager;
+	
+	@Bite
+	private WarmupEndpoint warmupEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8108), 0);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				byte[] response = "warm".getBytes("UTF-8");
+				
+				exchange.sendResponseHeaders(200, response.length);
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				outputStream.write(response);
+				outputStream.close();
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+		
+		manager = (ThreadSafeClientConnManager)HttpClientDirectory.INSTANCE.lookup(WarmupEndpoint.class).getConnectionManager();
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+	}
+	
+	private int awaitPooled(int expected) throws InterruptedException {
+		
+		for (int i = 0; i < 30 && manager.getConnectionsInPool(ROUTE) != expected; i++) {
+			
+			Thread.sleep(100);
+		}
+		
+		return manager.getConnectionsInPool(ROUTE);
+	}
+	
+	/**
+	 * <p>Tests that the connections of an endpoint identified by @{@link com.lonepulse.robozombie.annotation.Warmup} 
+	 * are opened when it is registered and that they are reused by its requests.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testRegistrationWarmup() throws InterruptedException {
+		
+		assertEquals(2, awaitPooled(2));
+		
+		assertEquals("warm", warmupEndpoint.warm());
+		assertEquals("warm", warmupEndpoint.warm());
+		
+		assertEquals(2, manager.getConnectionsInPool(ROUTE));
+	}
+	
+	/**
+	 * <p>Tests that the connections of an endpoint are opened when it is warmed up explicitly.</p>
+	 * 
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testExplicitWarmup() throws InterruptedException {
+		
+		awaitPooled(2);
+		Thread.sleep(100);
+		
+		manager.closeIdleConnections(50, TimeUnit.MILLISECONDS);
+		assertEquals(0, manager.getConnectionsInPool(ROUTE));
+		
+		Zombie.warmup(WarmupEndpoint.class);
+		
+		assertEquals(2, awaitPooled(2));
+		assertEquals("warm", warmupEndpoint.warm());
+	}
+}
@@ -0,0 +1,65 @@
+package com.lonepulse.robozombie.processor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import com.lonepulse.robozombie.annotation.Compress;
+import com.lonepulse.robozombie.annotation.Compress.Encoding;
+import com.lonepulse.robozombie.annotation.Detach;
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.Entity;
+import com.lonepulse.robozombie.annotation.POST;
+
+/**
+ * <p>An endpoint whose request entities are compressed.</p>
+ * 
+ * @version 1.1.0
+ * <br><br> 
+ * @since 1.3.4
+ * <br><br> 
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Compress
+@Endpoint("http://0.0.0.0:8102")
+public interface CompressEndpoint {
+	
+	
+	@POST("/gzip")
+	public String gzip(@Entity String content);
+	
+	@POST("/deflate")
+	@Compress(value = Encoding.DEFLATE, level = 9)
+	public String deflate(@Entity String content);
+	
+	@POST("/fastest")
+	@Compress(level = 1)
+	public String fastest(@Entity String content);
+	
+	@POST("/threshold")
+	@Compress(threshold = 64)
+	public String threshold(@Entity String content);
+	
+	@POST("/detached")
+	@Detach(Compress.class)
+	public String detached(@Entity String content);
+}
@@ -0,0 +1,216 @@
+package com.lonepulse.robozombie.processor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on the compression of request entities using the endpoint 
+ * {@link CompressEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class CompressEndpointTest {
+	
+	
+	private HttpServer httpServer;
+	
+	private String content;
+	
+	private volatile String contentEncoding;
+	
+	private volatile int bytesReceived;
+	
+	@Bite
+	private CompressEndpoint compressEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		StringBuilder builder = new StringBuilder();
+		
+		for (int i = 0; i < 1000; i++) {
+			
+			builder.append("Rick Grimes-");
+		}
+		
+		content = builder.toString();
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8102), 0);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+				
+				byte[] encoded = read(exchange.getRequestBody());
+				bytesReceived = encoded.length;
+				
+				byte[] body = encoded;
+				
+				if("gzip".equals(contentEncoding)) {
+					
+					body = read(new GZIPInputStream(new ByteArrayInputStream(encoded)));
+				}
+				else if("deflate".equals(contentEncoding)) {
+					
+					body = read(new InflaterInputStream(new ByteArrayInputStream(encoded)));
+				}
+				
+				exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+				exchange.sendResponseHeaders(200, body.length);
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				outputStream.write(body);
+				outputStream.close();
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+	}
+	
+	private static byte[] read(InputStream inputStream) throws IOException {
+		
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		
+		for (int read; (read = inputStream.read(buffer)) != -1;) {
+			
+			content.write(buffer, 0, read);
+		}
+		
+		inputStream.close();
+		
+		return content.toByteArray();
+	}
+	
+	/**
+	 * <p>Tests that an entity is compressed using <b>gzip</b> for a type-level @Compress.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testGzip() {
+		
+		assertEquals(content, compressEndpoint.gzip(content));
+		assertEquals("gzip", contentEncoding);
+		assertTrue(bytesReceived * 10 < content.length());
+	}
+	
+	/**
+	 * <p>Tests that an entity is compressed using <b>deflate</b> for a method-level @Compress.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testDeflate() {
+		
+		assertEquals(content, compressEndpoint.deflate(content));
+		assertEquals("deflate", contentEncoding);
+		assertTrue(bytesReceived * 10 < content.length());
+	}
+	
+	/**
+	 * <p>Tests that the configured compression level is used.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testLevel() {
+		
+		assertEquals(content, compressEndpoint.fastest(content));
+		int fastest = bytesReceived;
+		
+		assertEquals(content, compressEndpoint.deflate(content));
+		int smallest = bytesReceived;
+		
+		assertTrue(smallest <= fastest);
+	}
+	
+	/**
+	 * <p>Tests that entities which are smaller than the threshold are sent uncompressed.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testThreshold() {
+		
+		String small = "Rick Grimes";
+		
+		assertEquals(small, compressEndpoint.gzip(small));
+		assertNull(contentEncoding);
+		assertEquals(small.length(), bytesReceived);
+		
+		assertEquals(content, compressEndpoint.threshold(content));
+		assertEquals("gzip", contentEncoding);
+	}
+	
+	/**
+	 * <p>Tests that a type-level @Compress can be detached from a request.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testDetached() {
+		
+		assertEquals(content, compressEndpoint.detached(content));
+		assertNull(contentEncoding);
+		assertEquals(content.length(), bytesReceived);
+	}
+}
@@ -0,0 +1,70 @@
+package com.lonepulse.robozombie.processor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static com.lonepulse.robozombie.annotation.Entity.ContentType.JSON;
+
+import org.apache.http.HttpResponse;
+
+import com.lonepulse.robozombie.annotation.Deserialize;
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.GET;
+import com.lonepulse.robozombie.annotation.Headers;
+import com.lonepulse.robozombie.model.User;
+
+/**
+ * <p>An endpoint whose responses are compressed.</p>
+ * 
+ * @version 1.1.0
+ * <br><br> 
+ * @since 1.3.4
+ * <br><br> 
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Endpoint("http://0.0.0.0:8101")
+public interface EncodingEndpoint {
+	
+	
+	@GET("/gzip")
+	public String gzip();
+	
+	@GET("/deflate")
+	public String deflate();
+	
+	@GET("/raw-deflate")
+	public String rawDeflate();
+	
+	@GET("/gzip")
+	@Deserialize(JSON)
+	public User json();
+	
+	@GET("/gzip")
+	public HttpResponse response();
+	
+	@GET("/empty")
+	public HttpResponse empty();
+	
+	@GET("/gzip")
+	@Headers({@Headers.Header(name = "Accept-Encoding", value = "identity")})
+	public String identity();
+}
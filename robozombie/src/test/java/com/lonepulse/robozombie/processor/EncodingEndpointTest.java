@@ -0,0 +1,276 @@
+package com.lonepulse.robozombie.processor;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.entity.BasicHttpEntity;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.model.User;
+import com.lonepulse.robozombie.proxy.Zombie;
+import com.lonepulse.robozombie.response.DecodedEntity;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on the negotiation and decoding of compressed responses using the endpoint 
+ * {@link EncodingEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class EncodingEndpointTest {
+	
+	
+	private HttpServer httpServer;
+	
+	private String content;
+	
+	private volatile String acceptEncoding;
+	
+	private volatile int bytesSent;
+	
+	@Bite
+	private EncodingEndpoint encodingEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		StringBuilder lastName = new StringBuilder();
+		
+		for (int i = 0; i < 1000; i++) {
+			
+			lastName.append("Grimes-");
+		}
+		
+		content = "{\"id\":1,\"firstName\":\"Rick\",\"lastName\":\"" + lastName + "\",\"age\":36,\"immortal\":false}";
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8101), 0);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				InputStream requestBody = exchange.getRequestBody();
+				requestBody.close();
+				
+				acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+				
+				String path = exchange.getRequestURI().getPath();
+				byte[] body = content.getBytes("UTF-8");
+				
+				if(path.equals("/empty")) {
+					
+					exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+					exchange.sendResponseHeaders(200, -1);
+					exchange.close();
+					
+					return;
+				}
+				
+				if(acceptEncoding != null && acceptEncoding.contains("gzip")) {
+					
+					ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+					OutputStream outputStream = null;
+					
+					if(path.equals("/gzip")) {
+						
+						outputStream = new GZIPOutputStream(compressed);
+						exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+					}
+					else {
+						
+						outputStream = new DeflaterOutputStream(compressed, 
+							new Deflater(Deflater.DEFAULT_COMPRESSION, path.equals("/raw-deflate")));
+						exchange.getResponseHeaders().add("Content-Encoding", "deflate");
+					}
+					
+					outputStream.write(body);
+					outputStream.close();
+					
+					body = compressed.toByteArray();
+				}
+				
+				bytesSent = body.length;
+				
+				exchange.getResponseHeaders().add("Content-Type", "application/json; charset=UTF-8");
+				exchange.sendResponseHeaders(200, body.length);
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				outputStream.write(body);
+				outputStream.close();
+			}
+		});
+		
+		httpServer.start();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+	}
+	
+	/**
+	 * <p>Tests that <b>gzip</b> and <b>deflate</b> are negotiated and that a <i>gzip</i> response is 
+	 * decoded before it is deserialized.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testGzip() {
+		
+		assertEquals(content, encodingEndpoint.gzip());
+		assertEquals("gzip, deflate", acceptEncoding);
+		assertTrue(bytesSent * 10 < content.length());
+	}
+	
+	/**
+	 * <p>Tests that a <b>deflate</b> response is decoded, whether it is a zlib stream or raw deflate data.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testDeflate() {
+		
+		assertEquals(content, encodingEndpoint.deflate());
+		assertEquals(content, encodingEndpoint.rawDeflate());
+	}
+	
+	/**
+	 * <p>Tests that a compressed response is deserialized using a JSON deserializer.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testJson() {
+		
+		User user = encodingEndpoint.json();
+		
+		assertEquals(1, user.getId());
+		assertEquals("Rick", user.getFirstName());
+		assertEquals(7000, user.getLastName().length());
+	}
+	
+	/**
+	 * <p>Tests that the number of bytes before and after decompression are counted by the {@link DecodedEntity}.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testCounters() throws IOException {
+		
+		HttpResponse response = encodingEndpoint.response();
+		
+		assertTrue(response.getEntity() instanceof DecodedEntity);
+		assertNull(response.getFirstHeader("Content-Encoding"));
+		
+		assertEquals(content, EntityUtils.toString(response.getEntity()));
+		
+		DecodedEntity entity = (DecodedEntity)response.getEntity();
+		
+		assertEquals("gzip", entity.getEncoding());
+		assertEquals(bytesSent, entity.getEncodedLength());
+		assertEquals(content.length(), entity.getDecodedLength());
+	}
+	
+	/**
+	 * <p>Tests that a compressed response without any content is decoded to empty content.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testEmpty() throws IOException {
+		
+		HttpResponse response = encodingEndpoint.empty();
+		
+		assertTrue(response.getEntity() instanceof DecodedEntity);
+		assertEquals("", EntityUtils.toString(response.getEntity()));
+	}
+	
+	/**
+	 * <p>Tests that the header of a zlib stream is recognized although it is delivered one byte at a time.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testShortRead() throws IOException {
+		
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+		
+		OutputStream outputStream = new DeflaterOutputStream(compressed);
+		outputStream.write(content.getBytes("UTF-8"));
+		outputStream.close();
+		
+		BasicHttpEntity entity = new BasicHttpEntity();
+		entity.setContent(new FilterInputStream(new ByteArrayInputStream(compressed.toByteArray())) {
+			
+			@Override
+			public int read(byte[] buffer, int offset, int length) throws IOException {
+				
+				return super.read(buffer, offset, Math.min(length, 1));
+			}
+		});
+		
+		assertEquals(content, EntityUtils.toString(new DecodedEntity(entity, "deflate"), "UTF-8"));
+	}
+	
+	/**
+	 * <p>Tests that a request which specifies its own <b>Accept-Encoding</b> is sent as is.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testIdentity() {
+		
+		assertEquals(content, encodingEndpoint.identity());
+		assertEquals("identity", acceptEncoding);
+		assertEquals(content.length(), bytesSent);
+	}
+}
@@ -0,0 +1,94 @@
+package com.lonepulse.robozombie.proxy;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.lonepulse.robozombie.annotation.Entity.ContentType.JSON;
+
+import java.util.List;
+import java.util.Map;
+
+import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Batch;
+import com.lonepulse.robozombie.annotation.Config;
+import com.lonepulse.robozombie.annotation.Deserialize;
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.Entity;
+import com.lonepulse.robozombie.annotation.GET;
+import com.lonepulse.robozombie.annotation.POST;
+import com.lonepulse.robozombie.annotation.PathParam;
+import com.lonepulse.robozombie.annotation.Serialize;
+import com.lonepulse.robozombie.model.User;
+import com.lonepulse.robozombie.response.AsyncHandler;
+
+/**
+ * <p>An endpoint whose requests are batched into bulk requests.</p>
+ * 
+ * @version 1.1.0
+ * <br><br> 
+ * @since 1.3.4
+ * <br><br> 
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Serialize(JSON)
+@Deserialize(JSON)
+@Config(BatchConfig.class)
+@Endpoint("http://0.0.0.0:8103")
+public interface BatchEndpoint {
+	
+	
+	@GET("/users/{id}")
+	@Batch(value = "getUsers", window = 250)
+	public User getUser(@PathParam("id") String id);
+	
+	@POST("/users")
+	public List<User> getUsers(@Entity List<String> ids);
+	
+	@GET("/users/{id}")
+	@Batch(value = "getUserMap", window = 250)
+	public User getMappedUser(@PathParam("id") String id);
+	
+	@POST("/users/map")
+	public Map<String, User> getUserMap(@Entity String[] ids);
+	
+	@GET("/users/{id}")
+	@Batch(value = "getUsers", window = 60000, size = 4)
+	public User getUserBySize(@PathParam("id") String id);
+	
+	@GET("/users/{id}")
+	@Batch(value = "getUsersFailed", window = 250)
+	public User getUserFailed(@PathParam("id") String id);
+	
+	@POST("/users/failed")
+	public List<User> getUsersFailed(@Entity List<String> ids);
+	
+	@Async
+	@GET("/users/{id}")
+	@Batch(value = "getUsers", window = 250)
+	public void getUserAsync(@PathParam("id") String id, AsyncHandler<User> asyncHandler);
+	
+	@Async
+	@GET("/users/{id}")
+	@Batch(value = "getUsersFailed", window = 250)
+	public void getUserAsyncFailed(@PathParam("id") String id, AsyncHandler<User> asyncHandler);
+}
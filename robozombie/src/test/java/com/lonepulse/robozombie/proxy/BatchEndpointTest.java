@@ -0,0 +1,444 @@
+package com.lonepulse.robozombie.proxy;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lonepulse.robozombie.annotation.Bite;
+import com.lonepulse.robozombie.model.User;
+import com.lonepulse.robozombie.response.AsyncHandler;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on the batching of request invocations using the endpoint {@link BatchEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class BatchEndpointTest {
+	
+	
+	private HttpServer httpServer;
+	
+	private ExecutorService executorService;
+	
+	private final AtomicInteger bulkRequests = new AtomicInteger();
+	
+	private final AtomicInteger singleRequests = new AtomicInteger();
+	
+	private final List<String> bulkContents = Collections.synchronizedList(new ArrayList<String>());
+	
+	@Bite
+	private BatchEndpoint batchEndpoint;
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8103), 0);
+		httpServer.setExecutor(Executors.newCachedThreadPool());
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				String path = exchange.getRequestURI().getPath();
+				String content = read(exchange.getRequestBody());
+				
+				int status = 200;
+				StringBuilder body = new StringBuilder();
+				
+				if(exchange.getRequestMethod().equals("GET")) {
+					
+					singleRequests.incrementAndGet();
+					body.append(user(path.substring(path.lastIndexOf('/') + 1)));
+				}
+				else if(path.equals("/users/failed")) {
+					
+					bulkRequests.incrementAndGet();
+					status = 500;
+				}
+				else {
+					
+					bulkRequests.incrementAndGet();
+					bulkContents.add(content);
+					
+					boolean map = path.equals("/users/map");
+					String[] ids = content.replaceAll("[\\[\\]\"\\s]", "").split(",");
+					
+					body.append(map? "{" :"[");
+					
+					for (int i = 0; i < ids.length; i++) {
+						
+						body.append(i > 0? "," :"");
+						
+						if(map) {
+							
+							body.append("\"").append(ids[i]).append("\":");
+						}
+						
+						body.append(user(ids[i]));
+					}
+					
+					body.append(map? "}" :"]");
+				}
+				
+				byte[] response = body.toString().getBytes("UTF-8");
+				
+				exchange.getResponseHeaders().add("Content-Type", "application/json");
+				exchange.sendResponseHeaders(status, response.length == 0? -1 :response.length);
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				outputStream.write(response);
+				outputStream.close();
+			}
+		});
+		
+		httpServer.start();
+		
+		executorService = Executors.newCachedThreadPool();
+		
+		Zombie.infect(this);
+	}
+	
+	@After
+	public void tearDown() {
+		
+		executorService.shutdownNow();
+		httpServer.stop(0);
+	}
+	
+	private static String user(String id) {
+		
+		return "{\"id\":" + id + ",\"firstName\":\"Rick-" + id + "\",\"lastName\":\"Grimes\",\"age\":36,\"immortal\":false}";
+	}
+	
+	private static String read(InputStream inputStream) throws IOException {
+		
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		
+		for (int read; (read = inputStream.read(buffer)) != -1;) {
+			
+			content.write(buffer, 0, read);
+		}
+		
+		inputStream.close();
+		
+		return content.toString("UTF-8");
+	}
+	
+	private interface Invocation {
+		
+		User invoke(String id);
+	}
+	
+	private List<Future<User>> invokeAll(final Invocation invocation, String... ids) throws InterruptedException {
+		
+		final CountDownLatch start = new CountDownLatch(1);
+		List<Future<User>> futures = new ArrayList<Future<User>>();
+		
+		for (final String id : ids) {
+			
+			futures.add(executorService.submit(new Callable<User>() {
+				
+				@Override
+				public User call() throws Exception {
+					
+					start.await();
+					return invocation.invoke(id);
+				}
+			}));
+		}
+		
+		start.countDown();
+		
+		return futures;
+	}
+	
+	/**
+	 * <p>Tests that concurrent invocations are sent as a single bulk request whose result is split 
+	 * by position among the invocations.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testBatch() throws Exception {
+		
+		List<Future<User>> futures = invokeAll(new Invocation() {
+			
+			@Override
+			public User invoke(String id) {
+				
+				return batchEndpoint.getUser(id);
+			}
+			
+		}, "1", "2", "3", "4", "5", "6", "7", "8");
+		
+		for (int i = 0; i < futures.size(); i++) {
+			
+			User user = futures.get(i).get(5, TimeUnit.SECONDS);
+			
+			assertEquals(i + 1, user.getId());
+			assertEquals("Rick-" + (i + 1), user.getFirstName());
+		}
+		
+		assertEquals(1, bulkRequests.get());
+		assertEquals(0, singleRequests.get());
+	}
+	
+	/**
+	 * <p>Tests that a batch with duplicate keys sends each key once, and that a bulk result which is 
+	 * a map is split by key.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testMap() throws Exception {
+		
+		List<Future<User>> futures = invokeAll(new Invocation() {
+			
+			@Override
+			public User invoke(String id) {
+				
+				return batchEndpoint.getMappedUser(id);
+			}
+			
+		}, "7", "3", "7", "3", "9");
+		
+		assertEquals(7, futures.get(0).get(5, TimeUnit.SECONDS).getId());
+		assertEquals(3, futures.get(1).get(5, TimeUnit.SECONDS).getId());
+		assertEquals(7, futures.get(2).get(5, TimeUnit.SECONDS).getId());
+		assertEquals(3, futures.get(3).get(5, TimeUnit.SECONDS).getId());
+		assertEquals(9, futures.get(4).get(5, TimeUnit.SECONDS).getId());
+		
+		assertEquals(1, bulkRequests.get());
+		assertEquals(3, bulkContents.get(0).split(",").length);
+	}
+	
+	/**
+	 * <p>Tests that a batch is sent as soon as it reaches its maximum size.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testSize() throws Exception {
+		
+		List<Future<User>> futures = invokeAll(new Invocation() {
+			
+			@Override
+			public User invoke(String id) {
+				
+				return batchEndpoint.getUserBySize(id);
+			}
+			
+		}, "1", "2", "3", "4", "5", "6", "7", "8");
+		
+		for (int i = 0; i < futures.size(); i++) {
+			
+			assertEquals(i + 1, futures.get(i).get(5, TimeUnit.SECONDS).getId());
+		}
+		
+		assertEquals(2, bulkRequests.get());
+		
+		for (String content : bulkContents) {
+			
+			assertEquals(4, content.split(",").length);
+		}
+	}
+	
+	/**
+	 * <p>Tests that all invocations in a batch fail if the bulk request fails.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testFailure() throws Exception {
+		
+		List<Future<User>> futures = invokeAll(new Invocation() {
+			
+			@Override
+			public User invoke(String id) {
+				
+				return batchEndpoint.getUserFailed(id);
+			}
+			
+		}, "1", "2", "3");
+		
+		for (Future<User> future : futures) {
+			
+			try {
+				
+				assertNull(future.get(5, TimeUnit.SECONDS));
+				fail("The batched invocation should have failed.");
+			}
+			catch(ExecutionException ee) {
+				
+				assertTrue(ee.getCause() instanceof InvocationException);
+				
+				HttpResponse response = ((InvocationException)ee.getCause()).getResponse();
+				assertEquals(500, response.getStatusLine().getStatusCode());
+				
+				if(response.getEntity() != null) {
+					
+					response.getEntity().consumeContent(); //release the connection
+				}
+			}
+		}
+		
+		assertEquals(1, bulkRequests.get());
+	}
+	
+	/**
+	 * <p>Tests that asynchronous invocations return immediately and receive their share of the bulk 
+	 * result via their {@link AsyncHandler}s, which are invoked on the callback executor of the endpoint.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testAsync() throws Exception {
+		
+		final CountDownLatch latch = new CountDownLatch(3);
+		final Map<String, User> results = new ConcurrentHashMap<String, User>();
+		final List<String> threads = Collections.synchronizedList(new ArrayList<String>());
+		
+		long start = System.currentTimeMillis();
+		
+		for (final String id : new String[] {"1", "2", "2"}) {
+			
+			batchEndpoint.getUserAsync(id, new AsyncHandler<User>() {
+				
+				@Override
+				public void onSuccess(HttpResponse response, User user) {
+					
+					results.put(id, user);
+					threads.add(Thread.currentThread().getName());
+					latch.countDown();
+				}
+			});
+		}
+		
+		assertTrue(System.currentTimeMillis() - start < 250);
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		
+		assertEquals(1, results.get("1").getId());
+		assertEquals(2, results.get("2").getId());
+		
+		for (String thread : threads) {
+			
+			assertTrue(thread, thread.startsWith("RoboZombie-Callback"));
+		}
+		
+		assertEquals(1, bulkRequests.get());
+		assertEquals(2, bulkContents.get(0).split(",").length);
+		assertEquals(0, singleRequests.get());
+	}
+	
+	/**
+	 * <p>Tests that the failure of a bulk request is submitted to the {@link AsyncHandler}s of all 
+	 * asynchronous invocations in the batch.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testAsyncFailure() throws Exception {
+		
+		final CountDownLatch latch = new CountDownLatch(2);
+		final List<InvocationException> errors = Collections.synchronizedList(new ArrayList<InvocationException>());
+		
+		for (String id : new String[] {"1", "2"}) {
+			
+			batchEndpoint.getUserAsyncFailed(id, new AsyncHandler<User>() {
+				
+				@Override
+				public void onSuccess(HttpResponse response, User user) {}
+				
+				@Override
+				public void onError(InvocationException invocationException) {
+					
+					try {
+						
+						HttpEntity entity = invocationException.getResponse().getEntity();
+						
+						if(entity != null) {
+							
+							entity.consumeContent(); //release the connection
+						}
+					}
+					catch(IOException ioe) {
+						
+						fail(ioe.getMessage());
+					}
+					
+					errors.add(invocationException);
+					latch.countDown();
+				}
+			});
+		}
+		
+		assertTrue(latch.await(5, TimeUnit.SECONDS));
+		
+		for (InvocationException error : errors) {
+			
+			assertEquals(500, error.getResponse().getStatusLine().getStatusCode());
+		}
+		
+		assertEquals(1, bulkRequests.get());
+	}
+}
@@ -20,12 +20,20 @@ package com.lonepulse.robozombie.proxy;
  * #L%
  */
 
+import java.util.List;
+
 import org.hamcrest.core.Is;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import com.lonepulse.robozombie.annotation.Async;
+import com.lonepulse.robozombie.annotation.Batch;
 import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.GET;
+import com.lonepulse.robozombie.annotation.POST;
+import com.lonepulse.robozombie.annotation.PathParam;
+import com.lonepulse.robozombie.response.AsyncHandler;
 
 /**
  * <p>Performs unit testing for <b>endpoint validation</b>.</p>
@@ -51,6 +59,25 @@ public class EndpointValidationTest {
 		void strayRequest();
 	}
 	
+	//represents an invalid endpoint definition with a batched request whose bulk request is missing.
+	@Endpoint("http://example.com")
+	private interface MissingBulkRequestEndpoint {
+		
+		@Batch("getUsers") @GET("/users/{id}")
+		String getUser(@PathParam("id") String id);
+	}
+	
+	//represents an invalid endpoint definition with a bulk request which is asynchronous.
+	@Async @Endpoint("http://example.com")
+	private interface AsyncBulkRequestEndpoint {
+		
+		@Batch("getUsers") @GET("/users/{id}")
+		void getUser(@PathParam("id") String id, AsyncHandler<String> asyncHandler);
+		
+		@POST("/users")
+		String getUsers(List<String> ids);
+	}
+	
 	@Rule
 	public ExpectedException expectedException = ExpectedException.none();
 	
@@ -82,4 +109,32 @@ public class EndpointValidationTest {
 		
 		Validators.ENDPOINT.validate(StrayEndpointRequestEndpoint.class);
 	}
+	
+	/**
+	 * <p>Tests endpoint validation for a batched request whose bulk request is missing.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test @SuppressWarnings("unchecked") //safe case to Class<Throwable> from a known exception
+	public final void testMissingBulkRequest() throws ClassNotFoundException {
+		
+		expectedException.expect(Is.isA((Class<Throwable>) 
+				Class.forName("com.lonepulse.robozombie.proxy.EndpointValidationFailedException")));
+		
+		Validators.ENDPOINT.validate(MissingBulkRequestEndpoint.class);
+	}
+	
+	/**
+	 * <p>Tests endpoint validation for a bulk request which is not detached from an @{@link Async} endpoint.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test @SuppressWarnings("unchecked") //safe case to Class<Throwable> from a known exception
+	public final void testAsyncBulkRequest() throws ClassNotFoundException {
+		
+		expectedException.expect(Is.isA((Class<Throwable>) 
+				Class.forName("com.lonepulse.robozombie.proxy.EndpointValidationFailedException")));
+		
+		Validators.ENDPOINT.validate(AsyncBulkRequestEndpoint.class);
+	}
 }
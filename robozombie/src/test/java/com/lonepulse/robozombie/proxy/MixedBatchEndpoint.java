@@ -0,0 +1,71 @@
+package com.lonepulse.robozombie.proxy;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static com.lonepulse.robozombie.annotation.Entity.ContentType.JSON;
+
+import com.lonepulse.robozombie.annotation.Deserialize;
+import com.lonepulse.robozombie.annotation.Endpoint;
+import com.lonepulse.robozombie.annotation.Entity;
+import com.lonepulse.robozombie.annotation.GET;
+import com.lonepulse.robozombie.annotation.Header;
+import com.lonepulse.robozombie.annotation.POST;
+import com.lonepulse.robozombie.annotation.PathParam;
+import com.lonepulse.robozombie.model.User;
+
+/**
+ * <p>An endpoint whose requests are executed in <i>multipart/mixed</i> batches.</p>
+ * 
+ * @version 1.1.0
+ * <br><br> 
+ * @since 1.3.4
+ * <br><br> 
+ * @category test
+ * <br><br> 
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+@Endpoint("http://0.0.0.0:8104")
+public interface MixedBatchEndpoint {
+	
+	
+	@POST("/batch")
+	public void batch();
+	
+	@GET("/batch")
+	public void getBatch();
+	
+	@GET("/users/{id}")
+	@Deserialize(JSON)
+	public User getUser(@PathParam("id") String id);
+	
+	@GET("/greeting")
+	public String greet(@Header("X-Name") String name);
+	
+	@POST("/echo")
+	public String echo(@Entity String content);
+	
+	@GET("/missing")
+	public String missing();
+	
+	@GET("/truncated")
+	public String truncated();
+}
@@ -0,0 +1,351 @@
+package com.lonepulse.robozombie.proxy;
+
+/*
+ * #%L
+ * RoboZombie
+ * %%
+ * Copyright (C) 2013 - 2014 Lonepulse
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import com.lonepulse.robozombie.model.User;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * <p>Performs unit testing on the execution of <i>multipart/mixed</i> batches using the endpoint 
+ * {@link MixedBatchEndpoint}.</p>
+ * 
+ * @version 1.1.0
+ * <br><br>
+ * @since 1.3.4
+ * <br><br>
+ * @category test
+ * <br><br>
+ * @author <a href="http://sahan.me">Lahiru Sahan Jayasinghe</a>
+ */
+public class MixedBatchTest {
+	
+	
+	private static final String CRLF = "\r\n";
+	
+	private HttpServer httpServer;
+	
+	private final AtomicInteger roundTrips = new AtomicInteger();
+	
+	private final List<String> requestLines = new ArrayList<String>();
+	
+	private volatile String contentType;
+	
+	@Rule
+	public ExpectedException expectedException = ExpectedException.none();
+	
+	
+	@Before
+	public void setUp() throws Exception {
+		
+		httpServer = HttpServer.create(new InetSocketAddress(8104), 0);
+		httpServer.createContext("/", new HttpHandler() {
+			
+			@Override
+			public void handle(HttpExchange exchange) throws IOException {
+				
+				roundTrips.incrementAndGet();
+				
+				contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+				String content = read(exchange.getRequestBody());
+				
+				String boundary = contentType.substring(contentType.indexOf("boundary=") + 9);
+				String[] parts = content.split("--" + boundary);
+				
+				List<String> responses = new ArrayList<String>();
+				
+				for (String part : parts) {
+					
+					if(part.trim().length() == 0 || part.startsWith("--")) {
+						
+						continue;
+					}
+					
+					String id = part.substring(part.indexOf("<") + 1, part.indexOf(">"));
+					
+					String message = part.substring(part.indexOf(CRLF + CRLF) + 4);
+					String head = message.substring(0, message.indexOf(CRLF + CRLF));
+					String body = message.substring(message.indexOf(CRLF + CRLF) + 4, message.length() - 2);
+					
+					String requestLine = head.split(CRLF)[0];
+					requestLines.add(requestLine);
+					
+					String status = "200 OK";
+					String entity = "";
+					String type = "text/plain";
+					
+					if(requestLine.startsWith("GET /users/")) {
+						
+						String userId = requestLine.split(" ")[1].substring(7);
+						
+						type = "application/json";
+						entity = "{\"id\":" + userId + ",\"firstName\":\"Rick\",\"lastName\":\"Grimes\",\"age\":36,\"immortal\":false}";
+					}
+					else if(requestLine.startsWith("GET /greeting")) {
+						
+						String name = head.substring(head.indexOf("X-Name: ") + 8).split(CRLF)[0];
+						entity = "Hello, " + name;
+					}
+					else if(requestLine.startsWith("POST /echo")) {
+						
+						entity = body;
+					}
+					else if(requestLine.startsWith("GET /truncated")) {
+						
+						responses.add(0, new StringBuilder()
+							.append("--").append(boundary).append(CRLF)
+							.append("Content-Type: application/http").append(CRLF)
+							.append("Content-ID: <response-").append(id).append(">").append(CRLF).toString());
+						
+						continue;
+					}
+					else {
+						
+						status = "404 Not Found";
+					}
+					
+					responses.add(0, new StringBuilder()
+						.append("--").append(boundary).append(CRLF)
+						.append("Content-Type: application/http").append(CRLF)
+						.append("Content-ID: <response-").append(id).append(">").append(CRLF).append(CRLF)
+						.append("HTTP/1.1 ").append(status).append(CRLF)
+						.append("Content-Type: ").append(type).append(CRLF).append(CRLF)
+						.append(entity).append(CRLF).toString());
+				}
+				
+				StringBuilder response = new StringBuilder();
+				
+				for (String part : responses) {
+					
+					response.append(part);
+				}
+				
+				response.append("--").append(boundary).append("--").append(CRLF);
+				
+				byte[] bytes = response.toString().getBytes("UTF-8");
+				
+				exchange.getResponseHeaders().add("Content-Type", "multipart/mixed; boundary=" + boundary);
+				exchange.sendResponseHeaders(200, bytes.length);
+				
+				OutputStream outputStream = exchange.getResponseBody();
+				outputStream.write(bytes);
+				outputStream.close();
+			}
+		});
+		
+		httpServer.start();
+	}
+	
+	@After
+	public void tearDown() {
+		
+		httpServer.stop(0);
+	}
+	
+	private static String read(InputStream inputStream) throws IOException {
+		
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		
+		for (int read; (read = inputStream.read(buffer)) != -1;) {
+			
+			content.write(buffer, 0, read);
+		}
+		
+		inputStream.close();
+		
+		return content.toString("UTF-8");
+	}
+	
+	/**
+	 * <p>Tests that heterogeneous requests are executed in a single round trip and that each part of 
+	 * the response is processed with the context of its request, even if the parts are reordered.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testBatch() {
+		
+		MixedBatch<MixedBatchEndpoint> batch = MixedBatch.newInstance(MixedBatchEndpoint.class, "batch");
+		
+		assertNull(batch.add().getUser("1"));
+		assertNull(batch.add().greet("Rick"));
+		assertNull(batch.add().echo("Grimes"));
+		
+		assertEquals(3, batch.size());
+		
+		List<Object> results = batch.execute();
+		
+		assertEquals(1, roundTrips.get());
+		assertTrue(contentType.startsWith("multipart/mixed; boundary="));
+		
+		assertEquals("GET /users/1 HTTP/1.1", requestLines.get(0));
+		assertEquals("GET /greeting HTTP/1.1", requestLines.get(1));
+		assertEquals("POST /echo HTTP/1.1", requestLines.get(2));
+		
+		assertEquals(3, results.size());
+		assertEquals(1, ((User)results.get(0)).getId());
+		assertEquals("Hello, Rick", results.get(1));
+		assertEquals("Grimes", results.get(2));
+	}
+	
+	/**
+	 * <p>Tests that a part with a failed status code yields an {@link InvocationException} without 
+	 * failing the other requests in the batch.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testFailedPart() {
+		
+		MixedBatch<MixedBatchEndpoint> batch = MixedBatch.newInstance(MixedBatchEndpoint.class, "batch");
+		
+		batch.add().missing();
+		batch.add().getUser("2");
+		
+		List<Object> results = batch.execute();
+		
+		assertTrue(results.get(0) instanceof InvocationException);
+		assertEquals(404, ((InvocationException)results.get(0)).getResponse().getStatusLine().getStatusCode());
+		assertEquals(2, ((User)results.get(1)).getId());
+	}
+	
+	/**
+	 * <p>Tests that a part which cannot be decoded yields an {@link InvocationException} without 
+	 * failing the other requests in the batch.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testMalformedPart() {
+		
+		MixedBatch<MixedBatchEndpoint> batch = MixedBatch.newInstance(MixedBatchEndpoint.class, "batch");
+		
+		batch.add().getUser("1");
+		batch.add().truncated();
+		batch.add().greet("Rick");
+		
+		List<Object> results = batch.execute();
+		
+		assertEquals(1, ((User)results.get(0)).getId());
+		assertTrue(results.get(1) instanceof InvocationException);
+		assertEquals("Hello, Rick", results.get(2));
+	}
+	
+	/**
+	 * <p>Tests that requests can be added to a batch from several threads.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testConcurrentAdd() throws InterruptedException {
+		
+		final MixedBatch<MixedBatchEndpoint> batch = MixedBatch.newInstance(MixedBatchEndpoint.class, "batch");
+		
+		Thread[] threads = new Thread[4];
+		
+		for (int i = 0; i < threads.length; i++) {
+			
+			final String id = String.valueOf(i + 1);
+			
+			threads[i] = new Thread(new Runnable() {
+				
+				@Override
+				public void run() {
+					
+					for (int j = 0; j < 25; j++) {
+						
+						batch.add().getUser(id);
+					}
+				}
+			});
+			
+			threads[i].start();
+		}
+		
+		for (Thread thread : threads) {
+			
+			thread.join();
+		}
+		
+		assertEquals(100, batch.size());
+		
+		List<Object> results = batch.execute();
+		
+		assertEquals(1, roundTrips.get());
+		assertEquals(100, results.size());
+		
+		for (Object result : results) {
+			
+			assertTrue(result instanceof User);
+		}
+	}
+	
+	/**
+	 * <p>Tests that an empty batch is not executed.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testEmpty() {
+		
+		MixedBatch<MixedBatchEndpoint> batch = MixedBatch.newInstance(MixedBatchEndpoint.class, "batch");
+		
+		assertTrue(batch.execute().isEmpty());
+		assertEquals(0, roundTrips.get());
+	}
+	
+	/**
+	 * <p>Tests that a batch request which does not enclose an entity is rejected.</p>
+	 *  
+	 * @since 1.3.4
+	 */
+	@Test
+	public final void testInvalidBatchRequest() {
+		
+		expectedException.expect(InvocationException.class);
+		
+		MixedBatch<MixedBatchEndpoint> batch = MixedBatch.newInstance(MixedBatchEndpoint.class, "getBatch");
+		batch.add().getUser("1");
+		batch.execute();
+	}
+}